@@ -0,0 +1,178 @@
+// Load benchmark of the asset list, assignment creation and login flows.
+//
+// The three flows run at the same time at a constant arrival rate, so a slower server shows up as
+// higher latencies and dropped iterations instead of a lower request rate. Run it through
+// ../run-benchmark.sh to compare platform and virtual threads, or alone:
+//
+//   k6 run -e BASE_URL=http://localhost:8080 load-test/k6/benchmark.js
+//
+// Environment variables (defaults in brackets):
+//   BASE_URL         the application [http://localhost:8080]
+//   DURATION         duration of each flow [2m]
+//   LIST_RATE        asset list requests per second [100]
+//   ASSIGN_RATE      assignment creations per second [10]
+//   LOGIN_RATE       logins per second [10]
+//   ADMIN_USERNAME   admin creating the assignments [adminhcmut]
+//   ADMIN_PASSWORD   [adminhcmut@02011990]
+//   STAFF_USERNAME   user logging in, must be in the admin location [staffhcmut1]
+//   STAFF_PASSWORD   [staffhcmut1@03011995]
+//   MODE             tag added to every metric, e.g. platform or virtual [unknown]
+
+import http from 'k6/http';
+import exec from 'k6/execution';
+import { check, fail } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const API = `${BASE_URL}/api/v1`;
+const DURATION = __ENV.DURATION || '2m';
+const LIST_RATE = Number(__ENV.LIST_RATE || 100);
+const ASSIGN_RATE = Number(__ENV.ASSIGN_RATE || 10);
+const LOGIN_RATE = Number(__ENV.LOGIN_RATE || 10);
+const ADMIN = {
+  username: __ENV.ADMIN_USERNAME || 'adminhcmut',
+  password: __ENV.ADMIN_PASSWORD || 'adminhcmut@02011990',
+};
+const STAFF = {
+  username: __ENV.STAFF_USERNAME || 'staffhcmut1',
+  password: __ENV.STAFF_PASSWORD || 'staffhcmut1@03011995',
+};
+const JSON_HEADERS = { 'Content-Type': 'application/json' };
+
+function seconds(duration) {
+  const match = /^(\d+)(s|m)$/.exec(duration);
+  if (!match) {
+    fail(`Unsupported DURATION ${duration}, use e.g. 90s or 2m`);
+  }
+  return Number(match[1]) * (match[2] === 'm' ? 60 : 1);
+}
+
+function flow(name, rate, fn) {
+  return {
+    executor: 'constant-arrival-rate',
+    exec: fn,
+    rate,
+    timeUnit: '1s',
+    duration: DURATION,
+    preAllocatedVUs: Math.max(10, rate * 2),
+    maxVUs: Math.max(50, rate * 20),
+    tags: { flow: name },
+  };
+}
+
+export const options = {
+  setupTimeout: '10m',
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+  tags: { mode: __ENV.MODE || 'unknown' },
+  scenarios: {
+    asset_list: flow('asset_list', LIST_RATE, 'assetList'),
+    assignment_create: flow('assignment_create', ASSIGN_RATE, 'assignmentCreate'),
+    login: flow('login', LOGIN_RATE, 'login'),
+  },
+  // the thresholds only make k6 report the metrics of each flow, nothing is meant to fail
+  thresholds: {
+    'http_req_duration{flow:asset_list}': ['p(99)>=0'],
+    'http_req_duration{flow:assignment_create}': ['p(99)>=0'],
+    'http_req_duration{flow:login}': ['p(99)>=0'],
+    'http_reqs{flow:asset_list}': ['count>=0'],
+    'http_reqs{flow:assignment_create}': ['count>=0'],
+    'http_reqs{flow:login}': ['count>=0'],
+    'http_req_failed{flow:asset_list}': ['rate>=0'],
+    'http_req_failed{flow:assignment_create}': ['rate>=0'],
+    'http_req_failed{flow:login}': ['rate>=0'],
+    'dropped_iterations{flow:asset_list}': ['count>=0'],
+    'dropped_iterations{flow:assignment_create}': ['count>=0'],
+    'dropped_iterations{flow:login}': ['count>=0'],
+  },
+};
+
+function authenticate(credentials) {
+  const res = http.post(`${API}/auth/login`, JSON.stringify(credentials), {
+    headers: JSON_HEADERS,
+  });
+  // the cookie is Secure, so it is passed by hand instead of through the cookie jar over http
+  const cookie = res.cookies.JWT && res.cookies.JWT[0];
+  if (res.status !== 200 || !cookie) {
+    fail(`Login of ${credentials.username} failed with status ${res.status}: ${res.body}`);
+  }
+  return cookie.value;
+}
+
+function authenticated(token) {
+  return { headers: { ...JSON_HEADERS, Cookie: `JWT=${token}` } };
+}
+
+function data(res, what) {
+  if (res.status < 200 || res.status >= 300) {
+    fail(`${what} failed with status ${res.status}: ${res.body}`);
+  }
+  return res.json('data');
+}
+
+/**
+ * Creates one available asset per assignment the run may create, so every creation reserves a
+ * fresh asset instead of failing on one already assigned.
+ */
+export function setup() {
+  const token = authenticate(ADMIN);
+  const params = authenticated(token);
+  const category = data(http.get(`${API}/categories`, params), 'Category list')[0];
+  const staff = data(
+    http.get(`${API}/users?size=100`, params),
+    'User list',
+  ).content.find((user) => user.username === STAFF.username);
+  if (!category || !staff) {
+    fail(`A category and the user ${STAFF.username} are needed in the location of the admin`);
+  }
+
+  const count = Math.ceil(ASSIGN_RATE * seconds(DURATION) * 1.1);
+  const today = new Date().toISOString().slice(0, 10);
+  const assetIds = [];
+  for (let i = 0; i < count; i += 50) {
+    const batch = [];
+    for (let j = i; j < Math.min(count, i + 50); j++) {
+      batch.push({
+        method: 'POST',
+        url: `${API}/assets`,
+        body: JSON.stringify({
+          name: `Load test asset ${j}`,
+          categoryId: category.id,
+          specification: 'Created by the load benchmark',
+          installedDate: today,
+          state: 'AVAILABLE',
+        }),
+        params,
+      });
+    }
+    http.batch(batch).forEach((res) => assetIds.push(data(res, 'Asset creation').id));
+  }
+  return { token, assetIds, assigneeId: staff.id, today };
+}
+
+export function assetList(ctx) {
+  const page = exec.scenario.iterationInTest % 5;
+  const res = http.get(
+    `${API}/assets?page=${page}&size=20&states=AVAILABLE&states=ASSIGNED`,
+    authenticated(ctx.token),
+  );
+  check(res, { 'asset list 200': (r) => r.status === 200 });
+}
+
+export function assignmentCreate(ctx) {
+  const assetId = ctx.assetIds[exec.scenario.iterationInTest % ctx.assetIds.length];
+  const res = http.post(
+    `${API}/assignments`,
+    JSON.stringify({
+      assetId,
+      userId: ctx.assigneeId,
+      assignedDate: ctx.today,
+      note: 'Load benchmark',
+    }),
+    authenticated(ctx.token),
+  );
+  check(res, { 'assignment created': (r) => r.status === 201 });
+}
+
+export function login() {
+  const res = http.post(`${API}/auth/login`, JSON.stringify(STAFF), { headers: JSON_HEADERS });
+  check(res, { 'login 200': (r) => r.status === 200 });
+}
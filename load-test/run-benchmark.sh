@@ -0,0 +1,82 @@
+#!/usr/bin/env bash
+# Runs load-test/k6/benchmark.js against the application started with platform threads, then with
+# virtual threads, and prints the throughput and p99 latency of each flow in both modes.
+#
+# Needs java 21, k6 (or docker to run grafana/k6) and jq. The database is the one configured in
+# .env, see README.md; the k6 variables (DURATION, LIST_RATE, ...) are passed through.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RESULTS=load-test/results
+PORT=${PORT:-8080}
+BASE_URL=${BASE_URL:-http://localhost:$PORT}
+mkdir -p "$RESULTS"
+
+if [[ -f .env ]]; then
+  set -a
+  # shellcheck disable=SC1091
+  source .env
+  set +a
+fi
+
+./mvnw -q -DskipTests package
+JAR=$(ls target/asset-management-*.jar | grep -v plain | head -n 1)
+
+k6_run() {
+  local args=(run --quiet -e BASE_URL="$BASE_URL")
+  for var in DURATION LIST_RATE ASSIGN_RATE LOGIN_RATE ADMIN_USERNAME ADMIN_PASSWORD \
+    STAFF_USERNAME STAFF_PASSWORD; do
+    if [[ -n "${!var:-}" ]]; then
+      args+=(-e "$var=${!var}")
+    fi
+  done
+  if command -v k6 >/dev/null; then
+    k6 "${args[@]}" "$@"
+  else
+    docker run --rm -i --network host -v "$PWD:/work" -w /work grafana/k6 "${args[@]}" "$@"
+  fi
+}
+
+for mode in platform virtual; do
+  enabled=false
+  [[ $mode == virtual ]] && enabled=true
+  echo "== $mode threads"
+  # jdk.tracePinnedThreads reports a virtual thread blocking while pinned to its carrier
+  VIRTUAL_THREADS_ENABLED=$enabled java -Djdk.tracePinnedThreads=short -jar "$JAR" \
+    --server.port="$PORT" >"$RESULTS/$mode.log" 2>&1 &
+  pid=$!
+  trap 'kill $pid 2>/dev/null || true' EXIT
+  until curl -sf "$BASE_URL/actuator/health" >/dev/null; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "The application did not start, see $RESULTS/$mode.log" >&2
+      exit 1
+    fi
+    sleep 2
+  done
+
+  k6_run -e MODE="$mode" --summary-export "$RESULTS/$mode.json" load-test/k6/benchmark.js
+
+  kill "$pid"
+  wait "$pid" || true
+  trap - EXIT
+done
+
+echo
+printf '%-18s %-9s %10s %10s %10s %8s %8s\n' flow mode 'req/s' 'p50 ms' 'p99 ms' failed dropped
+for flow in asset_list assignment_create login; do
+  for mode in platform virtual; do
+    jq -r --arg f "$flow" --arg m "$mode" '.metrics as $x | [
+        $f, $m,
+        ($x["http_reqs{flow:\($f)}"].rate // 0 | . * 10 | round / 10),
+        ($x["http_req_duration{flow:\($f)}"]["p(50)"] // 0 | round),
+        ($x["http_req_duration{flow:\($f)}"]["p(99)"] // 0 | round),
+        ($x["http_req_failed{flow:\($f)}"].value // 0 | . * 100 | round | tostring + "%"),
+        ($x["dropped_iterations{flow:\($f)}"].count // 0)
+      ] | @tsv' "$RESULTS/$mode.json" |
+      awk -F'\t' '{ printf "%-18s %-9s %10s %10s %10s %8s %8s\n", $1, $2, $3, $4, $5, $6, $7 }'
+  done
+done
+
+pinned=$(grep -c '<== monitors' "$RESULTS/virtual.log" || true)
+echo
+echo "Pinned virtual thread reports: $pinned (see $RESULTS/virtual.log)"
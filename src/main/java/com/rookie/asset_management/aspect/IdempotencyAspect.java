@@ -0,0 +1,169 @@
+package com.rookie.asset_management.aspect;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rookie.asset_management.exception.AppException;
+import com.rookie.asset_management.service.IdempotencyStore;
+import com.rookie.asset_management.service.IdempotencyStore.Claim;
+import com.rookie.asset_management.service.IdempotencyStore.StoredResponse;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Handles the {@code Idempotency-Key} header of the methods annotated with {@link Idempotent}.
+ *
+ * <p>The key is scoped to the authenticated user and the endpoint, and bound to a fingerprint of
+ * the request arguments: reusing a key for another request is rejected with 422. The first request
+ * claims the key in the {@link IdempotencyStore}; a concurrent duplicate gets a 409 while it runs,
+ * and once it succeeded (2xx) its response is recorded and replayed to the retries with the {@code
+ * Idempotent-Replayed} header until {@code app.idempotency.ttl} has passed. A failed execution
+ * releases the key, so the client can retry it.
+ */
+@Slf4j
+@Component
+@Aspect
+public class IdempotencyAspect {
+  public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+  public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+  private static final int MAX_KEY_LENGTH = 255;
+
+  private final IdempotencyStore idempotencyStore;
+  private final ObjectMapper objectMapper;
+  private final Duration ttl;
+  private final Duration lockTimeout;
+
+  public IdempotencyAspect(
+      IdempotencyStore idempotencyStore,
+      ObjectMapper objectMapper,
+      @Value("${app.idempotency.ttl:PT24H}") Duration ttl,
+      @Value("${app.idempotency.lock-timeout:PT1M}") Duration lockTimeout) {
+    this.idempotencyStore = idempotencyStore;
+    this.objectMapper = objectMapper;
+    this.ttl = ttl;
+    this.lockTimeout = lockTimeout;
+  }
+
+  /**
+   * Executes the request once per idempotency key.
+   *
+   * @param joinPoint the annotated controller method
+   * @return the response of the method, or the recorded one for a retry
+   * @throws Throwable the error of the method
+   */
+  @Around("@annotation(com.rookie.asset_management.aspect.Idempotent)")
+  public Object handle(ProceedingJoinPoint joinPoint) throws Throwable {
+    String idempotencyKey = currentIdempotencyKey();
+    if (idempotencyKey == null) {
+      return joinPoint.proceed();
+    }
+    if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+      throw new AppException(
+          HttpStatus.BAD_REQUEST,
+          IDEMPOTENCY_KEY_HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+    }
+
+    String key =
+        sha256(
+            (currentUsername()
+                    + '\n'
+                    + joinPoint.getSignature().toLongString()
+                    + '\n'
+                    + idempotencyKey)
+                .getBytes(StandardCharsets.UTF_8));
+    String fingerprint = sha256(objectMapper.writeValueAsBytes(requestArguments(joinPoint)));
+
+    Claim claim = idempotencyStore.claim(key, fingerprint, lockTimeout, ttl);
+    switch (claim.status()) {
+      case IN_PROGRESS -> throw new AppException(
+          HttpStatus.CONFLICT,
+          "A request with the same Idempotency-Key is being processed. Please retry later.");
+      case MISMATCH -> throw new AppException(
+          HttpStatus.UNPROCESSABLE_ENTITY,
+          "The Idempotency-Key was already used for a different request.");
+      case COMPLETED -> {
+        return replay(claim.response());
+      }
+      case CLAIMED -> {
+        // first execution, below
+      }
+    }
+
+    Object result;
+    try {
+      result = joinPoint.proceed();
+    } catch (Throwable e) {
+      idempotencyStore.release(key);
+      throw e;
+    }
+    if (result instanceof ResponseEntity<?> response
+        && response.getStatusCode().is2xxSuccessful()) {
+      try {
+        idempotencyStore.complete(
+            key,
+            new StoredResponse(
+                response.getStatusCode().value(),
+                objectMapper.writeValueAsString(response.getBody())),
+            ttl);
+      } catch (Exception e) {
+        // the claim is kept until its lock times out rather than letting a retry run it again
+        log.warn("Could not record the response of idempotency key {}", key, e);
+      }
+    } else {
+      idempotencyStore.release(key);
+    }
+    return result;
+  }
+
+  private ResponseEntity<Object> replay(StoredResponse response) throws Exception {
+    return ResponseEntity.status(response.status())
+        .header(REPLAYED_HEADER, "true")
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(objectMapper.readTree(response.body()));
+  }
+
+  private static String currentIdempotencyKey() {
+    if (RequestContextHolder.getRequestAttributes()
+        instanceof ServletRequestAttributes attributes) {
+      return attributes.getRequest().getHeader(IDEMPOTENCY_KEY_HEADER);
+    }
+    return null;
+  }
+
+  private static String currentUsername() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    return authentication != null ? authentication.getName() : "";
+  }
+
+  /** The arguments identifying the request: path variables, parameters and body. */
+  private static Object[] requestArguments(ProceedingJoinPoint joinPoint) {
+    return Arrays.stream(joinPoint.getArgs())
+        .filter(arg -> !(arg instanceof ServletRequest || arg instanceof ServletResponse))
+        .toArray();
+  }
+
+  private static String sha256(byte[] value) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
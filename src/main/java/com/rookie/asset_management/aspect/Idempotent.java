@@ -0,0 +1,21 @@
+package com.rookie.asset_management.aspect;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Makes a controller method honor the {@code Idempotency-Key} request header, see {@link
+ * IdempotencyAspect}.
+ *
+ * <p>A client retrying a request with the same key gets the response of the first successful
+ * execution again, and the method is not run a second time. Requests without the header are
+ * executed as usual. The method must return a {@link org.springframework.http.ResponseEntity} whose
+ * body is serializable to JSON.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Idempotent {}
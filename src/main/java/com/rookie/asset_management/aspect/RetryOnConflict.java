@@ -0,0 +1,28 @@
+package com.rookie.asset_management.aspect;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs a transactional method when its transaction fails on a concurrent update of a versioned
+ * entity, see {@link RetryOnConflictAspect}.
+ *
+ * <p>Only meant for transitions computed from the state they read, such as completing a returning
+ * request: the retry re-reads the rows and re-checks the preconditions, so the loser of a race gets
+ * the regular domain error (e.g. "already completed") or succeeds if the concurrent change did not
+ * matter. Never use it on updates applying values sent by the client, a retry would silently
+ * overwrite the concurrent change.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+
+  /**
+   * @return the maximum number of executions, the first one included
+   */
+  int maxAttempts() default 3;
+}
@@ -0,0 +1,56 @@
+package com.rookie.asset_management.aspect;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Retries the methods annotated with {@link RetryOnConflict}. The aspect runs before the
+ * transaction interceptor, so every attempt gets a new transaction; the rollback of the failed one
+ * clears the persistence context and the next attempt reads the current rows.
+ *
+ * <p>A method joining a transaction started by its caller is never retried: its persistence context
+ * still holds the stale state and the outer transaction is marked as rollback-only anyway.
+ */
+@Slf4j
+@Component
+@Aspect
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class RetryOnConflictAspect {
+
+  /**
+   * Runs the method until it succeeds, fails with another error or exhausts its attempts.
+   *
+   * @param joinPoint the annotated method
+   * @param retryOnConflict the retry settings of the method
+   * @return the result of the first successful attempt
+   * @throws Throwable the error of the last attempt
+   */
+  @Around("@annotation(retryOnConflict)")
+  public Object retry(ProceedingJoinPoint joinPoint, RetryOnConflict retryOnConflict)
+      throws Throwable {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return joinPoint.proceed();
+    }
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return joinPoint.proceed();
+      } catch (OptimisticLockingFailureException e) {
+        if (attempt >= retryOnConflict.maxAttempts()) {
+          throw e;
+        }
+        log.debug(
+            "Concurrent update in {}, attempt {} of {}",
+            joinPoint.getSignature().toShortString(),
+            attempt,
+            retryOnConflict.maxAttempts());
+      }
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package com.rookie.asset_management.config.app;
+
+import com.rookie.asset_management.enums.NotificationType;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per notification type coalescing rules, e.g. {@code
+ * app.notification.coalescing.rules.ASSIGNMENT_CREATED.threshold=3}. Types without a rule are
+ * delivered right away, one notification per event.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.notification.coalescing")
+public class NotificationCoalescingProperties {
+  private Map<NotificationType, Rule> rules = new HashMap<>();
+
+  /**
+   * @param type the notification type
+   * @return the coalescing rule of the type, {@code null} if its events are never coalesced
+   */
+  public Rule ruleFor(NotificationType type) {
+    return type != null ? rules.get(type) : null;
+  }
+
+  /**
+   * Events of a type are buffered until the end of the fixed window they fall in, so all the events
+   * of a burst become due together. A burst of at least {@code threshold} events from one sender to
+   * one recipient is delivered as a single digest notification.
+   */
+  @Getter
+  @Setter
+  public static class Rule {
+    private Duration window = Duration.ofSeconds(30);
+    private int threshold = 3;
+
+    /**
+     * @param now the time the event is recorded
+     * @return the end of the window {@code now} falls in, when the event becomes due
+     */
+    public LocalDateTime windowEnd(LocalDateTime now) {
+      ZoneId zone = ZoneId.systemDefault();
+      long windowMillis = window.toMillis();
+      long nowMillis = now.atZone(zone).toInstant().toEpochMilli();
+      long end = (nowMillis / windowMillis + 1) * windowMillis;
+      return LocalDateTime.ofInstant(Instant.ofEpochMilli(end), zone);
+    }
+  }
+}
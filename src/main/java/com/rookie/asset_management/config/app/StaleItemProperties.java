@@ -0,0 +1,37 @@
+package com.rookie.asset_management.config.app;
+
+import com.rookie.asset_management.enums.StaleAction;
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Policies of the stale item maintenance job, e.g. {@code app.stale.assignment.action=EXPIRE} and
+ * {@code app.stale.assignment.after=P7D}. Items are left alone unless a policy says otherwise.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.stale")
+public class StaleItemProperties {
+  /** Waiting assignments, stale once their assigned date is {@code after} in the past. */
+  private Policy assignment = new Policy();
+
+  /** Waiting returning requests, stale once they were requested {@code after} ago. */
+  private Policy returningRequest = new Policy();
+
+  /** Number of items changed by one transaction. */
+  private int batchSize = 500;
+
+  /** Number of batches per item kind and run, the remaining items are left to the next run. */
+  private int maxBatches = 20;
+
+  @Getter
+  @Setter
+  public static class Policy {
+    private StaleAction action = StaleAction.NONE;
+    private Duration after = Duration.ofDays(7);
+  }
+}
@@ -0,0 +1,134 @@
+package com.rookie.asset_management.config.async;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration of the dedicated executors used for background work. Every executor is bounded
+ * (fixed pool and queue size) so a burst of submissions is rejected instead of piling up in memory,
+ * drains its tasks for up to {@code app.executor.shutdown-timeout} on shutdown and is instrumented,
+ * see {@link InstrumentedExecutors}.
+ *
+ * <p>With {@code app.executor.virtual-threads=true} (on with {@code
+ * spring.threads.virtual.enabled}), the I/O bound executors (async tasks, notification streams)
+ * start one virtual thread per task instead, with at most {@code pool-size + queue-capacity} tasks
+ * in flight. Exports are CPU and memory heavy and always keep their small platform pool, as does
+ * the CPU bound password hashing. So do the email senders: the SMTP transport of Jakarta Mail
+ * writes to the socket inside {@code synchronized} methods, which would pin the carrier thread of a
+ * virtual thread for the whole exchange.
+ */
+@Configuration
+public class AsyncExecutorConfig {
+  private final MeterRegistry meterRegistry;
+  private final Duration shutdownTimeout;
+  private final boolean virtualThreads;
+
+  public AsyncExecutorConfig(
+      MeterRegistry meterRegistry,
+      @Value("${app.executor.shutdown-timeout:PT30S}") Duration shutdownTimeout,
+      @Value("${app.executor.virtual-threads:false}") boolean virtualThreads) {
+    this.meterRegistry = meterRegistry;
+    this.shutdownTimeout = shutdownTimeout;
+    this.virtualThreads = virtualThreads;
+  }
+
+  /**
+   * Default executor of the {@code @Async} methods. {@code @EnableAsync} picks the bean named
+   * {@code taskExecutor} when several executors exist; without it every {@code @Async} call would
+   * start a new unbounded thread.
+   *
+   * @param poolSize the number of tasks running at the same time
+   * @param queueCapacity the number of tasks waiting for a free worker
+   * @return the default async executor
+   */
+  @Bean(name = "taskExecutor")
+  public TaskExecutor taskExecutor(
+      @Value("${app.async.pool-size:4}") int poolSize,
+      @Value("${app.async.queue-capacity:500}") int queueCapacity) {
+    return ioExecutor("async", poolSize, queueCapacity);
+  }
+
+  /**
+   * Executor running the asynchronous export jobs. Exports are CPU and memory heavy, so the pool is
+   * kept small and the queue is bounded; submissions beyond the queue capacity are rejected.
+   *
+   * @param poolSize the number of exports running at the same time
+   * @param queueCapacity the number of exports waiting for a free worker
+   * @return the export executor
+   */
+  @Bean(name = "exportTaskExecutor")
+  public ThreadPoolTaskExecutor exportTaskExecutor(
+      @Value("${app.export.pool-size:2}") int poolSize,
+      @Value("${app.export.queue-capacity:20}") int queueCapacity) {
+    return InstrumentedExecutors.pool(
+        "export", poolSize, queueCapacity, shutdownTimeout, meterRegistry);
+  }
+
+  /**
+   * Executor pushing new notifications to the connected server-sent event streams, so the outbox
+   * dispatcher never waits on slow clients. Pushes beyond the queue capacity are rejected; the
+   * affected clients catch up on the next sweep of the notification hub.
+   *
+   * @param poolSize the number of pushes running at the same time
+   * @param queueCapacity the number of pushes waiting for a free worker
+   * @return the notification stream executor
+   */
+  @Bean(name = "notificationStreamExecutor")
+  public TaskExecutor notificationStreamExecutor(
+      @Value("${app.notification.stream.pool-size:2}") int poolSize,
+      @Value("${app.notification.stream.queue-capacity:10000}") int queueCapacity) {
+    return ioExecutor("notification-stream", poolSize, queueCapacity);
+  }
+
+  /**
+   * Executor of the email senders. Each task sends a group of emails over one SMTP connection, so
+   * the pool size bounds the number of connections opened to the SMTP server. Groups beyond the
+   * queue capacity are rejected and released for the next poll of the email dispatcher. Always a
+   * platform pool, see the class comment.
+   *
+   * @param poolSize the number of SMTP connections used at the same time
+   * @param queueCapacity the number of groups waiting for a free sender
+   * @return the email sender executor
+   */
+  @Bean(name = "emailSenderExecutor")
+  public TaskExecutor emailSenderExecutor(
+      @Value("${app.email.sender.pool-size:2}") int poolSize,
+      @Value("${app.email.sender.queue-capacity:10}") int queueCapacity) {
+    return InstrumentedExecutors.pool(
+        "email-sender", poolSize, queueCapacity, shutdownTimeout, meterRegistry);
+  }
+
+  /**
+   * Executor hashing the passwords of the users created in bulk. Hashing is CPU bound, so this is
+   * always a platform pool, by default as large as the number of hashes the password encoder
+   * computes at the same time. Groups beyond the queue capacity are rejected and hashed by the
+   * caller.
+   *
+   * @param poolSize the number of groups hashed at the same time, 0 for half of the processors
+   * @param queueCapacity the number of groups waiting for a free worker
+   * @return the password hashing executor
+   */
+  @Bean(name = "passwordHashingExecutor")
+  public TaskExecutor passwordHashingExecutor(
+      @Value("${app.user.import.hashing.pool-size:0}") int poolSize,
+      @Value("${app.user.import.hashing.queue-capacity:100}") int queueCapacity) {
+    int size =
+        poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    return InstrumentedExecutors.pool(
+        "password-hashing", size, queueCapacity, shutdownTimeout, meterRegistry);
+  }
+
+  private TaskExecutor ioExecutor(String name, int poolSize, int queueCapacity) {
+    if (virtualThreads) {
+      return InstrumentedExecutors.virtualThreads(
+          name, poolSize + queueCapacity, shutdownTimeout, meterRegistry);
+    }
+    return InstrumentedExecutors.pool(
+        name, poolSize, queueCapacity, shutdownTimeout, meterRegistry);
+  }
+}
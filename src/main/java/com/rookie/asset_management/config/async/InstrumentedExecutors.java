@@ -0,0 +1,130 @@
+package com.rookie.asset_management.config.async;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Factory of the bounded executors of the application. Every executor rejects work beyond its
+ * capacity with a {@link TaskRejectedException}, drains its running tasks on shutdown and publishes
+ * the following meters, tagged with {@code executor=<name>}:
+ *
+ * <ul>
+ *   <li>{@code app.executor.active}: tasks currently running
+ *   <li>{@code app.executor.queued}: tasks waiting for a thread (always 0 for virtual threads)
+ *   <li>{@code app.executor.rejected}: tasks rejected since startup
+ * </ul>
+ */
+final class InstrumentedExecutors {
+  static final String ACTIVE = "app.executor.active";
+  static final String QUEUED = "app.executor.queued";
+  static final String REJECTED = "app.executor.rejected";
+
+  private InstrumentedExecutors() {}
+
+  /**
+   * Creates a fixed pool of platform threads with a bounded queue.
+   *
+   * @param name the executor name, used as thread name prefix and meter tag
+   * @param poolSize the number of threads
+   * @param queueCapacity the number of tasks waiting for a thread
+   * @param shutdownTimeout how long running and queued tasks are awaited on shutdown
+   * @param meterRegistry the registry of the meters
+   * @return the executor, initialized by the container
+   */
+  static ThreadPoolTaskExecutor pool(
+      String name,
+      int poolSize,
+      int queueCapacity,
+      Duration shutdownTimeout,
+      MeterRegistry meterRegistry) {
+    Counter rejected = rejectedCounter(name, meterRegistry);
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setThreadNamePrefix(name + "-");
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setRejectedExecutionHandler(
+        (task, pool) -> {
+          rejected.increment();
+          throw new RejectedExecutionException("Executor " + name + " is saturated");
+        });
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.setAwaitTerminationMillis(shutdownTimeout.toMillis());
+
+    Gauge.builder(ACTIVE, executor, ThreadPoolTaskExecutor::getActiveCount)
+        .tag("executor", name)
+        .description("Tasks currently running")
+        .register(meterRegistry);
+    Gauge.builder(QUEUED, executor, ThreadPoolTaskExecutor::getQueueSize)
+        .tag("executor", name)
+        .description("Tasks waiting for a thread")
+        .register(meterRegistry);
+    return executor;
+  }
+
+  /**
+   * Creates an executor starting one virtual thread per task. There is no queue: the concurrency
+   * limit bounds the number of tasks in flight and tasks beyond it are rejected.
+   *
+   * @param name the executor name, used as thread name prefix and meter tag
+   * @param concurrencyLimit the maximum number of tasks in flight
+   * @param shutdownTimeout how long running tasks are awaited on shutdown
+   * @param meterRegistry the registry of the meters
+   * @return the executor
+   */
+  static SimpleAsyncTaskExecutor virtualThreads(
+      String name, int concurrencyLimit, Duration shutdownTimeout, MeterRegistry meterRegistry) {
+    Counter rejected = rejectedCounter(name, meterRegistry);
+    AtomicInteger active = new AtomicInteger();
+    SimpleAsyncTaskExecutor executor =
+        new SimpleAsyncTaskExecutor(name + "-") {
+          @Override
+          public void execute(Runnable task) {
+            try {
+              super.execute(task);
+            } catch (TaskRejectedException e) {
+              rejected.increment();
+              throw e;
+            }
+          }
+        };
+    executor.setVirtualThreads(true);
+    executor.setConcurrencyLimit(concurrencyLimit);
+    executor.setRejectTasksWhenLimitReached(true);
+    executor.setTaskTerminationTimeout(shutdownTimeout.toMillis());
+    executor.setTaskDecorator(
+        task ->
+            () -> {
+              active.incrementAndGet();
+              try {
+                task.run();
+              } finally {
+                active.decrementAndGet();
+              }
+            });
+
+    Gauge.builder(ACTIVE, active, AtomicInteger::get)
+        .tag("executor", name)
+        .description("Tasks currently running")
+        .register(meterRegistry);
+    Gauge.builder(QUEUED, () -> 0)
+        .tag("executor", name)
+        .description("Tasks waiting for a thread")
+        .register(meterRegistry);
+    return executor;
+  }
+
+  private static Counter rejectedCounter(String name, MeterRegistry meterRegistry) {
+    return Counter.builder(REJECTED)
+        .tag("executor", name)
+        .description("Tasks rejected because the executor was saturated")
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,64 @@
+package com.rookie.asset_management.config.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Remembers the users who just committed a write, so that their reads keep going to the primary
+ * until the replica has caught up with the write ({@code app.datasource.replica.read-your-writes-
+ * window}). The users are kept in memory: a user whose next request reaches another node reads from
+ * the replica there.
+ */
+public class ReadYourWritesTracker {
+  private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+  private final Duration window;
+
+  public ReadYourWritesTracker(Duration window) {
+    this.window = window;
+  }
+
+  /**
+   * Pins the user to the primary for the window, starting now.
+   *
+   * @param username the user who committed a write
+   */
+  public void recordWrite(String username) {
+    pinnedUntil.put(username, System.currentTimeMillis() + window.toMillis());
+  }
+
+  /**
+   * @param username the user reading
+   * @return {@code true} if the user committed a write less than the window ago
+   */
+  public boolean isPinned(String username) {
+    Long until = pinnedUntil.get(username);
+    if (until == null) {
+      return false;
+    }
+    if (until < System.currentTimeMillis()) {
+      // removed only if unchanged, a concurrent write may have just renewed it
+      pinnedUntil.remove(username, until);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Forgets the users whose window is over and who did not read since.
+   *
+   * @return the number of users forgotten
+   */
+  @Scheduled(fixedDelayString = "${app.datasource.replica.cleanup-interval-ms:60000}")
+  public int purgeExpired() {
+    long now = System.currentTimeMillis();
+    int purged = 0;
+    for (Map.Entry<String, Long> entry : pinnedUntil.entrySet()) {
+      if (entry.getValue() < now && pinnedUntil.remove(entry.getKey(), entry.getValue())) {
+        purged++;
+      }
+    }
+    return purged;
+  }
+}
@@ -0,0 +1,79 @@
+package com.rookie.asset_management.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Sends the read-only transactions ({@code @Transactional(readOnly = true)}) to a read replica when
+ * {@code app.datasource.replica.url} is set. The primary pool keeps its {@code spring.datasource.*}
+ * settings; the replica pool takes its settings from {@code app.datasource.replica.hikari.*} and
+ * the credentials of the primary unless its own are set. Without a replica URL this configuration
+ * is skipped and everything uses the single auto-configured pool.
+ *
+ * <p>Each transaction is routed on its own because Hibernate gives its connection back after each
+ * transaction ({@code hibernate.connection.handling_mode} in {@code application.properties}); a
+ * session holding its connection until the end of the request would route every transaction of the
+ * request like its first statement.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class ReplicaDataSourceConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    HikariDataSource dataSource =
+        properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    dataSource.setPoolName("primary");
+    return dataSource;
+  }
+
+  @Bean
+  @ConfigurationProperties("app.datasource.replica.hikari")
+  public HikariDataSource replicaDataSource(
+      DataSourceProperties properties,
+      @Value("${app.datasource.replica.url}") String url,
+      @Value("${app.datasource.replica.username:}") String username,
+      @Value("${app.datasource.replica.password:}") String password) {
+    HikariDataSource dataSource =
+        DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .driverClassName(properties.determineDriverClassName())
+            .url(url)
+            .username(username.isEmpty() ? properties.determineUsername() : username)
+            .password(password.isEmpty() ? properties.determinePassword() : password)
+            .build();
+    dataSource.setPoolName("replica");
+    dataSource.setReadOnly(true);
+    return dataSource;
+  }
+
+  @Bean
+  public ReadYourWritesTracker readYourWritesTracker(
+      @Value("${app.datasource.replica.read-your-writes-window:PT5S}") Duration window) {
+    return new ReadYourWritesTracker(window);
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(
+      @Qualifier("primaryDataSource") DataSource primary,
+      @Qualifier("replicaDataSource") DataSource replica,
+      ReadYourWritesTracker readYourWritesTracker) {
+    ReplicaRoutingDataSource routing =
+        new ReplicaRoutingDataSource(primary, replica, readYourWritesTracker);
+    routing.afterPropertiesSet();
+    return new LazyConnectionDataSourceProxy(routing);
+  }
+}
@@ -0,0 +1,77 @@
+package com.rookie.asset_management.config.datasource;
+
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hands out replica connections to read-only transactions and primary connections to everything
+ * else, including the statements run outside of any transaction. A user who committed a read-write
+ * transaction a moment ago reads from the primary, see {@link ReadYourWritesTracker}.
+ *
+ * <p>The route is chosen when the connection is obtained, which happens before the transaction is
+ * flagged read-only: this data source must be wrapped in a {@link
+ * org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which only obtains the
+ * connection on the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+  /** The lookup keys of the target data sources. */
+  public enum Route {
+    PRIMARY,
+    REPLICA
+  }
+
+  private final ReadYourWritesTracker readYourWritesTracker;
+
+  public ReplicaRoutingDataSource(
+      DataSource primary, DataSource replica, ReadYourWritesTracker readYourWritesTracker) {
+    this.readYourWritesTracker = readYourWritesTracker;
+    setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+    setDefaultTargetDataSource(primary);
+    setLenientFallback(false);
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    String username = currentUsername();
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      if (username != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+        pinAfterCommit(username);
+      }
+      return Route.PRIMARY;
+    }
+    return username != null && readYourWritesTracker.isPinned(username)
+        ? Route.PRIMARY
+        : Route.REPLICA;
+  }
+
+  private void pinAfterCommit(String username) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      readYourWritesTracker.recordWrite(username);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            readYourWritesTracker.recordWrite(username);
+          }
+        });
+  }
+
+  private static String currentUsername() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null
+        || !authentication.isAuthenticated()
+        || authentication instanceof AnonymousAuthenticationToken) {
+      return null;
+    }
+    return authentication.getName();
+  }
+}
@@ -0,0 +1,14 @@
+package com.rookie.asset_management.config.scheduling;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the scheduled background jobs (cleanup, reconciliation...). Scheduling can be switched
+ * off with {@code app.scheduling.enabled=false}, e.g. for tests running without a database schema.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {}
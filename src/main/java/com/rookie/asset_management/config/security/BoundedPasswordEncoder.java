@@ -0,0 +1,51 @@
+package com.rookie.asset_management.config.security;
+
+import java.util.concurrent.Semaphore;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Password encoder limiting the number of hashes computed at the same time.
+ *
+ * <p>A BCrypt hash keeps a core busy for tens of milliseconds. Virtual threads are not preempted
+ * while computing, so a burst of logins on virtual threads would occupy every carrier thread and
+ * stall all other requests until the hashes are done. Callers beyond the limit wait for a permit
+ * without holding a carrier thread.
+ */
+class BoundedPasswordEncoder implements PasswordEncoder {
+  private final PasswordEncoder delegate;
+  private final Semaphore permits;
+
+  /**
+   * @param delegate the encoder computing the hashes
+   * @param maxConcurrent the maximum number of hashes computed at the same time
+   */
+  BoundedPasswordEncoder(PasswordEncoder delegate, int maxConcurrent) {
+    this.delegate = delegate;
+    this.permits = new Semaphore(maxConcurrent, true);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    permits.acquireUninterruptibly();
+    try {
+      return delegate.encode(rawPassword);
+    } finally {
+      permits.release();
+    }
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    permits.acquireUninterruptibly();
+    try {
+      return delegate.matches(rawPassword, encodedPassword);
+    } finally {
+      permits.release();
+    }
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+}
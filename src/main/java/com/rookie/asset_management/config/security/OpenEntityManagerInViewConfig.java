@@ -0,0 +1,29 @@
+package com.rookie.asset_management.config.security;
+
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewFilter;
+
+/**
+ * Opens the persistence context of a request before the security filter chain instead of around the
+ * controller only; the default open-in-view interceptor then joins it. The user loaded by {@link
+ * JwtAuthenticationFilter} thus stays managed until the response is written, and {@link
+ * com.rookie.asset_management.service.CurrentUserService} can reuse it without another query.
+ *
+ * <p>The persistence context holds no connection between transactions (see {@code
+ * hibernate.connection.handling_mode} in {@code application.properties}): an asynchronous request
+ * such as a notification stream keeps it open for minutes.
+ */
+@Configuration
+public class OpenEntityManagerInViewConfig {
+
+  @Bean
+  public FilterRegistrationBean<OpenEntityManagerInViewFilter> openEntityManagerInViewFilter() {
+    FilterRegistrationBean<OpenEntityManagerInViewFilter> registration =
+        new FilterRegistrationBean<>(new OpenEntityManagerInViewFilter());
+    registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+    return registration;
+  }
+}
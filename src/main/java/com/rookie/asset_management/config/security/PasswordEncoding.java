@@ -1,5 +1,6 @@
 package com.rookie.asset_management.config.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -8,8 +9,20 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @Configuration
 public class PasswordEncoding {
 
+  /**
+   * BCrypt encoder computing at most {@code app.security.password-hashing.max-concurrent} hashes at
+   * the same time, half of the available processors by default, see {@link BoundedPasswordEncoder}.
+   *
+   * @param maxConcurrent the maximum number of hashes computed at the same time, 0 for the default
+   * @return the password encoder
+   */
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder(
+      @Value("${app.security.password-hashing.max-concurrent:0}") int maxConcurrent) {
+    int limit =
+        maxConcurrent > 0
+            ? maxConcurrent
+            : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), limit);
   }
 }
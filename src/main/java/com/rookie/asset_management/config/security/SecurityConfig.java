@@ -82,6 +82,7 @@ public class SecurityConfig {
     configuration.setAllowedOrigins(Arrays.asList(AllowedOrigin.ALLOWED_ORIGINS));
     configuration.setAllowedMethods(Arrays.asList(AllowedOrigin.ALLOWED_METHODS));
     configuration.setAllowedHeaders(Arrays.asList(AllowedOrigin.ALLOWED_HEADERS));
+    configuration.setExposedHeaders(Arrays.asList(AllowedOrigin.EXPOSED_HEADERS));
     configuration.setAllowCredentials(true);
     configuration.setMaxAge(3600L);
 
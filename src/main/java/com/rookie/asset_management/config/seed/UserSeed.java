@@ -28,7 +28,6 @@ public class UserSeed extends Seeder implements CommandLineRunner {
   private final UserRepository userRepository;
   private final RoleRepository roleRepository;
   private final LocationRepository locationRepository;
-  private final UserServiceImpl userService;
   private final PasswordEncoder passwordEncoder;
 
   public UserSeed(
@@ -36,13 +35,11 @@ public class UserSeed extends Seeder implements CommandLineRunner {
       UserRepository userRepository,
       RoleRepository roleRepository,
       LocationRepository locationRepository,
-      UserServiceImpl userService,
       PasswordEncoder passwordEncoder) {
     super(environment);
     this.userRepository = userRepository;
     this.roleRepository = roleRepository;
     this.locationRepository = locationRepository;
-    this.userService = userService;
     this.passwordEncoder = passwordEncoder;
   }
 
@@ -250,7 +247,7 @@ public class UserSeed extends Seeder implements CommandLineRunner {
     LocalDate userDob = LocalDate.parse(dob, formatter);
     userProfile.setDob(userDob);
     // generate password
-    String hashedPassword = userService.generatePassword(username, userDob);
+    String hashedPassword = UserServiceImpl.generatePassword(username, userDob);
     user.setPassword(passwordEncoder.encode(hashedPassword));
     userProfile.setUser(user);
     userProfile.setGender(gender);
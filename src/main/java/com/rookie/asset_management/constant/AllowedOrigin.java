@@ -14,6 +14,14 @@ public final class AllowedOrigin {
   };
 
   public static final String[] ALLOWED_HEADERS = {
-    "Content-Type", "Authorization", "X-Requested-With", "Accept", "Origin", "Cache-Control"
+    "Content-Type",
+    "Authorization",
+    "X-Requested-With",
+    "Accept",
+    "Origin",
+    "Cache-Control",
+    "Idempotency-Key"
   };
+
+  public static final String[] EXPOSED_HEADERS = {"Idempotent-Replayed"};
 }
@@ -19,6 +19,7 @@ public class Endpoints {
     ApiPaths.V1 + "/return/**",
     ApiPaths.V1 + "/reports/**",
     ApiPaths.V1 + "/exports/**",
+    ApiPaths.V1 + "/users/email-deliveries/**",
   };
 
   //   Staff endpoints go here
@@ -7,11 +7,14 @@ import com.rookie.asset_management.dto.response.ApiDtoResponse;
 import com.rookie.asset_management.dto.response.PagingDtoResponse;
 import com.rookie.asset_management.dto.response.asset.AssetBriefDtoResponse;
 import com.rookie.asset_management.dto.response.asset.AssetDetailDtoResponse;
+import com.rookie.asset_management.dto.response.asset.AssetImportDtoResponse;
 import com.rookie.asset_management.dto.response.asset.CreateNewAssetDtoResponse;
 import com.rookie.asset_management.dto.response.asset.EditAssetDtoResponse;
 import com.rookie.asset_management.dto.response.asset.ViewAssetListDtoResponse;
 import com.rookie.asset_management.enums.AssetStatus;
+import com.rookie.asset_management.enums.BulkMode;
 import com.rookie.asset_management.exception.AppException;
+import com.rookie.asset_management.service.AssetImportService;
 import com.rookie.asset_management.service.AssetService;
 import jakarta.validation.Valid;
 import java.util.List;
@@ -22,8 +25,10 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 /**
  * AssetController handles HTTP requests related to asset management. It is designed for admin users
@@ -37,6 +42,7 @@ import org.springframework.web.bind.annotation.*;
 public class AssetController {
 
   AssetService assetService;
+  AssetImportService assetImportService;
 
   @GetMapping
   public ResponseEntity<ApiDtoResponse<PagingDtoResponse<ViewAssetListDtoResponse>>>
@@ -85,6 +91,30 @@ public class AssetController {
                 .build());
   }
 
+  @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public ResponseEntity<ApiDtoResponse<AssetImportDtoResponse>> importAssets(
+      @RequestParam("file") MultipartFile file,
+      @RequestParam(defaultValue = "ALL_OR_NOTHING") BulkMode mode) {
+    AssetImportDtoResponse result = assetImportService.importAssets(file, mode);
+
+    // 201 as soon as one asset is imported, the report lists the rejected rows
+    if (result.getImported() == 0) {
+      return ResponseEntity.badRequest()
+          .body(
+              ApiDtoResponse.<AssetImportDtoResponse>builder()
+                  .message("No asset was imported.")
+                  .data(result)
+                  .build());
+    }
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .body(
+            ApiDtoResponse.<AssetImportDtoResponse>builder()
+                .message(
+                    result.getImported() + " of " + result.getTotalRows() + " assets imported.")
+                .data(result)
+                .build());
+  }
+
   @PutMapping("/{assetId}")
   public ResponseEntity<ApiDtoResponse<EditAssetDtoResponse>> editAsset(
       @PathVariable Integer assetId, @RequestBody @Valid EditAssetDtoRequest dto) {
@@ -1,6 +1,8 @@
 package com.rookie.asset_management.controller;
 
+import com.rookie.asset_management.aspect.Idempotent;
 import com.rookie.asset_management.constant.ApiPaths;
+import com.rookie.asset_management.dto.request.assignment.BulkCreateAssignmentRequest;
 import com.rookie.asset_management.dto.request.assignment.CreateUpdateAssignmentRequest;
 import com.rookie.asset_management.dto.response.ApiDtoResponse;
 import com.rookie.asset_management.dto.response.PagingDtoResponse;
@@ -8,6 +10,7 @@ import com.rookie.asset_management.dto.response.assignment.AssignmentDetailDtoRe
 import com.rookie.asset_management.dto.response.assignment.AssignmentDetailForEditResponse;
 import com.rookie.asset_management.dto.response.assignment.AssignmentListDtoResponse;
 import com.rookie.asset_management.dto.response.assignment.AssignmentStatusResponse;
+import com.rookie.asset_management.dto.response.assignment.BulkAssignmentDtoResponse;
 import com.rookie.asset_management.dto.response.assignment.MyAssignmentDtoResponse;
 import com.rookie.asset_management.enums.AssignmentStatus;
 import com.rookie.asset_management.service.AssignmentService;
@@ -67,6 +70,7 @@ public class AssignmentController {
     return ResponseEntity.ok(response);
   }
 
+  @Idempotent
   @PostMapping
   public ResponseEntity<ApiDtoResponse<AssignmentListDtoResponse>> createAssignment(
       @RequestBody @Valid CreateUpdateAssignmentRequest request) {
@@ -79,6 +83,29 @@ public class AssignmentController {
                 .build());
   }
 
+  @Idempotent
+  @PostMapping("/bulk")
+  public ResponseEntity<ApiDtoResponse<BulkAssignmentDtoResponse>> bulkCreateAssignments(
+      @RequestBody @Valid BulkCreateAssignmentRequest request) {
+    BulkAssignmentDtoResponse result = assignmentService.bulkCreateAssignments(request);
+    // 201 as soon as one assignment is created, the items tell which ones failed
+    if (result.getCreated() == 0) {
+      return ResponseEntity.badRequest()
+          .body(
+              ApiDtoResponse.<BulkAssignmentDtoResponse>builder()
+                  .message("No assignment was created.")
+                  .data(result)
+                  .build());
+    }
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .body(
+            ApiDtoResponse.<BulkAssignmentDtoResponse>builder()
+                .message(
+                    result.getCreated() + " of " + result.getRequested() + " assignments created.")
+                .data(result)
+                .build());
+  }
+
   @PutMapping("/{assignmentId}")
   public ResponseEntity<ApiDtoResponse<AssignmentListDtoResponse>> editAssignment(
       @PathVariable int assignmentId, @RequestBody @Valid CreateUpdateAssignmentRequest request) {
@@ -1,19 +1,32 @@
 package com.rookie.asset_management.controller;
 
 import com.rookie.asset_management.constant.ApiPaths;
+import com.rookie.asset_management.dto.request.export.ExportJobRequest;
+import com.rookie.asset_management.dto.response.ApiDtoResponse;
+import com.rookie.asset_management.dto.response.export.ExportJobDtoResponse;
 import com.rookie.asset_management.dto.response.report.CategoryReportDtoResponse;
+import com.rookie.asset_management.service.ExportJobService;
 import com.rookie.asset_management.service.ReportService;
 import com.rookie.asset_management.service.impl.ExportServiceStrategy;
+import jakarta.validation.Valid;
+import java.nio.file.Path;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -25,6 +38,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class ExportController {
   ExportServiceStrategy exportServiceStrategy;
   ReportService reportService;
+  ExportJobService exportJobService;
 
   // add any other required services here to handle different export formats
 
@@ -50,6 +64,43 @@ public class ExportController {
     return createExcelResponse(excelContent, filename);
   }
 
+  @PostMapping("/jobs")
+  public ResponseEntity<ApiDtoResponse<ExportJobDtoResponse>> submitExportJob(
+      @RequestBody @Valid ExportJobRequest request) {
+    // Return HTTP 202 Accepted, the client polls the job status until the file is ready
+    return ResponseEntity.status(HttpStatus.ACCEPTED)
+        .body(
+            ApiDtoResponse.<ExportJobDtoResponse>builder()
+                .message("Export job submitted successfully")
+                .data(exportJobService.submitJob(request))
+                .build());
+  }
+
+  @GetMapping("/jobs/{jobId}")
+  public ResponseEntity<ApiDtoResponse<ExportJobDtoResponse>> getExportJob(
+      @PathVariable String jobId) {
+    return ResponseEntity.ok(
+        ApiDtoResponse.<ExportJobDtoResponse>builder()
+            .message("Export job retrieved successfully")
+            .data(exportJobService.getJob(jobId))
+            .build());
+  }
+
+  @GetMapping("/jobs/{jobId}/file")
+  public ResponseEntity<Resource> downloadExportJobFile(@PathVariable String jobId) {
+    Path file = exportJobService.getJobFile(jobId);
+    String filename = file.getFileName().toString();
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(
+        MediaTypeFactory.getMediaType(filename).orElse(MediaType.APPLICATION_OCTET_STREAM));
+    headers.setContentDispositionFormData("attachment", filename);
+    headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
+
+    // stream the file from the disk instead of loading it in memory
+    return ResponseEntity.ok().headers(headers).body(new FileSystemResource(file));
+  }
+
   private String sanitizeTimestamp(String timestamp) {
     if (timestamp == null || timestamp.isEmpty()) {
       return new SimpleDateFormat("dd-MM-yyyy_HH-mm-ss").format(new Date());
@@ -3,17 +3,25 @@ package com.rookie.asset_management.controller;
 import com.rookie.asset_management.constant.ApiPaths;
 import com.rookie.asset_management.dto.response.ApiDtoResponse;
 import com.rookie.asset_management.dto.response.notification.NotificationDtoResponse;
+import com.rookie.asset_management.dto.response.notification.NotificationFeedDtoResponse;
+import com.rookie.asset_management.enums.NotificationType;
 import com.rookie.asset_management.service.NotificationService;
+import java.time.LocalDateTime;
 import java.util.List;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping(ApiPaths.V1 + "/notifications")
@@ -30,6 +38,25 @@ public class NotificationController {
     return ResponseEntity.ok(response);
   }
 
+  @GetMapping("/feed")
+  public ResponseEntity<ApiDtoResponse<NotificationFeedDtoResponse>> getNotificationFeed(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int size,
+      @RequestParam(required = false) NotificationType type,
+      @RequestParam(required = false) Boolean isRead) {
+    NotificationFeedDtoResponse feed =
+        notificationService.getNotificationFeed(cursor, size, type, isRead);
+    ApiDtoResponse<NotificationFeedDtoResponse> response =
+        ApiDtoResponse.<NotificationFeedDtoResponse>builder().data(feed).build();
+    return ResponseEntity.ok(response);
+  }
+
+  @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamNotifications(
+      @RequestHeader(value = "Last-Event-ID", required = false) Integer lastEventId) {
+    return notificationService.streamNotifications(lastEventId);
+  }
+
   @GetMapping("/unread-count")
   public ResponseEntity<ApiDtoResponse<Integer>> getUnreadNotificationsCount() {
     Integer unreadCount = notificationService.getUnreadNotificationsCount();
@@ -46,9 +73,12 @@ public class NotificationController {
   }
 
   @PatchMapping("/mark-all-as-read")
-  public ResponseEntity<ApiDtoResponse<Boolean>> markAllNotificationsAsRead() {
-    notificationService.markAllNotificationsAsRead();
-    ApiDtoResponse<Boolean> response = ApiDtoResponse.<Boolean>builder().data(true).build();
+  public ResponseEntity<ApiDtoResponse<Integer>> markAllNotificationsAsRead(
+      @RequestParam(required = false) Integer upToId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime upTo) {
+    int updated = notificationService.markAllNotificationsAsRead(upToId, upTo);
+    ApiDtoResponse<Integer> response = ApiDtoResponse.<Integer>builder().data(updated).build();
     return ResponseEntity.ok(response);
   }
 }
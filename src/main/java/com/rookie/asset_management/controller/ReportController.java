@@ -3,12 +3,15 @@ package com.rookie.asset_management.controller;
 import com.rookie.asset_management.constant.ApiPaths;
 import com.rookie.asset_management.dto.response.ApiDtoResponse;
 import com.rookie.asset_management.dto.response.PagingDtoResponse;
+import com.rookie.asset_management.dto.response.report.AssetStatusTrendDtoResponse;
 import com.rookie.asset_management.dto.response.report.CategoryReportDtoResponse;
 import com.rookie.asset_management.service.ReportService;
+import java.time.LocalDate;
 import java.util.List;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -48,4 +51,19 @@ public class ReportController {
             .build();
     return ResponseEntity.ok(response);
   }
+
+  @GetMapping("/trends")
+  public ResponseEntity<ApiDtoResponse<AssetStatusTrendDtoResponse>> getTrends(
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(required = false) Integer categoryId,
+      @RequestParam(required = false) Integer locationId) {
+    AssetStatusTrendDtoResponse trends = reportService.getTrends(from, to, categoryId, locationId);
+    ApiDtoResponse<AssetStatusTrendDtoResponse> response =
+        ApiDtoResponse.<AssetStatusTrendDtoResponse>builder()
+            .message("Report trends retrieved successfully")
+            .data(trends)
+            .build();
+    return ResponseEntity.ok(response);
+  }
 }
@@ -1,5 +1,6 @@
 package com.rookie.asset_management.controller;
 
+import com.rookie.asset_management.aspect.Idempotent;
 import com.rookie.asset_management.constant.ApiPaths;
 import com.rookie.asset_management.dto.response.ApiDtoResponse;
 import com.rookie.asset_management.dto.response.PagingDtoResponse;
@@ -73,6 +74,7 @@ public class ReturningRequestController {
   }
 
   // Endpoint for Admin create for returning request asset
+  @Idempotent
   @PostMapping("/{assignmentId}")
   public ResponseEntity<ApiDtoResponse<ReturningRequestDetailDtoResponse>> createReturningRequest(
       @PathVariable Integer assignmentId) {
@@ -85,6 +87,7 @@ public class ReturningRequestController {
   }
 
   // Endpoint for Admin create request for returning request asset
+  @Idempotent
   @PostMapping("/me/{assignmentId}")
   public ResponseEntity<ApiDtoResponse<ReturningRequestDetailDtoResponse>>
       createUserReturningRequest(@PathVariable Integer assignmentId) {
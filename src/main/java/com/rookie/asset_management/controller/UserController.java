@@ -1,15 +1,21 @@
 package com.rookie.asset_management.controller;
 
+import com.rookie.asset_management.aspect.Idempotent;
 import com.rookie.asset_management.constant.ApiPaths;
 import com.rookie.asset_management.dto.request.UserRequestDTO;
+import com.rookie.asset_management.dto.request.user.BulkCreateUserRequest;
 import com.rookie.asset_management.dto.request.user.UpdateUserRequest;
 import com.rookie.asset_management.dto.request.user.UserFilterRequest;
 import com.rookie.asset_management.dto.response.ApiDtoResponse;
 import com.rookie.asset_management.dto.response.PagingDtoResponse;
+import com.rookie.asset_management.dto.response.email.EmailDeliveryDtoResponse;
+import com.rookie.asset_management.dto.response.user.BulkUserDtoResponse;
 import com.rookie.asset_management.dto.response.user.CreateUserDtoResponse;
 import com.rookie.asset_management.dto.response.user.UserBriefDtoResponse;
 import com.rookie.asset_management.dto.response.user.UserDetailDtoResponse;
 import com.rookie.asset_management.dto.response.user.UserDtoResponse;
+import com.rookie.asset_management.service.EmailService;
+import com.rookie.asset_management.service.UserImportService;
 import com.rookie.asset_management.service.UserService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -38,6 +44,8 @@ import org.springframework.web.bind.annotation.RestController;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class UserController {
   UserService userService;
+  EmailService emailService;
+  UserImportService userImportService;
 
   @GetMapping("/{userId}")
   public ResponseEntity<ApiDtoResponse<UserDetailDtoResponse>> getUserDetails(
@@ -69,6 +77,7 @@ public class UserController {
     return ResponseEntity.ok(response);
   }
 
+  @Idempotent
   @PostMapping
   public ResponseEntity<ApiDtoResponse<CreateUserDtoResponse>> createUser(
       @Valid @RequestBody UserRequestDTO request) {
@@ -81,6 +90,28 @@ public class UserController {
     return ResponseEntity.status(HttpStatus.CREATED).body(apiResponse);
   }
 
+  @Idempotent
+  @PostMapping("/bulk")
+  public ResponseEntity<ApiDtoResponse<BulkUserDtoResponse>> bulkCreateUsers(
+      @Valid @RequestBody BulkCreateUserRequest request) {
+    BulkUserDtoResponse result = userImportService.bulkCreateUsers(request);
+    // 201 as soon as one user is created, the items tell which ones failed
+    if (result.getCreated() == 0) {
+      return ResponseEntity.badRequest()
+          .body(
+              ApiDtoResponse.<BulkUserDtoResponse>builder()
+                  .message("No user was created.")
+                  .data(result)
+                  .build());
+    }
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .body(
+            ApiDtoResponse.<BulkUserDtoResponse>builder()
+                .message(result.getCreated() + " of " + result.getRequested() + " users created.")
+                .data(result)
+                .build());
+  }
+
   @PutMapping("/{userId}")
   public ResponseEntity<ApiDtoResponse<Void>> updateUser(
       @PathVariable int userId, @Valid @RequestBody UpdateUserRequest request) {
@@ -112,4 +143,16 @@ public class UserController {
             .build();
     return ResponseEntity.ok(response);
   }
+
+  @GetMapping("/email-deliveries/{deliveryId}")
+  public ResponseEntity<ApiDtoResponse<EmailDeliveryDtoResponse>> getEmailDelivery(
+      @PathVariable Long deliveryId) {
+    EmailDeliveryDtoResponse delivery = emailService.getEmailDelivery(deliveryId);
+    ApiDtoResponse<EmailDeliveryDtoResponse> response =
+        ApiDtoResponse.<EmailDeliveryDtoResponse>builder()
+            .message("Email delivery retrieved successfully")
+            .data(delivery)
+            .build();
+    return ResponseEntity.ok(response);
+  }
 }
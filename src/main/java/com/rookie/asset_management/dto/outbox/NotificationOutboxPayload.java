@@ -0,0 +1,34 @@
+package com.rookie.asset_management.dto.outbox;
+
+import com.rookie.asset_management.enums.NotificationType;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Payload of a notification outbox event. Entities are referenced by id only, so the payload stays
+ * valid whatever happens to the persistence context that recorded it.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class NotificationOutboxPayload {
+  NotificationType type;
+  Integer senderId;
+
+  /** The recipient, {@code null} for a location admins notification. */
+  Integer recipientId;
+
+  /** The location whose admins are notified, only for a location admins notification. */
+  Integer locationId;
+
+  Integer assignmentId;
+  Integer returningRequestId;
+}
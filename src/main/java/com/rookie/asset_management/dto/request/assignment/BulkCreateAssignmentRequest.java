@@ -0,0 +1,32 @@
+package com.rookie.asset_management.dto.request.assignment;
+
+import com.rookie.asset_management.enums.BulkMode;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BulkCreateAssignmentRequest {
+
+  @NotNull(message = "Mode is required")
+  @Builder.Default
+  BulkMode mode = BulkMode.ALL_OR_NOTHING;
+
+  @NotEmpty(message = "Assignments are required")
+  @Size(max = 100, message = "At most 100 assignments can be created at once")
+  List<@Valid @NotNull CreateUpdateAssignmentRequest> assignments;
+}
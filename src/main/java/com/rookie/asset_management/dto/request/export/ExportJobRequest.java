@@ -0,0 +1,39 @@
+package com.rookie.asset_management.dto.request.export;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ExportJobRequest {
+
+  @NotBlank(message = "Export type is required")
+  String type;
+
+  @NotBlank(message = "Export format is required")
+  String format;
+
+  // timestamp used to build the file name, fallback to the server time if not provided
+  String timestamp;
+
+  @Min(value = 0, message = "Page number must be greater than or equal to 0")
+  Integer pageNo;
+
+  @Min(value = 1, message = "Page size must be greater than 0")
+  Integer pageSize;
+
+  String sortBy;
+
+  String sortDir;
+}
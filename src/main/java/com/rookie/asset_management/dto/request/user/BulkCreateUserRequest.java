@@ -0,0 +1,33 @@
+package com.rookie.asset_management.dto.request.user;
+
+import com.rookie.asset_management.dto.request.UserRequestDTO;
+import com.rookie.asset_management.enums.BulkMode;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BulkCreateUserRequest {
+
+  @NotNull(message = "Mode is required")
+  @Builder.Default
+  BulkMode mode = BulkMode.ALL_OR_NOTHING;
+
+  @NotEmpty(message = "Users are required")
+  @Size(max = 1000, message = "At most 1000 users can be created at once")
+  List<@Valid @NotNull UserRequestDTO> users;
+}
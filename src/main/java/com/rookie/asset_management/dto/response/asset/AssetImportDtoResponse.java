@@ -0,0 +1,39 @@
+package com.rookie.asset_management.dto.response.asset;
+
+import com.rookie.asset_management.enums.BulkMode;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/** Outcome of an asset import, with the error of every rejected row. */
+@Getter
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AssetImportDtoResponse {
+  BulkMode mode;
+
+  /** Number of data rows read from the file, the header excluded. */
+  int totalRows;
+
+  /** Number of assets actually created. */
+  int imported;
+
+  /** Number of rejected rows. */
+  int failed;
+
+  /** The rejected rows in file order, truncated to the first few hundreds. */
+  List<RowError> errors;
+
+  /** Why one row was rejected. */
+  @Getter
+  @Builder
+  @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+  public static class RowError {
+    /** Row number as shown by a spreadsheet, the header being row 1. */
+    int row;
+
+    String message;
+  }
+}
@@ -0,0 +1,50 @@
+package com.rookie.asset_management.dto.response.assignment;
+
+import com.rookie.asset_management.enums.BulkMode;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/** Outcome of a bulk assignment creation, with one item per requested assignment. */
+@Getter
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BulkAssignmentDtoResponse {
+  BulkMode mode;
+
+  /** Number of assignments that were requested. */
+  int requested;
+
+  /** Number of assignments actually created. */
+  int created;
+
+  /** Outcome of each requested assignment, in request order. */
+  List<Item> items;
+
+  /** The status of one requested assignment. */
+  public enum ItemStatus {
+    CREATED,
+    FAILED,
+    /** Valid, but not created because another item failed in all-or-nothing mode. */
+    SKIPPED
+  }
+
+  /** Outcome of one requested assignment. */
+  @Getter
+  @Builder
+  @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+  public static class Item {
+    int index;
+    Integer assetId;
+    Integer userId;
+    ItemStatus status;
+
+    /** Why the assignment was not created, {@code null} unless it failed. */
+    String error;
+
+    /** The created assignment, {@code null} unless it was created. */
+    AssignmentListDtoResponse assignment;
+  }
+}
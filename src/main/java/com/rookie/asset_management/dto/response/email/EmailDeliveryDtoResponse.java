@@ -0,0 +1,23 @@
+package com.rookie.asset_management.dto.response.email;
+
+import com.rookie.asset_management.enums.EmailDeliveryStatus;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@Setter
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class EmailDeliveryDtoResponse {
+  Long id;
+  String recipient;
+  EmailDeliveryStatus status;
+  int attempts;
+  String lastError;
+  LocalDateTime createdAt;
+  LocalDateTime sentAt;
+}
@@ -0,0 +1,30 @@
+package com.rookie.asset_management.dto.response.export;
+
+import com.rookie.asset_management.enums.ExportJobStatus;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ExportJobDtoResponse {
+  String id;
+  String type;
+  String format;
+  ExportJobStatus status;
+  // progress of the job in percent (0 - 100)
+  Integer progress;
+  String filename;
+  String errorMessage;
+  LocalDateTime createdAt;
+  LocalDateTime completedAt;
+}
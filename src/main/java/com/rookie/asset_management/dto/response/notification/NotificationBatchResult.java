@@ -0,0 +1,44 @@
+package com.rookie.asset_management.dto.response.notification;
+
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Outcome of a batch notification insert. Rows are written in batches; a failing batch is rolled
+ * back on its own and reported here, while the other batches are kept.
+ */
+@Getter
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class NotificationBatchResult {
+  /** Number of notifications that were requested, -1 when recipients are selected in SQL. */
+  int requested;
+
+  /** Number of notifications actually inserted. */
+  int inserted;
+
+  /** Outcome of each batch, in execution order. */
+  List<Batch> batches;
+
+  /**
+   * @return {@code true} when every batch succeeded
+   */
+  public boolean isSuccess() {
+    return batches.stream().allMatch(Batch::isSuccess);
+  }
+
+  /** Outcome of one batch. */
+  @Getter
+  @Builder
+  @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+  public static class Batch {
+    int index;
+    int size;
+    int inserted;
+    boolean success;
+    String error;
+  }
+}
@@ -3,6 +3,7 @@ package com.rookie.asset_management.dto.response.notification;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.rookie.asset_management.enums.NotificationType;
 import java.time.LocalDateTime;
+import java.util.List;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
@@ -23,4 +24,10 @@ public class NotificationDtoResponse {
   boolean isRead;
 
   LocalDateTime createdAt;
+
+  /** Number of events coalesced into this notification, 1 for a regular notification. */
+  int eventCount;
+
+  /** Ids of the assignments or returning requests of a digest, {@code null} otherwise. */
+  List<Integer> relatedIds;
 }
@@ -0,0 +1,22 @@
+package com.rookie.asset_management.dto.response.notification;
+
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+/** One page of the notification feed, newest first. */
+@Getter
+@Setter
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class NotificationFeedDtoResponse {
+  List<NotificationDtoResponse> items;
+
+  /** Opaque cursor of the next page, {@code null} when this is the last page. */
+  String nextCursor;
+
+  boolean hasMore;
+}
@@ -0,0 +1,19 @@
+package com.rookie.asset_management.dto.response.report;
+
+import java.time.LocalDate;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@Setter
+@Builder
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE)
+public class AssetStatusTrendDtoResponse {
+  LocalDate from;
+  LocalDate to;
+  Integer locationId;
+  List<CategoryTrendDtoResponse> categories;
+}
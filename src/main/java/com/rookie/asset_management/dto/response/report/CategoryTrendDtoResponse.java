@@ -0,0 +1,17 @@
+package com.rookie.asset_management.dto.response.report;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@Setter
+@Builder
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE)
+public class CategoryTrendDtoResponse {
+  Integer categoryId;
+  String category;
+  List<TrendPointDtoResponse> points;
+}
@@ -0,0 +1,21 @@
+package com.rookie.asset_management.dto.response.report;
+
+import java.time.LocalDate;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@Setter
+@Builder
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE)
+public class TrendPointDtoResponse {
+  LocalDate date;
+  Integer total;
+  Integer assigned;
+  Integer available;
+  Integer notAvailable;
+  Integer waiting;
+  Integer recycled;
+}
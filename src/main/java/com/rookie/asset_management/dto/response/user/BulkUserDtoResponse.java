@@ -0,0 +1,49 @@
+package com.rookie.asset_management.dto.response.user;
+
+import com.rookie.asset_management.enums.BulkMode;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/** Outcome of a bulk user creation, with one item per requested user. */
+@Getter
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BulkUserDtoResponse {
+  BulkMode mode;
+
+  /** Number of users that were requested. */
+  int requested;
+
+  /** Number of users actually created. */
+  int created;
+
+  /** Outcome of each requested user, in request order. */
+  List<Item> items;
+
+  /** The status of one requested user. */
+  public enum ItemStatus {
+    CREATED,
+    FAILED,
+    /** Valid, but not created because another item failed in all-or-nothing mode. */
+    SKIPPED
+  }
+
+  /** Outcome of one requested user. */
+  @Getter
+  @Builder
+  @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+  public static class Item {
+    int index;
+    String email;
+    ItemStatus status;
+
+    /** Why the user was not created, {@code null} unless it failed. */
+    String error;
+
+    /** The created user with the delivery of its account email, {@code null} unless created. */
+    CreateUserDtoResponse user;
+  }
+}
@@ -1,6 +1,6 @@
 package com.rookie.asset_management.dto.response.user;
 
-import com.fasterxml.jackson.annotation.JsonProperty;
+import com.rookie.asset_management.dto.response.email.EmailDeliveryDtoResponse;
 import java.time.LocalDate;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -28,6 +28,6 @@ public class CreateUserDtoResponse {
   LocalDate dob;
   String gender;
 
-  @JsonProperty("isSentEmail")
-  boolean isSentEmail;
+  /** Delivery of the account email, {@code null} when the user has no email address. */
+  EmailDeliveryDtoResponse emailDelivery;
 }
@@ -11,6 +11,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.LocalDate;
 import java.util.List;
 import lombok.Getter;
@@ -64,6 +65,9 @@ public class Asset extends BaseEntityAudit {
   @OneToMany(mappedBy = "asset", fetch = FetchType.LAZY)
   private List<Assignment> assignments;
 
+  // incremented on every update, a concurrent update of the same asset fails instead of being lost
+  @Version private Long version;
+
   @Override
   public void prePersist() {
     super.prePersist();
@@ -82,19 +86,30 @@ public class Asset extends BaseEntityAudit {
   }
 
   private void generateAssetCode() {
+    this.assetCode = formatAssetCode(this.category.getPrefix(), this.getId());
+  }
+
+  /**
+   * Builds the code of an asset: the prefix of its category followed by its id on 6 digits.
+   *
+   * @param categoryPrefix the prefix of the category of the asset
+   * @param id the id of the asset
+   * @return the asset code
+   */
+  public static String formatAssetCode(String categoryPrefix, int id) {
     // auto generate asset code
     StringBuilder assetCodeBuilder = new StringBuilder();
     // add the prefix of the category
-    assetCodeBuilder.append(this.category.getPrefix());
+    assetCodeBuilder.append(categoryPrefix);
     // get the formatted id
     // convert the id to a string and then to a char array
-    char[] idChars = String.valueOf(this.getId()).toCharArray();
+    char[] idChars = String.valueOf(id).toCharArray();
     // add leading zeros to make it 6 digits
     int len = 6 - idChars.length;
     for (int i = 0; i < len; i++) {
       assetCodeBuilder.append("0");
     }
     assetCodeBuilder.append(idChars);
-    this.assetCode = assetCodeBuilder.toString();
+    return assetCodeBuilder.toString();
   }
 }
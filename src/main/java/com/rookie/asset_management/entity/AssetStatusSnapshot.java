@@ -0,0 +1,27 @@
+package com.rookie.asset_management.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Daily copy of the {@link CategoryStatusCount} counters. Rows are only ever written by the
+ * snapshot job and read by the trend reports.
+ */
+@Entity
+@Table(name = "asset_status_snapshots")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssetStatusSnapshot {
+  @EmbeddedId private AssetStatusSnapshotId id;
+
+  @Column(nullable = false)
+  private Long count;
+}
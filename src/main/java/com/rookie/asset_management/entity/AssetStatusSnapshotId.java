@@ -0,0 +1,39 @@
+package com.rookie.asset_management.entity;
+
+import com.rookie.asset_management.enums.AssetStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import java.io.Serializable;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/** Composite key of {@link AssetStatusSnapshot}: one row per day, location, category and status. */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class AssetStatusSnapshotId implements Serializable {
+  @Column(name = "snapshot_date", nullable = false)
+  private LocalDate snapshotDate;
+
+  @Column(name = "location_id", nullable = false)
+  private Integer locationId;
+
+  @Column(name = "category_id", nullable = false)
+  private Integer categoryId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(columnDefinition = "ASSET_STATUS", nullable = false)
+  @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+  private AssetStatus status;
+}
@@ -14,6 +14,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.LocalDate;
 import java.util.List;
 import lombok.AllArgsConstructor;
@@ -72,4 +73,6 @@ public class Assignment {
 
   @OneToMany(mappedBy = "assignment")
   private List<Notification> notifications;
+
+  @Version private Long version;
 }
@@ -0,0 +1,28 @@
+package com.rookie.asset_management.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Number of active (not disabled) assets of a category in a location that are currently in a given
+ * status. Rows are maintained incrementally in the same transaction as every asset status
+ * transition, so reports can be built without scanning the assets table.
+ */
+@Entity
+@Table(name = "category_status_counts")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryStatusCount {
+  @EmbeddedId private CategoryStatusCountId id;
+
+  @Column(nullable = false)
+  private Long count;
+}
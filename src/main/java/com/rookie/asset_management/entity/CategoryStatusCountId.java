@@ -0,0 +1,35 @@
+package com.rookie.asset_management.entity;
+
+import com.rookie.asset_management.enums.AssetStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/** Composite key of {@link CategoryStatusCount}: one counter per location, category and status. */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class CategoryStatusCountId implements Serializable {
+  @Column(name = "location_id", nullable = false)
+  private Integer locationId;
+
+  @Column(name = "category_id", nullable = false)
+  private Integer categoryId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(columnDefinition = "ASSET_STATUS", nullable = false)
+  @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+  private AssetStatus status;
+}
@@ -0,0 +1,69 @@
+package com.rookie.asset_management.entity;
+
+import com.rookie.asset_management.enums.EmailDeliveryStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * An email queued in the same transaction as the business change that caused it, together with its
+ * delivery state. Emails are sent later by the email dispatcher; the row is kept afterwards so the
+ * delivery can be followed.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "email_deliveries")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class EmailDelivery {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  Long id;
+
+  @Column(name = "recipient", nullable = false)
+  String recipient;
+
+  @Column(name = "subject", nullable = false)
+  String subject;
+
+  /** The body, erased once sent since it may contain credentials. */
+  @Column(name = "content", columnDefinition = "TEXT")
+  String content;
+
+  @Builder.Default
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false)
+  EmailDeliveryStatus status = EmailDeliveryStatus.PENDING;
+
+  @Builder.Default
+  @Column(name = "attempts", nullable = false)
+  int attempts = 0;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  LocalDateTime nextAttemptAt;
+
+  @Column(name = "last_error", columnDefinition = "TEXT")
+  String lastError;
+
+  @Column(name = "created_at", nullable = false, updatable = false)
+  LocalDateTime createdAt;
+
+  @Column(name = "sent_at")
+  LocalDateTime sentAt;
+}
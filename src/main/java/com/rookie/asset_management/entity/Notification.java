@@ -14,6 +14,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
+import java.util.List;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -67,4 +68,14 @@ public class Notification {
   @CreatedDate
   @Column(name = "created_at", nullable = false, updatable = false)
   LocalDateTime createdAt;
+
+  /** Number of events this notification stands for, more than 1 for a digest. */
+  @Builder.Default
+  @Column(name = "event_count", nullable = false)
+  int eventCount = 1;
+
+  /** Ids of the assignments or returning requests a digest refers to, {@code null} otherwise. */
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(name = "related_ids")
+  List<Integer> relatedIds;
 }
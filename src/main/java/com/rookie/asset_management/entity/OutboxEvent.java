@@ -0,0 +1,68 @@
+package com.rookie.asset_management.entity;
+
+import com.rookie.asset_management.enums.OutboxEventStatus;
+import com.rookie.asset_management.enums.OutboxEventType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * A side effect (notification) recorded in the same transaction as the business change that caused
+ * it. Events are delivered later by the outbox dispatcher, so they are never lost when the
+ * transaction commits and never sent when it rolls back.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "outbox_events")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OutboxEvent {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "type", nullable = false)
+  OutboxEventType type;
+
+  /** JSON payload, see {@code NotificationOutboxPayload}. */
+  @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+  String payload;
+
+  @Builder.Default
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false)
+  OutboxEventStatus status = OutboxEventStatus.PENDING;
+
+  @Builder.Default
+  @Column(name = "attempts", nullable = false)
+  int attempts = 0;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  LocalDateTime nextAttemptAt;
+
+  @Column(name = "last_error", columnDefinition = "TEXT")
+  String lastError;
+
+  @Column(name = "created_at", nullable = false, updatable = false)
+  LocalDateTime createdAt;
+
+  @Column(name = "processed_at")
+  LocalDateTime processedAt;
+}
@@ -15,13 +15,16 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import org.springframework.format.annotation.DateTimeFormat;
 
@@ -60,6 +63,12 @@ public class ReturningRequest {
   @Column(nullable = false)
   private boolean deleted = false;
 
+  @CreatedDate
+  @Column(name = "requested_at", nullable = false, updatable = false)
+  private LocalDateTime requestedAt;
+
   @OneToMany(mappedBy = "returningRequest", cascade = CascadeType.REMOVE, orphanRemoval = true)
   private List<Notification> notifications;
+
+  @Version private Long version;
 }
@@ -92,19 +92,29 @@ public class User extends BaseEntityAudit {
   }
 
   private void generateStaffCode() {
+    this.staffCode = formatStaffCode(this.getId());
+  }
+
+  /**
+   * Builds the staff code of a user: "SD" followed by its id on 4 digits.
+   *
+   * @param id the id of the user
+   * @return the staff code
+   */
+  public static String formatStaffCode(int id) {
     // auto generate staff code
     StringBuilder staffCodeBuilder = new StringBuilder();
     // add the prefix "SD" to the staff code
     staffCodeBuilder.append("SD");
     // get the formatted id
     // convert the id to a string and then to a char array
-    char[] idChars = String.valueOf(this.getId()).toCharArray();
+    char[] idChars = String.valueOf(id).toCharArray();
     // add leading zeros to make it 4 digits
     int len = 4 - idChars.length;
     for (int i = 0; i < len; i++) {
       staffCodeBuilder.append("0");
     }
-    staffCodeBuilder.append(this.getId());
-    this.staffCode = staffCodeBuilder.toString();
+    staffCodeBuilder.append(id);
+    return staffCodeBuilder.toString();
   }
 }
@@ -0,0 +1,10 @@
+package com.rookie.asset_management.enums;
+
+/** How a bulk operation handles the items that cannot be processed. */
+public enum BulkMode {
+  /** Nothing is written when any item fails. */
+  ALL_OR_NOTHING,
+
+  /** The valid items are written, the failing ones are reported. */
+  BEST_EFFORT
+}
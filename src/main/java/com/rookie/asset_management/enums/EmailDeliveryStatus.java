@@ -0,0 +1,13 @@
+package com.rookie.asset_management.enums;
+
+/** Delivery status of a queued email. */
+public enum EmailDeliveryStatus {
+  /** Waiting to be sent, possibly after a failed attempt. */
+  PENDING,
+  /** Claimed by a sender; reclaimed if the sender does not report back in time. */
+  SENDING,
+  /** Accepted by the SMTP server. */
+  SENT,
+  /** Given up after the maximum number of attempts. */
+  FAILED
+}
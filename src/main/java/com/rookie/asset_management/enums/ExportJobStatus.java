@@ -0,0 +1,26 @@
+package com.rookie.asset_management.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum ExportJobStatus {
+  PENDING("Pending"),
+  RUNNING("Running"),
+  COMPLETED("Completed"),
+  FAILED("Failed");
+
+  private final String status;
+
+  ExportJobStatus(String status) {
+    this.status = status;
+  }
+
+  /**
+   * Checks whether a job in this status is still queued or being processed.
+   *
+   * @return true if the job has not reached a terminal status yet
+   */
+  public boolean isActive() {
+    return this == PENDING || this == RUNNING;
+  }
+}
@@ -9,5 +9,7 @@ public enum NotificationType {
   RETURN_REQUEST_COMPLETED,
   RETURN_REQUEST_REJECTED,
   ASSIGNMENT_ACCEPTED,
-  ASSIGNMENT_REJECTED;
+  ASSIGNMENT_REJECTED,
+  ASSIGNMENT_STALE,
+  RETURN_REQUEST_STALE;
 }
@@ -0,0 +1,11 @@
+package com.rookie.asset_management.enums;
+
+/** Delivery status of an outbox event. */
+public enum OutboxEventStatus {
+  /** Waiting to be delivered, possibly after a failed attempt. */
+  PENDING,
+  /** Delivered. */
+  SENT,
+  /** Given up after the maximum number of attempts. */
+  FAILED
+}
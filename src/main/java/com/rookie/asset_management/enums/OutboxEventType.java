@@ -0,0 +1,9 @@
+package com.rookie.asset_management.enums;
+
+/** Kind of side effect recorded in the outbox. */
+public enum OutboxEventType {
+  /** An in-app notification to one recipient. */
+  NOTIFICATION,
+  /** An in-app notification to every admin of a location except the sender. */
+  LOCATION_ADMINS_NOTIFICATION
+}
@@ -0,0 +1,13 @@
+package com.rookie.asset_management.enums;
+
+/** What the maintenance job does with a waiting item nobody answered in time. */
+public enum StaleAction {
+  /** The item is left as it is. */
+  NONE,
+
+  /** The item is closed: an assignment is declined, a returning request is cancelled. */
+  EXPIRE,
+
+  /** The admins of the location are notified, once, and the item is left waiting. */
+  ESCALATE
+}
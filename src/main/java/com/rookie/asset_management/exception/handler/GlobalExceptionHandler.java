@@ -2,15 +2,21 @@ package com.rookie.asset_management.exception.handler;
 
 import com.rookie.asset_management.dto.response.ApiDtoResponse;
 import com.rookie.asset_management.exception.AppException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.support.MissingServletRequestPartException;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 /**
@@ -27,6 +33,45 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(ex.getHttpStatusCode()).body(response);
   }
 
+  // handle concurrent updates detected by the @Version column of an entity
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  public ResponseEntity<ApiDtoResponse<Void>> handleOptimisticLockingFailureException(
+      OptimisticLockingFailureException ex) {
+    String entity = "record";
+    if (ex instanceof ObjectOptimisticLockingFailureException objectEx
+        && objectEx.getPersistentClassName() != null) {
+      // e.g. com.rookie.asset_management.entity.ReturningRequest -> returning request
+      String className = objectEx.getPersistentClassName();
+      entity =
+          className
+              .substring(className.lastIndexOf('.') + 1)
+              .replaceAll("([a-z])([A-Z])", "$1 $2")
+              .toLowerCase();
+    }
+    ApiDtoResponse<Void> response =
+        ApiDtoResponse.<Void>builder()
+            .message(
+                "Update failed: The "
+                    + entity
+                    + " was modified by another user. Please refresh and try again.")
+            .build();
+    return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+  }
+
+  // handle requests that waited longer than the connection timeout for a database connection,
+  // the database pool being the bound of concurrent requests when they run on virtual threads
+  @ExceptionHandler(CannotCreateTransactionException.class)
+  public ResponseEntity<ApiDtoResponse<Void>> handleCannotCreateTransactionException(
+      CannotCreateTransactionException ex) {
+    ApiDtoResponse<Void> response =
+        ApiDtoResponse.<Void>builder()
+            .message("The service is busy. Please try again later.")
+            .build();
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(response);
+  }
+
   @ExceptionHandler(MethodArgumentNotValidException.class)
   public ResponseEntity<ApiDtoResponse<String>> handleValidationErrors(
       MethodArgumentNotValidException ex) {
@@ -51,6 +96,26 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(400).body(response);
   }
 
+  // handle case when a required part of a multipart request, such as an uploaded file, is missing
+  @ExceptionHandler(MissingServletRequestPartException.class)
+  public ResponseEntity<ApiDtoResponse<Void>> handleMissingServletRequestPartException(
+      MissingServletRequestPartException ex) {
+    ApiDtoResponse<Void> response =
+        ApiDtoResponse.<Void>builder()
+            .message(String.format("Missing request part: %s", ex.getRequestPartName()))
+            .build();
+    return ResponseEntity.status(400).body(response);
+  }
+
+  // handle case when an uploaded file exceeds spring.servlet.multipart.max-file-size
+  @ExceptionHandler(MaxUploadSizeExceededException.class)
+  public ResponseEntity<ApiDtoResponse<Void>> handleMaxUploadSizeExceededException(
+      MaxUploadSizeExceededException ex) {
+    ApiDtoResponse<Void> response =
+        ApiDtoResponse.<Void>builder().message("The uploaded file is too large").build();
+    return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(response);
+  }
+
   // handle case when spring throws NoResourceFoundException when no handler is found
   @ExceptionHandler(NoResourceFoundException.class)
   public ResponseEntity<ApiDtoResponse<Void>> handleNoResourceFoundException(
@@ -0,0 +1,18 @@
+package com.rookie.asset_management.mapper;
+
+import com.rookie.asset_management.dto.response.email.EmailDeliveryDtoResponse;
+import com.rookie.asset_management.entity.EmailDelivery;
+import org.mapstruct.Mapper;
+
+/** Mapper interface for converting EmailDelivery entities to EmailDeliveryDtoResponse DTOs. */
+@Mapper(componentModel = "spring")
+public interface EmailDeliveryMapper {
+
+  /**
+   * Converts a delivery to its status DTO. The content is never exposed.
+   *
+   * @param entity the delivery
+   * @return the status DTO
+   */
+  EmailDeliveryDtoResponse toDto(EmailDelivery entity);
+}
@@ -2,6 +2,10 @@ package com.rookie.asset_management.mapper;
 
 import com.rookie.asset_management.dto.response.notification.NotificationDtoResponse;
 import com.rookie.asset_management.entity.Notification;
+import com.rookie.asset_management.enums.NotificationType;
+import com.rookie.asset_management.repository.projection.NotificationFeedView;
+import java.util.Arrays;
+import java.util.List;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -36,4 +40,41 @@ public interface NotificationMapper extends BaseMapper<Notification, Notificatio
         ? entity.getAssignment().getAsset().getName()
         : null;
   }
+
+  /**
+   * Maps a notification feed row to its DTO.
+   *
+   * @param view the feed row
+   * @return the notification DTO
+   */
+  default NotificationDtoResponse toFeedDto(NotificationFeedView view) {
+    return NotificationDtoResponse.builder()
+        .id(view.getId())
+        .type(NotificationType.valueOf(view.getType()))
+        .isRead(Boolean.TRUE.equals(view.getIsRead()))
+        .createdAt(view.getCreatedAt())
+        .senderName(view.getSenderName())
+        .assetName(view.getAssetName())
+        .eventCount(view.getEventCount() != null ? view.getEventCount() : 1)
+        .relatedIds(parseIds(view.getRelatedIds()))
+        .build();
+  }
+
+  /**
+   * Parses the text form of an id array, whatever the brackets and separators of the database.
+   *
+   * @param ids the ids as text, may be {@code null}
+   * @return the ids, or {@code null} when there are none
+   */
+  default List<Integer> parseIds(String ids) {
+    if (ids == null) {
+      return null;
+    }
+    List<Integer> parsed =
+        Arrays.stream(ids.split("[^0-9]+"))
+            .filter(id -> !id.isEmpty())
+            .map(Integer::valueOf)
+            .toList();
+    return parsed.isEmpty() ? null : parsed;
+  }
 }
@@ -2,12 +2,15 @@ package com.rookie.asset_management.repository;
 
 import com.rookie.asset_management.entity.Asset;
 import com.rookie.asset_management.entity.Location;
+import com.rookie.asset_management.repository.projection.AssetStatusCountView;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -53,9 +56,69 @@ public interface AssetRepository extends SpecificationRepository<Asset, Integer>
    */
   List<Asset> findAll(Specification<Asset> build, Sort sort);
 
+  /**
+   * Reserves an asset for a new waiting assignment in a single statement: the asset must be
+   * available, located at the given location and have no waiting assignment. The row lock taken by
+   * the update serializes concurrent reservations of the asset and the version increment makes
+   * concurrent edits of the asset fail; the unique index on waiting assignments rejects whatever
+   * slips through.
+   *
+   * @param assetId the id of the asset to reserve
+   * @param locationId the location of the assigner
+   * @return 1 if the asset was reserved, 0 if it cannot be assigned
+   */
+  @Modifying
+  @Query(
+      value =
+          "UPDATE assets SET version = version + 1 "
+              + "WHERE id = :assetId AND status = 'AVAILABLE' AND location_id = :locationId "
+              + "AND NOT EXISTS (SELECT 1 FROM assignments a WHERE a.asset_id = :assetId "
+              + "AND a.status = 'WAITING' AND a.deleted = FALSE)",
+      nativeQuery = true)
+  int reserveForAssignment(Integer assetId, Integer locationId);
+
+  /**
+   * Reserves many assets for new waiting assignments in a single statement, under the same
+   * conditions as {@link #reserveForAssignment(Integer, Integer)}.
+   *
+   * @param assetIds the ids of the assets to reserve
+   * @param locationId the location of the assigner
+   * @return the ids of the reserved assets, missing the ones that cannot be assigned
+   */
+  @Query(
+      value =
+          "UPDATE assets SET version = version + 1 "
+              + "WHERE id IN (:assetIds) AND status = 'AVAILABLE' AND location_id = :locationId "
+              + "AND NOT EXISTS (SELECT 1 FROM assignments a WHERE a.asset_id = assets.id "
+              + "AND a.status = 'WAITING' AND a.deleted = FALSE) "
+              + "RETURNING id",
+      nativeQuery = true)
+  List<Integer> reserveAllForAssignment(Collection<Integer> assetIds, Integer locationId);
+
   List<Asset> findByNameAndLocation(String name, Location location);
 
+  /**
+   * Finds the names of the active assets of a location, to check many new names at once.
+   *
+   * @param location the location
+   * @return the names, with duplicates if several assets share one
+   */
+  @Query("SELECT a.name FROM Asset a WHERE a.location = :location AND a.disabled = false")
+  List<String> findActiveNamesByLocation(Location location);
+
   List<Asset> findByNameAndLocationAndIdNot(String name, Location location, Integer assetId);
 
   List<Asset> findByLocationIdAndDisabledFalse(Integer locationId);
+
+  /**
+   * Counts active (not disabled) assets grouped by location, category and status. This is the
+   * source of truth the incrementally maintained status counters are reconciled against.
+   *
+   * @return one row per location, category and status that has at least one active asset
+   */
+  @Query(
+      "SELECT a.location.id AS locationId, a.category.id AS categoryId, a.status AS status, "
+          + "COUNT(a) AS count FROM Asset a WHERE a.disabled = false "
+          + "GROUP BY a.location.id, a.category.id, a.status")
+  List<AssetStatusCountView> countActiveGroupedByLocationCategoryAndStatus();
 }
@@ -0,0 +1,56 @@
+package com.rookie.asset_management.repository;
+
+import com.rookie.asset_management.entity.AssetStatusSnapshot;
+import com.rookie.asset_management.entity.AssetStatusSnapshotId;
+import com.rookie.asset_management.repository.projection.AssetStatusSnapshotView;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/** Repository for the daily {@link AssetStatusSnapshot} rows used by trend reports. */
+@Repository
+public interface AssetStatusSnapshotRepository
+    extends BaseRepository<AssetStatusSnapshot, AssetStatusSnapshotId> {
+
+  /**
+   * Copies the current status counters into the snapshot of the given day. Running it again on the
+   * same day overwrites that day's rows, so the last run of a day wins.
+   *
+   * @param snapshotDate the day to write
+   * @return the number of written rows
+   */
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO asset_status_snapshots "
+              + "(snapshot_date, location_id, category_id, status, count) "
+              + "SELECT :snapshotDate, location_id, category_id, status, count "
+              + "FROM category_status_counts "
+              + "ON CONFLICT (snapshot_date, location_id, category_id, status) "
+              + "DO UPDATE SET count = EXCLUDED.count",
+      nativeQuery = true)
+  int snapshotCounters(LocalDate snapshotDate);
+
+  /**
+   * Returns the snapshotted counts of a date range, summed over the matching locations.
+   *
+   * @param from the first day, inclusive
+   * @param to the last day, inclusive
+   * @param categoryId the category to restrict to, or {@code null} for all categories
+   * @param locationId the location to restrict to, or {@code null} for all locations
+   * @return one row per day, category and status, ordered by day
+   */
+  @Query(
+      "SELECT s.id.snapshotDate AS snapshotDate, s.id.categoryId AS categoryId, "
+          + "s.id.status AS status, SUM(s.count) AS count "
+          + "FROM AssetStatusSnapshot s "
+          + "WHERE s.id.snapshotDate BETWEEN :from AND :to "
+          + "AND (:categoryId IS NULL OR s.id.categoryId = :categoryId) "
+          + "AND (:locationId IS NULL OR s.id.locationId = :locationId) "
+          + "GROUP BY s.id.snapshotDate, s.id.categoryId, s.id.status "
+          + "ORDER BY s.id.snapshotDate")
+  List<AssetStatusSnapshotView> findSeries(
+      LocalDate from, LocalDate to, Integer categoryId, Integer locationId);
+}
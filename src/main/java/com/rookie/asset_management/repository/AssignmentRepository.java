@@ -3,7 +3,10 @@ package com.rookie.asset_management.repository;
 import com.rookie.asset_management.entity.Asset;
 import com.rookie.asset_management.entity.Assignment;
 import com.rookie.asset_management.enums.AssignmentStatus;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.Query;
 
 /** Repository interface for managing {@link Assignment} entities. */
 public interface AssignmentRepository extends SpecificationRepository<Assignment, Integer> {
@@ -11,4 +14,17 @@ public interface AssignmentRepository extends SpecificationRepository<Assignment
   Optional<Assignment> findByIdAndDeletedFalse(Integer id);
 
   boolean existsByAssetAndStatusAndDeletedFalse(Asset asset, AssignmentStatus assignmentStatus);
+
+  /**
+   * Finds which of the given assets already have a waiting assignment.
+   *
+   * @param assetIds the ids of the assets to check
+   * @return the ids of the assets with a waiting assignment
+   */
+  @Query(
+      value =
+          "SELECT asset_id FROM assignments "
+              + "WHERE asset_id IN (:assetIds) AND status = 'WAITING' AND deleted = FALSE",
+      nativeQuery = true)
+  List<Integer> findAssetIdsWithWaitingAssignment(Collection<Integer> assetIds);
 }
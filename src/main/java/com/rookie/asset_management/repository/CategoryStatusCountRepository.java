@@ -0,0 +1,69 @@
+package com.rookie.asset_management.repository;
+
+import com.rookie.asset_management.entity.CategoryStatusCount;
+import com.rookie.asset_management.entity.CategoryStatusCountId;
+import com.rookie.asset_management.repository.projection.AssetStatusCountView;
+import java.util.List;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the incrementally maintained {@link CategoryStatusCount} counters.
+ *
+ * <p>Counter updates are single-statement upserts so that concurrent transitions on the same key
+ * never lose an update and never require a read before the write.
+ */
+@Repository
+public interface CategoryStatusCountRepository
+    extends BaseRepository<CategoryStatusCount, CategoryStatusCountId> {
+
+  /**
+   * Adds {@code delta} to the counter of the given key, creating the row if it does not exist yet.
+   *
+   * @param locationId the location of the asset
+   * @param categoryId the category of the asset
+   * @param status the asset status name
+   * @param delta the value to add, may be negative
+   * @return the number of affected rows
+   */
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO category_status_counts (location_id, category_id, status, count) "
+              + "VALUES (:locationId, :categoryId, CAST(:status AS ASSET_STATUS), :delta) "
+              + "ON CONFLICT (location_id, category_id, status) "
+              + "DO UPDATE SET count = category_status_counts.count + EXCLUDED.count",
+      nativeQuery = true)
+  int increment(Integer locationId, Integer categoryId, String status, long delta);
+
+  /**
+   * Overwrites the counter of the given key, creating the row if it does not exist yet. Used by the
+   * reconciliation job to repair drift.
+   *
+   * @param locationId the location id
+   * @param categoryId the category id
+   * @param status the asset status name
+   * @param count the exact value to store
+   * @return the number of affected rows
+   */
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO category_status_counts (location_id, category_id, status, count) "
+              + "VALUES (:locationId, :categoryId, CAST(:status AS ASSET_STATUS), :count) "
+              + "ON CONFLICT (location_id, category_id, status) "
+              + "DO UPDATE SET count = EXCLUDED.count",
+      nativeQuery = true)
+  int overwrite(Integer locationId, Integer categoryId, String status, long count);
+
+  /**
+   * Returns every counter as a flat view.
+   *
+   * @return all counters
+   */
+  @Query(
+      "SELECT c.id.locationId AS locationId, c.id.categoryId AS categoryId, "
+          + "c.id.status AS status, c.count AS count FROM CategoryStatusCount c")
+  List<AssetStatusCountView> findAllCounts();
+}
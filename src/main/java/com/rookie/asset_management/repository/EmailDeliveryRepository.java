@@ -0,0 +1,42 @@
+package com.rookie.asset_management.repository;
+
+import com.rookie.asset_management.entity.EmailDelivery;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EmailDeliveryRepository extends JpaRepository<EmailDelivery, Long> {
+
+  /**
+   * Locks the next due emails: the pending ones and the ones whose sender did not report back
+   * before its claim expired. Rows already locked by another dispatcher are skipped.
+   *
+   * @param now the current time, emails scheduled later are not returned
+   * @param limit the maximum number of emails to lock
+   * @return the locked emails, oldest first
+   */
+  @Query(
+      value =
+          "SELECT * FROM email_deliveries "
+              + "WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= :now "
+              + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+      nativeQuery = true)
+  List<EmailDelivery> lockNextBatch(LocalDateTime now, int limit);
+
+  /**
+   * Deletes the sent emails older than the given time.
+   *
+   * @param before the sending time limit
+   * @return the number of deleted emails
+   */
+  @Modifying
+  @Query(
+      "DELETE FROM EmailDelivery e "
+          + "WHERE e.status = com.rookie.asset_management.enums.EmailDeliveryStatus.SENT "
+          + "AND e.sentAt < :before")
+  int deleteSentBefore(LocalDateTime before);
+}
@@ -2,8 +2,13 @@ package com.rookie.asset_management.repository;
 
 import com.rookie.asset_management.entity.Notification;
 import com.rookie.asset_management.entity.User;
+import com.rookie.asset_management.repository.projection.NotificationFeedView;
+import java.time.LocalDateTime;
 import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 /** Repository interface for managing notifications. */
 public interface NotificationRepository extends BaseRepository<Notification, Integer> {
@@ -17,4 +22,101 @@ public interface NotificationRepository extends BaseRepository<Notification, Int
   List<Notification> findAllByRecipient(User recipient);
 
   List<Notification> findAllByRecipientAndIsRead(User currentUser, boolean b);
+
+  /**
+   * Finds one page of a recipient's notification feed, newest first, starting strictly after the
+   * {@code (createdAt, id)} position of the previous page. The row value comparison lets the
+   * database seek into the {@code (recipient_id, created_at, id)} index instead of skipping rows;
+   * the redundant bound on {@code created_at} lets it prune the monthly partitions newer than the
+   * cursor.
+   *
+   * @param recipientId the id of the recipient
+   * @param type the notification type to keep, {@code null} for all
+   * @param isRead the read status to keep, {@code null} for all
+   * @param createdAt the creation time of the last row of the previous page
+   * @param id the id of the last row of the previous page
+   * @param limit the maximum number of rows to return
+   * @return the rows of the page
+   */
+  @Query(
+      value =
+          "SELECT n.id AS id, CAST(n.type AS VARCHAR) AS type, n.is_read AS \"isRead\", "
+              + "n.created_at AS \"createdAt\", s.username AS \"senderName\", "
+              + "a.name AS \"assetName\", n.event_count AS \"eventCount\", "
+              + "CAST(n.related_ids AS VARCHAR) AS \"relatedIds\" "
+              + "FROM notifications n "
+              + "LEFT JOIN users s ON s.id = n.sender_id "
+              + "LEFT JOIN assignments asg ON asg.id = n.assignment_id "
+              + "LEFT JOIN assets a ON a.id = asg.asset_id "
+              + "WHERE n.recipient_id = :recipientId "
+              + "AND (CAST(:type AS VARCHAR) IS NULL OR CAST(n.type AS VARCHAR) = :type) "
+              + "AND (CAST(:isRead AS BOOLEAN) IS NULL OR n.is_read = :isRead) "
+              + "AND n.created_at <= :createdAt "
+              + "AND (n.created_at, n.id) < (:createdAt, :id) "
+              + "ORDER BY n.created_at DESC, n.id DESC "
+              + "LIMIT :limit",
+      nativeQuery = true)
+  List<NotificationFeedView> findFeedPage(
+      Integer recipientId,
+      String type,
+      Boolean isRead,
+      LocalDateTime createdAt,
+      Integer id,
+      int limit);
+
+  /**
+   * Finds the notifications of a recipient created after a given notification, oldest first. Used
+   * to push new notifications and to replay the ones missed by a reconnecting client.
+   *
+   * @param recipientId the id of the recipient
+   * @param id the id of the last notification already seen
+   * @param limit the maximum number of notifications to return
+   * @return the newer notifications
+   */
+  @EntityGraph(attributePaths = {"assignment.asset", "sender"})
+  List<Notification> findByRecipientIdAndIdGreaterThanOrderByIdAsc(
+      Integer recipientId, Integer id, Limit limit);
+
+  /**
+   * Finds the id of the latest notification of a recipient.
+   *
+   * @param recipientId the id of the recipient
+   * @return the latest notification id, 0 when the recipient has none
+   */
+  @Query("SELECT COALESCE(MAX(n.id), 0) FROM Notification n WHERE n.recipient.id = :recipientId")
+  int findLastIdByRecipientId(Integer recipientId);
+
+  /**
+   * Counts the unread notifications of a recipient.
+   *
+   * @param recipientId the id of the recipient
+   * @return the number of unread notifications
+   */
+  long countByRecipientIdAndIsReadFalse(Integer recipientId);
+
+  /**
+   * Finds the recipients that received a notification since a given time.
+   *
+   * @param since the creation time lower bound
+   * @return the distinct recipient ids
+   */
+  @Query("SELECT DISTINCT n.recipient.id FROM Notification n WHERE n.createdAt >= :since")
+  List<Integer> findRecipientIdsSince(LocalDateTime since);
+
+  /**
+   * Marks the unread notifications of a recipient as read with a single statement. Only the
+   * notifications up to the given id and creation time are updated, so the ones that arrived after
+   * the client loaded its list stay unread.
+   *
+   * @param recipientId the id of the recipient
+   * @param upToId the id of the newest notification to mark
+   * @param upTo the creation time of the newest notification to mark
+   * @return the number of notifications marked as read
+   */
+  @Modifying
+  @Query(
+      "UPDATE Notification n SET n.isRead = true "
+          + "WHERE n.recipient.id = :recipientId AND n.isRead = false "
+          + "AND n.id <= :upToId AND n.createdAt <= :upTo")
+  int markAsReadUpTo(Integer recipientId, Integer upToId, LocalDateTime upTo);
 }
@@ -0,0 +1,43 @@
+package com.rookie.asset_management.repository;
+
+import com.rookie.asset_management.entity.OutboxEvent;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+  /**
+   * Locks the next due pending events. Rows already locked by another dispatcher are skipped
+   * instead of waited for, so several instances can drain the outbox concurrently without
+   * delivering the same event twice.
+   *
+   * @param now the current time, events scheduled later are not returned
+   * @param limit the maximum number of events to lock
+   * @return the locked events, oldest first
+   */
+  @Query(
+      value =
+          "SELECT * FROM outbox_events "
+              + "WHERE status = 'PENDING' AND next_attempt_at <= :now "
+              + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+      nativeQuery = true)
+  List<OutboxEvent> lockNextBatch(LocalDateTime now, int limit);
+
+  /**
+   * Deletes the delivered events processed before the given time.
+   *
+   * @param before the processing time limit
+   * @return the number of deleted events
+   */
+  @Modifying
+  @Query(
+      "DELETE FROM OutboxEvent e "
+          + "WHERE e.status = com.rookie.asset_management.enums.OutboxEventStatus.SENT "
+          + "AND e.processedAt < :before")
+  int deleteSentBefore(LocalDateTime before);
+}
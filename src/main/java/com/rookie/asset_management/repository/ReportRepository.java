@@ -0,0 +1,77 @@
+package com.rookie.asset_management.repository;
+
+import com.rookie.asset_management.entity.Category;
+import com.rookie.asset_management.repository.projection.CategoryReportView;
+import java.util.List;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+/**
+ * Read-only repository for the category report. Counts come from the {@code category_status_counts}
+ * table, so a report query touches one row per category and status instead of every asset.
+ */
+@org.springframework.stereotype.Repository
+public interface ReportRepository extends Repository<Category, Integer> {
+
+  /**
+   * Returns one page of category reports together with the total number of categories.
+   *
+   * <p>{@code sortKey} must be one of {@code id}, {@code total}, {@code assigned}, {@code
+   * available}, {@code notavailable}, {@code waiting} or {@code recycled}; rows with the same key
+   * are ordered by category id ascending. The total is computed with a window function over the
+   * grouped rows before {@code LIMIT} is applied, so it is only missing when the requested page is
+   * past the last row.
+   *
+   * @param sortKey the normalized sort key
+   * @param sortDir {@code asc} or {@code desc}
+   * @param limit the page size
+   * @param offset the index of the first row to return
+   * @return the rows of the requested page, each carrying the total number of categories
+   */
+  @Query(
+      value =
+          "SELECT r.id AS \"id\", r.category AS \"category\", r.total AS \"total\", "
+              + "r.assigned AS \"assigned\", r.available AS \"available\", "
+              + "r.not_available AS \"notAvailable\", r.waiting AS \"waiting\", "
+              + "r.recycled AS \"recycled\", COUNT(*) OVER () AS \"totalElements\" "
+              + "FROM ("
+              + "  SELECT c.id AS id, c.name AS category, "
+              + "  CAST(COALESCE(SUM(s.count), 0) AS BIGINT) AS total, "
+              + "  CAST(COALESCE(SUM(s.count) FILTER (WHERE s.status = 'ASSIGNED'), 0) AS BIGINT)"
+              + "    AS assigned, "
+              + "  CAST(COALESCE(SUM(s.count) FILTER (WHERE s.status = 'AVAILABLE'), 0) AS BIGINT)"
+              + "    AS available, "
+              + "  CAST(COALESCE(SUM(s.count) FILTER (WHERE s.status = 'NOT_AVAILABLE'), 0)"
+              + "    AS BIGINT) AS not_available, "
+              + "  CAST(COALESCE(SUM(s.count) FILTER (WHERE s.status = 'WAITING'), 0) AS BIGINT)"
+              + "    AS waiting, "
+              + "  CAST(COALESCE(SUM(s.count) FILTER (WHERE s.status = 'RECYCLED'), 0) AS BIGINT)"
+              + "    AS recycled "
+              + "  FROM categories c "
+              + "  LEFT JOIN category_status_counts s ON s.category_id = c.id "
+              + "  GROUP BY c.id, c.name"
+              + ") r "
+              + "ORDER BY "
+              + "CASE WHEN :sortDir = 'asc' THEN CASE :sortKey "
+              + "  WHEN 'total' THEN r.total WHEN 'assigned' THEN r.assigned "
+              + "  WHEN 'available' THEN r.available WHEN 'notavailable' THEN r.not_available "
+              + "  WHEN 'waiting' THEN r.waiting WHEN 'recycled' THEN r.recycled END END ASC, "
+              + "CASE WHEN :sortDir = 'desc' THEN CASE :sortKey "
+              + "  WHEN 'total' THEN r.total WHEN 'assigned' THEN r.assigned "
+              + "  WHEN 'available' THEN r.available WHEN 'notavailable' THEN r.not_available "
+              + "  WHEN 'waiting' THEN r.waiting WHEN 'recycled' THEN r.recycled END END DESC, "
+              + "CASE WHEN :sortKey = 'id' AND :sortDir = 'desc' THEN r.id END DESC, "
+              + "r.id ASC "
+              + "LIMIT :limit OFFSET :offset",
+      nativeQuery = true)
+  List<CategoryReportView> findReportPage(String sortKey, String sortDir, int limit, long offset);
+
+  /**
+   * Counts all categories. Only needed when a requested page is empty and therefore carries no
+   * total.
+   *
+   * @return the number of categories
+   */
+  @Query(value = "SELECT COUNT(*) FROM categories", nativeQuery = true)
+  long countCategories();
+}
@@ -1,6 +1,7 @@
 package com.rookie.asset_management.repository;
 
 import com.rookie.asset_management.entity.User;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.Query;
@@ -45,6 +46,24 @@ public interface UserRepository extends SpecificationRepository<User, Integer> {
    */
   boolean existsByEmailAndDisabledFalse(String email);
 
+  /**
+   * Finds which of the given emails are used by a user that is not disabled, ignoring case.
+   *
+   * @param emails the lower-cased emails to check
+   * @return the lower-cased emails already in use
+   */
+  @Query("SELECT LOWER(u.email) FROM User u WHERE u.disabled = false AND LOWER(u.email) IN :emails")
+  List<String> findActiveEmailsIn(@Param("emails") Collection<String> emails);
+
+  /**
+   * Finds the usernames starting with the given prefix, with the prefix index on the username.
+   *
+   * @param prefix the start of the usernames
+   * @return the matching usernames
+   */
+  @Query("SELECT u.username FROM User u WHERE u.username LIKE :prefix%")
+  List<String> findUsernamesStartingWith(@Param("prefix") String prefix);
+
   /**
    * Finds all admin users that are not disabled and are assigned to the location with the given ID.
    *
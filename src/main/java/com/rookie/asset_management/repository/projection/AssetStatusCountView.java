@@ -0,0 +1,14 @@
+package com.rookie.asset_management.repository.projection;
+
+import com.rookie.asset_management.enums.AssetStatus;
+
+/** Read-only projection of an asset count grouped by location, category and status. */
+public interface AssetStatusCountView {
+  Integer getLocationId();
+
+  Integer getCategoryId();
+
+  AssetStatus getStatus();
+
+  Long getCount();
+}
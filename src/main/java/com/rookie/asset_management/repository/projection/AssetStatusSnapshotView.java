@@ -0,0 +1,15 @@
+package com.rookie.asset_management.repository.projection;
+
+import com.rookie.asset_management.enums.AssetStatus;
+import java.time.LocalDate;
+
+/** Read-only projection of a snapshotted asset count for one day, category and status. */
+public interface AssetStatusSnapshotView {
+  LocalDate getSnapshotDate();
+
+  Integer getCategoryId();
+
+  AssetStatus getStatus();
+
+  Long getCount();
+}
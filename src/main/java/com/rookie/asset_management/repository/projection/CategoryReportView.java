@@ -0,0 +1,26 @@
+package com.rookie.asset_management.repository.projection;
+
+/**
+ * Read-only projection of one category report row. {@link #getTotalElements()} carries the number
+ * of categories matching the query regardless of paging, so one query returns both the page and its
+ * total.
+ */
+public interface CategoryReportView {
+  Integer getId();
+
+  String getCategory();
+
+  Long getTotal();
+
+  Long getAssigned();
+
+  Long getAvailable();
+
+  Long getNotAvailable();
+
+  Long getWaiting();
+
+  Long getRecycled();
+
+  Long getTotalElements();
+}
@@ -0,0 +1,26 @@
+package com.rookie.asset_management.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of one notification feed row, with the sender and asset names already joined
+ * so a page is served by a single query.
+ */
+public interface NotificationFeedView {
+  Integer getId();
+
+  String getType();
+
+  Boolean getIsRead();
+
+  LocalDateTime getCreatedAt();
+
+  String getSenderName();
+
+  String getAssetName();
+
+  Integer getEventCount();
+
+  /** The related ids as text, formatted by the database, e.g. {@code {1,2,3}}. */
+  String getRelatedIds();
+}
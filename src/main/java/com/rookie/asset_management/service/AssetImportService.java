@@ -0,0 +1,22 @@
+package com.rookie.asset_management.service;
+
+import com.rookie.asset_management.dto.response.asset.AssetImportDtoResponse;
+import com.rookie.asset_management.enums.BulkMode;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Service interface for registering many assets from a file. The file is read row by row, each row
+ * is validated like a single asset creation and the valid rows are inserted in batches in the
+ * location of the current admin.
+ */
+public interface AssetImportService {
+  /**
+   * Imports the assets of a CSV or XLSX file with the columns Name, Category (name or prefix),
+   * Specification, Installed Date and State.
+   *
+   * @param file the uploaded file
+   * @param mode whether the valid rows are imported when some rows are rejected
+   * @return the number of imported assets and the error of every rejected row
+   */
+  AssetImportDtoResponse importAssets(MultipartFile file, BulkMode mode);
+}
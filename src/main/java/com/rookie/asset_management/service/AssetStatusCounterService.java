@@ -0,0 +1,58 @@
+package com.rookie.asset_management.service;
+
+import com.rookie.asset_management.entity.Asset;
+import com.rookie.asset_management.enums.AssetStatus;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Service maintaining the per location, category and status asset counters used by reports.
+ *
+ * <p>The {@code record*} methods must be called inside the transaction that performs the asset
+ * change, so the counters commit or roll back together with it.
+ */
+public interface AssetStatusCounterService {
+  /**
+   * Records a newly created asset.
+   *
+   * @param asset the persisted asset
+   */
+  void recordCreated(Asset asset);
+
+  /**
+   * Records many newly created assets with one counter update per location, category and status.
+   *
+   * @param assets the persisted assets
+   */
+  void recordAllCreated(Collection<Asset> assets);
+
+  /**
+   * Records a status transition of an existing asset. Nothing is written when the status did not
+   * change.
+   *
+   * @param asset the asset, already carrying its new status
+   * @param previousStatus the status the asset had before the change
+   */
+  void recordStatusChange(Asset asset, AssetStatus previousStatus);
+
+  /**
+   * Records the removal (soft delete) of an asset.
+   *
+   * @param asset the removed asset, still carrying the status it had when it was removed
+   */
+  void recordRemoved(Asset asset);
+
+  /**
+   * Returns the current counters summed over all locations.
+   *
+   * @return asset counts per category id and status
+   */
+  Map<Integer, Map<AssetStatus, Long>> getCountsByCategory();
+
+  /**
+   * Compares every counter with the assets table and repairs the ones that drifted.
+   *
+   * @return the number of repaired counters
+   */
+  int reconcile();
+}
@@ -0,0 +1,22 @@
+package com.rookie.asset_management.service;
+
+import java.time.LocalDate;
+
+/** Service writing the daily asset status snapshots that trend reports are built from. */
+public interface AssetStatusSnapshotService {
+  /**
+   * Writes today's snapshot from the current status counters, replacing an earlier snapshot of the
+   * same day.
+   *
+   * @return the number of written rows
+   */
+  int takeSnapshot();
+
+  /**
+   * Writes the snapshot of the given day from the current status counters.
+   *
+   * @param snapshotDate the day to write
+   * @return the number of written rows
+   */
+  int takeSnapshot(LocalDate snapshotDate);
+}
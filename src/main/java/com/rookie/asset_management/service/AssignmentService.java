@@ -1,5 +1,6 @@
 package com.rookie.asset_management.service;
 
+import com.rookie.asset_management.dto.request.assignment.BulkCreateAssignmentRequest;
 import com.rookie.asset_management.dto.request.assignment.CreateUpdateAssignmentRequest;
 import com.rookie.asset_management.dto.response.ApiDtoResponse;
 import com.rookie.asset_management.dto.response.PagingDtoResponse;
@@ -7,6 +8,7 @@ import com.rookie.asset_management.dto.response.assignment.AssignmentDetailDtoRe
 import com.rookie.asset_management.dto.response.assignment.AssignmentDetailForEditResponse;
 import com.rookie.asset_management.dto.response.assignment.AssignmentListDtoResponse;
 import com.rookie.asset_management.dto.response.assignment.AssignmentStatusResponse;
+import com.rookie.asset_management.dto.response.assignment.BulkAssignmentDtoResponse;
 import com.rookie.asset_management.dto.response.assignment.MyAssignmentDtoResponse;
 import com.rookie.asset_management.enums.AssignmentStatus;
 import java.util.List;
@@ -25,6 +27,16 @@ public interface AssignmentService {
    */
   AssignmentListDtoResponse createAssignment(CreateUpdateAssignmentRequest request);
 
+  /**
+   * Creates many assignments at once. The items are validated together, then the valid ones are
+   * created in one batch and their assignees notified; in all-or-nothing mode nothing is created
+   * when any item fails.
+   *
+   * @param request the assignments to create and the mode
+   * @return the outcome of each requested assignment
+   */
+  BulkAssignmentDtoResponse bulkCreateAssignments(BulkCreateAssignmentRequest request);
+
   /**
    * Edits an existing assignment based on the provided assignment ID and request.
    *
@@ -0,0 +1,22 @@
+package com.rookie.asset_management.service;
+
+import com.rookie.asset_management.entity.User;
+
+/**
+ * Service interface resolving the user of the current request.
+ *
+ * <p>The user is loaded once per request by the JWT authentication filter. This service hands out
+ * that same user as an entity managed by the persistence context of the request, so services can
+ * read its associations and link it to other entities without querying the users table again.
+ */
+public interface CurrentUserService {
+
+  /**
+   * Retrieves the authenticated user of the current request.
+   *
+   * @return the current user, managed by the persistence context of the request
+   * @throws com.rookie.asset_management.exception.AppException with status UNAUTHORIZED if the
+   *     request is not authenticated or the user no longer exists
+   */
+  User getCurrentUser();
+}
@@ -1,5 +1,48 @@
 package com.rookie.asset_management.service;
 
+import com.rookie.asset_management.dto.response.email.EmailDeliveryDtoResponse;
+import java.util.List;
+
+/**
+ * Queues emails for asynchronous delivery. Emails are sent in the background by the email
+ * dispatcher, with retries and backoff, so callers never wait on the SMTP server.
+ */
 public interface EmailService {
-  boolean sendSimpleMessage(String to, String subject, String content);
+
+  /**
+   * An email to queue.
+   *
+   * @param to the recipient address
+   * @param subject the subject
+   * @param content the body
+   */
+  record Email(String to, String subject, String content) {}
+
+  /**
+   * Queues an email. Joins the caller's transaction, so the email is only sent if that transaction
+   * commits.
+   *
+   * @param to the recipient address
+   * @param subject the subject
+   * @param content the body
+   * @return the delivery, to be followed with {@link #getEmailDelivery(Long)}
+   */
+  EmailDeliveryDtoResponse queueEmail(String to, String subject, String content);
+
+  /**
+   * Queues many emails with one batch insert. Joins the caller's transaction like {@link
+   * #queueEmail(String, String, String)}.
+   *
+   * @param emails the emails to queue
+   * @return the deliveries, in the order of the emails
+   */
+  List<EmailDeliveryDtoResponse> queueEmails(List<Email> emails);
+
+  /**
+   * Retrieves the delivery status of a queued email.
+   *
+   * @param id the id of the delivery
+   * @return the delivery
+   */
+  EmailDeliveryDtoResponse getEmailDelivery(Long id);
 }
@@ -1,5 +1,6 @@
 package com.rookie.asset_management.service;
 
+import com.rookie.asset_management.util.ExcelStyleRegistry;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Workbook;
 
@@ -7,14 +8,24 @@ import org.apache.poi.ss.usermodel.Workbook;
  * Interface for applying styles to Excel headers and data rows. This interface allows for
  * customization of the appearance of headers and data cells in an Excel workbook using decorators
  * pattern.
+ *
+ * <p>Styles are never created per cell: the decorator builds one {@link ExcelStyleRegistry} per
+ * workbook, and both the header and the data rows of every sheet reuse its styles.
  */
 public interface ExcelStyleDecorator {
   /**
-   * Applies a style to the header row of an Excel sheet.
+   * Creates the style registry of a workbook. Called once per workbook, before any row is written.
    *
-   * @param workbook the workbook to which the header style will be applied
+   * @param workbook the workbook being generated
+   * @return the registry holding every style the workbook will use
+   */
+  ExcelStyleRegistry createStyles(Workbook workbook);
+
+  /**
+   * Applies a style to the header row of an Excel sheet. Header values are already set.
+   *
+   * @param styles the style registry of the workbook
    * @param headerRow the row containing the headers
-   * @param headers the array of header names to be styled
    */
-  void applyStyle(Workbook workbook, Row headerRow, String[] headers);
+  void applyStyle(ExcelStyleRegistry styles, Row headerRow);
 }
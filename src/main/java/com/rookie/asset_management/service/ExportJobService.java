@@ -0,0 +1,40 @@
+package com.rookie.asset_management.service;
+
+import com.rookie.asset_management.dto.request.export.ExportJobRequest;
+import com.rookie.asset_management.dto.response.export.ExportJobDtoResponse;
+import java.nio.file.Path;
+
+/**
+ * Service interface for running exports in the background. An export job is submitted, processed on
+ * a bounded executor and its result is written to the local disk, where it can be downloaded until
+ * the retention period expires.
+ */
+public interface ExportJobService {
+  /**
+   * Submits a new export job for the current user. If an identical job is still pending or running,
+   * the existing job is returned instead of creating a new one.
+   *
+   * @param request the export parameters (type, format, paging and sorting)
+   * @return the submitted (or coalesced) job
+   */
+  ExportJobDtoResponse submitJob(ExportJobRequest request);
+
+  /**
+   * Retrieves the status and progress of an export job owned by the current user.
+   *
+   * @param jobId the id of the job
+   * @return the job status
+   */
+  ExportJobDtoResponse getJob(String jobId);
+
+  /**
+   * Retrieves the result file of a completed export job owned by the current user.
+   *
+   * @param jobId the id of the job
+   * @return the path of the generated file
+   */
+  Path getJobFile(String jobId);
+
+  /** Removes the jobs and files which are older than the retention period. */
+  void cleanupExpiredJobs();
+}
@@ -0,0 +1,85 @@
+package com.rookie.asset_management.service;
+
+import java.time.Duration;
+
+/**
+ * Store of the idempotency keys sent by the clients, see {@link
+ * com.rookie.asset_management.aspect.Idempotent}.
+ *
+ * <p>A key is first claimed by the request executing it, then completed with the response to
+ * replay, or released if the execution failed so that a retry runs it again. Only one request can
+ * hold the claim on a key: the claim and the checks of an existing entry are atomic.
+ */
+public interface IdempotencyStore {
+
+  /**
+   * Claims a key for a new execution, unless it is already claimed or completed and not expired.
+   * The claim of an execution that never completed (e.g. the node died) can be taken over once its
+   * lock timeout has passed.
+   *
+   * @param key the scoped idempotency key
+   * @param fingerprint the hash of the request the key was sent with
+   * @param lockTimeout how long the claim holds without being completed or released
+   * @param ttl how long the entry is kept
+   * @return the outcome of the claim, with the recorded response when the key was completed
+   */
+  Claim claim(String key, String fingerprint, Duration lockTimeout, Duration ttl);
+
+  /**
+   * Records the response of the execution holding the claim, replayed for the retries until the
+   * entry expires.
+   *
+   * @param key the scoped idempotency key
+   * @param response the response to replay
+   * @param ttl how long the entry is kept from now
+   */
+  void complete(String key, StoredResponse response, Duration ttl);
+
+  /**
+   * Drops the claim of a failed execution.
+   *
+   * @param key the scoped idempotency key
+   */
+  void release(String key);
+
+  /**
+   * Deletes the expired entries.
+   *
+   * @return the number of entries deleted
+   */
+  int purgeExpired();
+
+  /** The outcome of {@link #claim}. */
+  enum ClaimStatus {
+    /** The key was free; the caller executes the request and completes or releases the key. */
+    CLAIMED,
+    /** Another request with the same key is being executed. */
+    IN_PROGRESS,
+    /** The key was completed; its response is replayed. */
+    COMPLETED,
+    /** The key was used with a different request. */
+    MISMATCH
+  }
+
+  /**
+   * @param status the outcome
+   * @param response the recorded response, only set when {@code COMPLETED}
+   */
+  record Claim(ClaimStatus status, StoredResponse response) {
+    public static final Claim CLAIMED = new Claim(ClaimStatus.CLAIMED, null);
+    public static final Claim IN_PROGRESS = new Claim(ClaimStatus.IN_PROGRESS, null);
+    public static final Claim MISMATCH = new Claim(ClaimStatus.MISMATCH, null);
+
+    public static Claim completed(StoredResponse response) {
+      return new Claim(ClaimStatus.COMPLETED, response);
+    }
+  }
+
+  /**
+   * A recorded response.
+   *
+   * @param status the HTTP status
+   * @param body the JSON body
+   */
+  record StoredResponse(int status, String body) {}
+}
@@ -1,8 +1,12 @@
 package com.rookie.asset_management.service;
 
+import com.rookie.asset_management.dto.response.notification.NotificationBatchResult;
 import com.rookie.asset_management.entity.Assignment;
 import com.rookie.asset_management.entity.ReturningRequest;
 import com.rookie.asset_management.entity.User;
+import com.rookie.asset_management.enums.NotificationType;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Interface for creating notifications in the asset management system. This interface defines
@@ -20,6 +24,14 @@ public interface NotificationCreator {
    */
   void createAssignmentNotification(User sender, User recipient, Assignment assignment);
 
+  /**
+   * Creates a notification to the assignee of each assignment, recorded all at once.
+   *
+   * @param sender the user who is sending the notifications
+   * @param assignments the assignments related to the notifications
+   */
+  void createAssignmentNotifications(User sender, List<Assignment> assignments);
+
   /**
    * Creates a notification for a completed returning request.
    *
@@ -65,4 +77,23 @@ public interface NotificationCreator {
    * @param assignment the assignment related to the notification
    */
   void createAssignmentRejectedNotification(User sender, User recipient, Assignment assignment);
+
+  /**
+   * Creates the same notification for many recipients with batched inserts instead of one save per
+   * recipient. A failing batch does not fail the others; the outcome of each batch is reported in
+   * the result.
+   *
+   * @param type the type of the notifications
+   * @param sender the user who is sending the notifications
+   * @param recipients the users who receive a notification
+   * @param assignment the assignment related to the notifications, may be {@code null}
+   * @param returningRequest the returning request related to the notifications, may be {@code null}
+   * @return the outcome of every batch
+   */
+  NotificationBatchResult createNotifications(
+      NotificationType type,
+      User sender,
+      Collection<User> recipients,
+      Assignment assignment,
+      ReturningRequest returningRequest);
 }
@@ -0,0 +1,36 @@
+package com.rookie.asset_management.service;
+
+/**
+ * Housekeeping of the monthly partitioned notifications table: creation of the upcoming partitions,
+ * retention of the read notifications and removal of the partitions left empty.
+ */
+public interface NotificationMaintenanceService {
+
+  /** Runs every maintenance step, in order: partitions, retention, cleanup. */
+  void maintain();
+
+  /**
+   * Creates the monthly partitions from the current month to {@code
+   * app.notification.partitions.months-ahead} months ahead, if missing. Rows of such a month that
+   * landed in the default partition meanwhile are moved into the new partition.
+   *
+   * @return the number of partitions created
+   */
+  int createUpcomingPartitions();
+
+  /**
+   * Archives (or deletes, when archiving is disabled) the read notifications older than {@code
+   * app.notification.retention.days}, in bounded batches each committed on its own. Unread
+   * notifications are never touched.
+   *
+   * @return the number of notifications moved out of the hot table
+   */
+  int archiveExpiredNotifications();
+
+  /**
+   * Drops the monthly partitions entirely past the retention period that no longer hold any row.
+   *
+   * @return the number of partitions dropped
+   */
+  int dropEmptyPartitions();
+}
@@ -1,18 +1,20 @@
 package com.rookie.asset_management.service;
 
 import com.rookie.asset_management.dto.response.notification.NotificationDtoResponse;
-import com.rookie.asset_management.entity.Assignment;
-import com.rookie.asset_management.entity.ReturningRequest;
-import com.rookie.asset_management.entity.User;
+import com.rookie.asset_management.dto.response.notification.NotificationFeedDtoResponse;
+import com.rookie.asset_management.enums.NotificationType;
+import java.time.LocalDateTime;
 import java.util.List;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * Interface for notification services in the asset management system. This interface serves as a
  * marker for notification-related services.
  */
 public interface NotificationService {
+  /** Largest page of the notification feed. */
+  int MAX_FEED_SIZE = 100;
+
   /**
    * Retrieves all notifications for the current user.
    *
@@ -20,6 +22,18 @@ public interface NotificationService {
    */
   List<NotificationDtoResponse> getAllNotifications();
 
+  /**
+   * Retrieves one page of the current user's notifications, newest first.
+   *
+   * @param cursor the cursor returned with the previous page, {@code null} for the first page
+   * @param size the page size, between 1 and {@value #MAX_FEED_SIZE}
+   * @param type the notification type to keep, {@code null} for all
+   * @param isRead the read status to keep, {@code null} for all
+   * @return the page and the cursor of the next one
+   */
+  NotificationFeedDtoResponse getNotificationFeed(
+      String cursor, int size, NotificationType type, Boolean isRead);
+
   /**
    * Retrieves all unread notifications for the current user.
    *
@@ -35,30 +49,23 @@ public interface NotificationService {
    */
   void markNotificationAsRead(Integer notificationId);
 
-  /** Marks all notifications as read for the current user. */
-  void markAllNotificationsAsRead();
-
-  @Async
-  @Transactional
-  void createAssignmentNotification(User sender, User recipient, Assignment assignment);
-
-  @Transactional
-  void createReturningRequestCompletedNotification(
-      User sender, User recipient, ReturningRequest returningRequest);
-
-  @Transactional
-  void createReturningRequestNotification(User sender, ReturningRequest returningRequest);
-
-  @Async
-  @Transactional
-  void createReturningRequestRejectedNotification(
-      User sender, User recipient, Assignment assignment);
-
-  @Async
-  @Transactional
-  void createAssignmentAcceptedNotification(User sender, User recipient, Assignment assignment);
+  /**
+   * Marks the unread notifications of the current user as read with a single update. The optional
+   * bounds keep the notifications received after the client's last refresh unread.
+   *
+   * @param upToId the id of the newest notification to mark, {@code null} for no bound
+   * @param upTo the creation time of the newest notification to mark, {@code null} for no bound
+   * @return the number of notifications marked as read
+   */
+  int markAllNotificationsAsRead(Integer upToId, LocalDateTime upTo);
 
-  @Async
-  @Transactional
-  void createAssignmentRejectedNotification(User sender, User recipient, Assignment assignment);
+  /**
+   * Opens a server-sent event stream pushing the new notifications and the unread count of the
+   * current user.
+   *
+   * @param lastEventId the id of the last notification received before a reconnection, {@code null}
+   *     for a new stream
+   * @return the event stream
+   */
+  SseEmitter streamNotifications(Integer lastEventId);
 }
@@ -0,0 +1,53 @@
+package com.rookie.asset_management.service;
+
+import com.rookie.asset_management.entity.Assignment;
+import com.rookie.asset_management.entity.ReturningRequest;
+import com.rookie.asset_management.entity.User;
+import com.rookie.asset_management.enums.NotificationType;
+import java.util.List;
+
+/**
+ * Records side effects in the transactional outbox. Every method joins the caller's transaction, so
+ * the side effect is committed or rolled back together with the business change; delivery happens
+ * afterwards in the background.
+ */
+public interface OutboxService {
+
+  /**
+   * Records a notification to one recipient.
+   *
+   * @param type the notification type
+   * @param sender the user who is sending the notification
+   * @param recipient the user who receives the notification
+   * @param assignment the related assignment, may be {@code null}
+   * @param returningRequest the related returning request, may be {@code null}
+   */
+  void enqueueNotification(
+      NotificationType type,
+      User sender,
+      User recipient,
+      Assignment assignment,
+      ReturningRequest returningRequest);
+
+  /**
+   * Records a notification to every active admin of the sender's location except the sender.
+   * Recipients are resolved at delivery time.
+   *
+   * @param type the notification type
+   * @param sender the user who is sending the notification
+   * @param assignment the related assignment, may be {@code null}
+   * @param returningRequest the related returning request, may be {@code null}
+   */
+  void enqueueLocationAdminsNotification(
+      NotificationType type, User sender, Assignment assignment, ReturningRequest returningRequest);
+
+  /**
+   * Records one notification to the assignee of each assignment, all with a single batched insert.
+   *
+   * @param type the notification type
+   * @param sender the user who is sending the notifications
+   * @param assignments the assignments whose assignees are notified
+   */
+  void enqueueAssigneeNotifications(
+      NotificationType type, User sender, List<Assignment> assignments);
+}
@@ -1,7 +1,9 @@
 package com.rookie.asset_management.service;
 
 import com.rookie.asset_management.dto.response.PagingDtoResponse;
+import com.rookie.asset_management.dto.response.report.AssetStatusTrendDtoResponse;
 import com.rookie.asset_management.dto.response.report.CategoryReportDtoResponse;
+import java.time.LocalDate;
 import java.util.List;
 
 /** Service interface for generating and managing reports in the asset management system. */
@@ -24,4 +26,17 @@ public interface ReportService {
    */
   PagingDtoResponse<CategoryReportDtoResponse> getAllReports(
       int page, int size, String sortBy, String sortDir);
+
+  /**
+   * Retrieves the daily asset status counts of each category over a date range, built from the
+   * daily snapshots. Days without a snapshot are not part of the series.
+   *
+   * @param from the first day of the range, inclusive
+   * @param to the last day of the range, inclusive
+   * @param categoryId the category to restrict to, or {@code null} for all categories
+   * @param locationId the location to restrict to, or {@code null} for all locations
+   * @return the time series of each category that has at least one snapshot in the range
+   */
+  AssetStatusTrendDtoResponse getTrends(
+      LocalDate from, LocalDate to, Integer categoryId, Integer locationId);
 }
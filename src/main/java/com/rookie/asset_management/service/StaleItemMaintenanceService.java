@@ -0,0 +1,34 @@
+package com.rookie.asset_management.service;
+
+/**
+ * Handling of the waiting items nobody answered in time, as configured by the {@code app.stale.*}
+ * policies: assignments not accepted nor declined and returning requests not completed.
+ */
+public interface StaleItemMaintenanceService {
+
+  /**
+   * Applies both policies, on one node at a time: a node finding the job running elsewhere skips
+   * its run.
+   */
+  void maintain();
+
+  /**
+   * Applies the {@code app.stale.assignment} policy to the waiting assignments whose assigned date
+   * is older than the policy allows, in bounded batches each committed on its own. An expired
+   * assignment is declined and its assigner notified, an escalated one notified to the admins of
+   * the location.
+   *
+   * @return the number of assignments expired or escalated
+   */
+  int processStaleAssignments();
+
+  /**
+   * Applies the {@code app.stale.returning-request} policy to the waiting returning requests older
+   * than the policy allows, in bounded batches each committed on its own. An expired request is
+   * cancelled and its requester notified, and its assignee when an admin requested it; an escalated
+   * one is notified to the admins of the location.
+   *
+   * @return the number of returning requests expired or escalated
+   */
+  int processStaleReturningRequests();
+}
@@ -0,0 +1,19 @@
+package com.rookie.asset_management.service;
+
+import com.rookie.asset_management.dto.request.user.BulkCreateUserRequest;
+import com.rookie.asset_management.dto.response.user.BulkUserDtoResponse;
+
+/**
+ * Service interface for creating many users at once, such as a new intake. Every user is validated
+ * like a single user creation; the usernames of the whole batch are resolved together, the
+ * passwords hashed in parallel and the users inserted in batches.
+ */
+public interface UserImportService {
+  /**
+   * Creates the requested users and queues their account emails.
+   *
+   * @param request the users to create and whether the valid ones are created when some fail
+   * @return the outcome of every requested user
+   */
+  BulkUserDtoResponse bulkCreateUsers(BulkCreateUserRequest request);
+}
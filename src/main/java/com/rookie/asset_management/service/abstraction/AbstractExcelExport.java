@@ -2,12 +2,20 @@ package com.rookie.asset_management.service.abstraction;
 
 import com.rookie.asset_management.exception.AppException;
 import com.rookie.asset_management.service.ExcelStyleDecorator;
+import com.rookie.asset_management.util.ExcelStyleRegistry;
+import com.rookie.asset_management.util.ExcelStyleRegistry.CellKind;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
@@ -20,6 +28,10 @@ import org.springframework.http.HttpStatus;
  * Abstract class for exporting data to Excel format. This class provides methods to create rows,
  * sheets, and set data rows in an Excel workbook.
  *
+ * <p>All cell styles of a workbook come from one {@link ExcelStyleRegistry}, built by the decorator
+ * (or a plain one when there is no decorator), so the number of styles does not grow with the
+ * number of rows or sheets.
+ *
  * @param <D> the type of data to be exported, typically a DTO or entity class
  */
 @RequiredArgsConstructor
@@ -30,15 +42,28 @@ public abstract class AbstractExcelExport<D> {
   ExcelStyleDecorator decorator;
 
   /**
-   * Sets the data rows in the provided sheet based on the list of reports.
+   * Sets the data rows in the provided sheet based on the list of reports. Data rows start at index
+   * 1, below the header row.
    *
    * @param sheet the sheet where the data rows will be set
    * @param reports the list of reports to be included in the sheet
+   * @param styles the style registry of the workbook, to be used for every data cell
    */
-  protected abstract void setData(Sheet sheet, List<D> reports);
+  protected abstract void setData(Sheet sheet, List<D> reports, ExcelStyleRegistry styles);
 
   /**
-   * Generates an Excel file with the specified sheet title, headers, and reports.
+   * Maximum number of data rows written to one sheet; longer exports continue on additional sheets.
+   *
+   * @return the number of data rows per sheet, the Excel limit minus the header row by default
+   */
+  protected int maxRowsPerSheet() {
+    return SpreadsheetVersion.EXCEL2007.getMaxRows() - 1;
+  }
+
+  /**
+   * Generates an Excel file with the specified sheet title, headers, and reports. When there are
+   * more reports than {@link #maxRowsPerSheet()}, the remaining ones are written to additional
+   * sheets named after the title with a sequence number.
    *
    * @param sheetTitle the title of the sheet in the Excel file
    * @param headers the headers for the columns in the Excel sheet
@@ -54,38 +79,64 @@ public abstract class AbstractExcelExport<D> {
       List<D> reports,
       boolean autoSizeColumns,
       boolean filterHeaders) {
+    Map<String, List<D>> sheets = new LinkedHashMap<>();
+    int rowsPerSheet = maxRowsPerSheet();
+    if (reports.size() <= rowsPerSheet) {
+      sheets.put(sheetTitle, reports);
+    } else {
+      for (int from = 0, part = 1; from < reports.size(); from += rowsPerSheet, part++) {
+        String title = part == 1 ? sheetTitle : sheetTitle + " (" + part + ")";
+        sheets.put(title, reports.subList(from, Math.min(from + rowsPerSheet, reports.size())));
+      }
+    }
+    return generateExcelFile(sheets, headers, autoSizeColumns, filterHeaders);
+  }
+
+  /**
+   * Generates an Excel file with one sheet per entry of {@code sheets}, all sharing the same
+   * headers and the same style registry.
+   *
+   * @param sheets the reports of each sheet, keyed by sheet title in iteration order
+   * @param headers the headers for the columns of every sheet
+   * @param autoSizeColumns whether to automatically size the columns based on content
+   * @param filterHeaders whether to enable filtering on the headers
+   * @return a byte array representing the generated Excel file
+   */
+  protected byte[] generateExcelFile(
+      Map<String, List<D>> sheets,
+      String[] headers,
+      boolean autoSizeColumns,
+      boolean filterHeaders) {
     try (Workbook workbook = new XSSFWorkbook();
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
 
-      Sheet sheet = workbook.createSheet(sheetTitle);
+      ExcelStyleRegistry styles =
+          decorator != null ? decorator.createStyles(workbook) : ExcelStyleRegistry.plain(workbook);
 
-      // Create header row
-      Row headerRow = sheet.createRow(0); // Create the first row for headers
+      for (Map.Entry<String, List<D>> entry : sheets.entrySet()) {
+        Sheet sheet = workbook.createSheet(entry.getKey());
 
-      for (int i = 0; i < headers.length; i++) {
-        headerRow.createCell(i).setCellValue(headers[i]);
-      }
+        // Create header row
+        Row headerRow = sheet.createRow(0); // Create the first row for headers
+        for (int i = 0; i < headers.length; i++) {
+          headerRow.createCell(i).setCellValue(headers[i]);
+        }
 
-      // Create header cells
-      for (int i = 0; i < headers.length; i++) {
-        Cell cell = headerRow.createCell(i);
-        cell.setCellValue(headers[i]);
-      }
+        if (decorator != null) {
+          // Apply styles using the decorator
+          decorator.applyStyle(styles, headerRow);
+        }
 
-      setData(sheet, reports);
+        setData(sheet, entry.getValue(), styles);
 
-      if (decorator != null) {
-        // Apply styles using the decorator
-        decorator.applyStyle(workbook, headerRow, headers);
-      }
-
-      if (filterHeaders) {
-        // Enable filtering on the header row
-        sheet.setAutoFilter(new CellRangeAddress(0, 0, 0, headers.length - 1));
-      }
+        if (filterHeaders) {
+          // Enable filtering on the header row
+          sheet.setAutoFilter(new CellRangeAddress(0, 0, 0, headers.length - 1));
+        }
 
-      if (autoSizeColumns) {
-        sizeSheetColumns(sheet, headers.length);
+        if (autoSizeColumns) {
+          sizeSheetColumns(sheet, headers.length);
+        }
       }
 
       workbook.write(outputStream);
@@ -96,6 +147,50 @@ public abstract class AbstractExcelExport<D> {
     }
   }
 
+  /**
+   * Writes a value to a data cell with the shared style matching its type and row stripe.
+   *
+   * @param row the data row, the header row being row 0
+   * @param column the column index
+   * @param value the value to write, {@code null} leaves the cell blank
+   * @param styles the style registry of the workbook
+   */
+  protected void writeCell(Row row, int column, Object value, ExcelStyleRegistry styles) {
+    Cell cell = row.createCell(column);
+    CellKind kind = CellKind.TEXT;
+    switch (value) {
+      case null -> {
+        // blank cell, only styled to keep the stripe
+      }
+      case Integer number -> {
+        cell.setCellValue(number);
+        kind = CellKind.INTEGER;
+      }
+      case Long number -> {
+        cell.setCellValue(number);
+        kind = CellKind.INTEGER;
+      }
+      case Number number -> {
+        cell.setCellValue(number.doubleValue());
+        kind = CellKind.DECIMAL;
+      }
+      case LocalDate date -> {
+        cell.setCellValue(date);
+        kind = CellKind.DATE;
+      }
+      case LocalDateTime dateTime -> {
+        cell.setCellValue(dateTime);
+        kind = CellKind.DATE;
+      }
+      case Date date -> {
+        cell.setCellValue(date);
+        kind = CellKind.DATE;
+      }
+      default -> cell.setCellValue(value.toString());
+    }
+    cell.setCellStyle(styles.data(kind, row.getRowNum() - 1));
+  }
+
   private void sizeSheetColumns(Sheet sheet, int numberOfColumns) {
     for (int i = 0; i < numberOfColumns; i++) {
       sheet.autoSizeColumn(i);
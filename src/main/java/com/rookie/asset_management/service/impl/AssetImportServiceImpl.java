@@ -0,0 +1,250 @@
+package com.rookie.asset_management.service.impl;
+
+import com.rookie.asset_management.dto.response.asset.AssetImportDtoResponse;
+import com.rookie.asset_management.entity.Asset;
+import com.rookie.asset_management.entity.Category;
+import com.rookie.asset_management.entity.Location;
+import com.rookie.asset_management.entity.User;
+import com.rookie.asset_management.enums.AssetStatus;
+import com.rookie.asset_management.enums.BulkMode;
+import com.rookie.asset_management.exception.AppException;
+import com.rookie.asset_management.repository.AssetRepository;
+import com.rookie.asset_management.repository.CategoryRepository;
+import com.rookie.asset_management.service.AssetImportService;
+import com.rookie.asset_management.service.AssetStatusCounterService;
+import com.rookie.asset_management.service.CurrentUserService;
+import com.rookie.asset_management.service.impl.handler.AssetBatchWriter;
+import com.rookie.asset_management.service.impl.handler.AssetImportReader;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Imports assets without a query per row: the categories and the active asset names of the location
+ * are loaded once, every row is validated in memory against them and the valid rows are inserted by
+ * {@link AssetBatchWriter} every {@code app.asset.import.batch-size} rows while the file is still
+ * being read.
+ *
+ * <p>The whole import runs in one transaction. In all-or-nothing mode nothing is inserted after the
+ * first rejected row and the transaction is rolled back at the end, the remaining rows are only
+ * validated to complete the report.
+ */
+@Slf4j
+@Service
+public class AssetImportServiceImpl implements AssetImportService {
+  private static final int MAX_REPORTED_ERRORS = 500;
+  private static final int MAX_LENGTH = 255;
+  private static final List<DateTimeFormatter> DATE_FORMATS =
+      List.of(
+          DateTimeFormatter.ISO_LOCAL_DATE,
+          DateTimeFormatter.ofPattern("dd-MM-uuuu"),
+          DateTimeFormatter.ofPattern("dd/MM/uuuu"));
+
+  private final AssetRepository assetRepository;
+  private final CategoryRepository categoryRepository;
+  private final CurrentUserService currentUserService;
+  private final AssetStatusCounterService assetStatusCounterService;
+  private final AssetImportReader assetImportReader;
+  private final AssetBatchWriter assetBatchWriter;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final int maxRows;
+
+  public AssetImportServiceImpl(
+      AssetRepository assetRepository,
+      CategoryRepository categoryRepository,
+      CurrentUserService currentUserService,
+      AssetStatusCounterService assetStatusCounterService,
+      AssetImportReader assetImportReader,
+      AssetBatchWriter assetBatchWriter,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.asset.import.batch-size:500}") int batchSize,
+      @Value("${app.asset.import.max-rows:10000}") int maxRows) {
+    this.assetRepository = assetRepository;
+    this.categoryRepository = categoryRepository;
+    this.currentUserService = currentUserService;
+    this.assetStatusCounterService = assetStatusCounterService;
+    this.assetImportReader = assetImportReader;
+    this.assetBatchWriter = assetBatchWriter;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+    this.maxRows = maxRows;
+  }
+
+  @Override
+  public AssetImportDtoResponse importAssets(MultipartFile file, BulkMode mode) {
+    User admin = currentUserService.getCurrentUser();
+    return transactionTemplate.execute(
+        status -> {
+          Import run = new Import(admin, mode);
+          assetImportReader.read(file, run::accept);
+          run.flush();
+          if (run.failed > 0 && mode == BulkMode.ALL_OR_NOTHING) {
+            status.setRollbackOnly();
+            run.imported = 0;
+          }
+          log.info(
+              "Imported {} of {} assets for location {} ({} rows rejected)",
+              run.imported,
+              run.totalRows,
+              admin.getLocation().getId(),
+              run.failed);
+          return AssetImportDtoResponse.builder()
+              .mode(mode)
+              .totalRows(run.totalRows)
+              .imported(run.imported)
+              .failed(run.failed)
+              .errors(run.errors)
+              .build();
+        });
+  }
+
+  /** The state of one import, fed with the rows of the file. */
+  private final class Import {
+    private final User admin;
+    private final Location location;
+    private final BulkMode mode;
+    private final Map<String, Category> categories = new HashMap<>();
+    private final Set<String> names;
+    private final List<Asset> pending = new ArrayList<>();
+    private final List<AssetImportDtoResponse.RowError> errors = new ArrayList<>();
+    private int totalRows;
+    private int imported;
+    private int failed;
+
+    private Import(User admin, BulkMode mode) {
+      this.admin = admin;
+      this.location = admin.getLocation();
+      this.mode = mode;
+      // a row may name its category by name or by prefix
+      for (Category category : categoryRepository.findAll()) {
+        categories.put(category.getName().toLowerCase(Locale.ROOT), category);
+        categories.putIfAbsent(category.getPrefix().toLowerCase(Locale.ROOT), category);
+      }
+      this.names = new HashSet<>(assetRepository.findActiveNamesByLocation(location));
+    }
+
+    private void accept(AssetImportReader.Row row) {
+      if (++totalRows > maxRows) {
+        throw new AppException(
+            HttpStatus.BAD_REQUEST, "At most " + maxRows + " rows can be imported at once");
+      }
+      Asset asset = new Asset();
+      String error = validate(row, asset);
+      if (error != null) {
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+          errors.add(
+              AssetImportDtoResponse.RowError.builder().row(row.number()).message(error).build());
+        }
+        return;
+      }
+      if (failed > 0 && mode == BulkMode.ALL_OR_NOTHING) {
+        // rolled back anyway, the row was only validated for the report
+        return;
+      }
+      pending.add(asset);
+      if (pending.size() >= batchSize) {
+        flush();
+      }
+    }
+
+    private void flush() {
+      if (pending.isEmpty()) {
+        return;
+      }
+      assetBatchWriter.insert(pending);
+      assetStatusCounterService.recordAllCreated(pending);
+      imported += pending.size();
+      pending.clear();
+    }
+
+    /**
+     * Checks a row with the rules of a single asset creation and fills the asset when it is valid.
+     */
+    private String validate(AssetImportReader.Row row, Asset asset) {
+      if (row.name().isEmpty()) {
+        return "Asset name is required";
+      }
+      if (row.name().length() > MAX_LENGTH) {
+        return "Asset name must be at most " + MAX_LENGTH + " characters";
+      }
+      if (row.category().isEmpty()) {
+        return "Category is required";
+      }
+      Category category = categories.get(row.category().toLowerCase(Locale.ROOT));
+      if (category == null) {
+        return "Category not found: " + row.category();
+      }
+      if (row.specification().isEmpty()) {
+        return "Specification is required";
+      }
+      if (row.specification().length() > MAX_LENGTH) {
+        return "Specification must be at most " + MAX_LENGTH + " characters";
+      }
+      if (row.installedDate().isEmpty()) {
+        return "Installed date is required";
+      }
+      LocalDate installedDate = parseDate(row.installedDate());
+      if (installedDate == null) {
+        return "Installed date must be formatted as yyyy-MM-dd or dd-MM-yyyy";
+      }
+      AssetStatus state = parseState(row.state());
+      if (state == null) {
+        return "State must be Available or Not available";
+      }
+      // also catches a name repeated in the file, added below once the row is accepted
+      if (names.contains(row.name())) {
+        return "Asset name already exists in this location and is active";
+      }
+      names.add(row.name());
+
+      asset.setName(row.name());
+      asset.setCategory(category);
+      asset.setSpecification(row.specification());
+      asset.setInstalledDate(installedDate);
+      asset.setStatus(state);
+      asset.setLocation(location);
+      asset.setCreatedBy(admin);
+      asset.setUpdatedBy(admin);
+      return null;
+    }
+  }
+
+  private static LocalDate parseDate(String value) {
+    for (DateTimeFormatter format : DATE_FORMATS) {
+      try {
+        return LocalDate.parse(value, format);
+      } catch (DateTimeParseException e) {
+        // try the next format
+      }
+    }
+    return null;
+  }
+
+  /** Accepts the state the same way as a single creation, written as the enum or as a label. */
+  private static AssetStatus parseState(String value) {
+    String state = value.trim().toUpperCase(Locale.ROOT).replace(' ', '_');
+    if (AssetStatus.AVAILABLE.name().equals(state)) {
+      return AssetStatus.AVAILABLE;
+    }
+    if (AssetStatus.NOT_AVAILABLE.name().equals(state)) {
+      return AssetStatus.NOT_AVAILABLE;
+    }
+    return null;
+  }
+}
@@ -16,11 +16,11 @@ import com.rookie.asset_management.exception.AppException;
 import com.rookie.asset_management.mapper.AssetMapper;
 import com.rookie.asset_management.repository.AssetRepository;
 import com.rookie.asset_management.service.AssetService;
+import com.rookie.asset_management.service.AssetStatusCounterService;
 import com.rookie.asset_management.service.abstraction.PagingServiceImpl;
 import com.rookie.asset_management.service.specification.AssetSpecification;
 import com.rookie.asset_management.util.SecurityUtils;
 import com.rookie.asset_management.util.SpecificationBuilder;
-import jakarta.transaction.Transactional;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
@@ -28,6 +28,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service implementation for asset management operations. Handles logic for creating a new asset.
@@ -39,14 +40,21 @@ public class AssetServiceImpl extends PagingServiceImpl<ViewAssetListDtoResponse
 
   private final AssetMapper assetMapper;
 
+  private final AssetStatusCounterService assetStatusCounterService;
+
   @Autowired
-  public AssetServiceImpl(AssetRepository assetRepository, AssetMapper assetMapper) {
+  public AssetServiceImpl(
+      AssetRepository assetRepository,
+      AssetMapper assetMapper,
+      AssetStatusCounterService assetStatusCounterService) {
     super(assetMapper, assetRepository);
     this.assetRepository = assetRepository;
     this.assetMapper = assetMapper;
+    this.assetStatusCounterService = assetStatusCounterService;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public PagingDtoResponse<ViewAssetListDtoResponse> getAllAssets(
       String keyword, String categoryName, List<AssetStatus> states, Pageable pageable) {
 
@@ -66,6 +74,7 @@ public class AssetServiceImpl extends PagingServiceImpl<ViewAssetListDtoResponse
   }
 
   @Override
+  @Transactional
   public CreateNewAssetDtoResponse createNewAsset(CreateNewAssetDtoRequest dto) {
     // Get admin user from token
     User admin = SecurityUtils.getCurrentUser();
@@ -89,10 +98,12 @@ public class AssetServiceImpl extends PagingServiceImpl<ViewAssetListDtoResponse
     // Set asset_code avoid NOT NULL
     asset.setAssetCode("PENDING");
     Asset savedAsset = assetRepository.save(asset);
+    assetStatusCounterService.recordCreated(savedAsset);
     return assetMapper.toCreationDto(savedAsset);
   }
 
   @Override
+  @Transactional
   public EditAssetDtoResponse editAsset(Integer assetId, EditAssetDtoRequest dto) {
 
     // Fetch asset by ID or throw if not found
@@ -117,18 +128,21 @@ public class AssetServiceImpl extends PagingServiceImpl<ViewAssetListDtoResponse
     }
 
     // Update asset
+    AssetStatus previousStatus = asset.getStatus();
     asset.setName(dto.getName());
     asset.setSpecification(dto.getSpecification());
     asset.setInstalledDate(dto.getInstalledDate());
     asset.setStatus(dto.getState());
 
     asset = assetRepository.save(asset);
+    assetStatusCounterService.recordStatusChange(asset, previousStatus);
 
     // Build response DTO and return response DTO
     return assetMapper.toEditionDto(asset);
   }
 
   @Override
+  @Transactional(readOnly = true)
   public AssetDetailDtoResponse getAssetDetail(Integer assetId) {
     // Fetch asset by ID or throw if not found
     Asset asset =
@@ -140,6 +154,7 @@ public class AssetServiceImpl extends PagingServiceImpl<ViewAssetListDtoResponse
   }
 
   @Override
+  @Transactional
   public void deleteAsset(Integer assetId) {
     // Fetch asset by ID or throw if not found or deleted
     Asset asset =
@@ -164,10 +179,11 @@ public class AssetServiceImpl extends PagingServiceImpl<ViewAssetListDtoResponse
     // Perform soft delete
     asset.setDisabled(true);
     assetRepository.save(asset);
+    assetStatusCounterService.recordRemoved(asset);
   }
 
   @Override
-  @Transactional
+  @Transactional(readOnly = true)
   public List<AssetBriefDtoResponse> getAllAvailableAssetBrief(
       String keyword, String sortBy, String sortDir) {
     // Get the user from JWT token
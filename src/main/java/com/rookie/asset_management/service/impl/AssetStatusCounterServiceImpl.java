@@ -0,0 +1,178 @@
+package com.rookie.asset_management.service.impl;
+
+import com.rookie.asset_management.entity.Asset;
+import com.rookie.asset_management.entity.CategoryStatusCountId;
+import com.rookie.asset_management.enums.AssetStatus;
+import com.rookie.asset_management.repository.AssetRepository;
+import com.rookie.asset_management.repository.CategoryStatusCountRepository;
+import com.rookie.asset_management.repository.projection.AssetStatusCountView;
+import com.rookie.asset_management.service.AssetStatusCounterService;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AssetStatusCounterServiceImpl implements AssetStatusCounterService {
+  private static final Comparator<CategoryStatusCountId> COUNTER_ORDER =
+      Comparator.comparing(CategoryStatusCountId::getLocationId)
+          .thenComparing(CategoryStatusCountId::getCategoryId)
+          .thenComparing(CategoryStatusCountId::getStatus);
+
+  CategoryStatusCountRepository categoryStatusCountRepository;
+  AssetRepository assetRepository;
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordCreated(Asset asset) {
+    increment(asset, asset.getStatus(), 1);
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordAllCreated(Collection<Asset> assets) {
+    Map<CategoryStatusCountId, Long> created = new TreeMap<>(COUNTER_ORDER);
+    for (Asset asset : assets) {
+      if (asset.getLocation() == null || asset.getCategory() == null || asset.getStatus() == null) {
+        increment(asset, asset.getStatus(), 1);
+        continue;
+      }
+      created.merge(
+          new CategoryStatusCountId(
+              asset.getLocation().getId(), asset.getCategory().getId(), asset.getStatus()),
+          1L,
+          Long::sum);
+    }
+    // one update per counter, always in the same order so concurrent imports cannot deadlock
+    created.forEach(
+        (id, count) ->
+            categoryStatusCountRepository.increment(
+                id.getLocationId(), id.getCategoryId(), id.getStatus().name(), count));
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordStatusChange(Asset asset, AssetStatus previousStatus) {
+    AssetStatus newStatus = asset.getStatus();
+    if (previousStatus == newStatus) {
+      return;
+    }
+    if (previousStatus == null) {
+      increment(asset, newStatus, 1);
+      return;
+    }
+    // always touch the two rows in the same order, so two opposite transitions running
+    // concurrently on the same location and category cannot deadlock each other
+    if (newStatus.compareTo(previousStatus) < 0) {
+      increment(asset, newStatus, 1);
+      increment(asset, previousStatus, -1);
+    } else {
+      increment(asset, previousStatus, -1);
+      increment(asset, newStatus, 1);
+    }
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordRemoved(Asset asset) {
+    increment(asset, asset.getStatus(), -1);
+  }
+
+  @Override
+  public Map<Integer, Map<AssetStatus, Long>> getCountsByCategory() {
+    Map<Integer, Map<AssetStatus, Long>> counts = new HashMap<>();
+    for (AssetStatusCountView row : categoryStatusCountRepository.findAllCounts()) {
+      counts
+          .computeIfAbsent(row.getCategoryId(), id -> new EnumMap<>(AssetStatus.class))
+          .merge(row.getStatus(), row.getCount(), Long::sum);
+    }
+    return counts;
+  }
+
+  /**
+   * Runs periodically and repairs counters that no longer match the assets table, e.g. after a
+   * manual data fix or a write path that bypassed this service. Both sides are read from the same
+   * repeatable-read snapshot, so transitions committed while the job runs are not mistaken for
+   * drift; a concurrent update of a repaired row makes the job fail and retry on its next run.
+   */
+  @Override
+  @Scheduled(
+      initialDelayString = "${app.report.counters.reconcile-initial-delay-ms:60000}",
+      fixedDelayString = "${app.report.counters.reconcile-interval-ms:3600000}")
+  @Transactional(isolation = Isolation.REPEATABLE_READ)
+  public int reconcile() {
+    Map<CategoryStatusCountId, Long> expected = new HashMap<>();
+    for (AssetStatusCountView row :
+        assetRepository.countActiveGroupedByLocationCategoryAndStatus()) {
+      expected.put(toId(row), row.getCount());
+    }
+
+    Map<CategoryStatusCountId, Long> actual = new HashMap<>();
+    for (AssetStatusCountView row : categoryStatusCountRepository.findAllCounts()) {
+      actual.put(toId(row), row.getCount());
+    }
+
+    int repaired = 0;
+    for (Map.Entry<CategoryStatusCountId, Long> entry : expected.entrySet()) {
+      if (!entry.getValue().equals(actual.get(entry.getKey()))) {
+        repair(entry.getKey(), actual.get(entry.getKey()), entry.getValue());
+        repaired++;
+      }
+    }
+    for (Map.Entry<CategoryStatusCountId, Long> entry : actual.entrySet()) {
+      if (!expected.containsKey(entry.getKey()) && entry.getValue() != 0) {
+        repair(entry.getKey(), entry.getValue(), 0L);
+        repaired++;
+      }
+    }
+
+    if (repaired > 0) {
+      log.warn("Repaired {} drifted asset status counters", repaired);
+    } else {
+      log.debug("Asset status counters are consistent");
+    }
+    return repaired;
+  }
+
+  private void increment(Asset asset, AssetStatus status, long delta) {
+    if (asset.getLocation() == null || asset.getCategory() == null || status == null) {
+      // such an asset is not reportable, the reconciliation job is the safety net for it
+      log.warn(
+          "Skipping status counter update for asset {} without location, category or status",
+          asset.getId());
+      return;
+    }
+    categoryStatusCountRepository.increment(
+        asset.getLocation().getId(), asset.getCategory().getId(), status.name(), delta);
+  }
+
+  private void repair(CategoryStatusCountId id, Long actual, long expected) {
+    log.warn(
+        "Asset status counter drift at location {}, category {}, status {}: stored {}, actual {}",
+        id.getLocationId(),
+        id.getCategoryId(),
+        id.getStatus(),
+        actual,
+        expected);
+    categoryStatusCountRepository.overwrite(
+        id.getLocationId(), id.getCategoryId(), id.getStatus().name(), expected);
+  }
+
+  private static CategoryStatusCountId toId(AssetStatusCountView row) {
+    return new CategoryStatusCountId(row.getLocationId(), row.getCategoryId(), row.getStatus());
+  }
+}
@@ -0,0 +1,40 @@
+package com.rookie.asset_management.service.impl;
+
+import com.rookie.asset_management.repository.AssetStatusSnapshotRepository;
+import com.rookie.asset_management.service.AssetStatusSnapshotService;
+import java.time.LocalDate;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AssetStatusSnapshotServiceImpl implements AssetStatusSnapshotService {
+  AssetStatusSnapshotRepository assetStatusSnapshotRepository;
+
+  /**
+   * Runs every hour by default rather than once at midnight: each run overwrites the current day,
+   * so the stored value is the state of the last run of the day and a restart around midnight does
+   * not leave a gap in the series.
+   */
+  @Override
+  @Scheduled(cron = "${app.report.snapshot.cron:0 55 * * * *}")
+  @Transactional
+  public int takeSnapshot() {
+    return takeSnapshot(LocalDate.now());
+  }
+
+  @Override
+  @Transactional
+  public int takeSnapshot(LocalDate snapshotDate) {
+    int rows = assetStatusSnapshotRepository.snapshotCounters(snapshotDate);
+    log.info("Wrote {} asset status snapshot rows for {}", rows, snapshotDate);
+    return rows;
+  }
+}
@@ -1,5 +1,7 @@
 package com.rookie.asset_management.service.impl;
 
+import com.rookie.asset_management.aspect.RetryOnConflict;
+import com.rookie.asset_management.dto.request.assignment.BulkCreateAssignmentRequest;
 import com.rookie.asset_management.dto.request.assignment.CreateUpdateAssignmentRequest;
 import com.rookie.asset_management.dto.response.ApiDtoResponse;
 import com.rookie.asset_management.dto.response.PagingDtoResponse;
@@ -7,31 +9,41 @@ import com.rookie.asset_management.dto.response.assignment.AssignmentDetailDtoRe
 import com.rookie.asset_management.dto.response.assignment.AssignmentDetailForEditResponse;
 import com.rookie.asset_management.dto.response.assignment.AssignmentListDtoResponse;
 import com.rookie.asset_management.dto.response.assignment.AssignmentStatusResponse;
+import com.rookie.asset_management.dto.response.assignment.BulkAssignmentDtoResponse;
 import com.rookie.asset_management.dto.response.assignment.MyAssignmentDtoResponse;
 import com.rookie.asset_management.entity.Asset;
 import com.rookie.asset_management.entity.Assignment;
 import com.rookie.asset_management.entity.User;
 import com.rookie.asset_management.enums.AssetStatus;
 import com.rookie.asset_management.enums.AssignmentStatus;
+import com.rookie.asset_management.enums.BulkMode;
 import com.rookie.asset_management.exception.AppException;
 import com.rookie.asset_management.mapper.AssignmentMapper;
 import com.rookie.asset_management.repository.AssetRepository;
 import com.rookie.asset_management.repository.AssignmentRepository;
 import com.rookie.asset_management.repository.UserRepository;
+import com.rookie.asset_management.service.AssetStatusCounterService;
 import com.rookie.asset_management.service.AssignmentService;
-import com.rookie.asset_management.service.JwtService;
+import com.rookie.asset_management.service.CurrentUserService;
 import com.rookie.asset_management.service.NotificationCreator;
 import com.rookie.asset_management.service.abstraction.PagingServiceImpl;
+import com.rookie.asset_management.service.impl.handler.AssignmentBatchWriter;
 import com.rookie.asset_management.service.specification.AssignmentSpecification;
+import com.rookie.asset_management.util.ConstraintViolations;
 import com.rookie.asset_management.util.SpecificationBuilder;
-import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -39,21 +51,29 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.support.TransactionSynchronizationAdapter;
-import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class AssignmentServiceImpl
     extends PagingServiceImpl<AssignmentListDtoResponse, Assignment, Integer>
     implements AssignmentService {
+  /** The unique index keeping an asset to one waiting assignment. */
+  static final String WAITING_ASSET_CONSTRAINT = "ux_assignments_waiting_asset";
+
+  /**
+   * Answered with {@code 409 Conflict} whether the waiting assignment is found by a check or by the
+   * unique index, so the status does not depend on the timing of the other admin.
+   */
+  private static final String WAITING_ASSIGNMENT_ERROR = "Asset already has a waiting assignment";
+
   AssignmentRepository assignmentRepository;
   AssignmentMapper assignmentMapper;
   UserRepository userRepository;
   AssetRepository assetRepository;
-  JwtService jwtService;
+  CurrentUserService currentUserService;
   NotificationCreator notificationCreator;
-  EntityManager entityManager;
+  AssetStatusCounterService assetStatusCounterService;
+  AssignmentBatchWriter assignmentBatchWriter;
 
   @Autowired
   public AssignmentServiceImpl(
@@ -61,49 +81,32 @@ public class AssignmentServiceImpl
       AssignmentMapper assignmentMapper,
       UserRepository userRepository,
       AssetRepository assetRepository,
-      JwtService jwtService,
+      CurrentUserService currentUserService,
       NotificationCreator notificationCreator,
-      EntityManager entityManager) {
+      AssetStatusCounterService assetStatusCounterService,
+      AssignmentBatchWriter assignmentBatchWriter) {
     super(assignmentMapper, assignmentRepository);
     this.assignmentMapper = assignmentMapper;
     this.assignmentRepository = assignmentRepository;
     this.userRepository = userRepository;
     this.assetRepository = assetRepository;
-    this.jwtService = jwtService;
+    this.currentUserService = currentUserService;
     this.notificationCreator = notificationCreator;
-    this.entityManager = entityManager;
+    this.assetStatusCounterService = assetStatusCounterService;
+    this.assignmentBatchWriter = assignmentBatchWriter;
   }
 
   @Override
   @Transactional
   public AssignmentListDtoResponse createAssignment(CreateUpdateAssignmentRequest request) {
-    // check if the user and asset exist
+    // check if the user exists
     User assignee =
         userRepository
             .findById(request.getUserId())
             .orElseThrow(() -> new AppException(HttpStatus.BAD_REQUEST, "User Not Found"));
-    Asset asset =
-        assetRepository
-            .findById(request.getAssetId())
-            .orElseThrow(() -> new AppException(HttpStatus.BAD_REQUEST, "Asset Not Found"));
 
-    // check if the asset is available for assignment
-    if (!asset.getStatus().equals(AssetStatus.AVAILABLE)) {
-      throw new AppException(HttpStatus.BAD_REQUEST, "Asset is not available for assignment");
-    }
-
-    // check if asset doesn't have any assignment in WAITING status
-    if (assignmentRepository.existsByAssetAndStatusAndDeletedFalse(
-        asset, AssignmentStatus.WAITING)) {
-      throw new AppException(HttpStatus.BAD_REQUEST, "Asset already has a waiting assignment");
-    }
-
-    // Get the user from JWT token
-    String username = jwtService.extractUsername();
-    User assigner =
-        userRepository
-            .findByUsername(username)
-            .orElseThrow(() -> new AppException(HttpStatus.BAD_REQUEST, "User Not Found"));
+    // Get the current user
+    User assigner = currentUserService.getCurrentUser();
 
     // check if assigner and assignee are in the same location
     if (!assigner.getLocation().equals(assignee.getLocation())) {
@@ -111,11 +114,13 @@ public class AssignmentServiceImpl
           HttpStatus.BAD_REQUEST, "Assigner and assignee must be in the same location");
     }
 
-    // check if the asset is in the same location with assigner
-    if (!asset.getLocation().equals(assigner.getLocation())) {
-      throw new AppException(
-          HttpStatus.BAD_REQUEST, "Asset must be in the same location with assigner");
+    // claim the asset in one statement: available, in the location of the assigner and without
+    // any waiting assignment; a separate read would let two admins assign it at the same time
+    if (assetRepository.reserveForAssignment(request.getAssetId(), assigner.getLocation().getId())
+        == 0) {
+      throw reservationFailure(request.getAssetId(), assigner);
     }
+    Asset asset = assetRepository.getReferenceById(request.getAssetId());
 
     // Create a new assignment
     Assignment assignment =
@@ -129,19 +134,146 @@ public class AssignmentServiceImpl
             .build();
 
     // Save the assignment
-    Assignment savedAssignment = assignmentRepository.save(assignment);
+    Assignment savedAssignment = saveWaitingAssignment(assignment);
 
-    entityManager.flush();
+    // Create notification, delivered by the outbox once the assignment is committed
+    notificationCreator.createAssignmentNotification(assigner, assignee, savedAssignment);
+    return assignmentMapper.toDto(savedAssignment);
+  }
+
+  @Override
+  @Transactional
+  public BulkAssignmentDtoResponse bulkCreateAssignments(BulkCreateAssignmentRequest request) {
+    User assigner = currentUserService.getCurrentUser();
+    List<CreateUpdateAssignmentRequest> items = request.getAssignments();
 
-    // Create notification
-    TransactionSynchronizationManager.registerSynchronization(
-        new TransactionSynchronizationAdapter() {
-          @Override
-          public void afterCommit() {
-            notificationCreator.createAssignmentNotification(assigner, assignee, savedAssignment);
+    // load every user, asset and waiting assignment of the request with one query each
+    Map<Integer, User> assignees =
+        userRepository
+            .findAllById(
+                items.stream().map(CreateUpdateAssignmentRequest::getUserId).distinct().toList())
+            .stream()
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+    List<Integer> assetIds =
+        items.stream().map(CreateUpdateAssignmentRequest::getAssetId).distinct().toList();
+    Map<Integer, Asset> assets =
+        assetRepository.findAllById(assetIds).stream()
+            .collect(Collectors.toMap(Asset::getId, Function.identity()));
+    Set<Integer> waitingAssetIds =
+        new HashSet<>(assignmentRepository.findAssetIdsWithWaitingAssignment(assetIds));
+
+    // validate each item against the loaded rows, in the order and with the messages of the
+    // single creation
+    String[] errors = new String[items.size()];
+    Set<Integer> requestedAssetIds = new HashSet<>();
+    List<Assignment> assignments = new ArrayList<>();
+    List<Integer> assignmentIndexes = new ArrayList<>();
+    for (int i = 0; i < items.size(); i++) {
+      CreateUpdateAssignmentRequest item = items.get(i);
+      User assignee = assignees.get(item.getUserId());
+      Asset asset = assets.get(item.getAssetId());
+      if (assignee == null) {
+        errors[i] = "User Not Found";
+      } else if (!assigner.getLocation().equals(assignee.getLocation())) {
+        errors[i] = "Assigner and assignee must be in the same location";
+      } else if (asset == null) {
+        errors[i] = "Asset Not Found";
+      } else if (!requestedAssetIds.add(asset.getId())) {
+        errors[i] = "Asset is assigned more than once in the request";
+      } else {
+        errors[i] = assetError(asset, assigner, waitingAssetIds.contains(asset.getId()));
+      }
+      if (errors[i] == null) {
+        assignments.add(
+            Assignment.builder()
+                .asset(asset)
+                .assignedTo(assignee)
+                .assignedDate(item.getAssignedDate())
+                .note(item.getNote())
+                .assignedBy(assigner)
+                .status(AssignmentStatus.WAITING)
+                .build());
+        assignmentIndexes.add(i);
+      }
+    }
+
+    boolean failed = assignments.size() < items.size();
+    if (failed && request.getMode() == BulkMode.ALL_OR_NOTHING) {
+      assignments.clear();
+      assignmentIndexes.clear();
+    }
+
+    AssignmentListDtoResponse[] created = new AssignmentListDtoResponse[items.size()];
+    boolean[] inserted = new boolean[items.size()];
+    if (!assignments.isEmpty()) {
+      // claim the valid assets in one statement; one missing means another admin assigned it
+      // since it was validated
+      Set<Integer> reservedAssetIds =
+          new HashSet<>(
+              assetRepository.reserveAllForAssignment(
+                  assignments.stream().map(assignment -> assignment.getAsset().getId()).toList(),
+                  assigner.getLocation().getId()));
+      if (reservedAssetIds.size() < assignments.size()) {
+        if (request.getMode() == BulkMode.ALL_OR_NOTHING) {
+          // the retry validates them again
+          throw new AppException(
+              HttpStatus.CONFLICT,
+              "Some assets were assigned by someone else meanwhile. Please retry.");
+        }
+        // only the assets lost to another admin fail, the reserved ones are still inserted
+        for (int j = assignments.size() - 1; j >= 0; j--) {
+          if (!reservedAssetIds.contains(assignments.get(j).getAsset().getId())) {
+            errors[assignmentIndexes.get(j)] = "Asset was assigned by someone else meanwhile";
+            assignments.remove(j);
+            assignmentIndexes.remove(j);
           }
-        });
-    return assignmentMapper.toDto(savedAssignment);
+        }
+      }
+    }
+    if (!assignments.isEmpty()) {
+      try {
+        assignmentBatchWriter.insert(assignments);
+      } catch (DataIntegrityViolationException e) {
+        if (!ConstraintViolations.isViolationOf(e, WAITING_ASSET_CONSTRAINT)) {
+          throw e;
+        }
+        throw new AppException(
+            HttpStatus.CONFLICT,
+            "Some assets were assigned by someone else meanwhile. Please retry.");
+      }
+      notificationCreator.createAssignmentNotifications(assigner, assignments);
+      for (int i = 0; i < assignments.size(); i++) {
+        inserted[assignmentIndexes.get(i)] = true;
+        created[assignmentIndexes.get(i)] = assignmentMapper.toDto(assignments.get(i));
+      }
+    }
+
+    List<BulkAssignmentDtoResponse.Item> results = new ArrayList<>(items.size());
+    for (int i = 0; i < items.size(); i++) {
+      BulkAssignmentDtoResponse.ItemStatus status;
+      if (inserted[i]) {
+        status = BulkAssignmentDtoResponse.ItemStatus.CREATED;
+      } else if (errors[i] != null) {
+        status = BulkAssignmentDtoResponse.ItemStatus.FAILED;
+      } else {
+        status = BulkAssignmentDtoResponse.ItemStatus.SKIPPED;
+      }
+      results.add(
+          BulkAssignmentDtoResponse.Item.builder()
+              .index(i)
+              .assetId(items.get(i).getAssetId())
+              .userId(items.get(i).getUserId())
+              .status(status)
+              .error(errors[i])
+              .assignment(created[i])
+              .build());
+    }
+    return BulkAssignmentDtoResponse.builder()
+        .mode(request.getMode())
+        .requested(items.size())
+        .created(assignments.size())
+        .items(results)
+        .build();
   }
 
   @Override
@@ -193,7 +325,7 @@ public class AssignmentServiceImpl
     if ((!Objects.equals(assignment.getAsset().getId(), request.getAssetId())
         && assignmentRepository.existsByAssetAndStatusAndDeletedFalse(
             asset, AssignmentStatus.WAITING))) {
-      throw new AppException(HttpStatus.BAD_REQUEST, "Asset already has a waiting assignment");
+      throw new AppException(HttpStatus.CONFLICT, WAITING_ASSIGNMENT_ERROR);
     }
 
     // check if the asset is in the same location with assigner
@@ -209,10 +341,11 @@ public class AssignmentServiceImpl
     assignment.setAssignedDate(request.getAssignedDate());
 
     // Save the updated assignment
-    return assignmentMapper.toDto(assignmentRepository.save(assignment));
+    return assignmentMapper.toDto(saveWaitingAssignment(assignment));
   }
 
   @Override
+  @Transactional(readOnly = true)
   public PagingDtoResponse<AssignmentListDtoResponse> getAllAssignments(
       AssignmentStatus status,
       String assignedDate,
@@ -222,11 +355,7 @@ public class AssignmentServiceImpl
       String sortBy,
       String sortDir) {
 
-    String username = jwtService.extractUsername();
-    User user =
-        userRepository
-            .findByUsername(username)
-            .orElseThrow(() -> new AppException(HttpStatus.BAD_REQUEST, "User Not Found"));
+    User user = currentUserService.getCurrentUser();
 
     // Check if user is admin
     if (!"ADMIN".equalsIgnoreCase(user.getRole().getName())) {
@@ -280,12 +409,9 @@ public class AssignmentServiceImpl
   }
 
   @Override
+  @Transactional(readOnly = true)
   public ApiDtoResponse<AssignmentDetailDtoResponse> getAssignmentDetails(Integer assignmentId) {
-    String username = jwtService.extractUsername();
-    User user =
-        userRepository
-            .findByUsername(username)
-            .orElseThrow(() -> new AppException(HttpStatus.BAD_REQUEST, "User Not Found"));
+    User user = currentUserService.getCurrentUser();
 
     Assignment assignment =
         assignmentRepository
@@ -306,11 +432,7 @@ public class AssignmentServiceImpl
 
   @Override
   public ApiDtoResponse<Void> deleteAssignment(Integer assignmentId) {
-    String username = jwtService.extractUsername();
-    User user =
-        userRepository
-            .findByUsername(username)
-            .orElseThrow(() -> new AppException(HttpStatus.BAD_REQUEST, "User Not Found"));
+    User user = currentUserService.getCurrentUser();
 
     if (!"ADMIN".equalsIgnoreCase(user.getRole().getName())) {
       throw new AppException(HttpStatus.FORBIDDEN, "Only admins can access this endpoint");
@@ -342,14 +464,11 @@ public class AssignmentServiceImpl
   }
 
   @Override
+  @Transactional(readOnly = true)
   public ApiDtoResponse<List<MyAssignmentDtoResponse>> getMyAssignments(
       String sortBy, String sortDir) {
 
-    String username = jwtService.extractUsername();
-    User user =
-        userRepository
-            .findByUsername(username)
-            .orElseThrow(() -> new AppException(HttpStatus.BAD_REQUEST, "User Not Found"));
+    User user = currentUserService.getCurrentUser();
 
     // Build specification
     Specification<Assignment> spec =
@@ -431,6 +550,7 @@ public class AssignmentServiceImpl
   }
 
   @Override
+  @RetryOnConflict
   @Transactional
   public AssignmentStatusResponse responseToAssignment(int assignmentId, AssignmentStatus status) {
     // Check if the updated status is valid
@@ -450,8 +570,8 @@ public class AssignmentServiceImpl
           HttpStatus.BAD_REQUEST, "Only assignments in WAITING state can be responded to");
     }
 
-    // Get username from token
-    String username = jwtService.extractUsername();
+    // Get the current user
+    String username = currentUserService.getCurrentUser().getUsername();
 
     // Check if the user responding to the assignment is the one assigned to it
     if (!assignment.getAssignedTo().getUsername().equals(username)) {
@@ -477,8 +597,10 @@ public class AssignmentServiceImpl
 
       // Update the asset status to ASSIGNED
       Asset asset = assignment.getAsset();
+      AssetStatus previousStatus = asset.getStatus();
       asset.setStatus(AssetStatus.ASSIGNED);
       assetRepository.save(asset);
+      assetStatusCounterService.recordStatusChange(asset, previousStatus);
     }
 
     // Save the updated assignment
@@ -491,12 +613,9 @@ public class AssignmentServiceImpl
   }
 
   @Override
+  @Transactional(readOnly = true)
   public AssignmentDetailForEditResponse getAssignmentDetailForEdit(int assignmentId) {
-    String username = jwtService.extractUsername();
-    User user =
-        userRepository
-            .findByUsername(username)
-            .orElseThrow(() -> new AppException(HttpStatus.BAD_REQUEST, "User Not Found"));
+    User user = currentUserService.getCurrentUser();
 
     if (!"ADMIN".equalsIgnoreCase(user.getRole().getName())) {
       throw new AppException(HttpStatus.FORBIDDEN, "Only admins can access this endpoint");
@@ -514,4 +633,61 @@ public class AssignmentServiceImpl
 
     return assignmentMapper.toDetailForEditDto(assignment);
   }
+
+  /**
+   * Explains why an asset could not be reserved for an assignment. Only runs on the failure path,
+   * the reservation itself checks everything in one statement.
+   *
+   * @param assetId the id of the asset
+   * @param assigner the admin creating the assignment
+   * @return the exception to throw
+   */
+  private AppException reservationFailure(Integer assetId, User assigner) {
+    Asset asset =
+        assetRepository
+            .findById(assetId)
+            .orElseThrow(() -> new AppException(HttpStatus.BAD_REQUEST, "Asset Not Found"));
+    // the reservation failed, so the asset has a waiting assignment if nothing else is wrong
+    String error = assetError(asset, assigner, true);
+    return new AppException(
+        WAITING_ASSIGNMENT_ERROR.equals(error) ? HttpStatus.CONFLICT : HttpStatus.BAD_REQUEST,
+        error);
+  }
+
+  /**
+   * Checks that an asset can get a new waiting assignment from the assigner.
+   *
+   * @param asset the asset to assign
+   * @param assigner the current user
+   * @param hasWaitingAssignment whether the asset already has a waiting assignment
+   * @return why the asset cannot be assigned, {@code null} if it can
+   */
+  private static String assetError(Asset asset, User assigner, boolean hasWaitingAssignment) {
+    if (!asset.getStatus().equals(AssetStatus.AVAILABLE)) {
+      return "Asset is not available for assignment";
+    }
+    if (!asset.getLocation().equals(assigner.getLocation())) {
+      return "Asset must be in the same location with assigner";
+    }
+    return hasWaitingAssignment ? WAITING_ASSIGNMENT_ERROR : null;
+  }
+
+  /**
+   * Saves a waiting assignment right away, so a second waiting assignment of the same asset created
+   * concurrently is reported as a conflict instead of failing the commit. Any other violation is
+   * not a conflict and is rethrown.
+   *
+   * @param assignment the waiting assignment
+   * @return the saved assignment
+   */
+  private Assignment saveWaitingAssignment(Assignment assignment) {
+    try {
+      return assignmentRepository.saveAndFlush(assignment);
+    } catch (DataIntegrityViolationException e) {
+      if (!ConstraintViolations.isViolationOf(e, WAITING_ASSET_CONSTRAINT)) {
+        throw e;
+      }
+      throw new AppException(HttpStatus.CONFLICT, WAITING_ASSIGNMENT_ERROR);
+    }
+  }
 }
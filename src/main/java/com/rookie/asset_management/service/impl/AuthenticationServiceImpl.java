@@ -8,6 +8,7 @@ import com.rookie.asset_management.entity.User;
 import com.rookie.asset_management.exception.AppException;
 import com.rookie.asset_management.repository.UserRepository;
 import com.rookie.asset_management.service.AuthenticationService;
+import com.rookie.asset_management.service.CurrentUserService;
 import com.rookie.asset_management.service.JwtService;
 import com.rookie.asset_management.util.SecurityUtils;
 import jakarta.servlet.http.HttpServletResponse;
@@ -33,6 +34,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
   PasswordEncoder passwordEncoder;
   UserRepository userRepository;
   JwtService jwtService;
+  CurrentUserService currentUserService;
 
   private void validatePassword(String password, String fieldName) {
     if (password == null || password.trim().isEmpty()) {
@@ -97,11 +99,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
   @Override
   public String changePassword(
       ChangePasswordRequestDTO changePasswordRequestDTO, HttpServletResponse response) {
-    String username = jwtService.extractUsername();
-    User user =
-        userRepository
-            .findByUsername(username)
-            .orElseThrow(() -> new AppException(HttpStatus.BAD_REQUEST, "User Not Found"));
+    User user = currentUserService.getCurrentUser();
 
     // Validate oldPassword
     if (changePasswordRequestDTO.getOldPassword() == null
@@ -139,11 +137,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
   public String firstLoginChangePassword(
       FirstLoginChangePasswordRequestDTO firstLoginChangePasswordRequestDTO,
       HttpServletResponse response) {
-    String username = jwtService.extractUsername();
-    User user =
-        userRepository
-            .findByUsername(username)
-            .orElseThrow(() -> new AppException(HttpStatus.BAD_REQUEST, "User Not Found"));
+    User user = currentUserService.getCurrentUser();
 
     // Validate newPassword
     validatePassword(firstLoginChangePasswordRequestDTO.getNewPassword(), "New password");
@@ -159,7 +153,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
       user.setFirstLogin(false);
     }
     userRepository.save(user);
-    jwtService.generateToken(username, response);
+    jwtService.generateToken(user.getUsername(), response);
     return "Password changed successfully!";
   }
 }
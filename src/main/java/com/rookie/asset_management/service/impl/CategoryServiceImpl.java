@@ -9,6 +9,7 @@ import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Implementation of {@link CategoryService} that provides business logic for managing categories
@@ -27,6 +28,7 @@ public class CategoryServiceImpl implements CategoryService {
    * @throws AppException if no categories are found in the database
    */
   @Override
+  @Transactional(readOnly = true)
   public List<CategoryDtoResponse> getAllCategory() {
     // Fetch all categories and extract their names
     return categoryRepository.findAll().stream()
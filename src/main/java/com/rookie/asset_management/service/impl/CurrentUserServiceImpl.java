@@ -0,0 +1,42 @@
+package com.rookie.asset_management.service.impl;
+
+import com.rookie.asset_management.entity.User;
+import com.rookie.asset_management.exception.AppException;
+import com.rookie.asset_management.service.CurrentUserService;
+import com.rookie.asset_management.util.SecurityUtils;
+import jakarta.persistence.EntityManager;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+/**
+ * Resolves the current user from the security context.
+ *
+ * <p>The persistence context is opened for the whole request before the security filters run, see
+ * {@link com.rookie.asset_management.config.security.OpenEntityManagerInViewConfig}, so the user
+ * loaded by the authentication filter is already managed and is returned as is. A user loaded
+ * elsewhere (e.g. by another request) is looked up by id once; the persistence context then caches
+ * it for the rest of the request.
+ */
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+public class CurrentUserServiceImpl implements CurrentUserService {
+
+  EntityManager entityManager;
+
+  @Override
+  public User getCurrentUser() {
+    User principal = SecurityUtils.getCurrentUser();
+    if (entityManager.contains(principal)) {
+      return principal;
+    }
+    User user = entityManager.find(User.class, principal.getId());
+    if (user == null) {
+      throw new AppException(HttpStatus.UNAUTHORIZED, "Unauthorized access. Please log in.");
+    }
+    return user;
+  }
+}
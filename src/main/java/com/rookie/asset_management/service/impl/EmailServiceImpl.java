@@ -1,41 +1,112 @@
 package com.rookie.asset_management.service.impl;
 
 import com.rookie.asset_management.config.app.AppPropertiesConfig;
+import com.rookie.asset_management.dto.response.email.EmailDeliveryDtoResponse;
+import com.rookie.asset_management.entity.EmailDelivery;
+import com.rookie.asset_management.enums.EmailDeliveryStatus;
+import com.rookie.asset_management.exception.AppException;
+import com.rookie.asset_management.mapper.EmailDeliveryMapper;
+import com.rookie.asset_management.repository.EmailDeliveryRepository;
 import com.rookie.asset_management.service.EmailService;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-@Slf4j
 @Service
 @RequiredArgsConstructor
-@FieldDefaults(level = AccessLevel.PRIVATE)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class EmailServiceImpl implements EmailService {
-  final JavaMailSender emailSender;
+  private static final String INSERT_SQL =
+      "INSERT INTO email_deliveries "
+          + "(recipient, subject, content, status, attempts, next_attempt_at, created_at) "
+          + "VALUES (?, ?, ?, ?, 0, ?, ?)";
+
+  EmailDeliveryRepository emailDeliveryRepository;
+  EmailDeliveryMapper emailDeliveryMapper;
+  JdbcTemplate jdbcTemplate;
 
   @Override
-  public boolean sendSimpleMessage(String to, String subject, String content) {
-    int maxAttempts = 3;
-    for (int attempt = 1; attempt <= maxAttempts; attempt++) {
-      try {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject(subject);
-        message.setText(content);
-        emailSender.send(message);
-        log.info("Email sent to {} on attempt {}", to, attempt);
-        return true;
-      } catch (Exception ex) {
-        log.warn(
-            "Failed to send email to {} on attempt {}. Reason: {}", to, attempt, ex.getMessage());
-      }
+  @Transactional
+  public EmailDeliveryDtoResponse queueEmail(String to, String subject, String content) {
+    LocalDateTime now = LocalDateTime.now();
+    EmailDelivery delivery =
+        emailDeliveryRepository.save(
+            EmailDelivery.builder()
+                .recipient(to)
+                .subject(subject)
+                .content(content)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+    return emailDeliveryMapper.toDto(delivery);
+  }
+
+  @Override
+  @Transactional
+  public List<EmailDeliveryDtoResponse> queueEmails(List<Email> emails) {
+    if (emails.isEmpty()) {
+      return List.of();
+    }
+    LocalDateTime now = LocalDateTime.now();
+    Timestamp createdAt = Timestamp.valueOf(now);
+    KeyHolder keyHolder = new GeneratedKeyHolder();
+    jdbcTemplate.batchUpdate(
+        connection -> connection.prepareStatement(INSERT_SQL, new String[] {"id"}),
+        new BatchPreparedStatementSetter() {
+          @Override
+          public void setValues(PreparedStatement ps, int i) throws SQLException {
+            Email email = emails.get(i);
+            ps.setString(1, email.to());
+            ps.setString(2, email.subject());
+            ps.setString(3, email.content());
+            ps.setString(4, EmailDeliveryStatus.PENDING.name());
+            ps.setTimestamp(5, createdAt);
+            ps.setTimestamp(6, createdAt);
+          }
+
+          @Override
+          public int getBatchSize() {
+            return emails.size();
+          }
+        },
+        keyHolder);
+
+    // keys come back in insertion order, one row per email
+    List<Map<String, Object>> keys = keyHolder.getKeyList();
+    List<EmailDeliveryDtoResponse> deliveries = new ArrayList<>(emails.size());
+    for (int i = 0; i < emails.size(); i++) {
+      deliveries.add(
+          EmailDeliveryDtoResponse.builder()
+              .id(((Number) keys.get(i).values().iterator().next()).longValue())
+              .recipient(emails.get(i).to())
+              .status(EmailDeliveryStatus.PENDING)
+              .createdAt(now)
+              .build());
     }
-    log.error("Failed to send email to {} after 3 attempts", to);
-    return false;
+    return deliveries;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public EmailDeliveryDtoResponse getEmailDelivery(Long id) {
+    return emailDeliveryRepository
+        .findById(id)
+        .map(emailDeliveryMapper::toDto)
+        .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Email delivery not found"));
   }
 
   public static String generateEmailTemplate(String fullName, String username, String password) {
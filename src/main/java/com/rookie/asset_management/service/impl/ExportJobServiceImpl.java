@@ -0,0 +1,371 @@
+package com.rookie.asset_management.service.impl;
+
+import com.rookie.asset_management.dto.request.export.ExportJobRequest;
+import com.rookie.asset_management.dto.response.export.ExportJobDtoResponse;
+import com.rookie.asset_management.enums.ExportJobStatus;
+import com.rookie.asset_management.exception.AppException;
+import com.rookie.asset_management.service.ExportJobService;
+import com.rookie.asset_management.service.ReportService;
+import com.rookie.asset_management.util.SecurityUtils;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Implementation of {@link ExportJobService}. Jobs are tracked in memory and their result files are
+ * stored under {@code app.export.storage-dir}, one directory per job.
+ */
+@Slf4j
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ExportJobServiceImpl implements ExportJobService {
+  private static final DateTimeFormatter FILE_TIMESTAMP_FORMAT =
+      DateTimeFormatter.ofPattern("dd-MM-yyyy_HH-mm-ss");
+  private static final Map<String, String> FILE_EXTENSIONS =
+      Map.of("excel", ".xlsx", "csv", ".csv");
+
+  ExportServiceStrategy exportServiceStrategy;
+  ReportService reportService;
+  TaskExecutor exportTaskExecutor;
+  TransactionTemplate transactionTemplate;
+  Path storageDir;
+  int maxActiveJobsPerUser;
+  Duration retention;
+
+  Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+  // id of the pending/running job for each request key, used to coalesce identical requests
+  Map<String, String> activeJobIdsByKey = new ConcurrentHashMap<>();
+  // guards the coalescing and the per-user limit check
+  Lock submitLock = new ReentrantLock();
+
+  @Autowired
+  public ExportJobServiceImpl(
+      ExportServiceStrategy exportServiceStrategy,
+      ReportService reportService,
+      @Qualifier("exportTaskExecutor") TaskExecutor exportTaskExecutor,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.export.storage-dir:${java.io.tmpdir}/asset-management/exports}")
+          String storageDir,
+      @Value("${app.export.max-active-jobs-per-user:2}") int maxActiveJobsPerUser,
+      @Value("${app.export.retention:PT1H}") Duration retention) {
+    this.exportServiceStrategy = exportServiceStrategy;
+    this.reportService = reportService;
+    this.exportTaskExecutor = exportTaskExecutor;
+    // data is only read by the export, one read-only transaction keeps the session open
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    this.storageDir = Paths.get(storageDir);
+    this.maxActiveJobsPerUser = maxActiveJobsPerUser;
+    this.retention = retention;
+  }
+
+  @Override
+  public ExportJobDtoResponse submitJob(ExportJobRequest request) {
+    String username = SecurityUtils.getCurrentUser().getUsername();
+    String type = request.getType().trim().toLowerCase();
+    String format = request.getFormat().trim().toLowerCase();
+
+    if (!exportServiceStrategy.supports(type, format)) {
+      throw new AppException(HttpStatus.BAD_REQUEST, "No export service found");
+    }
+
+    String requestKey = buildRequestKey(type, format, request);
+
+    submitLock.lock();
+    try {
+      // coalesce with an identical job which has not finished yet
+      String activeJobId = activeJobIdsByKey.get(requestKey);
+      ExportJob activeJob = activeJobId != null ? jobs.get(activeJobId) : null;
+      if (activeJob != null && activeJob.getStatus().isActive()) {
+        activeJob.getOwners().add(username);
+        return toDto(activeJob);
+      }
+
+      long runningJobs =
+          jobs.values().stream()
+              .filter(job -> job.getStatus().isActive() && job.getOwners().contains(username))
+              .count();
+      if (runningJobs >= maxActiveJobsPerUser) {
+        throw new AppException(
+            HttpStatus.TOO_MANY_REQUESTS,
+            "You already have "
+                + runningJobs
+                + " exports in progress. Please wait for them to finish");
+      }
+
+      ExportJob job =
+          new ExportJob(
+              UUID.randomUUID().toString(),
+              type,
+              format,
+              requestKey,
+              buildFilename(type, format, request.getTimestamp()),
+              request);
+      job.getOwners().add(username);
+      jobs.put(job.getId(), job);
+      activeJobIdsByKey.put(requestKey, job.getId());
+
+      try {
+        exportTaskExecutor.execute(() -> runJob(job));
+      } catch (TaskRejectedException e) {
+        jobs.remove(job.getId());
+        activeJobIdsByKey.remove(requestKey, job.getId());
+        throw new AppException(
+            HttpStatus.SERVICE_UNAVAILABLE, "Export queue is full. Please try again later");
+      }
+      return toDto(job);
+    } finally {
+      submitLock.unlock();
+    }
+  }
+
+  @Override
+  public ExportJobDtoResponse getJob(String jobId) {
+    return toDto(findOwnedJob(jobId));
+  }
+
+  @Override
+  public Path getJobFile(String jobId) {
+    ExportJob job = findOwnedJob(jobId);
+
+    if (job.getStatus() == ExportJobStatus.FAILED) {
+      throw new AppException(HttpStatus.CONFLICT, "Export job failed: " + job.getErrorMessage());
+    }
+    if (job.getStatus() != ExportJobStatus.COMPLETED) {
+      throw new AppException(HttpStatus.CONFLICT, "Export job is not completed yet");
+    }
+    if (job.getFile() == null || !Files.exists(job.getFile())) {
+      throw new AppException(HttpStatus.GONE, "Export file has expired");
+    }
+    return job.getFile();
+  }
+
+  @Override
+  @Scheduled(fixedDelayString = "${app.export.cleanup-interval-ms:300000}")
+  public void cleanupExpiredJobs() {
+    Instant expiredBefore = Instant.now().minus(retention);
+
+    // remove finished jobs which are older than the retention period
+    jobs.values().stream()
+        .filter(job -> !job.getStatus().isActive())
+        .filter(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(expiredBefore))
+        .toList()
+        .forEach(
+            job -> {
+              jobs.remove(job.getId());
+              deleteDirectory(storageDir.resolve(job.getId()));
+            });
+
+    // remove files left over by jobs which are not tracked anymore (e.g. after a restart)
+    if (!Files.isDirectory(storageDir)) {
+      return;
+    }
+    try (Stream<Path> directories = Files.list(storageDir)) {
+      directories
+          .filter(directory -> !jobs.containsKey(directory.getFileName().toString()))
+          .filter(directory -> isModifiedBefore(directory, expiredBefore))
+          .forEach(this::deleteDirectory);
+    } catch (IOException e) {
+      log.warn("Failed to list export storage directory {}", storageDir, e);
+    }
+  }
+
+  private void runJob(ExportJob job) {
+    job.setStatus(ExportJobStatus.RUNNING);
+    job.setProgress(10);
+    try {
+      List<?> data = transactionTemplate.execute(status -> loadData(job));
+      job.setProgress(50);
+
+      byte[] content = exportServiceStrategy.export(job.getType(), job.getFormat(), data);
+      job.setProgress(80);
+
+      Path directory = storageDir.resolve(job.getId());
+      Files.createDirectories(directory);
+      Path file = Files.write(directory.resolve(job.getFilename()), content);
+
+      job.setFile(file);
+      job.setProgress(100);
+      job.finish(ExportJobStatus.COMPLETED, null);
+      log.info("Export job {} completed, file {}", job.getId(), file);
+    } catch (Exception e) {
+      log.error("Export job {} failed", job.getId(), e);
+      job.finish(ExportJobStatus.FAILED, e.getMessage());
+    } finally {
+      activeJobIdsByKey.remove(job.getRequestKey(), job.getId());
+    }
+  }
+
+  // load the data to export, same as the synchronous export endpoint
+  private List<?> loadData(ExportJob job) {
+    ExportJobRequest request = job.getRequest();
+    if ("category".equals(job.getType())) {
+      if (request.getPageNo() != null && request.getPageSize() != null) {
+        return List.copyOf(
+            reportService
+                .getAllReports(
+                    request.getPageNo(),
+                    request.getPageSize(),
+                    request.getSortBy(),
+                    request.getSortDir())
+                .getContent());
+      }
+      return reportService.getAllReports();
+    }
+    throw new AppException(HttpStatus.BAD_REQUEST, "No export service found");
+  }
+
+  private ExportJob findOwnedJob(String jobId) {
+    String username = SecurityUtils.getCurrentUser().getUsername();
+    ExportJob job = jobs.get(jobId);
+    // do not reveal jobs of other users
+    if (job == null || !job.getOwners().contains(username)) {
+      throw new AppException(HttpStatus.NOT_FOUND, "Export job not found");
+    }
+    return job;
+  }
+
+  private static String buildRequestKey(String type, String format, ExportJobRequest request) {
+    return String.join(
+        "|",
+        type,
+        format,
+        String.valueOf(request.getPageNo()),
+        String.valueOf(request.getPageSize()),
+        String.valueOf(request.getSortBy()).toLowerCase(),
+        String.valueOf(request.getSortDir()).toLowerCase());
+  }
+
+  private static String buildFilename(String type, String format, String timestamp) {
+    String formattedTimestamp =
+        timestamp == null || timestamp.isBlank()
+            ? LocalDateTime.now().format(FILE_TIMESTAMP_FORMAT)
+            : timestamp.replace(":", "-").replace(" ", "_").replaceAll("[^A-Za-z0-9_-]", "");
+    String prefix = "category".equals(type) ? "data_report_" : type + "_";
+    return prefix + formattedTimestamp + FILE_EXTENSIONS.getOrDefault(format, "." + format);
+  }
+
+  private static boolean isModifiedBefore(Path path, Instant instant) {
+    try {
+      return Files.getLastModifiedTime(path).toInstant().isBefore(instant);
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  private void deleteDirectory(Path directory) {
+    if (!Files.exists(directory)) {
+      return;
+    }
+    try (Stream<Path> paths = Files.walk(directory)) {
+      paths
+          .sorted(Comparator.reverseOrder())
+          .forEach(
+              path -> {
+                try {
+                  Files.delete(path);
+                } catch (IOException e) {
+                  throw new UncheckedIOException(e);
+                }
+              });
+    } catch (IOException | UncheckedIOException e) {
+      log.warn("Failed to delete export directory {}", directory, e);
+    }
+  }
+
+  private ExportJobDtoResponse toDto(ExportJob job) {
+    return ExportJobDtoResponse.builder()
+        .id(job.getId())
+        .type(job.getType())
+        .format(job.getFormat())
+        .status(job.getStatus())
+        .progress(job.getProgress())
+        .filename(job.getFilename())
+        .errorMessage(job.getErrorMessage())
+        .createdAt(job.getCreatedAt())
+        .completedAt(job.getCompletedAt())
+        .build();
+  }
+
+  /** In-memory state of an export job. Mutable fields are updated by the export worker. */
+  @Getter
+  private static final class ExportJob {
+    private final String id;
+    private final String type;
+    private final String format;
+    private final String requestKey;
+    private final String filename;
+    private final ExportJobRequest request;
+    private final Set<String> owners = ConcurrentHashMap.newKeySet();
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private volatile ExportJobStatus status = ExportJobStatus.PENDING;
+    private volatile int progress;
+    private volatile Path file;
+    private volatile String errorMessage;
+    private volatile LocalDateTime completedAt;
+    private volatile Instant finishedAt;
+
+    private ExportJob(
+        String id,
+        String type,
+        String format,
+        String requestKey,
+        String filename,
+        ExportJobRequest request) {
+      this.id = id;
+      this.type = type;
+      this.format = format;
+      this.requestKey = requestKey;
+      this.filename = filename;
+      this.request = request;
+    }
+
+    private void setStatus(ExportJobStatus status) {
+      this.status = status;
+    }
+
+    private void setProgress(int progress) {
+      this.progress = progress;
+    }
+
+    private void setFile(Path file) {
+      this.file = file;
+    }
+
+    private void finish(ExportJobStatus status, String errorMessage) {
+      this.errorMessage = errorMessage;
+      this.completedAt = LocalDateTime.now();
+      this.finishedAt = Instant.now();
+      this.status = status;
+    }
+  }
+}
@@ -35,4 +35,15 @@ public class ExportServiceStrategy {
         .map(exportService -> ((ExportService<T>) exportService).exportData(data))
         .orElseThrow(() -> new AppException(HttpStatus.BAD_REQUEST, "No export service found"));
   }
+
+  /**
+   * Checks if any registered export service supports the given type and format.
+   *
+   * @param type the type of data to be exported (e.g., "category")
+   * @param format the format to export the data to (e.g., "excel")
+   * @return true if an export service can handle the type and format, false otherwise
+   */
+  public boolean supports(String type, String format) {
+    return exportServices.stream().anyMatch(exportService -> exportService.supports(type, format));
+  }
 }
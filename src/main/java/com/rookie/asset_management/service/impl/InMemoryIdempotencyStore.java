@@ -0,0 +1,90 @@
+package com.rookie.asset_management.service.impl;
+
+import com.rookie.asset_management.service.IdempotencyStore;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Idempotency store kept in memory, the default ({@code app.idempotency.store=memory}). Entries are
+ * only visible to the node handling the request, so retries reaching another node behind a load
+ * balancer are executed again; use the JDBC store when running several nodes.
+ *
+ * <p>An entry holds the key hash, the request fingerprint, the deadlines and, once completed, the
+ * response body. Each claim runs atomically on its map entry.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(
+    name = "app.idempotency.store",
+    havingValue = "memory",
+    matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+  @Override
+  public Claim claim(String key, String fingerprint, Duration lockTimeout, Duration ttl) {
+    long now = System.currentTimeMillis();
+    Claim[] claim = new Claim[1];
+    entries.compute(
+        key,
+        (k, entry) -> {
+          if (entry == null
+              || entry.expiresAt < now
+              || (entry.response == null && entry.lockedUntil < now)) {
+            claim[0] = Claim.CLAIMED;
+            return new Entry(fingerprint, null, now + lockTimeout.toMillis(), now + ttl.toMillis());
+          }
+          if (!entry.fingerprint.equals(fingerprint)) {
+            claim[0] = Claim.MISMATCH;
+          } else if (entry.response == null) {
+            claim[0] = Claim.IN_PROGRESS;
+          } else {
+            claim[0] = Claim.completed(entry.response);
+          }
+          return entry;
+        });
+    return claim[0];
+  }
+
+  @Override
+  public void complete(String key, StoredResponse response, Duration ttl) {
+    entries.computeIfPresent(
+        key,
+        (k, entry) ->
+            new Entry(
+                entry.fingerprint,
+                response,
+                entry.lockedUntil,
+                System.currentTimeMillis() + ttl.toMillis()));
+  }
+
+  @Override
+  public void release(String key) {
+    entries.computeIfPresent(key, (k, entry) -> entry.response == null ? null : entry);
+  }
+
+  @Override
+  @Scheduled(fixedDelayString = "${app.idempotency.cleanup-interval-ms:300000}")
+  public int purgeExpired() {
+    long now = System.currentTimeMillis();
+    int purged = 0;
+    for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+      // removed only if unchanged, a concurrent claim may have just renewed it
+      if (entry.getValue().expiresAt < now && entries.remove(entry.getKey(), entry.getValue())) {
+        purged++;
+      }
+    }
+    if (purged > 0) {
+      log.debug("Purged {} expired idempotency keys", purged);
+    }
+    return purged;
+  }
+
+  private record Entry(
+      String fingerprint, StoredResponse response, long lockedUntil, long expiresAt) {}
+}
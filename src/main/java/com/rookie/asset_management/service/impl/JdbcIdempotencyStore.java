@@ -0,0 +1,122 @@
+package com.rookie.asset_management.service.impl;
+
+import com.rookie.asset_management.service.IdempotencyStore;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Idempotency store backed by the {@code idempotency_keys} table ({@code
+ * app.idempotency.store=jdbc}), shared by all the nodes.
+ *
+ * <p>Every operation is a single auto-committed statement. A claim inserts the key and does nothing
+ * if it already exists; the database unique key makes concurrent claims exclusive. A claim that
+ * expired or whose lock timed out is taken over by a conditional update.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "jdbc")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+public class JdbcIdempotencyStore implements IdempotencyStore {
+  private static final String INSERT_SQL =
+      "INSERT INTO idempotency_keys (idempotency_key, fingerprint, locked_until, expires_at) "
+          + "VALUES (?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+  private static final String TAKE_OVER_SQL =
+      "UPDATE idempotency_keys "
+          + "SET fingerprint = ?, status_code = NULL, response_body = NULL, locked_until = ?, "
+          + "expires_at = ? "
+          + "WHERE idempotency_key = ? "
+          + "AND (expires_at < ? OR (status_code IS NULL AND locked_until < ?))";
+
+  private static final String SELECT_SQL =
+      "SELECT fingerprint, status_code, response_body FROM idempotency_keys "
+          + "WHERE idempotency_key = ?";
+
+  private static final String COMPLETE_SQL =
+      "UPDATE idempotency_keys SET status_code = ?, response_body = ?, expires_at = ? "
+          + "WHERE idempotency_key = ?";
+
+  private static final String RELEASE_SQL =
+      "DELETE FROM idempotency_keys WHERE idempotency_key = ? AND status_code IS NULL";
+
+  private static final String PURGE_SQL = "DELETE FROM idempotency_keys WHERE expires_at < ?";
+
+  /** Claims racing a release may find neither a row to conflict with nor one to read. */
+  private static final int MAX_CLAIM_ATTEMPTS = 3;
+
+  JdbcTemplate jdbcTemplate;
+
+  @Override
+  public Claim claim(String key, String fingerprint, Duration lockTimeout, Duration ttl) {
+    for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+      LocalDateTime now = LocalDateTime.now();
+      Timestamp lockedUntil = Timestamp.valueOf(now.plus(lockTimeout));
+      Timestamp expiresAt = Timestamp.valueOf(now.plus(ttl));
+      if (jdbcTemplate.update(INSERT_SQL, key, fingerprint, lockedUntil, expiresAt) == 1
+          || jdbcTemplate.update(
+                  TAKE_OVER_SQL,
+                  fingerprint,
+                  lockedUntil,
+                  expiresAt,
+                  key,
+                  Timestamp.valueOf(now),
+                  Timestamp.valueOf(now))
+              == 1) {
+        return Claim.CLAIMED;
+      }
+      List<Claim> existing =
+          jdbcTemplate.query(
+              SELECT_SQL,
+              (rs, rowNum) -> {
+                if (!rs.getString("fingerprint").equals(fingerprint)) {
+                  return Claim.MISMATCH;
+                }
+                int status = rs.getInt("status_code");
+                return rs.wasNull()
+                    ? Claim.IN_PROGRESS
+                    : Claim.completed(new StoredResponse(status, rs.getString("response_body")));
+              },
+              key);
+      if (!existing.isEmpty()) {
+        return existing.get(0);
+      }
+    }
+    return Claim.IN_PROGRESS;
+  }
+
+  @Override
+  public void complete(String key, StoredResponse response, Duration ttl) {
+    jdbcTemplate.update(
+        COMPLETE_SQL,
+        response.status(),
+        response.body(),
+        Timestamp.valueOf(LocalDateTime.now().plus(ttl)),
+        key);
+  }
+
+  @Override
+  public void release(String key) {
+    jdbcTemplate.update(RELEASE_SQL, key);
+  }
+
+  @Override
+  @Scheduled(fixedDelayString = "${app.idempotency.cleanup-interval-ms:300000}")
+  public int purgeExpired() {
+    int purged = jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(LocalDateTime.now()));
+    if (purged > 0) {
+      log.debug("Purged {} expired idempotency keys", purged);
+    }
+    return purged;
+  }
+}
@@ -0,0 +1,205 @@
+package com.rookie.asset_management.service.impl;
+
+import com.rookie.asset_management.service.NotificationMaintenanceService;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class NotificationMaintenanceServiceImpl implements NotificationMaintenanceService {
+  private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+  // locks one batch of expired rows, skipping those a concurrent run already holds
+  private static final String EXPIRED_BATCH =
+      "WITH expired AS ("
+          + "SELECT id, created_at FROM notifications "
+          + "WHERE is_read = TRUE AND created_at < ? "
+          + "ORDER BY created_at, id LIMIT ? FOR UPDATE SKIP LOCKED), "
+          + "moved AS ("
+          + "DELETE FROM notifications n USING expired e "
+          + "WHERE n.id = e.id AND n.created_at = e.created_at "
+          + "RETURNING n.id, n.type, n.sender_id, n.recipient_id, n.assignment_id, "
+          + "n.returning_request_id, n.is_read, n.created_at, n.event_count, n.related_ids) ";
+
+  private static final String ARCHIVE_BATCH_SQL =
+      EXPIRED_BATCH
+          + "INSERT INTO notifications_archive "
+          + "(id, type, sender_id, recipient_id, assignment_id, returning_request_id, is_read, "
+          + "created_at, event_count, related_ids) "
+          + "SELECT id, type, sender_id, recipient_id, assignment_id, returning_request_id, "
+          + "is_read, created_at, event_count, related_ids FROM moved";
+
+  private static final String DELETE_BATCH_SQL = EXPIRED_BATCH + "SELECT COUNT(*) FROM moved";
+
+  private static final String DEFAULT_PARTITION_HAS_ROWS_SQL =
+      "SELECT EXISTS (SELECT 1 FROM notifications_default WHERE created_at >= ? AND created_at < ?)";
+
+  // run while the default partition is detached, the rows are routed to the new partition
+  private static final String MOVE_DEFAULT_PARTITION_ROWS_SQL =
+      "WITH moved AS ("
+          + "DELETE FROM notifications_default WHERE created_at >= ? AND created_at < ? "
+          + "RETURNING id, type, sender_id, recipient_id, assignment_id, returning_request_id, "
+          + "is_read, created_at, event_count, related_ids) "
+          + "INSERT INTO notifications "
+          + "(id, type, sender_id, recipient_id, assignment_id, returning_request_id, is_read, "
+          + "created_at, event_count, related_ids) "
+          + "SELECT id, type, sender_id, recipient_id, assignment_id, returning_request_id, "
+          + "is_read, created_at, event_count, related_ids FROM moved";
+
+  private static final String PARTITIONS_SQL =
+      "SELECT c.relname FROM pg_inherits i "
+          + "JOIN pg_class c ON c.oid = i.inhrelid "
+          + "JOIN pg_class p ON p.oid = i.inhparent "
+          + "WHERE p.relname = 'notifications' AND c.relname ~ '^notifications_[0-9]{4}_[0-9]{2}$'";
+
+  JdbcTemplate jdbcTemplate;
+  TransactionTemplate transactionTemplate;
+  int retentionDays;
+  boolean archive;
+  int batchSize;
+  int maxBatches;
+  int monthsAhead;
+
+  public NotificationMaintenanceServiceImpl(
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.notification.retention.days:90}") int retentionDays,
+      @Value("${app.notification.retention.archive:true}") boolean archive,
+      @Value("${app.notification.retention.batch-size:1000}") int batchSize,
+      @Value("${app.notification.retention.max-batches:100}") int maxBatches,
+      @Value("${app.notification.partitions.months-ahead:3}") int monthsAhead) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.retentionDays = retentionDays;
+    this.archive = archive;
+    this.batchSize = batchSize;
+    this.maxBatches = maxBatches;
+    this.monthsAhead = monthsAhead;
+  }
+
+  @Override
+  @Scheduled(cron = "${app.notification.retention.cron:0 30 2 * * *}")
+  public void maintain() {
+    int created = createUpcomingPartitions();
+    int moved = archiveExpiredNotifications();
+    int dropped = dropEmptyPartitions();
+    log.info(
+        "Notification maintenance: {} partitions created, {} notifications {}, {} partitions"
+            + " dropped",
+        created,
+        moved,
+        archive ? "archived" : "deleted",
+        dropped);
+  }
+
+  @Override
+  public int createUpcomingPartitions() {
+    YearMonth current = YearMonth.now();
+    List<String> existing = jdbcTemplate.queryForList(PARTITIONS_SQL, String.class);
+    int created = 0;
+    for (int i = 0; i <= monthsAhead; i++) {
+      YearMonth month = current.plusMonths(i);
+      String name = partitionName(month);
+      if (existing.contains(name)) {
+        continue;
+      }
+      try {
+        createPartition(name, month);
+        created++;
+      } catch (DataAccessException e) {
+        // typically rows of that month already landed in the default partition
+        log.error("Cannot create notification partition {}", name, e);
+      }
+    }
+    return created;
+  }
+
+  /**
+   * Creates the partition of a month. PostgreSQL refuses a partition overlapping rows of the
+   * default partition, so when the default partition holds rows of the month it is detached, the
+   * partition created, the rows moved into it and the default partition attached again, all in one
+   * transaction.
+   */
+  private void createPartition(String name, YearMonth month) {
+    String create =
+        String.format(
+            "CREATE TABLE IF NOT EXISTS %s PARTITION OF notifications "
+                + "FOR VALUES FROM ('%s') TO ('%s')",
+            name, month.atDay(1), month.plusMonths(1).atDay(1));
+    Timestamp from = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+    Timestamp to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+    if (!Boolean.TRUE.equals(
+        jdbcTemplate.queryForObject(DEFAULT_PARTITION_HAS_ROWS_SQL, Boolean.class, from, to))) {
+      jdbcTemplate.execute(create);
+      return;
+    }
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          jdbcTemplate.execute("ALTER TABLE notifications DETACH PARTITION notifications_default");
+          jdbcTemplate.execute(create);
+          int moved = jdbcTemplate.update(MOVE_DEFAULT_PARTITION_ROWS_SQL, from, to);
+          jdbcTemplate.execute(
+              "ALTER TABLE notifications ATTACH PARTITION notifications_default DEFAULT");
+          log.info("Moved {} notifications from the default partition to {}", moved, name);
+        });
+  }
+
+  @Override
+  public int archiveExpiredNotifications() {
+    Timestamp cutoff = Timestamp.valueOf(LocalDate.now().minusDays(retentionDays).atStartOfDay());
+    int total = 0;
+    for (int batch = 0; batch < maxBatches; batch++) {
+      Integer moved =
+          transactionTemplate.execute(
+              status ->
+                  archive
+                      ? jdbcTemplate.update(ARCHIVE_BATCH_SQL, cutoff, batchSize)
+                      : jdbcTemplate.queryForObject(
+                          DELETE_BATCH_SQL, Integer.class, cutoff, batchSize));
+      int count = moved == null ? 0 : moved;
+      total += count;
+      if (count < batchSize) {
+        break;
+      }
+    }
+    return total;
+  }
+
+  @Override
+  public int dropEmptyPartitions() {
+    // a partition is only dropped once its whole month is past the retention period
+    LocalDateTime cutoff = LocalDate.now().minusDays(retentionDays).atStartOfDay();
+    int dropped = 0;
+    for (String name : jdbcTemplate.queryForList(PARTITIONS_SQL, String.class)) {
+      YearMonth month =
+          YearMonth.parse(name.substring("notifications_".length()), PARTITION_SUFFIX);
+      if (!month.plusMonths(1).atDay(1).atStartOfDay().isAfter(cutoff)
+          && Boolean.FALSE.equals(
+              jdbcTemplate.queryForObject(
+                  "SELECT EXISTS (SELECT 1 FROM " + name + ")", Boolean.class))) {
+        jdbcTemplate.execute("DROP TABLE " + name);
+        dropped++;
+      }
+    }
+    return dropped;
+  }
+
+  private static String partitionName(YearMonth month) {
+    return "notifications_" + month.format(PARTITION_SUFFIX);
+  }
+}
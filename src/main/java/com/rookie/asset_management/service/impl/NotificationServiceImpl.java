@@ -1,40 +1,45 @@
 package com.rookie.asset_management.service.impl;
 
 import com.rookie.asset_management.dto.response.notification.NotificationDtoResponse;
-import com.rookie.asset_management.entity.Assignment;
+import com.rookie.asset_management.dto.response.notification.NotificationFeedDtoResponse;
 import com.rookie.asset_management.entity.Notification;
-import com.rookie.asset_management.entity.ReturningRequest;
 import com.rookie.asset_management.entity.User;
 import com.rookie.asset_management.enums.NotificationType;
 import com.rookie.asset_management.exception.AppException;
 import com.rookie.asset_management.mapper.NotificationMapper;
 import com.rookie.asset_management.repository.NotificationRepository;
+import com.rookie.asset_management.repository.projection.NotificationFeedView;
 import com.rookie.asset_management.service.NotificationService;
-import com.rookie.asset_management.service.UserService;
+import com.rookie.asset_management.service.impl.handler.NotificationHub;
 import com.rookie.asset_management.util.SecurityUtils;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class NotificationServiceImpl implements NotificationService {
+  /** A time later than any notification, the start of the feed and the default read bound. */
+  private static final LocalDateTime FEED_START = LocalDateTime.of(9999, 12, 31, 0, 0);
 
   NotificationRepository notificationRepository;
   NotificationMapper notificationMapper;
-  UserService userService;
+  NotificationHub notificationHub;
 
   @Override
+  @Transactional(readOnly = true)
   public List<NotificationDtoResponse> getAllNotifications() {
     User currentUser = SecurityUtils.getCurrentUser();
 
@@ -43,6 +48,60 @@ public class NotificationServiceImpl implements NotificationService {
   }
 
   @Override
+  @Transactional(readOnly = true)
+  public NotificationFeedDtoResponse getNotificationFeed(
+      String cursor, int size, NotificationType type, Boolean isRead) {
+    if (size < 1 || size > MAX_FEED_SIZE) {
+      throw new AppException(
+          HttpStatus.BAD_REQUEST, "Page size must be between 1 and " + MAX_FEED_SIZE);
+    }
+    User currentUser = SecurityUtils.getCurrentUser();
+
+    // the first page starts after a position later than any notification
+    LocalDateTime afterCreatedAt = FEED_START;
+    int afterId = Integer.MAX_VALUE;
+    if (cursor != null && !cursor.isBlank()) {
+      try {
+        String[] position =
+            new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+        afterCreatedAt = LocalDateTime.parse(position[0]);
+        afterId = Integer.parseInt(position[1]);
+      } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+        throw new AppException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+      }
+    }
+
+    // one extra row tells whether there is a next page
+    List<NotificationFeedView> rows =
+        notificationRepository.findFeedPage(
+            currentUser.getId(),
+            type != null ? type.name() : null,
+            isRead,
+            afterCreatedAt,
+            afterId,
+            size + 1);
+    boolean hasMore = rows.size() > size;
+    List<NotificationFeedView> page = hasMore ? rows.subList(0, size) : rows;
+
+    String nextCursor = null;
+    if (hasMore) {
+      NotificationFeedView last = page.get(page.size() - 1);
+      nextCursor =
+          Base64.getUrlEncoder()
+              .withoutPadding()
+              .encodeToString(
+                  (last.getCreatedAt() + "|" + last.getId()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    return NotificationFeedDtoResponse.builder()
+        .items(page.stream().map(notificationMapper::toFeedDto).toList())
+        .nextCursor(nextCursor)
+        .hasMore(hasMore)
+        .build();
+  }
+
+  @Override
+  @Transactional(readOnly = true)
   public Integer getUnreadNotificationsCount() {
     User currentUser = SecurityUtils.getCurrentUser();
 
@@ -66,6 +125,7 @@ public class NotificationServiceImpl implements NotificationService {
     if (notification.getRecipient().getUsername().equals(currentUser.getUsername())) {
       notification.setRead(true);
       notificationRepository.save(notification);
+      notificationHub.publishUnreadCount(currentUser.getId());
     } else {
       throw new AppException(
           HttpStatus.FORBIDDEN, "You do not have permission to mark this notification as read");
@@ -73,171 +133,23 @@ public class NotificationServiceImpl implements NotificationService {
   }
 
   @Override
-  public void markAllNotificationsAsRead() {
-    User currentUser = SecurityUtils.getCurrentUser();
-
-    List<Notification> notifications =
-        notificationRepository.findAllByRecipientAndIsRead(currentUser, false);
-    for (Notification notification : notifications) {
-      notification.setRead(true);
-    }
-    notificationRepository.saveAll(notifications);
-  }
-
-  private void createAndSaveNotification(
-      NotificationType type,
-      User sender,
-      User recipient,
-      Assignment assignment,
-      ReturningRequest returningRequest) {
-    if (sender == null || recipient == null) {
-      log.warn("Invalid notification parameters: sender={}, recipient={}", sender, recipient);
-      return;
-    }
-
-    try {
-      Notification.NotificationBuilder builder =
-          Notification.builder().type(type).sender(sender).recipient(recipient).isRead(false);
-
-      if (assignment != null) {
-        builder.assignment(assignment);
-      }
-      if (returningRequest != null) {
-        builder.returningRequest(returningRequest);
-      }
-
-      notificationRepository.save(builder.build());
-    } catch (RuntimeException e) {
-      log.error(
-          "Failed to create notification of type {} for sender {} and recipient {}",
-          type,
-          sender.getId(),
-          recipient.getId(),
-          e);
-    }
-  }
-
-  @Async
-  @Transactional
-  @Override
-  public void createAssignmentNotification(User sender, User recipient, Assignment assignment) {
-    createAndSaveNotification(
-        NotificationType.ASSIGNMENT_CREATED, sender, recipient, assignment, null);
-  }
-
-  @Async
   @Transactional
-  @Override
-  public void createReturningRequestCompletedNotification(
-      User sender, User recipient, ReturningRequest returningRequest) {
-
-    if (sender == null || recipient == null || returningRequest == null) {
-      log.warn(
-          "Invalid parameters for completed return request notification: sender={}, recipient={}, returningRequest={}",
-          sender,
-          recipient,
-          returningRequest);
-      return;
-    }
-
-    // Đảm bảo assignment được load để tránh lazy loading exception sau này
-    Assignment assignment = returningRequest.getAssignment();
-    if (assignment == null) {
-      log.warn(
-          "ReturningRequest {} has no associated assignment. Notification not sent.",
-          returningRequest.getId());
-      return;
-    }
-
-    try {
-      createAndSaveNotification(
-          NotificationType.RETURN_REQUEST_COMPLETED,
-          sender,
-          recipient,
-          assignment,
-          returningRequest);
-    } catch (RuntimeException e) {
-      log.error("Failed to create completed return request notification", e);
-    }
-  }
-
-  @Transactional
-  @Override
-  public void createReturningRequestNotification(User sender, ReturningRequest returningRequest) {
-    if (sender == null || returningRequest == null || sender.getLocation() == null) {
-      log.warn(
-          "Invalid parameters for return request notification: sender={}, returningRequest={}",
-          sender,
-          returningRequest);
-      return;
-    }
-
-    Assignment assignment = returningRequest.getAssignment();
-    if (assignment == null) {
-      log.warn(
-          "ReturningRequest has no associated Assignment: returningRequestId={}",
-          returningRequest.getId());
-      return;
-    }
-
-    try {
-      if ("ADMIN".equals(sender.getRole().getName()) && assignment.getAssignedTo() != null) {
-        createAndSaveNotification(
-            NotificationType.RETURN_REQUEST_CREATED,
-            sender,
-            assignment.getAssignedTo(),
-            assignment,
-            returningRequest);
-      }
-
-      List<User> admins =
-          userService.getAdminsByLocation(sender.getLocation().getId()).stream()
-              .filter(admin -> !Objects.equals(admin.getId(), sender.getId()))
-              .collect(Collectors.toList());
-
-      if (admins.isEmpty()) {
-        log.warn(
-            "No other admins found to notify for returning request {}", returningRequest.getId());
-      } else {
-        admins.forEach(
-            admin ->
-                createAndSaveNotification(
-                    NotificationType.RETURN_REQUEST_CREATED,
-                    sender,
-                    admin,
-                    assignment,
-                    returningRequest));
-      }
+  public int markAllNotificationsAsRead(Integer upToId, LocalDateTime upTo) {
+    User currentUser = SecurityUtils.getCurrentUser();
 
-    } catch (RuntimeException e) {
-      log.error("Failed to create return request notification for sender {}", sender.getId(), e);
+    int updated =
+        notificationRepository.markAsReadUpTo(
+            currentUser.getId(),
+            upToId != null ? upToId : Integer.MAX_VALUE,
+            upTo != null ? upTo : FEED_START);
+    if (updated > 0) {
+      notificationHub.publishUnreadCount(currentUser.getId());
     }
+    return updated;
   }
 
-  @Async
-  @Transactional
-  @Override
-  public void createReturningRequestRejectedNotification(
-      User sender, User recipient, Assignment assignment) {
-    createAndSaveNotification(
-        NotificationType.RETURN_REQUEST_REJECTED, sender, recipient, assignment, null);
-  }
-
-  @Async
-  @Transactional
-  @Override
-  public void createAssignmentAcceptedNotification(
-      User sender, User recipient, Assignment assignment) {
-    createAndSaveNotification(
-        NotificationType.ASSIGNMENT_ACCEPTED, sender, recipient, assignment, null);
-  }
-
-  @Async
-  @Transactional
   @Override
-  public void createAssignmentRejectedNotification(
-      User sender, User recipient, Assignment assignment) {
-    createAndSaveNotification(
-        NotificationType.ASSIGNMENT_REJECTED, sender, recipient, assignment, null);
+  public SseEmitter streamNotifications(Integer lastEventId) {
+    return notificationHub.subscribe(SecurityUtils.getCurrentUser(), lastEventId);
   }
 }
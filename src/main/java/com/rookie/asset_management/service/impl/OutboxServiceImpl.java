@@ -0,0 +1,133 @@
+package com.rookie.asset_management.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rookie.asset_management.config.app.NotificationCoalescingProperties;
+import com.rookie.asset_management.dto.outbox.NotificationOutboxPayload;
+import com.rookie.asset_management.entity.Assignment;
+import com.rookie.asset_management.entity.OutboxEvent;
+import com.rookie.asset_management.entity.ReturningRequest;
+import com.rookie.asset_management.entity.User;
+import com.rookie.asset_management.enums.NotificationType;
+import com.rookie.asset_management.enums.OutboxEventStatus;
+import com.rookie.asset_management.enums.OutboxEventType;
+import com.rookie.asset_management.repository.OutboxEventRepository;
+import com.rookie.asset_management.service.OutboxService;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OutboxServiceImpl implements OutboxService {
+  private static final String INSERT_SQL =
+      "INSERT INTO outbox_events (type, payload, status, attempts, next_attempt_at, created_at) "
+          + "VALUES (?, ?, ?, 0, ?, ?)";
+
+  OutboxEventRepository outboxEventRepository;
+  ObjectMapper objectMapper;
+  NotificationCoalescingProperties coalescingProperties;
+  JdbcTemplate jdbcTemplate;
+
+  @Override
+  @Transactional
+  public void enqueueNotification(
+      NotificationType type,
+      User sender,
+      User recipient,
+      Assignment assignment,
+      ReturningRequest returningRequest) {
+    NotificationOutboxPayload payload =
+        NotificationOutboxPayload.builder()
+            .type(type)
+            .senderId(sender.getId())
+            .recipientId(recipient.getId())
+            .assignmentId(assignment != null ? assignment.getId() : null)
+            .returningRequestId(returningRequest != null ? returningRequest.getId() : null)
+            .build();
+    save(OutboxEventType.NOTIFICATION, payload, type);
+  }
+
+  @Override
+  @Transactional
+  public void enqueueLocationAdminsNotification(
+      NotificationType type,
+      User sender,
+      Assignment assignment,
+      ReturningRequest returningRequest) {
+    NotificationOutboxPayload payload =
+        NotificationOutboxPayload.builder()
+            .type(type)
+            .senderId(sender.getId())
+            .locationId(sender.getLocation().getId())
+            .assignmentId(assignment != null ? assignment.getId() : null)
+            .returningRequestId(returningRequest != null ? returningRequest.getId() : null)
+            .build();
+    save(OutboxEventType.LOCATION_ADMINS_NOTIFICATION, payload, type);
+  }
+
+  @Override
+  @Transactional
+  public void enqueueAssigneeNotifications(
+      NotificationType type, User sender, List<Assignment> assignments) {
+    if (assignments.isEmpty()) {
+      return;
+    }
+    List<String> payloads = new ArrayList<>(assignments.size());
+    for (Assignment assignment : assignments) {
+      payloads.add(
+          serialize(
+              OutboxEventType.NOTIFICATION,
+              NotificationOutboxPayload.builder()
+                  .type(type)
+                  .senderId(sender.getId())
+                  .recipientId(assignment.getAssignedTo().getId())
+                  .assignmentId(assignment.getId())
+                  .build()));
+    }
+    LocalDateTime now = LocalDateTime.now();
+    NotificationCoalescingProperties.Rule rule = coalescingProperties.ruleFor(type);
+    Timestamp createdAt = Timestamp.valueOf(now);
+    Timestamp nextAttemptAt = Timestamp.valueOf(rule != null ? rule.windowEnd(now) : now);
+    jdbcTemplate.batchUpdate(
+        INSERT_SQL,
+        payloads,
+        payloads.size(),
+        (ps, payload) -> {
+          ps.setString(1, OutboxEventType.NOTIFICATION.name());
+          ps.setString(2, payload);
+          ps.setString(3, OutboxEventStatus.PENDING.name());
+          ps.setTimestamp(4, nextAttemptAt);
+          ps.setTimestamp(5, createdAt);
+        });
+  }
+
+  private void save(OutboxEventType type, Object payload, NotificationType notificationType) {
+    LocalDateTime now = LocalDateTime.now();
+    // coalesced types wait for the end of their window so a burst is dispatched together
+    NotificationCoalescingProperties.Rule rule = coalescingProperties.ruleFor(notificationType);
+    outboxEventRepository.save(
+        OutboxEvent.builder()
+            .type(type)
+            .payload(serialize(type, payload))
+            .nextAttemptAt(rule != null ? rule.windowEnd(now) : now)
+            .createdAt(now)
+            .build());
+  }
+
+  private String serialize(OutboxEventType type, Object payload) {
+    try {
+      return objectMapper.writeValueAsString(payload);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot serialize " + type + " outbox payload", e);
+    }
+  }
+}
@@ -1,131 +1,190 @@
 package com.rookie.asset_management.service.impl;
 
 import com.rookie.asset_management.dto.response.PagingDtoResponse;
+import com.rookie.asset_management.dto.response.report.AssetStatusTrendDtoResponse;
 import com.rookie.asset_management.dto.response.report.CategoryReportDtoResponse;
-import com.rookie.asset_management.entity.Asset;
+import com.rookie.asset_management.dto.response.report.CategoryTrendDtoResponse;
+import com.rookie.asset_management.dto.response.report.TrendPointDtoResponse;
 import com.rookie.asset_management.entity.Category;
 import com.rookie.asset_management.enums.AssetStatus;
-import com.rookie.asset_management.mapper.PagingMapper;
+import com.rookie.asset_management.exception.AppException;
+import com.rookie.asset_management.repository.AssetStatusSnapshotRepository;
 import com.rookie.asset_management.repository.CategoryRepository;
+import com.rookie.asset_management.repository.ReportRepository;
+import com.rookie.asset_management.repository.projection.AssetStatusSnapshotView;
+import com.rookie.asset_management.repository.projection.CategoryReportView;
+import com.rookie.asset_management.service.AssetStatusCounterService;
 import com.rookie.asset_management.service.ReportService;
-import com.rookie.asset_management.service.abstraction.PagingServiceImpl;
-import com.rookie.asset_management.service.specification.ReportSpecification;
-import com.rookie.asset_management.util.SpecificationBuilder;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
-import org.hibernate.Filter;
-import org.hibernate.Session;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Builds the category reports from the incrementally maintained status counters, so the cost of a
+ * report depends on the number of categories and not on the number of assets. The paged report is
+ * sorted, paged and counted by a single native query; trends are read from the daily snapshots of
+ * the counters.
+ */
 @Service
+@RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
-public class ReportServiceImpl
-    extends PagingServiceImpl<CategoryReportDtoResponse, Category, Integer>
-    implements ReportService {
+public class ReportServiceImpl implements ReportService {
+  /** Sort keys understood by {@link ReportRepository#findReportPage}, besides {@code id}. */
+  private static final Set<String> SORT_KEYS =
+      Set.of("total", "assigned", "available", "notavailable", "waiting", "recycled");
+
+  /** Longest accepted trend range, two years of daily points. */
+  private static final long MAX_TREND_DAYS = 731;
+
   CategoryRepository categoryRepository;
-  @PersistenceContext EntityManager entityManager;
-
-  @Autowired
-  public ReportServiceImpl(CategoryRepository categoryRepository, EntityManager entityManager) {
-    // Initialize the PagingMapper with a no-op implementation
-    // using anonymous inner class
-    super(
-        new PagingMapper<>() {
-          @Override
-          public CategoryReportDtoResponse toDto(Category entity) {
-            return null;
-          }
-
-          @Override
-          public Category toEntity(CategoryReportDtoResponse dto) {
-            return null;
-          }
-        },
-        categoryRepository);
-    this.entityManager = entityManager;
-    this.categoryRepository = categoryRepository;
-  }
+  ReportRepository reportRepository;
+  AssetStatusCounterService assetStatusCounterService;
+  AssetStatusSnapshotRepository assetStatusSnapshotRepository;
 
   @Override
+  @Transactional(readOnly = true)
   public List<CategoryReportDtoResponse> getAllReports() {
-    // Retrieve all categories from the repository
-    enableActiveAssetsFilter();
-    List<Category> categories = categoryRepository.findAll();
-    return categories.stream()
-        .map(this::getReport)
-        .toList(); // Convert each category to a CategoryReportDtoResponse
+    return loadReports().stream().map(Report::toDto).toList();
   }
 
   @Override
+  @Transactional(readOnly = true)
   public PagingDtoResponse<CategoryReportDtoResponse> getAllReports(
       int page, int size, String sortBy, String sortDir) {
-    Specification<Category> spec =
-        new SpecificationBuilder<Category>()
-            .add(ReportSpecification.getSortedByAssetsCount(sortBy, sortDir))
-            .build();
-    Pageable pageable = PageRequest.of(page, size);
-    enableActiveAssetsFilter();
-    return getMany(spec, pageable, this::getReport);
+    // Same ordering rules as the former criteria based sorting: no sort field sorts by category
+    // id ascending, an unknown field sorts by category id in the requested direction, and ties
+    // are broken by category id
+    String sortKey = "id";
+    String direction = "asc";
+    if (sortBy != null && !sortBy.isEmpty()) {
+      String key = sortBy.toLowerCase();
+      sortKey = SORT_KEYS.contains(key) ? key : "id";
+      direction = "desc".equalsIgnoreCase(sortDir) ? "desc" : "asc";
+    }
+
+    List<CategoryReportView> rows =
+        reportRepository.findReportPage(sortKey, direction, size, (long) page * size);
+    // an empty page carries no window total, fall back to a plain count
+    long total =
+        rows.isEmpty() ? reportRepository.countCategories() : rows.getFirst().getTotalElements();
+    int totalPages = size == 0 ? 1 : (int) Math.ceil((double) total / size);
+    List<CategoryReportDtoResponse> content =
+        rows.stream().map(ReportServiceImpl::toReport).toList();
+
+    return new PagingDtoResponse<>(content, totalPages, total, size, page, content.isEmpty());
   }
 
-  // mapping from Category to CategoryReportDtoResponse
-  private CategoryReportDtoResponse getReport(Category category) {
-    String categoryName = category.getName();
-    List<Asset> assets = category.getAssets();
+  @Override
+  @Transactional(readOnly = true)
+  public AssetStatusTrendDtoResponse getTrends(
+      LocalDate from, LocalDate to, Integer categoryId, Integer locationId) {
+    if (from == null || to == null || from.isAfter(to)) {
+      throw new AppException(HttpStatus.BAD_REQUEST, "Invalid date range");
+    }
+    if (ChronoUnit.DAYS.between(from, to) >= MAX_TREND_DAYS) {
+      throw new AppException(
+          HttpStatus.BAD_REQUEST, "Date range must not exceed " + MAX_TREND_DAYS + " days");
+    }
 
-    // If there are no assets, return a report with zero counts
-    if (assets == null || assets.isEmpty()) {
-      return CategoryReportDtoResponse.builder()
-          .category(categoryName)
-          .total(0)
-          .assigned(0)
-          .available(0)
-          .notAvailable(0)
-          .waiting(0)
-          .recycled(0)
-          .build();
+    // category id -> day -> status counts, categories and days in ascending order
+    Map<Integer, Map<LocalDate, Map<AssetStatus, Long>>> series = new TreeMap<>();
+    for (AssetStatusSnapshotView row :
+        assetStatusSnapshotRepository.findSeries(from, to, categoryId, locationId)) {
+      series
+          .computeIfAbsent(row.getCategoryId(), id -> new TreeMap<>())
+          .computeIfAbsent(row.getSnapshotDate(), day -> new EnumMap<>(AssetStatus.class))
+          .merge(row.getStatus(), row.getCount(), Long::sum);
     }
 
-    // Use a map for counting
-    Map<AssetStatus, Integer> statusCounts = new EnumMap<>(AssetStatus.class);
+    Map<Integer, String> categoryNames = new HashMap<>();
+    categoryRepository
+        .findAllById(series.keySet())
+        .forEach(category -> categoryNames.put(category.getId(), category.getName()));
 
-    // Initialize all statuses with zero
-    for (AssetStatus status : AssetStatus.values()) {
-      statusCounts.put(status, 0);
-    }
+    List<CategoryTrendDtoResponse> categories =
+        series.entrySet().stream()
+            .map(
+                entry ->
+                    CategoryTrendDtoResponse.builder()
+                        .categoryId(entry.getKey())
+                        .category(categoryNames.get(entry.getKey()))
+                        .points(
+                            entry.getValue().entrySet().stream()
+                                .map(day -> toTrendPoint(day.getKey(), day.getValue()))
+                                .toList())
+                        .build())
+            .toList();
 
-    // Count in a single pass
-    for (Asset asset : assets) {
-      statusCounts.merge(asset.getStatus(), 1, Integer::sum);
-    }
+    return AssetStatusTrendDtoResponse.builder()
+        .from(from)
+        .to(to)
+        .locationId(locationId)
+        .categories(categories)
+        .build();
+  }
+
+  private static TrendPointDtoResponse toTrendPoint(LocalDate date, Map<AssetStatus, Long> counts) {
+    return TrendPointDtoResponse.builder()
+        .date(date)
+        .total(counts.values().stream().mapToInt(Long::intValue).sum())
+        .assigned(counts.getOrDefault(AssetStatus.ASSIGNED, 0L).intValue())
+        .available(counts.getOrDefault(AssetStatus.AVAILABLE, 0L).intValue())
+        .notAvailable(counts.getOrDefault(AssetStatus.NOT_AVAILABLE, 0L).intValue())
+        .waiting(counts.getOrDefault(AssetStatus.WAITING, 0L).intValue())
+        .recycled(counts.getOrDefault(AssetStatus.RECYCLED, 0L).intValue())
+        .build();
+  }
 
+  private List<Report> loadReports() {
+    Map<Integer, Map<AssetStatus, Long>> counts = assetStatusCounterService.getCountsByCategory();
+    List<Category> categories = categoryRepository.findAll();
+    return categories.stream()
+        .map(category -> new Report(category, counts.getOrDefault(category.getId(), Map.of())))
+        .toList();
+  }
+
+  private static CategoryReportDtoResponse toReport(CategoryReportView row) {
     return CategoryReportDtoResponse.builder()
-        .category(categoryName)
-        .total(assets.size())
-        .assigned(statusCounts.get(AssetStatus.ASSIGNED))
-        .available(statusCounts.get(AssetStatus.AVAILABLE))
-        .notAvailable(statusCounts.get(AssetStatus.NOT_AVAILABLE))
-        .waiting(statusCounts.get(AssetStatus.WAITING))
-        .recycled(statusCounts.get(AssetStatus.RECYCLED))
+        .category(row.getCategory())
+        .total(row.getTotal().intValue())
+        .assigned(row.getAssigned().intValue())
+        .available(row.getAvailable().intValue())
+        .notAvailable(row.getNotAvailable().intValue())
+        .waiting(row.getWaiting().intValue())
+        .recycled(row.getRecycled().intValue())
         .build();
   }
 
-  private void enableActiveAssetsFilter() {
-    Session session = entityManager.unwrap(Session.class);
-    if (session != null) {
-      Filter filter = session.enableFilter("activeAssets");
-      if (filter != null) {
-        filter.setParameter("isDisabled", false);
-      }
+  private record Report(Category category, Map<AssetStatus, Long> counts) {
+    int count(AssetStatus status) {
+      return counts.getOrDefault(status, 0L).intValue();
+    }
+
+    int total() {
+      return counts.values().stream().mapToInt(Long::intValue).sum();
+    }
+
+    CategoryReportDtoResponse toDto() {
+      return CategoryReportDtoResponse.builder()
+          .category(category.getName())
+          .total(total())
+          .assigned(count(AssetStatus.ASSIGNED))
+          .available(count(AssetStatus.AVAILABLE))
+          .notAvailable(count(AssetStatus.NOT_AVAILABLE))
+          .waiting(count(AssetStatus.WAITING))
+          .recycled(count(AssetStatus.RECYCLED))
+          .build();
     }
   }
 }
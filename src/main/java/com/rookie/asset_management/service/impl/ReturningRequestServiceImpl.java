@@ -1,5 +1,6 @@
 package com.rookie.asset_management.service.impl;
 
+import com.rookie.asset_management.aspect.RetryOnConflict;
 import com.rookie.asset_management.dto.response.PagingDtoResponse;
 import com.rookie.asset_management.dto.response.return_request.CompleteReturningRequestDtoResponse;
 import com.rookie.asset_management.dto.response.return_request.ReturningRequestDtoResponse;
@@ -15,10 +16,9 @@ import com.rookie.asset_management.exception.AppException;
 import com.rookie.asset_management.mapper.ReturningRequestMapper;
 import com.rookie.asset_management.repository.AssignmentRepository;
 import com.rookie.asset_management.repository.ReturningRequestRepository;
-import com.rookie.asset_management.repository.UserRepository;
-import com.rookie.asset_management.service.JwtService;
+import com.rookie.asset_management.service.AssetStatusCounterService;
+import com.rookie.asset_management.service.CurrentUserService;
 import com.rookie.asset_management.service.NotificationCreator;
-import com.rookie.asset_management.service.NotificationService;
 import com.rookie.asset_management.service.ReturningRequestService;
 import com.rookie.asset_management.service.abstraction.PagingServiceImpl;
 import com.rookie.asset_management.service.specification.ReturningRequestSpecification;
@@ -41,32 +41,30 @@ public class ReturningRequestServiceImpl
 
   ReturningRequestRepository returningRequestRepository;
   AssignmentRepository assignmentRepository;
-  UserRepository userRepository;
   ReturningRequestMapper returningRequestMapper;
-  JwtService jwtService;
+  CurrentUserService currentUserService;
   NotificationCreator notificationCreator;
-  NotificationService notificationService;
+  AssetStatusCounterService assetStatusCounterService;
 
   @Autowired
   public ReturningRequestServiceImpl(
       ReturningRequestRepository returningRequestRepository,
       AssignmentRepository assignmentRepository,
-      UserRepository userRepository,
       ReturningRequestMapper returningRequestMapper,
-      JwtService jwtService,
+      CurrentUserService currentUserService,
       NotificationCreator notificationCreator,
-      NotificationService notificationService) {
+      AssetStatusCounterService assetStatusCounterService) {
     super(returningRequestMapper, returningRequestRepository);
     this.returningRequestRepository = returningRequestRepository;
-    this.userRepository = userRepository;
     this.returningRequestMapper = returningRequestMapper;
-    this.jwtService = jwtService;
+    this.currentUserService = currentUserService;
     this.assignmentRepository = assignmentRepository;
     this.notificationCreator = notificationCreator;
-    this.notificationService = notificationService;
+    this.assetStatusCounterService = assetStatusCounterService;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public PagingDtoResponse<ReturningRequestDtoResponse> getAllReturningRequests(
       ReturningRequestStatus status,
       String returnedDate,
@@ -76,11 +74,7 @@ public class ReturningRequestServiceImpl
       String sortBy,
       String sortDir) {
 
-    String username = jwtService.extractUsername();
-    User user =
-        userRepository
-            .findByUsername(username)
-            .orElseThrow(() -> new AppException(HttpStatus.BAD_REQUEST, "User Not Found"));
+    User user = currentUserService.getCurrentUser();
 
     // Check if user is admin
     if (!"ADMIN".equalsIgnoreCase(user.getRole().getName())) {
@@ -136,6 +130,8 @@ public class ReturningRequestServiceImpl
   }
 
   @Override
+  @RetryOnConflict
+  @Transactional
   public CompleteReturningRequestDtoResponse completeReturningRequest(Integer id) {
     ReturningRequest returningRequest =
         returningRequestRepository
@@ -143,11 +139,7 @@ public class ReturningRequestServiceImpl
             .orElseThrow(
                 () -> new AppException(HttpStatus.NOT_FOUND, "Returning Request Not Found"));
 
-    String username = jwtService.extractUsername();
-    User user =
-        userRepository
-            .findByUsername(username)
-            .orElseThrow(() -> new AppException(HttpStatus.BAD_REQUEST, "User Not Found"));
+    User user = currentUserService.getCurrentUser();
 
     // Check if user is admin
     if (!"ADMIN".equalsIgnoreCase(user.getRole().getName())) {
@@ -181,7 +173,9 @@ public class ReturningRequestServiceImpl
     returningRequest.getAssignment().setStatus(AssignmentStatus.RETURNED);
 
     // Update status of asset to AVAILABLE
-    returningRequest.getAssignment().getAsset().setStatus(AssetStatus.AVAILABLE);
+    Asset asset = returningRequest.getAssignment().getAsset();
+    AssetStatus previousStatus = asset.getStatus();
+    asset.setStatus(AssetStatus.AVAILABLE);
 
     // Update acceptedBy to the current user
     returningRequest.setAcceptedBy(user);
@@ -189,15 +183,16 @@ public class ReturningRequestServiceImpl
     // Save the updated request
     returningRequestRepository.save(returningRequest);
     returningRequestRepository.flush();
+    assetStatusCounterService.recordStatusChange(asset, previousStatus);
 
     // Create a notification to the assignee
     var assignee = returningRequest.getAssignment().getAssignedTo();
-    notificationService.createReturningRequestCompletedNotification(
+    notificationCreator.createReturningRequestCompletedNotification(
         user, assignee, returningRequest);
 
     // Create a notification to the requester(another admin)
     if (!returningRequest.getRequestedBy().equals(assignee)) {
-      notificationService.createReturningRequestCompletedNotification(
+      notificationCreator.createReturningRequestCompletedNotification(
           user, returningRequest.getRequestedBy(), returningRequest);
     }
 
@@ -208,14 +203,11 @@ public class ReturningRequestServiceImpl
   }
 
   @Override
+  @RetryOnConflict
   @Transactional
   public ReturningRequestDetailDtoResponse createReturningRequest(Integer assignmentId) {
     // Get current admin from JWT
-    String username = jwtService.extractUsername();
-    User admin =
-        userRepository
-            .findByUsername(username)
-            .orElseThrow(() -> new AppException(HttpStatus.BAD_REQUEST, "User Not Found"));
+    User admin = currentUserService.getCurrentUser();
 
     if (!"ADMIN".equalsIgnoreCase(admin.getRole().getName())) {
       throw new AppException(HttpStatus.FORBIDDEN, "Only admins can create returning requests");
@@ -262,21 +254,18 @@ public class ReturningRequestServiceImpl
     returningRequestRepository.flush();
 
     // Create notification to another admin
-    notificationService.createReturningRequestNotification(admin, savedReturningRequest);
+    notificationCreator.createReturningRequestNotification(admin, savedReturningRequest);
 
     // Return DTO
     return returningRequestMapper.toDetailDto(returningRequestRepository.save(returningRequest));
   }
 
   @Override
+  @RetryOnConflict
   @Transactional
   public ReturningRequestDetailDtoResponse createUserReturningRequest(Integer assignmentId) {
     // Get current user from JWT
-    String username = jwtService.extractUsername();
-    User user =
-        userRepository
-            .findByUsername(username)
-            .orElseThrow(() -> new AppException(HttpStatus.BAD_REQUEST, "User Not Found"));
+    User user = currentUserService.getCurrentUser();
 
     // Find the assignment
     Assignment assignment =
@@ -327,21 +316,18 @@ public class ReturningRequestServiceImpl
     loadedAsset.getName(); // force load asset name
     assignedTo.getUsername(); // force load assignedTo user
 
-    notificationService.createReturningRequestNotification(user, savedRequest);
+    notificationCreator.createReturningRequestNotification(user, savedRequest);
 
     // Return DTO
     return returningRequestMapper.toDetailDto(savedRequest);
   }
 
   @Override
+  @RetryOnConflict
   @Transactional
   public ReturningRequestDetailDtoResponse cancelReturningRequest(Integer returningRequestId) {
     // Get current admin from JWT
-    String username = jwtService.extractUsername();
-    User admin =
-        userRepository
-            .findByUsername(username)
-            .orElseThrow(() -> new AppException(HttpStatus.BAD_REQUEST, "User Not Found"));
+    User admin = currentUserService.getCurrentUser();
 
     if (!"ADMIN".equalsIgnoreCase(admin.getRole().getName())) {
       throw new AppException(HttpStatus.FORBIDDEN, "Only admins can cancel returning requests");
@@ -373,12 +359,12 @@ public class ReturningRequestServiceImpl
     assignmentRepository.save(assignment);
 
     // Create notification to requester
-    notificationService.createReturningRequestRejectedNotification(
+    notificationCreator.createReturningRequestRejectedNotification(
         admin, returningRequest.getRequestedBy(), assignment);
 
     // Create notification to assignee if requester is an admin
     if (returningRequest.getRequestedBy().getRole().getName().equals("ADMIN")) {
-      notificationService.createReturningRequestRejectedNotification(
+      notificationCreator.createReturningRequestRejectedNotification(
           admin,
           returningRequest.getAssignment().getAssignedTo(),
           returningRequest.getAssignment());
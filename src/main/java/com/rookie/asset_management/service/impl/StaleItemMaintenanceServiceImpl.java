@@ -0,0 +1,342 @@
+package com.rookie.asset_management.service.impl;
+
+import com.rookie.asset_management.config.app.StaleItemProperties;
+import com.rookie.asset_management.entity.Assignment;
+import com.rookie.asset_management.entity.Location;
+import com.rookie.asset_management.entity.ReturningRequest;
+import com.rookie.asset_management.entity.User;
+import com.rookie.asset_management.enums.NotificationType;
+import com.rookie.asset_management.enums.StaleAction;
+import com.rookie.asset_management.service.OutboxService;
+import com.rookie.asset_management.service.StaleItemMaintenanceService;
+import com.rookie.asset_management.service.impl.handler.JobLock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntFunction;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Walks the stale waiting items in id order, one batch per transaction, resuming each batch after
+ * the last id of the previous one. The rows are locked with {@code FOR UPDATE SKIP LOCKED}, so an
+ * item being answered by a user meanwhile is left to the next run instead of waiting for the user.
+ *
+ * <p>Meters: {@code app.stale.items}, the items handled, tagged with {@code item} and {@code
+ * action}; {@code app.stale.run}, the duration of the runs; {@code app.stale.run.skipped}, the runs
+ * skipped because another node was running the job.
+ */
+@Slf4j
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class StaleItemMaintenanceServiceImpl implements StaleItemMaintenanceService {
+  private static final String JOB_NAME = "stale-item-maintenance";
+
+  private static final String STALE_ASSIGNMENTS =
+      "WITH stale AS ("
+          + "SELECT id FROM assignments "
+          + "WHERE status = 'WAITING' AND deleted = FALSE AND assigned_date < ? AND id > ? %s"
+          + "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) ";
+
+  // declined like by its assignee, the asset stayed available while the assignment was waiting
+  private static final String EXPIRE_ASSIGNMENTS_SQL =
+      String.format(STALE_ASSIGNMENTS, "")
+          + "UPDATE assignments a SET status = 'DECLINED', version = a.version + 1 "
+          + "FROM stale WHERE a.id = stale.id RETURNING a.id, a.assigned_to, a.assigned_by";
+
+  private static final String ESCALATE_ASSIGNMENTS_SQL =
+      String.format(STALE_ASSIGNMENTS, "AND escalated_at IS NULL ")
+          + "UPDATE assignments a SET escalated_at = ? FROM stale, users u "
+          + "WHERE a.id = stale.id AND u.id = a.assigned_to "
+          + "RETURNING a.id, a.id AS assignment_id, a.assigned_to, u.location_id";
+
+  private static final String STALE_RETURNING_REQUESTS =
+      "WITH stale AS ("
+          + "SELECT id, assignment_id FROM returning_requests "
+          + "WHERE status = 'WAITING' AND deleted = FALSE AND requested_at < ? AND id > ? %s"
+          + "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) ";
+
+  // cancelled like by an admin: the assignment is accepted again and the request removed
+  private static final String EXPIRE_RETURNING_REQUESTS_SQL =
+      String.format(STALE_RETURNING_REQUESTS, "")
+          + ", reopened AS ("
+          + "UPDATE assignments a SET status = 'ACCEPTED', version = a.version + 1 FROM stale "
+          + "WHERE a.id = stale.assignment_id AND a.status = 'WAITING_FOR_RETURNING') "
+          + "DELETE FROM returning_requests r USING stale, assignments a, users u, roles ro "
+          + "WHERE r.id = stale.id AND a.id = r.assignment_id AND u.id = r.requested_by "
+          + "AND ro.id = u.role_id "
+          + "RETURNING r.id, r.assignment_id, r.requested_by, ro.name = 'ADMIN' AS admin_request, "
+          + "a.assigned_to, a.assigned_by";
+
+  private static final String ESCALATE_RETURNING_REQUESTS_SQL =
+      String.format(STALE_RETURNING_REQUESTS, "AND escalated_at IS NULL ")
+          + "UPDATE returning_requests r SET escalated_at = ? FROM stale, assignments a, users u "
+          + "WHERE r.id = stale.id AND a.id = r.assignment_id AND u.id = a.assigned_to "
+          + "RETURNING r.id, r.assignment_id, a.assigned_to, u.location_id";
+
+  private static final RowMapper<ExpiredAssignment> EXPIRED_ASSIGNMENT =
+      (rs, rowNum) ->
+          new ExpiredAssignment(
+              rs.getInt("id"), rs.getInt("assigned_to"), rs.getInt("assigned_by"));
+
+  private static final RowMapper<ExpiredReturningRequest> EXPIRED_RETURNING_REQUEST =
+      (rs, rowNum) ->
+          new ExpiredReturningRequest(
+              rs.getInt("id"),
+              rs.getInt("assignment_id"),
+              rs.getInt("requested_by"),
+              rs.getBoolean("admin_request"),
+              rs.getInt("assigned_to"),
+              rs.getInt("assigned_by"));
+
+  private static final RowMapper<EscalatedItem> ESCALATED_ITEM =
+      (rs, rowNum) ->
+          new EscalatedItem(
+              rs.getInt("id"),
+              rs.getInt("assignment_id"),
+              rs.getInt("assigned_to"),
+              rs.getInt("location_id"));
+
+  JdbcTemplate jdbcTemplate;
+  TransactionTemplate transactionTemplate;
+  OutboxService outboxService;
+  JobLock jobLock;
+  StaleItemProperties properties;
+  MeterRegistry meterRegistry;
+
+  public StaleItemMaintenanceServiceImpl(
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      OutboxService outboxService,
+      JobLock jobLock,
+      StaleItemProperties properties,
+      MeterRegistry meterRegistry) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.outboxService = outboxService;
+    this.jobLock = jobLock;
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /** A stale assignment declined on behalf of its assignee. */
+  private record ExpiredAssignment(int id, int assigneeId, int assignerId) {}
+
+  /** A stale returning request cancelled on behalf of the admins. */
+  private record ExpiredReturningRequest(
+      int id,
+      int assignmentId,
+      int requesterId,
+      boolean adminRequest,
+      int assigneeId,
+      int assignerId) {}
+
+  /** A stale item escalated to the admins of the location of the assignee. */
+  private record EscalatedItem(int id, int assignmentId, int assigneeId, int locationId) {}
+
+  @Override
+  @Scheduled(cron = "${app.stale.cron:0 0 3 * * *}")
+  public void maintain() {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    boolean ran =
+        jobLock.runExclusively(
+            JOB_NAME,
+            () -> {
+              int assignments = processStaleAssignments();
+              int returningRequests = processStaleReturningRequests();
+              log.info(
+                  "Stale item maintenance: {} waiting assignments {}, {} waiting returning requests"
+                      + " {}",
+                  assignments,
+                  properties.getAssignment().getAction(),
+                  returningRequests,
+                  properties.getReturningRequest().getAction());
+            });
+    if (ran) {
+      sample.stop(meterRegistry.timer("app.stale.run"));
+    } else {
+      meterRegistry.counter("app.stale.run.skipped").increment();
+      log.debug("Stale item maintenance skipped, another node is running it");
+    }
+  }
+
+  @Override
+  public int processStaleAssignments() {
+    StaleItemProperties.Policy policy = properties.getAssignment();
+    Date cutoff = Date.valueOf(LocalDate.now().minusDays(policy.getAfter().toDays()));
+    return process(
+        "assignment",
+        policy.getAction(),
+        after ->
+            switch (policy.getAction()) {
+              case EXPIRE -> expireAssignments(
+                  jdbcTemplate.query(
+                      EXPIRE_ASSIGNMENTS_SQL,
+                      EXPIRED_ASSIGNMENT,
+                      cutoff,
+                      after,
+                      properties.getBatchSize()));
+              case ESCALATE -> escalate(
+                  NotificationType.ASSIGNMENT_STALE,
+                  false,
+                  jdbcTemplate.query(
+                      ESCALATE_ASSIGNMENTS_SQL,
+                      ESCALATED_ITEM,
+                      cutoff,
+                      after,
+                      properties.getBatchSize(),
+                      Timestamp.valueOf(LocalDateTime.now())));
+              case NONE -> List.of();
+            });
+  }
+
+  @Override
+  public int processStaleReturningRequests() {
+    StaleItemProperties.Policy policy = properties.getReturningRequest();
+    Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(policy.getAfter()));
+    return process(
+        "returning_request",
+        policy.getAction(),
+        after ->
+            switch (policy.getAction()) {
+              case EXPIRE -> expireReturningRequests(
+                  jdbcTemplate.query(
+                      EXPIRE_RETURNING_REQUESTS_SQL,
+                      EXPIRED_RETURNING_REQUEST,
+                      cutoff,
+                      after,
+                      properties.getBatchSize()));
+              case ESCALATE -> escalate(
+                  NotificationType.RETURN_REQUEST_STALE,
+                  true,
+                  jdbcTemplate.query(
+                      ESCALATE_RETURNING_REQUESTS_SQL,
+                      ESCALATED_ITEM,
+                      cutoff,
+                      after,
+                      properties.getBatchSize(),
+                      Timestamp.valueOf(LocalDateTime.now())));
+              case NONE -> List.of();
+            });
+  }
+
+  /**
+   * Runs the batches of one item kind until a batch comes back short or the maximum number of
+   * batches is reached.
+   *
+   * @param batch handles the batch of items after the given id, returns the ids handled
+   */
+  private int process(String item, StaleAction action, IntFunction<List<Integer>> batch) {
+    if (action == StaleAction.NONE) {
+      return 0;
+    }
+    int total = 0;
+    int cursor = 0;
+    for (int i = 0; i < properties.getMaxBatches(); i++) {
+      int after = cursor;
+      List<Integer> ids = transactionTemplate.execute(status -> batch.apply(after));
+      if (ids == null || ids.isEmpty()) {
+        break;
+      }
+      total += ids.size();
+      cursor = Collections.max(ids);
+      if (ids.size() < properties.getBatchSize()) {
+        break;
+      }
+    }
+    meterRegistry
+        .counter("app.stale.items", "item", item, "action", action.name().toLowerCase(Locale.ROOT))
+        .increment(total);
+    return total;
+  }
+
+  /**
+   * Notifies the assigner of each declined assignment, in the batch transaction, as a decline by
+   * the assignee does.
+   */
+  private List<Integer> expireAssignments(List<ExpiredAssignment> assignments) {
+    for (ExpiredAssignment expired : assignments) {
+      outboxService.enqueueNotification(
+          NotificationType.ASSIGNMENT_REJECTED,
+          user(expired.assigneeId()),
+          user(expired.assignerId()),
+          assignment(expired.id()),
+          null);
+    }
+    return assignments.stream().map(ExpiredAssignment::id).toList();
+  }
+
+  /**
+   * Notifies the requester of each cancelled returning request, and the assignee when an admin made
+   * the request, in the batch transaction, as a cancellation by an admin does. The admin who made
+   * the assignment stands for the admins as the sender.
+   */
+  private List<Integer> expireReturningRequests(List<ExpiredReturningRequest> requests) {
+    for (ExpiredReturningRequest expired : requests) {
+      User sender = user(expired.assignerId());
+      Assignment assignment = assignment(expired.assignmentId());
+      outboxService.enqueueNotification(
+          NotificationType.RETURN_REQUEST_REJECTED,
+          sender,
+          user(expired.requesterId()),
+          assignment,
+          null);
+      if (expired.adminRequest()) {
+        outboxService.enqueueNotification(
+            NotificationType.RETURN_REQUEST_REJECTED,
+            sender,
+            user(expired.assigneeId()),
+            assignment,
+            null);
+      }
+    }
+    return requests.stream().map(ExpiredReturningRequest::id).toList();
+  }
+
+  /**
+   * Notifies the admins of the location of each item, in the batch transaction. The assignee is the
+   * sender, so the admin who created the item is notified too.
+   */
+  private List<Integer> escalate(
+      NotificationType type, boolean returningRequest, List<EscalatedItem> items) {
+    for (EscalatedItem item : items) {
+      Location location = new Location();
+      location.setId(item.locationId());
+      User assignee = user(item.assigneeId());
+      assignee.setLocation(location);
+      ReturningRequest request = null;
+      if (returningRequest) {
+        request = new ReturningRequest();
+        request.setId(item.id());
+      }
+      outboxService.enqueueLocationAdminsNotification(
+          type, assignee, assignment(item.assignmentId()), request);
+    }
+    return items.stream().map(EscalatedItem::id).toList();
+  }
+
+  private static User user(int id) {
+    User user = new User();
+    user.setId(id);
+    return user;
+  }
+
+  private static Assignment assignment(int id) {
+    Assignment assignment = new Assignment();
+    assignment.setId(id);
+    return assignment;
+  }
+}
@@ -0,0 +1,271 @@
+package com.rookie.asset_management.service.impl;
+
+import com.rookie.asset_management.dto.request.UserRequestDTO;
+import com.rookie.asset_management.dto.request.user.BulkCreateUserRequest;
+import com.rookie.asset_management.dto.response.email.EmailDeliveryDtoResponse;
+import com.rookie.asset_management.dto.response.user.BulkUserDtoResponse;
+import com.rookie.asset_management.dto.response.user.CreateUserDtoResponse;
+import com.rookie.asset_management.entity.Role;
+import com.rookie.asset_management.entity.User;
+import com.rookie.asset_management.enums.BulkMode;
+import com.rookie.asset_management.exception.AppException;
+import com.rookie.asset_management.mapper.UserMapper;
+import com.rookie.asset_management.repository.UserRepository;
+import com.rookie.asset_management.service.CurrentUserService;
+import com.rookie.asset_management.service.EmailService;
+import com.rookie.asset_management.service.UserImportService;
+import com.rookie.asset_management.service.impl.handler.UserBatchWriter;
+import com.rookie.asset_management.service.impl.handler.UsernameAllocator;
+import com.rookie.asset_management.util.ConstraintViolations;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Creates many users without a query per user: the emails in use and the usernames taken are read
+ * once for the whole request and every user is validated in memory.
+ *
+ * <p>The passwords are hashed before the transaction starts, in groups of {@value #HASHES_PER_TASK}
+ * on the bounded {@code passwordHashingExecutor}; a group rejected by the saturated pool is hashed
+ * by the calling thread. The users, their profiles and their account emails are then inserted in
+ * JDBC batches of {@code app.user.import.batch-size} in one transaction, the emails being sent
+ * afterwards by the email dispatcher.
+ */
+@Slf4j
+@Service
+public class UserImportServiceImpl implements UserImportService {
+  private static final int HASHES_PER_TASK = 16;
+  private static final String EMAIL_SUBJECT = "Your account has been created";
+
+  private final UserRepository userRepository;
+  private final UserMapper userMapper;
+  private final CurrentUserService currentUserService;
+  private final UsernameAllocator usernameAllocator;
+  private final UserBatchWriter userBatchWriter;
+  private final EmailService emailService;
+  private final PasswordEncoder passwordEncoder;
+  private final TaskExecutor passwordHashingExecutor;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+
+  public UserImportServiceImpl(
+      UserRepository userRepository,
+      UserMapper userMapper,
+      CurrentUserService currentUserService,
+      UsernameAllocator usernameAllocator,
+      UserBatchWriter userBatchWriter,
+      EmailService emailService,
+      PasswordEncoder passwordEncoder,
+      @Qualifier("passwordHashingExecutor") TaskExecutor passwordHashingExecutor,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.user.import.batch-size:500}") int batchSize) {
+    this.userRepository = userRepository;
+    this.userMapper = userMapper;
+    this.currentUserService = currentUserService;
+    this.usernameAllocator = usernameAllocator;
+    this.userBatchWriter = userBatchWriter;
+    this.emailService = emailService;
+    this.passwordEncoder = passwordEncoder;
+    this.passwordHashingExecutor = passwordHashingExecutor;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public BulkUserDtoResponse bulkCreateUsers(BulkCreateUserRequest request) {
+    User admin = currentUserService.getCurrentUser();
+    if (!"ADMIN".equalsIgnoreCase(admin.getRole().getName())) {
+      throw new AppException(HttpStatus.FORBIDDEN, "Only admins can create users");
+    }
+    List<UserRequestDTO> rows = request.getUsers();
+    BulkMode mode = request.getMode();
+
+    // one query for the emails of the whole request
+    Set<String> requestedEmails = new HashSet<>();
+    for (UserRequestDTO row : rows) {
+      requestedEmails.add(row.getEmail().toLowerCase(Locale.ROOT));
+    }
+    Set<String> usedEmails = new HashSet<>(userRepository.findActiveEmailsIn(requestedEmails));
+
+    User[] users = new User[rows.size()];
+    String[] errors = new String[rows.size()];
+    String[] bases = new String[rows.size()];
+    Set<String> seenEmails = new HashSet<>();
+    List<Integer> valid = new ArrayList<>();
+    for (int i = 0; i < rows.size(); i++) {
+      UserRequestDTO row = rows.get(i);
+      String email = row.getEmail().toLowerCase(Locale.ROOT);
+      if (usedEmails.contains(email)) {
+        errors[i] = "Email already exists";
+      } else if (!seenEmails.add(email)) {
+        errors[i] = "Email is used more than once in the request";
+      } else {
+        try {
+          bases[i] =
+              UsernameAllocator.requireBase(
+                  UsernameAllocator.baseUsername(row.getFirstName(), row.getLastName()));
+          users[i] = toUser(row, admin);
+          valid.add(i);
+        } catch (AppException e) {
+          errors[i] = e.getMessage();
+        } catch (IllegalArgumentException e) {
+          // invalid location of an admin account, see UserMapper#mapLocation
+          errors[i] = e.getMessage();
+        }
+      }
+    }
+
+    if (valid.isEmpty() || (mode == BulkMode.ALL_OR_NOTHING && valid.size() < rows.size())) {
+      return response(request, users, errors, null, 0);
+    }
+
+    List<User> created = valid.stream().map(i -> users[i]).toList();
+    List<String> usernames = usernameAllocator.allocate(valid.stream().map(i -> bases[i]).toList());
+    List<String> passwords = new ArrayList<>(created.size());
+    for (int j = 0; j < created.size(); j++) {
+      User user = created.get(j);
+      user.setUsername(usernames.get(j));
+      passwords.add(
+          UserServiceImpl.generatePassword(usernames.get(j), user.getUserProfile().getDob()));
+    }
+    List<String> hashes = hashAll(passwords);
+    for (int j = 0; j < created.size(); j++) {
+      created.get(j).setPassword(hashes.get(j));
+    }
+
+    List<EmailDeliveryDtoResponse> deliveries;
+    try {
+      deliveries = transactionTemplate.execute(status -> insert(created, passwords));
+    } catch (DataIntegrityViolationException e) {
+      if (!ConstraintViolations.isViolationOf(e, UserServiceImpl.USERNAME_CONSTRAINT)) {
+        throw e;
+      }
+      throw new AppException(
+          HttpStatus.CONFLICT,
+          "Some usernames were taken by someone else meanwhile. Please retry.");
+    }
+    log.info(
+        "Created {} of {} users for location {}",
+        created.size(),
+        rows.size(),
+        admin.getLocation().getId());
+
+    EmailDeliveryDtoResponse[] deliveryByIndex = new EmailDeliveryDtoResponse[rows.size()];
+    for (int j = 0; j < valid.size(); j++) {
+      deliveryByIndex[valid.get(j)] = deliveries.get(j);
+    }
+    return response(request, users, errors, deliveryByIndex, created.size());
+  }
+
+  /** Maps a requested user like a single user creation, without its username and password. */
+  private User toUser(UserRequestDTO row, User admin) {
+    User user = userMapper.toEntity(row);
+    user.getUserProfile().setUser(user);
+
+    boolean isAdmin = "Admin".equalsIgnoreCase(row.getType());
+    if (isAdmin) {
+      if (row.getLocation() == null || row.getLocation().trim().isEmpty()) {
+        throw new AppException(
+            HttpStatus.BAD_REQUEST, "Location is required when creating an Admin account");
+      }
+    } else {
+      user.setLocation(admin.getLocation());
+    }
+
+    Role role = new Role();
+    role.setId(isAdmin ? 1 : 2);
+    role.setName(isAdmin ? "ADMIN" : "STAFF");
+    user.setRole(role);
+    user.setCreatedBy(admin);
+    user.setUpdatedBy(admin);
+    return user;
+  }
+
+  /** Hashes the passwords in parallel, keeping their order. */
+  private List<String> hashAll(List<String> passwords) {
+    List<CompletableFuture<List<String>>> tasks = new ArrayList<>();
+    for (int from = 0; from < passwords.size(); from += HASHES_PER_TASK) {
+      List<String> group =
+          passwords.subList(from, Math.min(from + HASHES_PER_TASK, passwords.size()));
+      try {
+        tasks.add(CompletableFuture.supplyAsync(() -> hash(group), passwordHashingExecutor));
+      } catch (TaskRejectedException e) {
+        tasks.add(CompletableFuture.completedFuture(hash(group)));
+      }
+    }
+    List<String> hashes = new ArrayList<>(passwords.size());
+    tasks.forEach(task -> hashes.addAll(task.join()));
+    return hashes;
+  }
+
+  private List<String> hash(List<String> passwords) {
+    return passwords.stream().map(passwordEncoder::encode).toList();
+  }
+
+  /** Inserts the users in batches and queues their account emails, in one transaction. */
+  private List<EmailDeliveryDtoResponse> insert(List<User> users, List<String> passwords) {
+    List<EmailDeliveryDtoResponse> deliveries = new ArrayList<>(users.size());
+    for (int from = 0; from < users.size(); from += batchSize) {
+      int to = Math.min(from + batchSize, users.size());
+      userBatchWriter.insert(users.subList(from, to));
+      List<EmailService.Email> emails = new ArrayList<>(to - from);
+      for (int j = from; j < to; j++) {
+        User user = users.get(j);
+        emails.add(
+            new EmailService.Email(
+                user.getEmail(),
+                EMAIL_SUBJECT,
+                EmailServiceImpl.generateEmailTemplate(
+                    user.getUserProfile().getFullName(), user.getUsername(), passwords.get(j))));
+      }
+      deliveries.addAll(emailService.queueEmails(emails));
+    }
+    return deliveries;
+  }
+
+  private BulkUserDtoResponse response(
+      BulkCreateUserRequest request,
+      User[] users,
+      String[] errors,
+      EmailDeliveryDtoResponse[] deliveries,
+      int created) {
+    List<BulkUserDtoResponse.Item> items = new ArrayList<>(users.length);
+    for (int i = 0; i < users.length; i++) {
+      BulkUserDtoResponse.Item.ItemBuilder item =
+          BulkUserDtoResponse.Item.builder().index(i).email(request.getUsers().get(i).getEmail());
+      if (errors[i] != null) {
+        item.status(BulkUserDtoResponse.ItemStatus.FAILED).error(errors[i]);
+      } else if (deliveries == null) {
+        item.status(BulkUserDtoResponse.ItemStatus.SKIPPED);
+      } else {
+        CreateUserDtoResponse user =
+            userMapper.toCreateUserDtoResponse(userMapper.toUserDetailsDto(users[i]));
+        if (user != null) {
+          user.setEmailDelivery(deliveries[i]);
+        }
+        item.status(BulkUserDtoResponse.ItemStatus.CREATED).user(user);
+      }
+      items.add(item.build());
+    }
+    return BulkUserDtoResponse.builder()
+        .mode(request.getMode())
+        .requested(users.length)
+        .created(created)
+        .items(items)
+        .build();
+  }
+}
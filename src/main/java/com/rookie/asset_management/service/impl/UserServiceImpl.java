@@ -4,6 +4,7 @@ import com.rookie.asset_management.dto.request.UserRequestDTO;
 import com.rookie.asset_management.dto.request.user.UpdateUserRequest;
 import com.rookie.asset_management.dto.request.user.UserFilterRequest;
 import com.rookie.asset_management.dto.response.PagingDtoResponse;
+import com.rookie.asset_management.dto.response.email.EmailDeliveryDtoResponse;
 import com.rookie.asset_management.dto.response.user.CreateUserDtoResponse;
 import com.rookie.asset_management.dto.response.user.UserBriefDtoResponse;
 import com.rookie.asset_management.dto.response.user.UserDetailDtoResponse;
@@ -21,38 +22,51 @@ import com.rookie.asset_management.repository.UserRepository;
 import com.rookie.asset_management.service.EmailService;
 import com.rookie.asset_management.service.UserService;
 import com.rookie.asset_management.service.abstraction.PagingServiceImpl;
+import com.rookie.asset_management.service.impl.handler.UsernameAllocator;
 import com.rookie.asset_management.service.specification.UserSpecification;
+import com.rookie.asset_management.util.ConstraintViolations;
 import com.rookie.asset_management.util.SecurityUtils;
 import com.rookie.asset_management.util.SpecificationBuilder;
-import jakarta.transaction.Transactional;
-import java.text.Normalizer;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.regex.Pattern;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Implementation of the {@link UserService} interface, providing functionality related to user
  * management within the asset management system.
  */
+@Slf4j
 @Service
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class UserServiceImpl extends PagingServiceImpl<UserDtoResponse, User, Integer>
     implements UserService {
+  /** Attempts to create a user when its username is taken concurrently. */
+  private static final int MAX_USERNAME_ATTEMPTS = 3;
+
+  /** The unique constraint on the username, from the column definition. */
+  static final String USERNAME_CONSTRAINT = "users_username_key";
+
   UserRepository userRepository;
   RoleRepository roleRepository;
   UserMapper userMapper;
   PasswordEncoder passwordEncoder;
   EmailService emailService;
+  UsernameAllocator usernameAllocator;
+  TransactionTemplate transactionTemplate;
 
   // Autowired constructor for paging service implementation
   @Autowired
@@ -61,17 +75,21 @@ public class UserServiceImpl extends PagingServiceImpl<UserDtoResponse, User, In
       UserMapper userMapper,
       RoleRepository roleRepository,
       PasswordEncoder passwordEncoder,
-      EmailService emailService) {
+      EmailService emailService,
+      UsernameAllocator usernameAllocator,
+      PlatformTransactionManager transactionManager) {
     super(userMapper, userRepository);
     this.userRepository = userRepository;
     this.userMapper = userMapper;
     this.roleRepository = roleRepository;
     this.passwordEncoder = passwordEncoder;
     this.emailService = emailService;
+    this.usernameAllocator = usernameAllocator;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
   }
 
-  @Transactional
   @Override
+  @Transactional(readOnly = true)
   public PagingDtoResponse<UserDtoResponse> getAllUsers(
       UserFilterRequest userFilterRequest, int page, int size, String sortBy, String sortDir) {
     // Get authenticated user from security context
@@ -102,6 +120,7 @@ public class UserServiceImpl extends PagingServiceImpl<UserDtoResponse, User, In
   }
 
   @Override
+  @Transactional(readOnly = true)
   public UserDetailDtoResponse getUserDetails(int userId) {
     User user =
         userRepository
@@ -111,7 +130,14 @@ public class UserServiceImpl extends PagingServiceImpl<UserDtoResponse, User, In
     return userMapper.toUserDetailsDto(user);
   }
 
-  @Transactional
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Runs in its own transaction: two admins creating namesakes at the same time may pick the
+   * same username, the second insert then violates the unique constraint and the whole creation is
+   * retried in a new transaction with the next free username, up to {@value #MAX_USERNAME_ATTEMPTS}
+   * times.
+   */
   @Override
   public CreateUserDtoResponse createUser(UserRequestDTO request) {
     // Get the user from JWT token
@@ -120,6 +146,22 @@ public class UserServiceImpl extends PagingServiceImpl<UserDtoResponse, User, In
       throw new AppException(HttpStatus.FORBIDDEN, "Only admins can create users");
     }
 
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return transactionTemplate.execute(status -> insertUser(request, admin));
+      } catch (DataIntegrityViolationException e) {
+        if (!isUsernameConflict(e)) {
+          throw e;
+        }
+        if (attempt >= MAX_USERNAME_ATTEMPTS) {
+          throw new AppException(HttpStatus.CONFLICT, "Username already exists");
+        }
+        log.info("Username taken concurrently, retrying the user creation (attempt {})", attempt);
+      }
+    }
+  }
+
+  private CreateUserDtoResponse insertUser(UserRequestDTO request, User admin) {
     // Check if email already exists
     if (userRepository.existsByEmailAndDisabledFalse(request.getEmail())) {
       throw new AppException(HttpStatus.CONFLICT, "Email already exists");
@@ -152,11 +194,10 @@ public class UserServiceImpl extends PagingServiceImpl<UserDtoResponse, User, In
     user.setDisabled(false);
     user.setFirstLogin(true);
 
-    // Generate username
-    String username = generateUsername(request.getFirstName(), request.getLastName());
-    if (userRepository.existsByUsername(username)) {
-      throw new AppException(HttpStatus.CONFLICT, "Username already exists");
-    }
+    // Generate username, with one query for all the usernames of the same base
+    String username =
+        usernameAllocator.allocate(
+            UsernameAllocator.baseUsername(request.getFirstName(), request.getLastName()));
 
     String password = generatePassword(username, user.getUserProfile().getDob());
     // Bcrypt password
@@ -168,47 +209,35 @@ public class UserServiceImpl extends PagingServiceImpl<UserDtoResponse, User, In
     // Save user to persist and generate staffCode
     user = userRepository.save(user);
 
-    // Send email
-    String content =
-        EmailServiceImpl.generateEmailTemplate(
-            user.getUserProfile().getFullName(), username, password);
-    boolean isSentEmail =
-        emailService.sendSimpleMessage(user.getEmail(), "Your account has been created", content);
+    // Queue the email, it is sent by the email dispatcher once the user is committed
+    EmailDeliveryDtoResponse emailDelivery = null;
+    if (user.getEmail() != null && !user.getEmail().isBlank()) {
+      String content =
+          EmailServiceImpl.generateEmailTemplate(
+              user.getUserProfile().getFullName(), username, password);
+      emailDelivery =
+          emailService.queueEmail(user.getEmail(), "Your account has been created", content);
+    }
 
     var createdUser = userMapper.toUserDetailsDto(user);
     var createdUserResponse = userMapper.toCreateUserDtoResponse(createdUser);
-    createdUserResponse.setSentEmail(isSentEmail);
+    createdUserResponse.setEmailDelivery(emailDelivery);
     return createdUserResponse;
   }
 
-  private String generateUsername(String firstName, String lastName) {
-    String[] lastNameParts = lastName.trim().split("\\s+");
-    StringBuilder lastInitials = new StringBuilder();
-    for (String part : lastNameParts) {
-      if (!part.isEmpty()) {
-        lastInitials.append(part.charAt(0));
-      }
-    }
-
-    String base = (firstName + lastInitials).toLowerCase();
-
-    String normalized = Normalizer.normalize(base, Normalizer.Form.NFD);
-    Pattern pattern = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
-    String withoutDiacritics = pattern.matcher(normalized).replaceAll("");
-    String baseUsername = withoutDiacritics.replaceAll("[^a-z0-9]", "");
-
-    String finalUsername = baseUsername;
-    int counter = 1;
-
-    while (userRepository.existsByUsername(finalUsername)) {
-      finalUsername = baseUsername + counter;
-      counter++;
-    }
-
-    return finalUsername;
+  /** Whether the violated constraint is the unique username, the other ones are not retried. */
+  private static boolean isUsernameConflict(DataIntegrityViolationException e) {
+    return ConstraintViolations.isViolationOf(e, USERNAME_CONSTRAINT);
   }
 
-  public String generatePassword(String username, LocalDate dob) {
+  /**
+   * Builds the initial password of a user, to be changed on the first login.
+   *
+   * @param username the username of the user
+   * @param dob the date of birth of the user
+   * @return the username followed by "@" and the date of birth as ddMMyyyy
+   */
+  public static String generatePassword(String username, LocalDate dob) {
     StringBuilder passwordBuilder = new StringBuilder();
     // auto generate password from username and date of birth
     passwordBuilder.append(username);
@@ -295,7 +324,7 @@ public class UserServiceImpl extends PagingServiceImpl<UserDtoResponse, User, In
   }
 
   @Override
-  @Transactional
+  @Transactional(readOnly = true)
   public List<UserBriefDtoResponse> getAllUserBrief(String query, String sortBy, String sortDir) {
     // Get the username from JWT token
     User user = SecurityUtils.getCurrentUser();
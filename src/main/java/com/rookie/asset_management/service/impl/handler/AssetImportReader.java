@@ -0,0 +1,297 @@
+package com.rookie.asset_management.service.impl.handler;
+
+import com.rookie.asset_management.exception.AppException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import javax.xml.parsers.ParserConfigurationException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+/**
+ * Reads the rows of an asset import file one at a time, so the file is never loaded in memory: a
+ * CSV file is parsed from its stream and the first sheet of an XLSX file with the POI event API.
+ *
+ * <p>The first row is the header. Columns are matched by name, ignoring case, spaces and
+ * punctuation, so they can come in any order; blank rows are skipped.
+ */
+@Slf4j
+@Component
+public class AssetImportReader {
+  private static final Map<String, String> COLUMNS =
+      Map.of(
+          "name", "Name",
+          "category", "Category",
+          "specification", "Specification",
+          "installeddate", "Installed Date",
+          "state", "State");
+
+  /**
+   * One data row of the file, with the raw text of each column.
+   *
+   * @param number the row number as shown by a spreadsheet, the header being row 1
+   * @param name the asset name
+   * @param category the category name or prefix
+   * @param specification the asset specification
+   * @param installedDate the installed date
+   * @param state the asset state
+   */
+  public record Row(
+      int number,
+      String name,
+      String category,
+      String specification,
+      String installedDate,
+      String state) {}
+
+  /**
+   * Reads every data row of the file.
+   *
+   * @param file the uploaded {@code .csv} or {@code .xlsx} file
+   * @param rows called with each data row, in file order
+   */
+  public void read(MultipartFile file, Consumer<Row> rows) {
+    String filename =
+        file.getOriginalFilename() != null
+            ? file.getOriginalFilename().toLowerCase(Locale.ROOT)
+            : "";
+    try {
+      if (filename.endsWith(".csv")) {
+        try (InputStream input = file.getInputStream()) {
+          readCsv(input, rows);
+        }
+      } else if (filename.endsWith(".xlsx")) {
+        readXlsx(file, rows);
+      } else {
+        throw new AppException(HttpStatus.BAD_REQUEST, "Only .csv and .xlsx files can be imported");
+      }
+    } catch (IOException | SAXException | OpenXML4JException e) {
+      log.warn("Cannot read import file {}", file.getOriginalFilename(), e);
+      throw new AppException(HttpStatus.BAD_REQUEST, "The file cannot be read");
+    }
+  }
+
+  /**
+   * Reads a CSV file: comma separated, fields optionally quoted with {@code "} (a quoted field may
+   * contain commas, line breaks and doubled quotes).
+   */
+  private void readCsv(InputStream input, Consumer<Row> rows) throws IOException {
+    Reader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    RowAssembler assembler = new RowAssembler(rows);
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    boolean first = true;
+    int rowIndex = 0;
+    int c;
+    while ((c = reader.read()) != -1) {
+      if (first) {
+        first = false;
+        if (c == '\uFEFF') {
+          // UTF-8 byte order mark written by spreadsheet applications
+          continue;
+        }
+      }
+      if (quoted) {
+        if (c == '"') {
+          reader.mark(1);
+          if (reader.read() == '"') {
+            field.append('"');
+          } else {
+            reader.reset();
+            quoted = false;
+          }
+        } else {
+          field.append((char) c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else if (c == '\n' || c == '\r') {
+        if (c == '\r') {
+          reader.mark(1);
+          if (reader.read() != '\n') {
+            reader.reset();
+          }
+        }
+        fields.add(field.toString());
+        field.setLength(0);
+        assembler.row(rowIndex++, fields);
+        fields = new ArrayList<>();
+      } else {
+        field.append((char) c);
+      }
+    }
+    if (!fields.isEmpty() || !field.isEmpty()) {
+      fields.add(field.toString());
+      assembler.row(rowIndex, fields);
+    }
+    assembler.end();
+  }
+
+  private void readXlsx(MultipartFile file, Consumer<Row> rows)
+      throws IOException, SAXException, OpenXML4JException {
+    // the package is opened from a file, opening it from a stream would unzip it all in memory
+    Path path = Files.createTempFile("asset-import-", ".xlsx");
+    try {
+      file.transferTo(path);
+      try (OPCPackage pkg = OPCPackage.open(path.toFile(), PackageAccess.READ)) {
+        XSSFReader xssfReader = new XSSFReader(pkg);
+        XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+        if (!sheets.hasNext()) {
+          throw new AppException(HttpStatus.BAD_REQUEST, "The file has no sheet");
+        }
+        RowAssembler assembler = new RowAssembler(rows);
+        XMLReader parser = XMLHelper.newXMLReader();
+        parser.setContentHandler(
+            new XSSFSheetXMLHandler(
+                xssfReader.getStylesTable(),
+                new ReadOnlySharedStringsTable(pkg),
+                new SheetHandler(assembler),
+                new IsoDateFormatter(),
+                false));
+        try (InputStream sheet = sheets.next()) {
+          parser.parse(new InputSource(sheet));
+        }
+        assembler.end();
+      } catch (ParserConfigurationException e) {
+        throw new IllegalStateException(e);
+      }
+    } finally {
+      Files.deleteIfExists(path);
+    }
+  }
+
+  /** Collects the cells of the current sheet row, they are only reported when not empty. */
+  private static final class SheetHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+    private final RowAssembler assembler;
+    private final List<String> cells = new ArrayList<>();
+
+    private SheetHandler(RowAssembler assembler) {
+      this.assembler = assembler;
+    }
+
+    @Override
+    public void startRow(int rowNum) {
+      cells.clear();
+    }
+
+    @Override
+    public void endRow(int rowNum) {
+      assembler.row(rowNum, cells);
+    }
+
+    @Override
+    public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+      int column = cellReference != null ? new CellReference(cellReference).getCol() : cells.size();
+      while (cells.size() < column) {
+        cells.add("");
+      }
+      cells.add(formattedValue);
+    }
+  }
+
+  /** Formats the date cells as ISO dates whatever their display format. */
+  private static final class IsoDateFormatter extends DataFormatter {
+    @Override
+    public String formatRawCellContents(
+        double value, int formatIndex, String formatString, boolean use1904Windowing) {
+      if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+        return DateUtil.getLocalDateTime(value, use1904Windowing).toLocalDate().toString();
+      }
+      return super.formatRawCellContents(value, formatIndex, formatString, use1904Windowing);
+    }
+  }
+
+  /** Maps the header on the first row, then turns the next rows into {@link Row}s. */
+  private static final class RowAssembler {
+    private final Consumer<Row> rows;
+    private Map<String, Integer> columns;
+
+    private RowAssembler(Consumer<Row> rows) {
+      this.rows = rows;
+    }
+
+    private void row(int rowIndex, List<String> cells) {
+      if (cells.stream().allMatch(cell -> cell == null || cell.isBlank())) {
+        return;
+      }
+      if (columns == null) {
+        columns = header(cells);
+        return;
+      }
+      rows.accept(
+          new Row(
+              rowIndex + 1,
+              cell(cells, "name"),
+              cell(cells, "category"),
+              cell(cells, "specification"),
+              cell(cells, "installeddate"),
+              cell(cells, "state")));
+    }
+
+    private void end() {
+      if (columns == null) {
+        throw new AppException(HttpStatus.BAD_REQUEST, "The file is empty");
+      }
+    }
+
+    private String cell(List<String> cells, String column) {
+      int index = columns.get(column);
+      return index < cells.size() && cells.get(index) != null ? cells.get(index).trim() : "";
+    }
+
+    private static Map<String, Integer> header(List<String> cells) {
+      Map<String, Integer> columns = new LinkedHashMap<>();
+      for (int i = 0; i < cells.size(); i++) {
+        String key =
+            cells.get(i) == null
+                ? ""
+                : cells.get(i).toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+        if (COLUMNS.containsKey(key)) {
+          columns.putIfAbsent(key, i);
+        }
+      }
+      List<String> missing =
+          COLUMNS.keySet().stream()
+              .filter(key -> !columns.containsKey(key))
+              .map(COLUMNS::get)
+              .sorted()
+              .toList();
+      if (!missing.isEmpty()) {
+        throw new AppException(
+            HttpStatus.BAD_REQUEST, "Missing column(s): " + String.join(", ", missing));
+      }
+      return columns;
+    }
+  }
+}
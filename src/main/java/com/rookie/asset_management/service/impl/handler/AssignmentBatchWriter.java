@@ -0,0 +1,74 @@
+package com.rookie.asset_management.service.impl.handler;
+
+import com.rookie.asset_management.entity.Assignment;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Inserts many assignments with one JDBC batch instead of one {@code save} per assignment:
+ * assignment ids are generated by an identity column, which keeps Hibernate from batching inserts.
+ *
+ * <p>The batch joins the caller's transaction. The inserted assignments are not attached to the
+ * persistence context, only their generated ids are set.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AssignmentBatchWriter {
+  private static final String INSERT_SQL =
+      "INSERT INTO assignments "
+          + "(asset_id, assigned_by, assigned_to, assigned_date, status, note, deleted, version) "
+          + "VALUES (?, ?, ?, ?, CAST(? AS ASSIGNMENT_STATUS), ?, FALSE, 0)";
+
+  JdbcTemplate jdbcTemplate;
+
+  /**
+   * Inserts the assignments and sets their generated ids.
+   *
+   * @param assignments the assignments to insert, with their asset, assigner and assignee set
+   */
+  public void insert(List<Assignment> assignments) {
+    if (assignments.isEmpty()) {
+      return;
+    }
+    KeyHolder keyHolder = new GeneratedKeyHolder();
+    jdbcTemplate.batchUpdate(
+        connection -> connection.prepareStatement(INSERT_SQL, new String[] {"id"}),
+        new BatchPreparedStatementSetter() {
+          @Override
+          public void setValues(PreparedStatement ps, int i) throws SQLException {
+            Assignment assignment = assignments.get(i);
+            ps.setInt(1, assignment.getAsset().getId());
+            ps.setInt(2, assignment.getAssignedBy().getId());
+            ps.setInt(3, assignment.getAssignedTo().getId());
+            ps.setDate(4, Date.valueOf(assignment.getAssignedDate()));
+            ps.setString(5, assignment.getStatus().name());
+            ps.setString(6, assignment.getNote());
+          }
+
+          @Override
+          public int getBatchSize() {
+            return assignments.size();
+          }
+        },
+        keyHolder);
+
+    // keys come back in insertion order, one row per assignment
+    List<Map<String, Object>> keys = keyHolder.getKeyList();
+    for (int i = 0; i < assignments.size(); i++) {
+      assignments.get(i).setId(((Number) keys.get(i).values().iterator().next()).intValue());
+      assignments.get(i).setVersion(0L);
+    }
+  }
+}
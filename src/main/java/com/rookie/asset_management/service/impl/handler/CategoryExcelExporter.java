@@ -4,6 +4,7 @@ import com.rookie.asset_management.dto.response.report.CategoryReportDtoResponse
 import com.rookie.asset_management.service.ExcelStyleDecorator;
 import com.rookie.asset_management.service.ExportService;
 import com.rookie.asset_management.service.abstraction.AbstractExcelExport;
+import com.rookie.asset_management.util.ExcelStyleRegistry;
 import java.util.List;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
@@ -38,20 +39,21 @@ public class CategoryExcelExporter extends AbstractExcelExport<CategoryReportDto
   }
 
   @Override
-  protected void setData(Sheet sheet, List<CategoryReportDtoResponse> reports) {
+  protected void setData(
+      Sheet sheet, List<CategoryReportDtoResponse> reports, ExcelStyleRegistry styles) {
     // Create data rows
     int rowIndex = 1; // Start from the second row (index 1) for data rows
     int serialNo = 1; // Serial number for the first column
     for (CategoryReportDtoResponse report : reports) {
       Row row = sheet.createRow(rowIndex++);
-      row.createCell(0).setCellValue(serialNo++); // No. column
-      row.createCell(1).setCellValue(report.getCategory());
-      row.createCell(2).setCellValue(report.getTotal());
-      row.createCell(3).setCellValue(report.getAssigned());
-      row.createCell(4).setCellValue(report.getAvailable());
-      row.createCell(5).setCellValue(report.getNotAvailable());
-      row.createCell(6).setCellValue(report.getWaiting());
-      row.createCell(7).setCellValue(report.getRecycled());
+      writeCell(row, 0, serialNo++, styles); // No. column
+      writeCell(row, 1, report.getCategory(), styles);
+      writeCell(row, 2, report.getTotal(), styles);
+      writeCell(row, 3, report.getAssigned(), styles);
+      writeCell(row, 4, report.getAvailable(), styles);
+      writeCell(row, 5, report.getNotAvailable(), styles);
+      writeCell(row, 6, report.getWaiting(), styles);
+      writeCell(row, 7, report.getRecycled(), styles);
     }
   }
 
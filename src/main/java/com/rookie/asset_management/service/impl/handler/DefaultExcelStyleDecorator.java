@@ -1,32 +1,32 @@
 package com.rookie.asset_management.service.impl.handler;
 
 import com.rookie.asset_management.service.ExcelStyleDecorator;
+import com.rookie.asset_management.util.ExcelStyleRegistry;
 import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.IndexedColors;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.springframework.stereotype.Component;
 
 /**
- * Default implementation of {@link ExcelStyleDecorator} that applies basic styles to the header and
- * data rows in an Excel workbook.
+ * Default implementation of {@link ExcelStyleDecorator}: bold headers and zebra striped data rows.
  */
 @Component
 public class DefaultExcelStyleDecorator implements ExcelStyleDecorator {
 
   @Override
-  public void applyStyle(Workbook workbook, Row headerRow, String[] headers) {
-    CellStyle headerStyle = workbook.createCellStyle();
+  public ExcelStyleRegistry createStyles(Workbook workbook) {
     Font font = workbook.createFont();
     font.setBold(true);
     font.setFontHeightInPoints((short) 12);
-    headerStyle.setFont(font);
+    return new ExcelStyleRegistry(workbook, font, IndexedColors.GREY_25_PERCENT);
+  }
 
-    for (int i = 0; i < headers.length; i++) {
-      Cell cell = headerRow.getCell(i);
-      cell.setCellValue(headers[i]);
-      cell.setCellStyle(headerStyle);
+  @Override
+  public void applyStyle(ExcelStyleRegistry styles, Row headerRow) {
+    for (Cell cell : headerRow) {
+      cell.setCellStyle(styles.header());
     }
   }
 }
@@ -0,0 +1,239 @@
+package com.rookie.asset_management.service.impl.handler;
+
+import com.rookie.asset_management.entity.EmailDelivery;
+import com.rookie.asset_management.enums.EmailDeliveryStatus;
+import com.rookie.asset_management.repository.EmailDeliveryRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Sends the queued emails in the background.
+ *
+ * <p>A batch of due emails is claimed with {@code FOR UPDATE SKIP LOCKED} and marked as {@link
+ * EmailDeliveryStatus#SENDING} in a short transaction; no database connection is held while talking
+ * to the SMTP server. The batch is split into groups of {@code app.email.messages-per-connection}
+ * emails, each sent by the bounded sender pool over a single SMTP connection. Outcomes are then
+ * recorded in a second transaction. A claim not reported back within {@code
+ * app.email.claim-timeout} (crashed instance) is picked up again.
+ *
+ * <p>A failed email is retried with an exponential backoff until {@code app.email.max-attempts} is
+ * reached, then marked as {@link EmailDeliveryStatus#FAILED}. A failure never affects the other
+ * emails of the batch.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class EmailDispatcher {
+  private static final int MAX_ERROR_LENGTH = 2000;
+
+  EmailDeliveryRepository emailDeliveryRepository;
+  JavaMailSender mailSender;
+  TaskExecutor emailSenderExecutor;
+  TransactionTemplate transactionTemplate;
+  int batchSize;
+  int messagesPerConnection;
+  int maxAttempts;
+  Duration backoffBase;
+  Duration backoffMax;
+  Duration claimTimeout;
+  Duration retention;
+
+  public EmailDispatcher(
+      EmailDeliveryRepository emailDeliveryRepository,
+      JavaMailSender mailSender,
+      @Qualifier("emailSenderExecutor") TaskExecutor emailSenderExecutor,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.email.batch-size:50}") int batchSize,
+      @Value("${app.email.messages-per-connection:10}") int messagesPerConnection,
+      @Value("${app.email.max-attempts:6}") int maxAttempts,
+      @Value("${app.email.backoff-base:PT30S}") Duration backoffBase,
+      @Value("${app.email.backoff-max:PT1H}") Duration backoffMax,
+      @Value("${app.email.claim-timeout:PT5M}") Duration claimTimeout,
+      @Value("${app.email.retention:P30D}") Duration retention) {
+    this.emailDeliveryRepository = emailDeliveryRepository;
+    this.mailSender = mailSender;
+    this.emailSenderExecutor = emailSenderExecutor;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+    this.messagesPerConnection = messagesPerConnection;
+    this.maxAttempts = maxAttempts;
+    this.backoffBase = backoffBase;
+    this.backoffMax = backoffMax;
+    this.claimTimeout = claimTimeout;
+    this.retention = retention;
+  }
+
+  /** Polls the queue and keeps draining while full batches are found. */
+  @Scheduled(fixedDelayString = "${app.email.poll-interval-ms:2000}")
+  public void dispatchPending() {
+    int dispatched;
+    do {
+      dispatched = dispatchBatch();
+    } while (dispatched == batchSize);
+  }
+
+  /**
+   * Claims and sends one batch of due emails.
+   *
+   * @return the number of emails claimed, sent or not
+   */
+  public int dispatchBatch() {
+    List<EmailDelivery> claimed = transactionTemplate.execute(status -> claim());
+    if (claimed == null || claimed.isEmpty()) {
+      return 0;
+    }
+
+    List<CompletableFuture<Map<Long, Exception>>> sends = new ArrayList<>();
+    Set<Long> rejected = new HashSet<>();
+    for (int from = 0; from < claimed.size(); from += messagesPerConnection) {
+      List<EmailDelivery> group =
+          claimed.subList(from, Math.min(from + messagesPerConnection, claimed.size()));
+      try {
+        sends.add(CompletableFuture.supplyAsync(() -> send(group), emailSenderExecutor));
+      } catch (TaskRejectedException e) {
+        log.warn("Email sender pool is full, {} emails released for the next poll", group.size());
+        group.forEach(delivery -> rejected.add(delivery.getId()));
+      }
+    }
+    Map<Long, Exception> failures = new HashMap<>();
+    sends.forEach(send -> failures.putAll(send.join()));
+
+    LocalDateTime now = LocalDateTime.now();
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          for (EmailDelivery delivery : claimed) {
+            if (rejected.contains(delivery.getId())) {
+              delivery.setStatus(EmailDeliveryStatus.PENDING);
+              delivery.setNextAttemptAt(now);
+            } else {
+              record(delivery, failures.get(delivery.getId()), now);
+            }
+          }
+          emailDeliveryRepository.saveAll(claimed);
+        });
+    return claimed.size();
+  }
+
+  /** Deletes the sent emails older than {@code app.email.retention}. */
+  @Scheduled(fixedDelayString = "${app.email.cleanup-interval-ms:3600000}")
+  public void cleanupSentEmails() {
+    Integer deleted =
+        transactionTemplate.execute(
+            status ->
+                emailDeliveryRepository.deleteSentBefore(LocalDateTime.now().minus(retention)));
+    if (deleted != null && deleted > 0) {
+      log.info("Deleted {} sent email deliveries", deleted);
+    }
+  }
+
+  private List<EmailDelivery> claim() {
+    LocalDateTime now = LocalDateTime.now();
+    List<EmailDelivery> deliveries = emailDeliveryRepository.lockNextBatch(now, batchSize);
+    deliveries.forEach(
+        delivery -> {
+          delivery.setStatus(EmailDeliveryStatus.SENDING);
+          delivery.setNextAttemptAt(now.plus(claimTimeout));
+        });
+    return deliveries;
+  }
+
+  /**
+   * Sends a group of emails over one SMTP connection.
+   *
+   * @return the failure of each email that could not be sent, by delivery id
+   */
+  private Map<Long, Exception> send(List<EmailDelivery> deliveries) {
+    SimpleMailMessage[] messages =
+        deliveries.stream().map(EmailDispatcher::toMessage).toArray(SimpleMailMessage[]::new);
+    Map<Long, Exception> failures = new HashMap<>();
+    try {
+      mailSender.send(messages);
+    } catch (MailSendException e) {
+      // per message failures, or none when the connection itself failed
+      Map<Object, Exception> failed = e.getFailedMessages();
+      for (int i = 0; i < messages.length; i++) {
+        Exception failure = failed.isEmpty() ? e : failed.get(messages[i]);
+        if (failure != null) {
+          failures.put(deliveries.get(i).getId(), failure);
+        }
+      }
+    } catch (RuntimeException e) {
+      deliveries.forEach(delivery -> failures.put(delivery.getId(), e));
+    }
+    return failures;
+  }
+
+  private void record(EmailDelivery delivery, Exception failure, LocalDateTime now) {
+    if (failure == null) {
+      delivery.setStatus(EmailDeliveryStatus.SENT);
+      delivery.setSentAt(now);
+      delivery.setLastError(null);
+      // the body may contain credentials, only keep what is needed to audit the delivery
+      delivery.setContent(null);
+      return;
+    }
+
+    int attempts = delivery.getAttempts() + 1;
+    delivery.setAttempts(attempts);
+    delivery.setLastError(truncate(failure.getMessage()));
+    if (attempts >= maxAttempts) {
+      delivery.setStatus(EmailDeliveryStatus.FAILED);
+      log.error(
+          "Email {} to {} failed after {} attempts",
+          delivery.getId(),
+          delivery.getRecipient(),
+          attempts,
+          failure);
+    } else {
+      delivery.setStatus(EmailDeliveryStatus.PENDING);
+      delivery.setNextAttemptAt(now.plus(backoff(attempts)));
+      log.warn(
+          "Email {} failed on attempt {}, retrying at {}: {}",
+          delivery.getId(),
+          attempts,
+          delivery.getNextAttemptAt(),
+          failure.getMessage());
+    }
+  }
+
+  private static SimpleMailMessage toMessage(EmailDelivery delivery) {
+    SimpleMailMessage message = new SimpleMailMessage();
+    message.setTo(delivery.getRecipient());
+    message.setSubject(delivery.getSubject());
+    message.setText(delivery.getContent());
+    return message;
+  }
+
+  private Duration backoff(int attempts) {
+    Duration delay = backoffBase.multipliedBy(1L << Math.min(attempts - 1, 20));
+    return delay.compareTo(backoffMax) > 0 ? backoffMax : delay;
+  }
+
+  private static String truncate(String message) {
+    if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+      return message;
+    }
+    return message.substring(0, MAX_ERROR_LENGTH);
+  }
+}
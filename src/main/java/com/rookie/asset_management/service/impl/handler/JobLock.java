@@ -0,0 +1,61 @@
+package com.rookie.asset_management.service.impl.handler;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs a scheduled job on one node at a time. The node running the job holds a PostgreSQL session
+ * advisory lock named after the job on a connection kept for the duration of the job; the other
+ * nodes fail to take it and skip their run. The lock is released when the job ends, or by the
+ * database when the node dies and its connection is closed, so there is no lease to expire.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class JobLock {
+  private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_lock(hashtext(?))";
+  private static final String UNLOCK_SQL = "SELECT pg_advisory_unlock(hashtext(?))";
+
+  JdbcTemplate jdbcTemplate;
+
+  /**
+   * Runs the job unless another node is running a job of the same name.
+   *
+   * @param name the job name
+   * @param job the job, run by the calling thread with its own connections
+   * @return {@code true} if the job was run, {@code false} if another node holds the lock
+   */
+  public boolean runExclusively(String name, Runnable job) {
+    return Boolean.TRUE.equals(
+        jdbcTemplate.execute(
+            (ConnectionCallback<Boolean>)
+                connection -> {
+                  if (!call(connection, TRY_LOCK_SQL, name)) {
+                    return false;
+                  }
+                  try {
+                    job.run();
+                  } finally {
+                    call(connection, UNLOCK_SQL, name);
+                  }
+                  return true;
+                }));
+  }
+
+  private static boolean call(Connection connection, String sql, String name) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+      statement.setString(1, name);
+      try (ResultSet result = statement.executeQuery()) {
+        return result.next() && result.getBoolean(1);
+      }
+    }
+  }
+}
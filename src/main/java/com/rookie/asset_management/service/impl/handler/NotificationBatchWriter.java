@@ -0,0 +1,292 @@
+package com.rookie.asset_management.service.impl.handler;
+
+import com.rookie.asset_management.dto.response.notification.NotificationBatchResult;
+import com.rookie.asset_management.enums.NotificationType;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes many notifications with a few statements instead of one {@code save} per recipient.
+ *
+ * <p>Each batch runs in a nested transaction: inside a business transaction it is a savepoint, so a
+ * failing batch is rolled back alone and reported in the {@link NotificationBatchResult} without
+ * aborting the caller's transaction or the other batches.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class NotificationBatchWriter {
+  private static final String INSERT_SQL =
+      "INSERT INTO notifications "
+          + "(type, sender_id, recipient_id, assignment_id, returning_request_id, is_read, created_at) "
+          + "VALUES (CAST(? AS NOTIFICATION_TYPE), ?, ?, ?, ?, FALSE, ?)";
+
+  private static final String INSERT_FOR_LOCATION_ADMINS_SQL =
+      "INSERT INTO notifications "
+          + "(type, sender_id, recipient_id, assignment_id, returning_request_id, is_read, created_at) "
+          + "SELECT CAST(? AS NOTIFICATION_TYPE), ?, u.id, ?, ?, FALSE, ? "
+          + "FROM users u JOIN roles r ON r.id = u.role_id "
+          + "WHERE r.name = 'ADMIN' AND u.location_id = ? AND u.disabled = FALSE AND u.id <> ?";
+
+  private static final String INSERT_DIGEST_SQL =
+      "INSERT INTO notifications "
+          + "(type, sender_id, recipient_id, is_read, created_at, event_count, related_ids) "
+          + "VALUES (CAST(? AS NOTIFICATION_TYPE), ?, ?, FALSE, ?, ?, ?)";
+
+  private static final String INSERT_DIGEST_FOR_LOCATION_ADMINS_SQL =
+      "INSERT INTO notifications "
+          + "(type, sender_id, recipient_id, is_read, created_at, event_count, related_ids) "
+          + "SELECT CAST(? AS NOTIFICATION_TYPE), ?, u.id, FALSE, ?, ?, ? "
+          + "FROM users u JOIN roles r ON r.id = u.role_id "
+          + "WHERE r.name = 'ADMIN' AND u.location_id = ? AND u.disabled = FALSE AND u.id <> ?";
+
+  JdbcTemplate jdbcTemplate;
+  TransactionTemplate batchTransaction;
+  int batchSize;
+
+  public NotificationBatchWriter(
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.notification.batch-size:500}") int batchSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.batchTransaction = new TransactionTemplate(transactionManager);
+    this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Inserts one notification per recipient, all sharing the same type, sender and references, using
+   * JDBC batches of {@code app.notification.batch-size} rows.
+   *
+   * @param type the notification type
+   * @param senderId the sender id
+   * @param recipientIds the recipient ids
+   * @param assignmentId the related assignment id, may be {@code null}
+   * @param returningRequestId the related returning request id, may be {@code null}
+   * @return the outcome of every batch
+   */
+  public NotificationBatchResult insert(
+      NotificationType type,
+      Integer senderId,
+      List<Integer> recipientIds,
+      Integer assignmentId,
+      Integer returningRequestId) {
+    Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+    List<NotificationBatchResult.Batch> batches = new ArrayList<>();
+    int inserted = 0;
+
+    for (int from = 0, index = 0; from < recipientIds.size(); from += batchSize, index++) {
+      List<Integer> chunk =
+          recipientIds.subList(from, Math.min(from + batchSize, recipientIds.size()));
+      NotificationBatchResult.Batch batch =
+          runBatch(
+              index,
+              chunk.size(),
+              () -> {
+                int[][] counts =
+                    jdbcTemplate.batchUpdate(
+                        INSERT_SQL,
+                        chunk,
+                        chunk.size(),
+                        (ps, recipientId) -> {
+                          ps.setString(1, type.name());
+                          ps.setInt(2, senderId);
+                          ps.setInt(3, recipientId);
+                          setNullableInt(ps, 4, assignmentId);
+                          setNullableInt(ps, 5, returningRequestId);
+                          ps.setTimestamp(6, createdAt);
+                        });
+                return sum(counts);
+              });
+      inserted += batch.getInserted();
+      batches.add(batch);
+    }
+
+    return NotificationBatchResult.builder()
+        .requested(recipientIds.size())
+        .inserted(inserted)
+        .batches(batches)
+        .build();
+  }
+
+  /**
+   * Inserts one notification for every active admin of a location except the sender, with a single
+   * {@code INSERT ... SELECT}, so the recipients are never loaded into memory.
+   *
+   * @param type the notification type
+   * @param senderId the sender id, never notified
+   * @param locationId the location whose admins are notified
+   * @param assignmentId the related assignment id, may be {@code null}
+   * @param returningRequestId the related returning request id, may be {@code null}
+   * @return the outcome of the single batch
+   */
+  public NotificationBatchResult insertForLocationAdmins(
+      NotificationType type,
+      Integer senderId,
+      Integer locationId,
+      Integer assignmentId,
+      Integer returningRequestId) {
+    Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+    NotificationBatchResult.Batch batch =
+        runBatch(
+            0,
+            -1,
+            () ->
+                jdbcTemplate.update(
+                    INSERT_FOR_LOCATION_ADMINS_SQL,
+                    ps -> {
+                      ps.setString(1, type.name());
+                      ps.setInt(2, senderId);
+                      setNullableInt(ps, 3, assignmentId);
+                      setNullableInt(ps, 4, returningRequestId);
+                      ps.setTimestamp(5, createdAt);
+                      ps.setInt(6, locationId);
+                      ps.setInt(7, senderId);
+                    }));
+
+    return NotificationBatchResult.builder()
+        .requested(-1)
+        .inserted(batch.getInserted())
+        .batches(List.of(batch))
+        .build();
+  }
+
+  /**
+   * Inserts a single digest notification standing for a burst of events to one recipient.
+   *
+   * @param type the notification type of the events
+   * @param senderId the sender id
+   * @param recipientId the recipient id
+   * @param eventCount the number of events coalesced
+   * @param relatedIds the ids of the assignments or returning requests of the events
+   * @return the outcome of the single batch
+   */
+  public NotificationBatchResult insertDigest(
+      NotificationType type,
+      Integer senderId,
+      Integer recipientId,
+      int eventCount,
+      List<Integer> relatedIds) {
+    Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+    NotificationBatchResult.Batch batch =
+        runBatch(
+            0,
+            1,
+            () ->
+                jdbcTemplate.update(
+                    INSERT_DIGEST_SQL,
+                    ps -> {
+                      ps.setString(1, type.name());
+                      ps.setInt(2, senderId);
+                      ps.setInt(3, recipientId);
+                      ps.setTimestamp(4, createdAt);
+                      ps.setInt(5, eventCount);
+                      ps.setArray(
+                          6, ps.getConnection().createArrayOf("integer", relatedIds.toArray()));
+                    }));
+    return NotificationBatchResult.builder()
+        .requested(1)
+        .inserted(batch.getInserted())
+        .batches(List.of(batch))
+        .build();
+  }
+
+  /**
+   * Inserts a digest notification standing for a burst of location admins events, for every active
+   * admin of the location except the sender.
+   *
+   * @param type the notification type of the events
+   * @param senderId the sender id, never notified
+   * @param locationId the location whose admins are notified
+   * @param eventCount the number of events coalesced
+   * @param relatedIds the ids of the assignments or returning requests of the events
+   * @return the outcome of the single batch
+   */
+  public NotificationBatchResult insertDigestForLocationAdmins(
+      NotificationType type,
+      Integer senderId,
+      Integer locationId,
+      int eventCount,
+      List<Integer> relatedIds) {
+    Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+    NotificationBatchResult.Batch batch =
+        runBatch(
+            0,
+            -1,
+            () ->
+                jdbcTemplate.update(
+                    INSERT_DIGEST_FOR_LOCATION_ADMINS_SQL,
+                    ps -> {
+                      ps.setString(1, type.name());
+                      ps.setInt(2, senderId);
+                      ps.setTimestamp(3, createdAt);
+                      ps.setInt(4, eventCount);
+                      ps.setArray(
+                          5, ps.getConnection().createArrayOf("integer", relatedIds.toArray()));
+                      ps.setInt(6, locationId);
+                      ps.setInt(7, senderId);
+                    }));
+    return NotificationBatchResult.builder()
+        .requested(-1)
+        .inserted(batch.getInserted())
+        .batches(List.of(batch))
+        .build();
+  }
+
+  private NotificationBatchResult.Batch runBatch(int index, int size, IntSupplier statement) {
+    try {
+      Integer inserted = batchTransaction.execute(status -> statement.getAsInt());
+      return NotificationBatchResult.Batch.builder()
+          .index(index)
+          .size(size)
+          .inserted(inserted == null ? 0 : inserted)
+          .success(true)
+          .build();
+    } catch (DataAccessException e) {
+      log.error("Notification batch {} of {} rows failed", index, size, e);
+      return NotificationBatchResult.Batch.builder()
+          .index(index)
+          .size(size)
+          .inserted(0)
+          .success(false)
+          .error(e.getMostSpecificCause().getMessage())
+          .build();
+    }
+  }
+
+  private static void setNullableInt(PreparedStatement ps, int index, Integer value)
+      throws SQLException {
+    if (value == null) {
+      ps.setNull(index, Types.INTEGER);
+    } else {
+      ps.setInt(index, value);
+    }
+  }
+
+  private static int sum(int[][] counts) {
+    int total = 0;
+    for (int[] batch : counts) {
+      for (int count : batch) {
+        // drivers may report SUCCESS_NO_INFO (-2) instead of a row count
+        total += count >= 0 ? count : 1;
+      }
+    }
+    return total;
+  }
+}
@@ -1,32 +1,36 @@
 package com.rookie.asset_management.service.impl.handler;
 
+import com.rookie.asset_management.dto.response.notification.NotificationBatchResult;
 import com.rookie.asset_management.entity.Assignment;
-import com.rookie.asset_management.entity.Notification;
 import com.rookie.asset_management.entity.ReturningRequest;
 import com.rookie.asset_management.entity.User;
 import com.rookie.asset_management.enums.NotificationType;
-import com.rookie.asset_management.repository.NotificationRepository;
 import com.rookie.asset_management.service.NotificationCreator;
-import com.rookie.asset_management.service.UserService;
+import com.rookie.asset_management.service.OutboxService;
 import jakarta.transaction.Transactional;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+/**
+ * Records notifications in the transactional outbox, in the caller's transaction. They are written
+ * to the notifications table by the outbox dispatcher once that transaction has committed.
+ */
 @Component
 @Slf4j
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class NotificationCreatorImpl implements NotificationCreator {
 
-  NotificationRepository notificationRepository;
-  UserService userService;
+  OutboxService outboxService;
+  NotificationBatchWriter notificationBatchWriter;
 
-  private void createAndSaveNotification(
+  private void enqueueNotification(
       NotificationType type,
       User sender,
       User recipient,
@@ -37,47 +41,41 @@ public class NotificationCreatorImpl implements NotificationCreator {
       return;
     }
 
-    try {
-      Notification.NotificationBuilder builder =
-          Notification.builder().type(type).sender(sender).recipient(recipient).isRead(false);
-
-      if (assignment != null) {
-        builder.assignment(assignment);
-      }
-      if (returningRequest != null) {
-        builder.returningRequest(returningRequest);
-      }
-
-      notificationRepository.save(builder.build());
-    } catch (RuntimeException e) {
-      log.error(
-          "Failed to create notification of type {} for sender {} and recipient {}",
-          type,
-          sender.getId(),
-          recipient.getId(),
-          e);
-    }
+    outboxService.enqueueNotification(type, sender, recipient, assignment, returningRequest);
   }
 
   @Override
-  @Async
   @Transactional
   public void createAssignmentNotification(User sender, User recipient, Assignment assignment) {
-    createAndSaveNotification(
-        NotificationType.ASSIGNMENT_CREATED, sender, recipient, assignment, null);
+    enqueueNotification(NotificationType.ASSIGNMENT_CREATED, sender, recipient, assignment, null);
+  }
+
+  @Override
+  @Transactional
+  public void createAssignmentNotifications(User sender, List<Assignment> assignments) {
+    outboxService.enqueueAssigneeNotifications(
+        NotificationType.ASSIGNMENT_CREATED, sender, assignments);
   }
 
   @Override
-  @Async
   @Transactional
   public void createReturningRequestCompletedNotification(
       User sender, User recipient, ReturningRequest returningRequest) {
-    createAndSaveNotification(
-        NotificationType.RETURN_REQUEST_COMPLETED, sender, recipient, null, returningRequest);
+    if (returningRequest == null || returningRequest.getAssignment() == null) {
+      log.warn(
+          "Returning request {} has no assignment, completed notification not sent",
+          returningRequest != null ? returningRequest.getId() : null);
+      return;
+    }
+    enqueueNotification(
+        NotificationType.RETURN_REQUEST_COMPLETED,
+        sender,
+        recipient,
+        returningRequest.getAssignment(),
+        returningRequest);
   }
 
   @Override
-  @Async
   @Transactional
   public void createReturningRequestNotification(User sender, ReturningRequest returningRequest) {
     if (sender == null || returningRequest == null || sender.getLocation() == null) {
@@ -87,57 +85,72 @@ public class NotificationCreatorImpl implements NotificationCreator {
           returningRequest);
       return;
     }
-    try {
-      // Notify assignee if sender is admin
-      if ("ADMIN".equals(sender.getRole().getName())) {
-        createAndSaveNotification(
-            NotificationType.RETURN_REQUEST_CREATED,
-            sender,
-            returningRequest.getAssignment().getAssignedTo(),
-            null,
-            returningRequest);
-      }
-
-      // Notify other admins at the same location
-      userService.getAdminsByLocation(sender.getLocation().getId()).stream()
-          .filter(admin -> !Objects.equals(admin.getId(), sender.getId()))
-          .forEach(
-              admin ->
-                  createAndSaveNotification(
-                      NotificationType.RETURN_REQUEST_CREATED,
-                      sender,
-                      admin,
-                      null,
-                      returningRequest));
-    } catch (RuntimeException e) {
-      log.error("Failed to create return request notification for sender {}", sender.getId(), e);
+    // Notify assignee if sender is admin
+    if ("ADMIN".equals(sender.getRole().getName())) {
+      enqueueNotification(
+          NotificationType.RETURN_REQUEST_CREATED,
+          sender,
+          returningRequest.getAssignment().getAssignedTo(),
+          returningRequest.getAssignment(),
+          returningRequest);
     }
+
+    // Notify other admins at the same location, resolved with a single INSERT ... SELECT on
+    // delivery
+    outboxService.enqueueLocationAdminsNotification(
+        NotificationType.RETURN_REQUEST_CREATED,
+        sender,
+        returningRequest.getAssignment(),
+        returningRequest);
   }
 
   @Override
-  @Async
   @Transactional
   public void createReturningRequestRejectedNotification(
       User sender, User recipient, Assignment assignment) {
-    createAndSaveNotification(
+    enqueueNotification(
         NotificationType.RETURN_REQUEST_REJECTED, sender, recipient, assignment, null);
   }
 
   @Override
-  @Async
   @Transactional
   public void createAssignmentAcceptedNotification(
       User sender, User recipient, Assignment assignment) {
-    createAndSaveNotification(
-        NotificationType.ASSIGNMENT_ACCEPTED, sender, recipient, assignment, null);
+    enqueueNotification(NotificationType.ASSIGNMENT_ACCEPTED, sender, recipient, assignment, null);
   }
 
   @Override
-  @Async
   @Transactional
   public void createAssignmentRejectedNotification(
       User sender, User recipient, Assignment assignment) {
-    createAndSaveNotification(
-        NotificationType.ASSIGNMENT_REJECTED, sender, recipient, assignment, null);
+    enqueueNotification(NotificationType.ASSIGNMENT_REJECTED, sender, recipient, assignment, null);
+  }
+
+  @Override
+  @Transactional
+  public NotificationBatchResult createNotifications(
+      NotificationType type,
+      User sender,
+      Collection<User> recipients,
+      Assignment assignment,
+      ReturningRequest returningRequest) {
+    List<Integer> recipientIds =
+        recipients.stream().filter(Objects::nonNull).map(User::getId).toList();
+    NotificationBatchResult result =
+        notificationBatchWriter.insert(
+            type,
+            sender.getId(),
+            recipientIds,
+            assignment != null ? assignment.getId() : null,
+            returningRequest != null ? returningRequest.getId() : null);
+    if (!result.isSuccess()) {
+      log.error(
+          "Inserted {} of {} notifications of type {} for sender {}",
+          result.getInserted(),
+          result.getRequested(),
+          type,
+          sender.getId());
+    }
+    return result;
   }
 }
@@ -0,0 +1,325 @@
+package com.rookie.asset_management.service.impl.handler;
+
+import com.rookie.asset_management.dto.response.notification.NotificationDtoResponse;
+import com.rookie.asset_management.entity.User;
+import com.rookie.asset_management.mapper.NotificationMapper;
+import com.rookie.asset_management.repository.NotificationRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Local fan-out hub of the notification server-sent event streams.
+ *
+ * <p>Connected clients are indexed by user. An idle connection costs one {@link SseEmitter} and no
+ * thread: the servlet request is asynchronous and nothing is done for it until a notification for
+ * its user is signalled. A signal triggers one query per user (not per connection) for the
+ * notifications newer than the oldest event id seen by that user's connections, then the new
+ * notifications and the unread count are written to every connection.
+ *
+ * <p>Signals come from the outbox dispatcher of this node once notifications are committed. A
+ * periodic sweep over the recently created notifications catches the ones created by other nodes or
+ * whose signal was dropped. Event ids are notification ids, so a client reconnecting with a {@code
+ * Last-Event-ID} is replayed what it missed.
+ *
+ * <p>The queries run in short transactions, the connection going back to the pool right after: the
+ * request of a stream stays open, with its persistence context, as long as the client listens. The
+ * transactions are not read-only so that they go to the primary when a read replica is configured:
+ * a push follows the commit of its notifications right away, from a thread with no user to pin to
+ * the primary, and the replica may not have them yet.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class NotificationHub {
+  static final String NOTIFICATION_EVENT = "notification";
+  static final String UNREAD_COUNT_EVENT = "unread-count";
+
+  NotificationRepository notificationRepository;
+  NotificationMapper notificationMapper;
+  TaskExecutor notificationStreamExecutor;
+  TransactionTemplate primaryTransaction;
+  Map<Integer, Set<Connection>> connectionsByUser = new ConcurrentHashMap<>();
+  AtomicInteger connectionCount = new AtomicInteger();
+  Duration timeout;
+  Duration sweepOverlap;
+  int maxReplay;
+
+  @NonFinal volatile LocalDateTime lastSweep = LocalDateTime.now();
+
+  public NotificationHub(
+      NotificationRepository notificationRepository,
+      NotificationMapper notificationMapper,
+      @Qualifier("notificationStreamExecutor") TaskExecutor notificationStreamExecutor,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${app.notification.stream.timeout:PT30M}") Duration timeout,
+      @Value("${app.notification.stream.sweep-overlap:PT10S}") Duration sweepOverlap,
+      @Value("${app.notification.stream.max-replay:100}") int maxReplay) {
+    this.notificationRepository = notificationRepository;
+    this.notificationMapper = notificationMapper;
+    this.notificationStreamExecutor = notificationStreamExecutor;
+    this.primaryTransaction = new TransactionTemplate(transactionManager);
+    this.timeout = timeout;
+    this.sweepOverlap = sweepOverlap;
+    this.maxReplay = maxReplay;
+    Gauge.builder("notifications.stream.connections", connectionCount, AtomicInteger::get)
+        .description("Open notification event streams on this node")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Opens an event stream for a user. The current unread count is sent right away, preceded by the
+   * notifications created after {@code lastEventId} when the client is resuming.
+   *
+   * @param user the connected user
+   * @param lastEventId the id of the last notification received by the client, {@code null} for a
+   *     new stream
+   * @return the emitter bound to the request
+   */
+  public SseEmitter subscribe(User user, Integer lastEventId) {
+    SseEmitter emitter = new SseEmitter(timeout.toMillis());
+    int lastSeen =
+        lastEventId != null
+            ? lastEventId
+            : primaryTransaction.execute(
+                status -> notificationRepository.findLastIdByRecipientId(user.getId()));
+    Connection connection =
+        new Connection(
+            emitter,
+            user.getId(),
+            user.getLocation() != null ? user.getLocation().getId() : null,
+            user.getRole() != null && "ADMIN".equals(user.getRole().getName()),
+            lastSeen);
+
+    // the set is created and updated atomically with its removal in remove()
+    connectionsByUser.compute(
+        user.getId(),
+        (id, connections) -> {
+          Set<Connection> current =
+              connections != null ? connections : ConcurrentHashMap.newKeySet();
+          current.add(connection);
+          return current;
+        });
+    connectionCount.incrementAndGet();
+    emitter.onCompletion(() -> remove(connection));
+    emitter.onTimeout(() -> remove(connection));
+    emitter.onError(e -> remove(connection));
+
+    push(user.getId());
+    return emitter;
+  }
+
+  /**
+   * Signals that notifications were created for the given users.
+   *
+   * @param userIds the recipients
+   */
+  public void notifyRecipients(Collection<Integer> userIds) {
+    userIds.stream().filter(connectionsByUser::containsKey).distinct().forEach(this::pushAsync);
+  }
+
+  /**
+   * Signals that notifications were created for the admins of a location, as done by a location
+   * admins fan-out. Only the connected admins are looked at.
+   *
+   * @param locationId the location
+   * @param excludedUserId the sender, who was not notified
+   */
+  public void notifyLocationAdmins(Integer locationId, Integer excludedUserId) {
+    connectionsByUser.forEach(
+        (userId, connections) -> {
+          if (!userId.equals(excludedUserId)
+              && connections.stream().anyMatch(c -> c.admin && locationId.equals(c.locationId))) {
+            pushAsync(userId);
+          }
+        });
+  }
+
+  /**
+   * Pushes the current unread count of a user, e.g. after notifications were marked as read.
+   *
+   * @param userId the user
+   */
+  public void publishUnreadCount(Integer userId) {
+    Set<Connection> connections = connectionsByUser.get(userId);
+    if (connections == null || connections.isEmpty()) {
+      return;
+    }
+    long unread =
+        primaryTransaction.execute(
+            status -> notificationRepository.countByRecipientIdAndIsReadFalse(userId));
+    connections.forEach(connection -> send(connection, List.of(), unread));
+  }
+
+  /**
+   * Writes a comment to every stream so proxies keep idle connections open. The writes are handed
+   * to the stream executor user by user, like the pushes: a slow client only delays the other
+   * connections of its user, and the scheduler thread is free right away.
+   */
+  @Scheduled(fixedDelayString = "${app.notification.stream.heartbeat-interval-ms:25000}")
+  public void heartbeat() {
+    connectionsByUser.forEach(
+        (userId, connections) -> {
+          try {
+            notificationStreamExecutor.execute(() -> connections.forEach(this::sendHeartbeat));
+          } catch (TaskRejectedException e) {
+            log.debug("Heartbeat for user {} rejected, skipped until the next one", userId);
+          }
+        });
+  }
+
+  /**
+   * Pushes to the connected users notified since the previous sweep, overlapping it a little so a
+   * notification committed late is not missed. Covers the notifications created on other nodes.
+   */
+  @Scheduled(fixedDelayString = "${app.notification.stream.sweep-interval-ms:5000}")
+  public void sweep() {
+    LocalDateTime startedAt = LocalDateTime.now();
+    if (!connectionsByUser.isEmpty()) {
+      LocalDateTime since = lastSweep.minus(sweepOverlap);
+      notifyRecipients(
+          primaryTransaction.execute(
+              status -> notificationRepository.findRecipientIdsSince(since)));
+    }
+    lastSweep = startedAt;
+  }
+
+  /**
+   * @return the number of open streams on this node
+   */
+  public int getConnectionCount() {
+    return connectionCount.get();
+  }
+
+  private void pushAsync(Integer userId) {
+    try {
+      notificationStreamExecutor.execute(() -> push(userId));
+    } catch (TaskRejectedException e) {
+      log.warn("Notification push for user {} rejected, deferred to the next sweep", userId);
+    }
+  }
+
+  private void push(Integer userId) {
+    Set<Connection> connections = connectionsByUser.get(userId);
+    if (connections == null || connections.isEmpty()) {
+      return;
+    }
+    int from = connections.stream().mapToInt(c -> c.lastEventId).min().orElse(0);
+    // read first, then write to the clients: a slow client must not keep the transaction open
+    Update update =
+        primaryTransaction.execute(
+            status ->
+                new Update(
+                    notificationRepository
+                        .findByRecipientIdAndIdGreaterThanOrderByIdAsc(
+                            userId, from, Limit.of(maxReplay))
+                        .stream()
+                        .map(notificationMapper::toDto)
+                        .toList(),
+                    notificationRepository.countByRecipientIdAndIsReadFalse(userId)));
+    connections.forEach(connection -> send(connection, update.notifications(), update.unread()));
+  }
+
+  private void sendHeartbeat(Connection connection) {
+    // a connection being written to needs no heartbeat: skip it rather than wait for the writer
+    if (!connection.lock.tryLock()) {
+      return;
+    }
+    try {
+      connection.emitter.send(SseEmitter.event().comment("heartbeat"));
+    } catch (IOException | IllegalStateException e) {
+      close(connection);
+    } finally {
+      connection.lock.unlock();
+    }
+  }
+
+  private void send(
+      Connection connection, List<NotificationDtoResponse> notifications, long unread) {
+    // a connection may be written by a push, a heartbeat and an unread count update at once. A
+    // lock rather than a monitor: a virtual thread blocked on a slow client inside a synchronized
+    // block would pin its carrier thread
+    connection.lock.lock();
+    try {
+      for (NotificationDtoResponse notification : notifications) {
+        if (notification.getId() > connection.lastEventId) {
+          connection.emitter.send(
+              SseEmitter.event()
+                  .id(String.valueOf(notification.getId()))
+                  .name(NOTIFICATION_EVENT)
+                  .data(notification));
+          connection.lastEventId = notification.getId();
+        }
+      }
+      connection.emitter.send(SseEmitter.event().name(UNREAD_COUNT_EVENT).data(unread));
+    } catch (IOException | IllegalStateException e) {
+      close(connection);
+    } finally {
+      connection.lock.unlock();
+    }
+  }
+
+  private void close(Connection connection) {
+    remove(connection);
+    connection.emitter.complete();
+  }
+
+  private void remove(Connection connection) {
+    connectionsByUser.computeIfPresent(
+        connection.userId,
+        (id, connections) -> {
+          if (connections.remove(connection)) {
+            connectionCount.decrementAndGet();
+          }
+          return connections.isEmpty() ? null : connections;
+        });
+  }
+
+  /** What is sent to the connections of a user on a push. */
+  private record Update(List<NotificationDtoResponse> notifications, long unread) {}
+
+  /** One open stream. */
+  @FieldDefaults(level = AccessLevel.PRIVATE)
+  private static final class Connection {
+    final SseEmitter emitter;
+    final Integer userId;
+    final Integer locationId;
+    final boolean admin;
+    final Lock lock = new ReentrantLock();
+    volatile int lastEventId;
+
+    Connection(
+        SseEmitter emitter, Integer userId, Integer locationId, boolean admin, int lastEventId) {
+      this.emitter = emitter;
+      this.userId = userId;
+      this.locationId = locationId;
+      this.admin = admin;
+      this.lastEventId = lastEventId;
+    }
+  }
+}
@@ -0,0 +1,315 @@
+package com.rookie.asset_management.service.impl.handler;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rookie.asset_management.config.app.NotificationCoalescingProperties;
+import com.rookie.asset_management.dto.outbox.NotificationOutboxPayload;
+import com.rookie.asset_management.dto.response.notification.NotificationBatchResult;
+import com.rookie.asset_management.entity.OutboxEvent;
+import com.rookie.asset_management.enums.NotificationType;
+import com.rookie.asset_management.enums.OutboxEventStatus;
+import com.rookie.asset_management.enums.OutboxEventType;
+import com.rookie.asset_management.repository.OutboxEventRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Drains the transactional outbox in the background. Each batch is claimed with {@code FOR UPDATE
+ * SKIP LOCKED} and processed in one transaction, so concurrent dispatchers never deliver the same
+ * event twice and an event claimed by a crashed instance becomes available again on rollback.
+ *
+ * <p>A failed event is retried with an exponential backoff until {@code app.outbox.max-attempts} is
+ * reached, then marked as {@link OutboxEventStatus#FAILED}. A failure never blocks the other events
+ * of the batch.
+ *
+ * <p>Notifications of a type with a coalescing rule are grouped by type, sender and recipient (or
+ * location for the location admins fan-out). A group reaching the rule threshold is written as a
+ * single digest notification; smaller groups are delivered one by one. Such events all become due
+ * at the end of their window, so a burst is normally claimed in the same batch.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OutboxDispatcher {
+  private static final int MAX_ERROR_LENGTH = 2000;
+
+  OutboxEventRepository outboxEventRepository;
+  NotificationBatchWriter notificationBatchWriter;
+  NotificationHub notificationHub;
+  ObjectMapper objectMapper;
+  NotificationCoalescingProperties coalescingProperties;
+  TransactionTemplate transactionTemplate;
+  int batchSize;
+  int maxAttempts;
+  Duration backoffBase;
+  Duration backoffMax;
+  Duration retention;
+
+  public OutboxDispatcher(
+      OutboxEventRepository outboxEventRepository,
+      NotificationBatchWriter notificationBatchWriter,
+      NotificationHub notificationHub,
+      ObjectMapper objectMapper,
+      NotificationCoalescingProperties coalescingProperties,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.outbox.batch-size:100}") int batchSize,
+      @Value("${app.outbox.max-attempts:8}") int maxAttempts,
+      @Value("${app.outbox.backoff-base:PT10S}") Duration backoffBase,
+      @Value("${app.outbox.backoff-max:PT30M}") Duration backoffMax,
+      @Value("${app.outbox.retention:P7D}") Duration retention) {
+    this.outboxEventRepository = outboxEventRepository;
+    this.notificationBatchWriter = notificationBatchWriter;
+    this.notificationHub = notificationHub;
+    this.objectMapper = objectMapper;
+    this.coalescingProperties = coalescingProperties;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+    this.maxAttempts = maxAttempts;
+    this.backoffBase = backoffBase;
+    this.backoffMax = backoffMax;
+    this.retention = retention;
+  }
+
+  /** Polls the outbox and keeps draining while full batches are found. */
+  @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:1000}")
+  public void dispatchPending() {
+    int dispatched;
+    do {
+      dispatched = dispatchBatch();
+    } while (dispatched == batchSize);
+  }
+
+  /**
+   * Claims and processes one batch of due events.
+   *
+   * @return the number of events processed, delivered or not
+   */
+  public int dispatchBatch() {
+    List<OutboxEvent> delivered = new ArrayList<>();
+    Integer processed =
+        transactionTemplate.execute(
+            status -> {
+              List<OutboxEvent> events =
+                  outboxEventRepository.lockNextBatch(LocalDateTime.now(), batchSize);
+              for (List<OutboxEvent> unit : coalesce(events)) {
+                boolean sent = unit.size() == 1 ? process(unit.get(0)) : processDigest(unit);
+                if (sent) {
+                  delivered.add(unit.get(0));
+                }
+              }
+              return events.size();
+            });
+    // the notifications are visible to other connections only now that they are committed
+    delivered.forEach(this::signalHub);
+    return processed == null ? 0 : processed;
+  }
+
+  /** Deletes the delivered events older than {@code app.outbox.retention}. */
+  @Scheduled(fixedDelayString = "${app.outbox.cleanup-interval-ms:3600000}")
+  public void cleanupSentEvents() {
+    Integer deleted =
+        transactionTemplate.execute(
+            status -> outboxEventRepository.deleteSentBefore(LocalDateTime.now().minus(retention)));
+    if (deleted != null && deleted > 0) {
+      log.info("Deleted {} delivered outbox events", deleted);
+    }
+  }
+
+  /**
+   * Splits the claimed events into delivery units: a burst of coalesced events reaching its
+   * threshold, or a single event.
+   */
+  private List<List<OutboxEvent>> coalesce(List<OutboxEvent> events) {
+    List<List<OutboxEvent>> units = new ArrayList<>();
+    Map<DigestKey, List<OutboxEvent>> bursts = new LinkedHashMap<>();
+    for (OutboxEvent event : events) {
+      DigestKey key = digestKey(event);
+      if (key == null) {
+        units.add(List.of(event));
+      } else {
+        bursts.computeIfAbsent(key, k -> new ArrayList<>()).add(event);
+      }
+    }
+    bursts.forEach(
+        (key, burst) -> {
+          if (burst.size() >= coalescingProperties.ruleFor(key.type()).getThreshold()) {
+            units.add(burst);
+          } else {
+            burst.forEach(event -> units.add(List.of(event)));
+          }
+        });
+    return units;
+  }
+
+  private DigestKey digestKey(OutboxEvent event) {
+    try {
+      NotificationOutboxPayload notification =
+          objectMapper.readValue(event.getPayload(), NotificationOutboxPayload.class);
+      if (coalescingProperties.ruleFor(notification.getType()) == null) {
+        return null;
+      }
+      return new DigestKey(
+          event.getType(),
+          notification.getType(),
+          notification.getSenderId(),
+          notification.getRecipientId(),
+          notification.getLocationId());
+    } catch (JsonProcessingException e) {
+      // delivered alone, where the failure is recorded
+      return null;
+    }
+  }
+
+  private boolean process(OutboxEvent event) {
+    try {
+      deliver(event);
+      markSent(event);
+      return true;
+    } catch (RuntimeException | JsonProcessingException e) {
+      markFailed(event, e);
+      return false;
+    }
+  }
+
+  private boolean processDigest(List<OutboxEvent> burst) {
+    try {
+      NotificationOutboxPayload first = null;
+      List<Integer> relatedIds = new ArrayList<>();
+      for (OutboxEvent event : burst) {
+        NotificationOutboxPayload notification =
+            objectMapper.readValue(event.getPayload(), NotificationOutboxPayload.class);
+        first = first != null ? first : notification;
+        Integer relatedId =
+            notification.getReturningRequestId() != null
+                ? notification.getReturningRequestId()
+                : notification.getAssignmentId();
+        if (relatedId != null && !relatedIds.contains(relatedId)) {
+          relatedIds.add(relatedId);
+        }
+      }
+      requireSuccess(
+          burst.get(0).getType() == OutboxEventType.LOCATION_ADMINS_NOTIFICATION
+              ? notificationBatchWriter.insertDigestForLocationAdmins(
+                  first.getType(),
+                  first.getSenderId(),
+                  first.getLocationId(),
+                  burst.size(),
+                  relatedIds)
+              : notificationBatchWriter.insertDigest(
+                  first.getType(),
+                  first.getSenderId(),
+                  first.getRecipientId(),
+                  burst.size(),
+                  relatedIds));
+      burst.forEach(this::markSent);
+      return true;
+    } catch (RuntimeException | JsonProcessingException e) {
+      burst.forEach(event -> markFailed(event, e));
+      return false;
+    }
+  }
+
+  private void markSent(OutboxEvent event) {
+    event.setStatus(OutboxEventStatus.SENT);
+    event.setProcessedAt(LocalDateTime.now());
+    event.setLastError(null);
+  }
+
+  private void markFailed(OutboxEvent event, Exception e) {
+    int attempts = event.getAttempts() + 1;
+    event.setAttempts(attempts);
+    event.setLastError(truncate(e.getMessage()));
+    if (attempts >= maxAttempts) {
+      event.setStatus(OutboxEventStatus.FAILED);
+      event.setProcessedAt(LocalDateTime.now());
+      log.error("Outbox event {} failed after {} attempts", event.getId(), attempts, e);
+    } else {
+      event.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+      log.warn(
+          "Outbox event {} failed on attempt {}, retrying at {}: {}",
+          event.getId(),
+          attempts,
+          event.getNextAttemptAt(),
+          e.getMessage());
+    }
+  }
+
+  private void signalHub(OutboxEvent event) {
+    try {
+      NotificationOutboxPayload notification =
+          objectMapper.readValue(event.getPayload(), NotificationOutboxPayload.class);
+      if (event.getType() == OutboxEventType.LOCATION_ADMINS_NOTIFICATION) {
+        notificationHub.notifyLocationAdmins(
+            notification.getLocationId(), notification.getSenderId());
+      } else {
+        notificationHub.notifyRecipients(List.of(notification.getRecipientId()));
+      }
+    } catch (JsonProcessingException e) {
+      // already parsed once to be delivered, the sweep of the hub covers it anyway
+      log.warn("Cannot signal outbox event {} to the notification hub", event.getId());
+    }
+  }
+
+  private void deliver(OutboxEvent event) throws JsonProcessingException {
+    NotificationOutboxPayload notification =
+        objectMapper.readValue(event.getPayload(), NotificationOutboxPayload.class);
+    NotificationBatchResult result =
+        event.getType() == OutboxEventType.LOCATION_ADMINS_NOTIFICATION
+            ? notificationBatchWriter.insertForLocationAdmins(
+                notification.getType(),
+                notification.getSenderId(),
+                notification.getLocationId(),
+                notification.getAssignmentId(),
+                notification.getReturningRequestId())
+            : notificationBatchWriter.insert(
+                notification.getType(),
+                notification.getSenderId(),
+                List.of(notification.getRecipientId()),
+                notification.getAssignmentId(),
+                notification.getReturningRequestId());
+    requireSuccess(result);
+  }
+
+  private static void requireSuccess(NotificationBatchResult result) {
+    if (!result.isSuccess()) {
+      throw new IllegalStateException(
+          result.getBatches().stream()
+              .filter(batch -> !batch.isSuccess())
+              .map(NotificationBatchResult.Batch::getError)
+              .findFirst()
+              .orElse("Notification insert failed"));
+    }
+  }
+
+  private Duration backoff(int attempts) {
+    Duration delay = backoffBase.multipliedBy(1L << Math.min(attempts - 1, 20));
+    return delay.compareTo(backoffMax) > 0 ? backoffMax : delay;
+  }
+
+  /** Events coalesced into one digest share this key. */
+  private record DigestKey(
+      OutboxEventType eventType,
+      NotificationType type,
+      Integer senderId,
+      Integer recipientId,
+      Integer locationId) {}
+
+  private static String truncate(String message) {
+    if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+      return message;
+    }
+    return message.substring(0, MAX_ERROR_LENGTH);
+  }
+}
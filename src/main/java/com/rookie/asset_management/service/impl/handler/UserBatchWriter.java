@@ -0,0 +1,101 @@
+package com.rookie.asset_management.service.impl.handler;
+
+import com.rookie.asset_management.entity.User;
+import com.rookie.asset_management.entity.UserProfile;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Inserts many users and their profiles with two JDBC batches instead of one {@code save} per user.
+ *
+ * <p>A saved user gets its staff code from its generated id after the insert, which costs an extra
+ * {@code UPDATE}. Here the ids are taken from the sequence of the identity column beforehand with a
+ * single query, so each user is inserted once with its final staff code, and its profile with the
+ * same id. The batches join the caller's transaction; the users are not attached to the persistence
+ * context.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class UserBatchWriter {
+  private static final String ALLOCATE_IDS_SQL =
+      "SELECT nextval(pg_get_serial_sequence('users', 'id')) FROM generate_series(1, ?)";
+
+  private static final String INSERT_USER_SQL =
+      "INSERT INTO users "
+          + "(id, username, password, email, staff_code, role_id, disabled, location_id, "
+          + "joined_date, first_login, created_at, updated_at, created_by, updated_by) "
+          + "VALUES (?, ?, ?, ?, ?, ?, FALSE, ?, ?, TRUE, ?, ?, ?, ?)";
+
+  private static final String INSERT_PROFILE_SQL =
+      "INSERT INTO user_profiles (id, first_name, last_name, dob, gender) "
+          + "VALUES (?, ?, ?, ?, CAST(? AS GENDER))";
+
+  JdbcTemplate jdbcTemplate;
+
+  /**
+   * Inserts the users and their profiles, setting their id, staff code and creation time.
+   *
+   * @param users the users to insert, with their profile, role, location and creator set
+   */
+  public void insert(List<User> users) {
+    if (users.isEmpty()) {
+      return;
+    }
+    List<Integer> ids = jdbcTemplate.queryForList(ALLOCATE_IDS_SQL, Integer.class, users.size());
+    java.util.Date now = new java.util.Date();
+    for (int i = 0; i < users.size(); i++) {
+      User user = users.get(i);
+      user.setId(ids.get(i));
+      user.setStaffCode(User.formatStaffCode(ids.get(i)));
+      user.setDisabled(false);
+      user.setFirstLogin(true);
+      user.setCreatedAt(now);
+      user.setUpdatedAt(now);
+      user.getUserProfile().setId(ids.get(i));
+    }
+
+    Timestamp createdAt = new Timestamp(now.getTime());
+    jdbcTemplate.batchUpdate(
+        INSERT_USER_SQL,
+        users,
+        users.size(),
+        (ps, user) -> {
+          ps.setInt(1, user.getId());
+          ps.setString(2, user.getUsername());
+          ps.setString(3, user.getPassword());
+          ps.setString(4, user.getEmail());
+          ps.setString(5, user.getStaffCode());
+          ps.setInt(6, user.getRole().getId());
+          ps.setInt(7, user.getLocation().getId());
+          ps.setDate(8, Date.valueOf(user.getJoinedDate()));
+          ps.setTimestamp(9, createdAt);
+          ps.setTimestamp(10, createdAt);
+          ps.setInt(11, user.getCreatedBy().getId());
+          ps.setInt(12, user.getCreatedBy().getId());
+        });
+    jdbcTemplate.batchUpdate(
+        INSERT_PROFILE_SQL,
+        users,
+        users.size(),
+        (ps, user) -> {
+          UserProfile profile = user.getUserProfile();
+          ps.setInt(1, user.getId());
+          ps.setString(2, profile.getFirstName());
+          ps.setString(3, profile.getLastName());
+          ps.setDate(4, Date.valueOf(profile.getDob()));
+          if (profile.getGender() != null) {
+            ps.setString(5, profile.getGender().name());
+          } else {
+            ps.setNull(5, Types.VARCHAR);
+          }
+        });
+  }
+}
@@ -0,0 +1,137 @@
+package com.rookie.asset_management.service.impl.handler;
+
+import com.rookie.asset_management.exception.AppException;
+import com.rookie.asset_management.repository.UserRepository;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Allocates usernames: the first name followed by the initials of the last name, lower-cased and
+ * without diacritics, then a number from 1 when the name is taken (duylh, duylh1, duylh2...).
+ *
+ * <p>The usernames starting with a base are read with one prefix query, served by the {@code
+ * varchar_pattern_ops} index on the username, and the next free one is computed in memory; for a
+ * batch, one such query is run per distinct base. Two transactions may still pick the same
+ * username; the unique constraint on the username rejects the second one, which is retried by the
+ * caller.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class UsernameAllocator {
+  private static final Pattern DIACRITICS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+  private static final Pattern NOT_ALPHANUMERIC = Pattern.compile("[^a-z0-9]");
+
+  UserRepository userRepository;
+
+  /**
+   * Builds the username base of a user, before any number is added.
+   *
+   * @param firstName the first name
+   * @param lastName the last name, possibly made of several words
+   * @return the first name followed by the initials of the last name, empty if the names have no
+   *     letter or digit
+   */
+  public static String baseUsername(String firstName, String lastName) {
+    StringBuilder lastInitials = new StringBuilder();
+    for (String part : lastName.trim().split("\\s+")) {
+      if (!part.isEmpty()) {
+        lastInitials.append(part.charAt(0));
+      }
+    }
+    String base = (firstName + lastInitials).toLowerCase(Locale.ROOT);
+    String withoutDiacritics =
+        DIACRITICS.matcher(Normalizer.normalize(base, Normalizer.Form.NFD)).replaceAll("");
+    return NOT_ALPHANUMERIC.matcher(withoutDiacritics).replaceAll("");
+  }
+
+  /**
+   * Checks that a username base is not empty. An empty base would match every username in the
+   * prefix query, and give usernames made of a number only.
+   *
+   * @param base the username base, see {@link #baseUsername(String, String)}
+   * @return the base
+   * @throws AppException if the base is empty
+   */
+  public static String requireBase(String base) {
+    if (base.isEmpty()) {
+      throw new AppException(
+          HttpStatus.BAD_REQUEST, "First name and last name must contain a letter or a digit");
+    }
+    return base;
+  }
+
+  /**
+   * Allocates a free username.
+   *
+   * @param base the username base, see {@link #baseUsername(String, String)}
+   * @return the base, or the base followed by the smallest number making it free
+   * @throws AppException if the base is empty
+   */
+  public String allocate(String base) {
+    requireBase(base);
+    return nextFree(base, new HashSet<>(findTaken(base)));
+  }
+
+  /**
+   * Allocates one free username per base. Repeated bases get distinct usernames.
+   *
+   * @param bases the username bases, see {@link #baseUsername(String, String)}
+   * @return the usernames, in the order of the bases
+   * @throws AppException if a base is empty
+   */
+  public List<String> allocate(List<String> bases) {
+    if (bases.isEmpty()) {
+      return List.of();
+    }
+    bases.forEach(UsernameAllocator::requireBase);
+    // a query per base: a single query matching every base (LIKE ANY, or on the username without
+    // its number) is not served by the prefix index and scans the users
+    Set<String> taken = new HashSet<>();
+    for (String base : new LinkedHashSet<>(bases)) {
+      taken.addAll(findTaken(base));
+    }
+    List<String> usernames = new ArrayList<>(bases.size());
+    for (String base : bases) {
+      String username = nextFree(base, taken);
+      taken.add(username);
+      usernames.add(username);
+    }
+    return usernames;
+  }
+
+  /**
+   * Finds the usernames of a base: the base itself or followed by a number. The prefix query also
+   * returns the usernames of longer bases (duylh for duy), which are left out.
+   */
+  private List<String> findTaken(String base) {
+    return userRepository.findUsernamesStartingWith(base).stream()
+        .filter(username -> isNumbered(username.substring(base.length())))
+        .toList();
+  }
+
+  private static boolean isNumbered(String suffix) {
+    return suffix.chars().allMatch(c -> c >= '0' && c <= '9');
+  }
+
+  private static String nextFree(String base, Set<String> taken) {
+    String username = base;
+    int counter = 1;
+    while (taken.contains(username)) {
+      username = base + counter;
+      counter++;
+    }
+    return username;
+  }
+}
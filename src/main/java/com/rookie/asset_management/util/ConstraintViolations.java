@@ -0,0 +1,37 @@
+package com.rookie.asset_management.util;
+
+import java.sql.SQLException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.spi.ViolatedConstraintNameExtractor;
+import org.springframework.dao.DataIntegrityViolationException;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ConstraintViolations {
+  private static final ViolatedConstraintNameExtractor CONSTRAINT_NAME_EXTRACTOR =
+      new PostgreSQLDialect().getViolatedConstraintNameExtractor();
+
+  /**
+   * Checks whether a data integrity violation is the violation of the given constraint. The name is
+   * the one reported by Hibernate for the statements it ran, or read from the database error for
+   * the statements run through JDBC.
+   *
+   * @param e the violation
+   * @param constraintName the name of the constraint, e.g. of a unique index
+   * @return true if that constraint was violated, false for any other one
+   */
+  public static boolean isViolationOf(DataIntegrityViolationException e, String constraintName) {
+    for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+      if (cause instanceof ConstraintViolationException violation) {
+        return constraintName.equalsIgnoreCase(violation.getConstraintName());
+      }
+      if (cause instanceof SQLException sqlException) {
+        return constraintName.equalsIgnoreCase(
+            CONSTRAINT_NAME_EXTRACTOR.extractConstraintName(sqlException));
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,106 @@
+package com.rookie.asset_management.util;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Workbook;
+
+/**
+ * Per-workbook cache of the cell styles used by the Excel exports.
+ *
+ * <p>Every style is created once, when the registry is built, and then shared by all header and
+ * data cells of every sheet of the workbook. The number of styles is therefore fixed, no matter how
+ * many rows or sheets are written, which keeps exports well below the workbook style limit.
+ */
+public final class ExcelStyleRegistry {
+
+  /** Kind of value held by a data cell, each kind has its own number format. */
+  public enum CellKind {
+    TEXT("General"),
+    INTEGER("0"),
+    DECIMAL("#,##0.00"),
+    DATE("dd/MM/yyyy");
+
+    private final String format;
+
+    CellKind(String format) {
+      this.format = format;
+    }
+  }
+
+  private final CellStyle headerStyle;
+
+  /** Data styles indexed by {@link CellKind#ordinal()} and then by stripe (0 plain, 1 striped). */
+  private final CellStyle[][] dataStyles;
+
+  private final boolean striped;
+
+  /**
+   * Creates every style of the registry.
+   *
+   * @param workbook the workbook owning the styles
+   * @param headerFont the font of header cells, or {@code null} for the default font
+   * @param stripeColor the background of every other data row, or {@code null} to disable zebra
+   *     striping
+   */
+  public ExcelStyleRegistry(Workbook workbook, Font headerFont, IndexedColors stripeColor) {
+    this.headerStyle = workbook.createCellStyle();
+    if (headerFont != null) {
+      headerStyle.setFont(headerFont);
+    }
+
+    this.striped = stripeColor != null;
+    CellKind[] kinds = CellKind.values();
+    this.dataStyles = new CellStyle[kinds.length][striped ? 2 : 1];
+    for (CellKind kind : kinds) {
+      short format = workbook.createDataFormat().getFormat(kind.format);
+      for (int stripe = 0; stripe < dataStyles[kind.ordinal()].length; stripe++) {
+        CellStyle style = workbook.createCellStyle();
+        style.setDataFormat(format);
+        if (stripe == 1) {
+          style.setFillForegroundColor(stripeColor.getIndex());
+          style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+        }
+        dataStyles[kind.ordinal()][stripe] = style;
+      }
+    }
+  }
+
+  /**
+   * Creates a registry with the default font for headers and no striping.
+   *
+   * @param workbook the workbook owning the styles
+   * @return the registry
+   */
+  public static ExcelStyleRegistry plain(Workbook workbook) {
+    return new ExcelStyleRegistry(workbook, null, null);
+  }
+
+  /**
+   * @return the style of header cells
+   */
+  public CellStyle header() {
+    return headerStyle;
+  }
+
+  /**
+   * Returns the style of a data cell.
+   *
+   * @param kind the kind of value held by the cell
+   * @param dataRowIndex the 0-based index of the row among the data rows of its sheet, used for
+   *     zebra striping
+   * @return the shared style
+   */
+  public CellStyle data(CellKind kind, int dataRowIndex) {
+    CellStyle[] styles = dataStyles[kind.ordinal()];
+    return striped && dataRowIndex % 2 == 1 ? styles[1] : styles[0];
+  }
+
+  /**
+   * @return the number of cell styles owned by this registry
+   */
+  public int size() {
+    return 1 + dataStyles.length * dataStyles[0].length;
+  }
+}
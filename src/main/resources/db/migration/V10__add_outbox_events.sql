@@ -0,0 +1,17 @@
+-- Transactional outbox: side effects (notifications, emails) are recorded in the business
+-- transaction and delivered afterwards by the outbox dispatcher
+CREATE TABLE outbox_events (
+  id BIGSERIAL PRIMARY KEY,
+  type VARCHAR(30) NOT NULL,
+  payload TEXT NOT NULL,
+  status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+  attempts INTEGER NOT NULL DEFAULT 0,
+  next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  last_error TEXT,
+  created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  processed_at TIMESTAMP
+);
+
+-- The dispatcher only polls pending events that are due
+CREATE INDEX idx_outbox_events_pending ON outbox_events (next_attempt_at, id)
+  WHERE status = 'PENDING';
@@ -0,0 +1,5 @@
+-- Replay of the notifications a reconnecting client missed (recipient, id > last event id)
+CREATE INDEX idx_notifications_recipient_id ON notifications (recipient_id, id);
+
+-- Periodic sweep of the recipients notified since the last pass
+CREATE INDEX idx_notifications_created_at ON notifications (created_at);
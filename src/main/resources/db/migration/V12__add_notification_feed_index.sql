@@ -0,0 +1,3 @@
+-- Keyset pagination of a recipient's notification feed, newest first
+CREATE INDEX idx_notifications_recipient_feed
+  ON notifications (recipient_id, created_at DESC, id DESC);
@@ -0,0 +1,85 @@
+-- Partition notifications by month of creation. The table is rebuilt as a range partitioned
+-- table; the primary key has to include the partition key, ids still come from the same sequence.
+ALTER TABLE notifications RENAME TO notifications_legacy;
+ALTER TABLE notifications_legacy RENAME CONSTRAINT notifications_pkey TO notifications_legacy_pkey;
+ALTER SEQUENCE notifications_id_seq OWNED BY NONE;
+DROP INDEX idx_notifications_recipient_id;
+DROP INDEX idx_notifications_created_at;
+DROP INDEX idx_notifications_recipient_feed;
+
+CREATE TABLE notifications (
+  id INTEGER NOT NULL DEFAULT nextval('notifications_id_seq'),
+  type NOTIFICATION_TYPE NOT NULL,
+  sender_id INTEGER NOT NULL,
+  recipient_id INTEGER NOT NULL,
+  assignment_id INTEGER,
+  returning_request_id INTEGER,
+  is_read BOOLEAN NOT NULL DEFAULT FALSE,
+  created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+  CONSTRAINT notifications_pkey PRIMARY KEY (id, created_at),
+  CONSTRAINT fk_notification_sender FOREIGN KEY (sender_id) REFERENCES "users"(id),
+  CONSTRAINT fk_notification_recipient FOREIGN KEY (recipient_id) REFERENCES "users"(id),
+  CONSTRAINT fk_notification_assignment FOREIGN KEY (assignment_id) REFERENCES assignments(id),
+  CONSTRAINT fk_notification_return_request FOREIGN KEY (returning_request_id)
+      REFERENCES returning_requests(id) ON DELETE CASCADE
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE notifications_id_seq OWNED BY notifications.id;
+
+-- Rows outside every monthly partition; stays empty as long as partitions are created ahead
+CREATE TABLE notifications_default PARTITION OF notifications DEFAULT;
+
+-- One partition per month from the oldest notification to three months ahead, the maintenance
+-- job keeps creating the following ones
+DO $$
+DECLARE
+  month_start DATE := date_trunc('month',
+      LEAST(COALESCE((SELECT MIN(created_at) FROM notifications_legacy), now()), now()))::DATE;
+  last_month DATE := (date_trunc('month', now()) + INTERVAL '3 months')::DATE;
+BEGIN
+  WHILE month_start <= last_month LOOP
+    EXECUTE format(
+        'CREATE TABLE notifications_%s PARTITION OF notifications FOR VALUES FROM (%L) TO (%L)',
+        to_char(month_start, 'YYYY_MM'),
+        month_start,
+        (month_start + INTERVAL '1 month')::DATE);
+    month_start := (month_start + INTERVAL '1 month')::DATE;
+  END LOOP;
+END $$;
+
+INSERT INTO notifications
+  (id, type, sender_id, recipient_id, assignment_id, returning_request_id, is_read, created_at)
+SELECT id, type, sender_id, recipient_id, assignment_id, returning_request_id, is_read, created_at
+FROM notifications_legacy;
+
+DROP TABLE notifications_legacy;
+
+-- Indexes are created on every partition
+CREATE INDEX idx_notifications_recipient_id ON notifications (recipient_id, id);
+CREATE INDEX idx_notifications_created_at ON notifications (created_at);
+CREATE INDEX idx_notifications_recipient_feed
+  ON notifications (recipient_id, created_at DESC, id DESC);
+
+-- Cold storage of the read notifications past the retention period. Foreign keys keep the same
+-- semantics as the hot table, so deleting a returning request also deletes its archived rows.
+CREATE TABLE notifications_archive (
+  id INTEGER PRIMARY KEY,
+  type NOTIFICATION_TYPE NOT NULL,
+  sender_id INTEGER NOT NULL,
+  recipient_id INTEGER NOT NULL,
+  assignment_id INTEGER,
+  returning_request_id INTEGER,
+  is_read BOOLEAN NOT NULL,
+  created_at TIMESTAMP NOT NULL,
+  archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+  CONSTRAINT fk_notification_archive_sender FOREIGN KEY (sender_id) REFERENCES "users"(id),
+  CONSTRAINT fk_notification_archive_recipient FOREIGN KEY (recipient_id) REFERENCES "users"(id),
+  CONSTRAINT fk_notification_archive_assignment FOREIGN KEY (assignment_id)
+      REFERENCES assignments(id),
+  CONSTRAINT fk_notification_archive_return_request FOREIGN KEY (returning_request_id)
+      REFERENCES returning_requests(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_notifications_archive_recipient ON notifications_archive (recipient_id, created_at);
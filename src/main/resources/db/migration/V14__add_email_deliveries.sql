@@ -0,0 +1,27 @@
+-- Email delivery queue: emails are recorded in the business transaction and sent afterwards by a
+-- bounded pool of senders. The row is kept as the delivery status of the email.
+CREATE TABLE email_deliveries (
+  id BIGSERIAL PRIMARY KEY,
+  recipient VARCHAR(255) NOT NULL,
+  subject VARCHAR(255) NOT NULL,
+  content TEXT,
+  status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+  attempts INTEGER NOT NULL DEFAULT 0,
+  next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  last_error TEXT,
+  created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  sent_at TIMESTAMP
+);
+
+-- The dispatcher polls the due emails, including the ones claimed by a sender that never finished
+CREATE INDEX idx_email_deliveries_due ON email_deliveries (next_attempt_at, id)
+  WHERE status IN ('PENDING', 'SENDING');
+
+-- Emails still waiting in the outbox move to the delivery queue
+INSERT INTO email_deliveries (recipient, subject, content, attempts, next_attempt_at, created_at)
+SELECT payload::jsonb ->> 'to', payload::jsonb ->> 'subject', payload::jsonb ->> 'content',
+  attempts, next_attempt_at, created_at
+FROM outbox_events
+WHERE type = 'EMAIL' AND status = 'PENDING';
+
+DELETE FROM outbox_events WHERE type = 'EMAIL';
@@ -0,0 +1,10 @@
+-- Digest notifications: one row standing for a burst of events of the same type to the same
+-- recipient. event_count is the number of events, related_ids the ids of the assignments or
+-- returning requests they refer to. Regular notifications keep a count of 1 and no ids.
+ALTER TABLE notifications
+  ADD COLUMN event_count INTEGER NOT NULL DEFAULT 1,
+  ADD COLUMN related_ids INTEGER[];
+
+ALTER TABLE notifications_archive
+  ADD COLUMN event_count INTEGER NOT NULL DEFAULT 1,
+  ADD COLUMN related_ids INTEGER[];
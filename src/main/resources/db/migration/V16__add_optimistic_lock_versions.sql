@@ -0,0 +1,8 @@
+-- Optimistic locking: every update of an asset, assignment or returning request increments its
+-- version and only applies if the version read by the transaction is still current, so two admins
+-- acting on the same row cannot both succeed.
+ALTER TABLE assets ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE assignments ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE returning_requests ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
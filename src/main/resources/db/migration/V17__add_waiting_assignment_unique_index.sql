@@ -0,0 +1,18 @@
+-- An asset has at most one waiting assignment. Concurrent creations could insert two before this
+-- index existed; the oldest one is kept and the later duplicates are soft deleted.
+UPDATE assignments a
+SET deleted = TRUE
+WHERE a.status = 'WAITING'
+  AND a.deleted = FALSE
+  AND EXISTS (
+    SELECT 1
+    FROM assignments older
+    WHERE older.asset_id = a.asset_id
+      AND older.status = 'WAITING'
+      AND older.deleted = FALSE
+      AND older.id < a.id
+  );
+
+CREATE UNIQUE INDEX ux_assignments_waiting_asset
+  ON assignments (asset_id)
+  WHERE status = 'WAITING' AND deleted = FALSE;
@@ -0,0 +1,13 @@
+-- Idempotency keys of the mutating requests, used when app.idempotency.store=jdbc. The key is the
+-- hash of the Idempotency-Key header scoped to the user and the endpoint; the response of the first
+-- successful execution is replayed to the retries until the key expires.
+CREATE TABLE idempotency_keys (
+  idempotency_key VARCHAR(64) PRIMARY KEY,
+  fingerprint VARCHAR(64) NOT NULL,
+  status_code INTEGER,
+  response_body TEXT,
+  locked_until TIMESTAMP NOT NULL,
+  expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
@@ -0,0 +1,4 @@
+-- Usernames are allocated from the ones starting with the same base (duylh, duylh1, duylh2...).
+-- The unique index on the username only serves LIKE 'base%' under the C collation, this one
+-- serves it under any collation.
+CREATE INDEX idx_users_username_prefix ON users (username varchar_pattern_ops);
@@ -0,0 +1,20 @@
+-- Waiting assignments and returning requests left unanswered are expired or escalated by a
+-- scheduled job. A returning request is aged from its creation, unknown so far: the existing ones
+-- are aged from this migration.
+ALTER TABLE returning_requests ADD COLUMN requested_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+-- set once the location admins have been told about a stale item, so they are told only once
+ALTER TABLE returning_requests ADD COLUMN escalated_at TIMESTAMP;
+ALTER TABLE assignments ADD COLUMN escalated_at TIMESTAMP;
+
+-- the job walks the waiting rows in id order
+CREATE INDEX idx_assignments_waiting_id
+  ON assignments (id, assigned_date)
+  WHERE status = 'WAITING' AND deleted = FALSE;
+
+CREATE INDEX idx_returning_requests_waiting_id
+  ON returning_requests (id, requested_at)
+  WHERE status = 'WAITING' AND deleted = FALSE;
+
+ALTER TYPE NOTIFICATION_TYPE ADD VALUE IF NOT EXISTS 'ASSIGNMENT_STALE';
+ALTER TYPE NOTIFICATION_TYPE ADD VALUE IF NOT EXISTS 'RETURN_REQUEST_STALE';
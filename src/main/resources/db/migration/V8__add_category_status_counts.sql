@@ -0,0 +1,19 @@
+-- Per location/category/status asset counters, maintained in the same transaction as
+-- every asset status transition so reports do not need to scan the assets table
+CREATE TABLE category_status_counts (
+  location_id INTEGER NOT NULL,
+  category_id INTEGER NOT NULL,
+  status ASSET_STATUS NOT NULL,
+  count BIGINT NOT NULL DEFAULT 0,
+
+  CONSTRAINT pk_category_status_counts PRIMARY KEY (location_id, category_id, status),
+  CONSTRAINT fk_category_status_counts_location FOREIGN KEY (location_id) REFERENCES locations(id),
+  CONSTRAINT fk_category_status_counts_category FOREIGN KEY (category_id) REFERENCES categories(id)
+);
+
+-- Backfill from the current state of the assets table (soft-deleted assets are not counted)
+INSERT INTO category_status_counts (location_id, category_id, status, count)
+SELECT location_id, category_id, status, COUNT(*)
+FROM assets
+WHERE disabled = FALSE
+GROUP BY location_id, category_id, status;
@@ -0,0 +1,17 @@
+-- Daily per location/category/status asset counts used for trend reports.
+-- The primary key starts with the snapshot date so date range queries are index range scans.
+CREATE TABLE asset_status_snapshots (
+  snapshot_date DATE NOT NULL,
+  location_id INTEGER NOT NULL,
+  category_id INTEGER NOT NULL,
+  status ASSET_STATUS NOT NULL,
+  count BIGINT NOT NULL,
+
+  CONSTRAINT pk_asset_status_snapshots PRIMARY KEY (snapshot_date, location_id, category_id, status),
+  CONSTRAINT fk_asset_status_snapshots_location FOREIGN KEY (location_id) REFERENCES locations(id),
+  CONSTRAINT fk_asset_status_snapshots_category FOREIGN KEY (category_id) REFERENCES categories(id)
+);
+
+-- Supports trend queries filtered by category
+CREATE INDEX idx_asset_status_snapshots_category_date
+  ON asset_status_snapshots (category_id, snapshot_date);
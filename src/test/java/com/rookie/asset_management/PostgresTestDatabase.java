@@ -0,0 +1,70 @@
+package com.rookie.asset_management;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * A real PostgreSQL server started once per test run from the embedded binaries, with the Flyway
+ * migrations applied. For the statements H2 cannot run: partitions, advisory locks, {@code FOR
+ * UPDATE SKIP LOCKED}, data-modifying {@code WITH} queries.
+ *
+ * <p>The database is shared by the tests using it: each test starts from {@link #reset()}.
+ */
+public final class PostgresTestDatabase {
+  private static EmbeddedPostgres postgres;
+
+  private static DataSource dataSource;
+
+  private PostgresTestDatabase() {}
+
+  /**
+   * @return the migrated database, started on the first call
+   */
+  public static synchronized DataSource dataSource() {
+    if (dataSource == null) {
+      try {
+        postgres = EmbeddedPostgres.builder().start();
+        Runtime.getRuntime()
+            .addShutdownHook(
+                new Thread(
+                    () -> {
+                      try {
+                        postgres.close();
+                      } catch (IOException e) {
+                        // the server dies with the JVM anyway
+                      }
+                    }));
+        dataSource = postgres.getPostgresDatabase();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      Flyway.configure().dataSource(dataSource).load().migrate();
+    }
+    return dataSource;
+  }
+
+  /**
+   * @return the JDBC URL of the migrated database, for a Spring context of its own pool
+   */
+  public static String jdbcUrl() {
+    dataSource();
+    return postgres.getJdbcUrl("postgres", "postgres");
+  }
+
+  /**
+   * Empties the tables and loads the base rows of {@code sql/postgres-fixture.sql}.
+   *
+   * @return the migrated database
+   */
+  public static DataSource reset() {
+    DataSource database = dataSource();
+    new ResourceDatabasePopulator(new ClassPathResource("sql/postgres-fixture.sql"))
+        .execute(database);
+    return database;
+  }
+}
@@ -0,0 +1,174 @@
+package com.rookie.asset_management.aspect;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rookie.asset_management.controller.AssignmentController;
+import com.rookie.asset_management.dto.request.assignment.CreateUpdateAssignmentRequest;
+import com.rookie.asset_management.dto.response.assignment.AssignmentListDtoResponse;
+import com.rookie.asset_management.exception.AppException;
+import com.rookie.asset_management.exception.handler.GlobalExceptionHandler;
+import com.rookie.asset_management.service.AssignmentService;
+import com.rookie.asset_management.service.impl.InMemoryIdempotencyStore;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyAspectTest {
+
+  @Mock private AssignmentService assignmentService;
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    // keys are scoped to the user; the requests below run anonymously on several threads
+    SecurityContextHolder.clearContext();
+    AspectJProxyFactory proxyFactory =
+        new AspectJProxyFactory(new AssignmentController(assignmentService));
+    proxyFactory.setProxyTargetClass(true);
+    proxyFactory.addAspect(
+        new IdempotencyAspect(
+            new InMemoryIdempotencyStore(),
+            objectMapper,
+            Duration.ofHours(1),
+            Duration.ofMinutes(1)));
+    mockMvc =
+        MockMvcBuilders.standaloneSetup(proxyFactory.<AssignmentController>getProxy())
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+  }
+
+  @Test
+  void retry_replaysFirstResponseWithoutRunningAgain() throws Exception {
+    when(assignmentService.createAssignment(any())).thenReturn(assignment(10));
+
+    MockHttpServletResponse first = create("key-1", 1);
+    MockHttpServletResponse retry = create("key-1", 1);
+
+    assertEquals(HttpStatus.CREATED.value(), first.getStatus());
+    assertEquals(HttpStatus.CREATED.value(), retry.getStatus());
+    assertEquals(
+        objectMapper.readTree(first.getContentAsString()),
+        objectMapper.readTree(retry.getContentAsString()));
+    assertNull(first.getHeader(IdempotencyAspect.REPLAYED_HEADER));
+    assertEquals("true", retry.getHeader(IdempotencyAspect.REPLAYED_HEADER));
+    verify(assignmentService, times(1)).createAssignment(any());
+  }
+
+  @Test
+  void withoutKey_runsEveryTime() throws Exception {
+    when(assignmentService.createAssignment(any())).thenReturn(assignment(10));
+
+    create(null, 1);
+    create(null, 1);
+
+    verify(assignmentService, times(2)).createAssignment(any());
+  }
+
+  @Test
+  void keyReusedForOtherRequest_unprocessable() throws Exception {
+    when(assignmentService.createAssignment(any())).thenReturn(assignment(10));
+    create("key-1", 1);
+
+    MockHttpServletResponse other = create("key-1", 2);
+
+    assertEquals(HttpStatus.UNPROCESSABLE_ENTITY.value(), other.getStatus());
+    verify(assignmentService, times(1)).createAssignment(any());
+  }
+
+  @Test
+  void failedExecution_releasesKeyForRetry() throws Exception {
+    when(assignmentService.createAssignment(any()))
+        .thenThrow(new AppException(HttpStatus.BAD_REQUEST, "Asset is not available"))
+        .thenReturn(assignment(10));
+
+    MockHttpServletResponse failed = create("key-1", 1);
+    MockHttpServletResponse retry = create("key-1", 1);
+
+    assertEquals(HttpStatus.BAD_REQUEST.value(), failed.getStatus());
+    assertEquals(HttpStatus.CREATED.value(), retry.getStatus());
+    assertNull(retry.getHeader(IdempotencyAspect.REPLAYED_HEADER));
+    verify(assignmentService, times(2)).createAssignment(any());
+  }
+
+  @Test
+  void concurrentDuplicate_conflictsWhileFirstRuns() throws Exception {
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(assignmentService.createAssignment(any()))
+        .thenAnswer(
+            invocation -> {
+              running.countDown();
+              release.await(10, TimeUnit.SECONDS);
+              return assignment(10);
+            });
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<MockHttpServletResponse> first = executor.submit(() -> create("key-1", 1));
+      assertTrue(running.await(10, TimeUnit.SECONDS));
+
+      MockHttpServletResponse duplicate = create("key-1", 1);
+      release.countDown();
+
+      assertEquals(HttpStatus.CONFLICT.value(), duplicate.getStatus());
+      assertEquals(HttpStatus.CREATED.value(), first.get(10, TimeUnit.SECONDS).getStatus());
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals("true", create("key-1", 1).getHeader(IdempotencyAspect.REPLAYED_HEADER));
+    verify(assignmentService, times(1)).createAssignment(any());
+  }
+
+  private MockHttpServletResponse create(String idempotencyKey, int assetId) throws Exception {
+    CreateUpdateAssignmentRequest request =
+        CreateUpdateAssignmentRequest.builder()
+            .assetId(assetId)
+            .userId(2)
+            .assignedDate(LocalDate.now().plusDays(1))
+            .note("Laptop for onboarding")
+            .build();
+    var builder =
+        post("/api/v1/assignments")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request));
+    if (idempotencyKey != null) {
+      builder.header(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+    }
+    return mockMvc.perform(builder).andReturn().getResponse();
+  }
+
+  private static AssignmentListDtoResponse assignment(int id) {
+    AssignmentListDtoResponse response = new AssignmentListDtoResponse();
+    response.setId(id);
+    return response;
+  }
+}
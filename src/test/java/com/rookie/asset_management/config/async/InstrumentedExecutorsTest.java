@@ -0,0 +1,123 @@
+package com.rookie.asset_management.config.async;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+class InstrumentedExecutorsTest {
+
+  private MeterRegistry meterRegistry;
+
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void pool_rejectsBeyondCapacityAndReportsDepth() throws Exception {
+    ThreadPoolTaskExecutor executor =
+        InstrumentedExecutors.pool("test", 1, 1, Duration.ofSeconds(5), meterRegistry);
+    executor.initialize();
+    CountDownLatch started = new CountDownLatch(1);
+
+    executor.execute(
+        () -> {
+          started.countDown();
+          await();
+        });
+    started.await(5, TimeUnit.SECONDS);
+    executor.execute(this::await);
+
+    assertThrows(TaskRejectedException.class, () -> executor.execute(this::await));
+    assertEquals(1.0, gauge(InstrumentedExecutors.ACTIVE));
+    assertEquals(1.0, gauge(InstrumentedExecutors.QUEUED));
+    assertEquals(1.0, rejected());
+
+    release.countDown();
+    executor.shutdown();
+  }
+
+  @Test
+  void pool_drainsQueuedTasksOnShutdown() {
+    ThreadPoolTaskExecutor executor =
+        InstrumentedExecutors.pool("test", 1, 5, Duration.ofSeconds(5), meterRegistry);
+    executor.initialize();
+    AtomicBoolean ran = new AtomicBoolean();
+    executor.execute(
+        () -> {
+          sleep();
+          ran.set(true);
+        });
+
+    executor.shutdown();
+
+    assertTrue(ran.get());
+  }
+
+  @Test
+  void virtualThreads_runsEachTaskOnVirtualThreadAndRejectsBeyondLimit() throws Exception {
+    SimpleAsyncTaskExecutor executor =
+        InstrumentedExecutors.virtualThreads("test", 1, Duration.ofSeconds(5), meterRegistry);
+    CountDownLatch started = new CountDownLatch(1);
+    AtomicBoolean virtual = new AtomicBoolean();
+
+    executor.execute(
+        () -> {
+          virtual.set(Thread.currentThread().isVirtual());
+          started.countDown();
+          await();
+        });
+    started.await(5, TimeUnit.SECONDS);
+
+    assertThrows(TaskRejectedException.class, () -> executor.execute(this::await));
+    assertTrue(virtual.get());
+    assertEquals(1.0, gauge(InstrumentedExecutors.ACTIVE));
+    assertEquals(1.0, rejected());
+
+    release.countDown();
+    executor.close();
+    assertEquals(0.0, gauge(InstrumentedExecutors.ACTIVE));
+  }
+
+  private double gauge(String name) {
+    return meterRegistry.get(name).tag("executor", "test").gauge().value();
+  }
+
+  private double rejected() {
+    return meterRegistry
+        .get(InstrumentedExecutors.REJECTED)
+        .tag("executor", "test")
+        .counter()
+        .count();
+  }
+
+  private void await() {
+    try {
+      release.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void sleep() {
+    try {
+      Thread.sleep(200);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
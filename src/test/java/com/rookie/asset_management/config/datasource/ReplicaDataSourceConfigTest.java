@@ -0,0 +1,80 @@
+package com.rookie.asset_management.config.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs the JPA transactions against two local databases, a primary and a replica each knowing its
+ * own name. Point both URLs at local PostgreSQL databases to run it against PostgreSQL.
+ */
+@DataJpaTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+      "app.datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+      "app.datasource.replica.hikari.maximum-pool-size=2",
+      "spring.jpa.hibernate.ddl-auto=none"
+    })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(ReplicaDataSourceConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReplicaDataSourceConfigTest {
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  @Qualifier("primaryDataSource")
+  private DataSource primary;
+
+  @Autowired
+  @Qualifier("replicaDataSource")
+  private DataSource replica;
+
+  @BeforeEach
+  void setUp() {
+    name(primary, "primary");
+    name(replica, "replica");
+  }
+
+  @Test
+  void readOnlyTransaction_readsFromReplica() {
+    TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+
+    assertEquals("replica", readOnly.execute(status -> databaseName()));
+  }
+
+  @Test
+  void readWriteTransaction_usesPrimary() {
+    TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+    assertEquals("primary", readWrite.execute(status -> databaseName()));
+  }
+
+  private String databaseName() {
+    return jdbcTemplate.queryForObject("SELECT name FROM database_name", String.class);
+  }
+
+  private static void name(DataSource dataSource, String name) {
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS database_name (name VARCHAR(16))");
+    jdbcTemplate.execute("DELETE FROM database_name");
+    jdbcTemplate.update("INSERT INTO database_name VALUES (?)", name);
+  }
+}
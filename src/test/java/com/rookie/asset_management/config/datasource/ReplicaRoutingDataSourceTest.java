@@ -0,0 +1,121 @@
+package com.rookie.asset_management.config.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Routes between two local in-memory databases, each knowing its own name. */
+class ReplicaRoutingDataSourceTest {
+  private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+
+  private JdbcTemplate jdbcTemplate;
+
+  private TransactionTemplate readWrite;
+
+  private TransactionTemplate readOnly;
+
+  @BeforeEach
+  void setUp() {
+    DataSource routing =
+        new LazyConnectionDataSourceProxy(
+            routing(database("primary"), database("replica"), tracker));
+    jdbcTemplate = new JdbcTemplate(routing);
+    DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+    readWrite = new TransactionTemplate(transactionManager);
+    readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void readOnlyTransaction_usesReplica() {
+    assertEquals("replica", readOnly.execute(status -> databaseName()));
+  }
+
+  @Test
+  void readWriteTransactionAndNoTransaction_usePrimary() {
+    assertEquals("primary", readWrite.execute(status -> databaseName()));
+    assertEquals("primary", databaseName());
+  }
+
+  @Test
+  void userWhoWrote_readsFromPrimary() {
+    authenticate("writer");
+    readWrite.execute(status -> databaseName());
+
+    assertTrue(tracker.isPinned("writer"));
+    assertEquals("primary", readOnly.execute(status -> databaseName()));
+
+    authenticate("reader");
+    assertEquals("replica", readOnly.execute(status -> databaseName()));
+  }
+
+  @Test
+  void rolledBackWrite_doesNotPin() {
+    authenticate("writer");
+    readWrite.execute(
+        status -> {
+          status.setRollbackOnly();
+          return databaseName();
+        });
+
+    assertFalse(tracker.isPinned("writer"));
+    assertEquals("replica", readOnly.execute(status -> databaseName()));
+  }
+
+  @Test
+  void pinExpiresAfterWindow() {
+    ReadYourWritesTracker shortWindow = new ReadYourWritesTracker(Duration.ofMillis(-1));
+    shortWindow.recordWrite("writer");
+
+    assertFalse(shortWindow.isPinned("writer"));
+    shortWindow.recordWrite("writer");
+    assertEquals(1, shortWindow.purgeExpired());
+  }
+
+  private String databaseName() {
+    return jdbcTemplate.queryForObject("SELECT name FROM database_name", String.class);
+  }
+
+  private static void authenticate(String username) {
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new UsernamePasswordAuthenticationToken(
+                username, null, AuthorityUtils.createAuthorityList("ROLE_STAFF")));
+  }
+
+  private static ReplicaRoutingDataSource routing(
+      DataSource primary, DataSource replica, ReadYourWritesTracker tracker) {
+    ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, tracker);
+    routing.afterPropertiesSet();
+    return routing;
+  }
+
+  private static DataSource database(String name) {
+    DriverManagerDataSource dataSource =
+        new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS database_name (name VARCHAR(16))");
+    jdbcTemplate.execute("DELETE FROM database_name");
+    jdbcTemplate.update("INSERT INTO database_name VALUES (?)", name);
+    return dataSource;
+  }
+}
@@ -0,0 +1,65 @@
+package com.rookie.asset_management.config.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class BoundedPasswordEncoderTest {
+
+  @Test
+  void encodeAndMatches_delegateToBCrypt() {
+    PasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1);
+
+    String hash = encoder.encode("admin@01011990");
+
+    assertTrue(encoder.matches("admin@01011990", hash));
+    assertFalse(encoder.matches("wrong", hash));
+  }
+
+  @Test
+  void burstOnVirtualThreads_neverExceedsLimit() throws Exception {
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    PasswordEncoder slow =
+        new BCryptPasswordEncoder(4) {
+          @Override
+          public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+              Thread.sleep(20);
+              return super.matches(rawPassword, encodedPassword);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+              return false;
+            } finally {
+              running.decrementAndGet();
+            }
+          }
+        };
+    PasswordEncoder encoder = new BoundedPasswordEncoder(slow, 2);
+    String hash = new BCryptPasswordEncoder(4).encode("secret");
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<Boolean>> logins = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+        logins.add(executor.submit(() -> encoder.matches("secret", hash)));
+      }
+      for (Future<Boolean> login : logins) {
+        assertTrue(login.get(10, TimeUnit.SECONDS));
+      }
+    }
+
+    assertEquals(2, maxRunning.get());
+  }
+}
@@ -0,0 +1,79 @@
+package com.rookie.asset_management.config.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import com.rookie.asset_management.PostgresTestDatabase;
+import com.rookie.asset_management.constant.ApiPaths;
+import com.rookie.asset_management.service.JwtService;
+import com.rookie.asset_management.service.impl.handler.NotificationHub;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Opens a notification stream against PostgreSQL: the request stays open, asynchronously, for as
+ * long as the client listens, and must not keep a pooled connection meanwhile.
+ */
+@SpringBootTest(
+    properties = {
+      "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+      "spring.datasource.hikari.minimum-idle=0",
+      "jwt.secret=dGhpc2lzYXNlY3JldGtleWZvcmp3dHRlc3RpbmcxMjM0NTY3ODkw"
+    })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class NotificationStreamConnectionTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private JwtService jwtService;
+
+  @Autowired private HikariDataSource dataSource;
+
+  @Autowired private NotificationHub notificationHub;
+
+  @DynamicPropertySource
+  static void database(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", PostgresTestDatabase::jdbcUrl);
+    registry.add("spring.datasource.username", () -> "postgres");
+    registry.add("spring.datasource.password", () -> "postgres");
+  }
+
+  @BeforeEach
+  void setUp() {
+    PostgresTestDatabase.reset();
+  }
+
+  @Test
+  void openStream_holdsNoConnection() throws Exception {
+    MockHttpServletResponse login = new MockHttpServletResponse();
+    jwtService.generateToken("staff", login);
+    Cookie jwt = new Cookie("JWT", login.getCookie("JWT").getValue());
+
+    MvcResult stream =
+        mockMvc
+            .perform(get(ApiPaths.V1 + "/notifications/stream").cookie(jwt))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    try {
+      assertEquals(1, notificationHub.getConnectionCount());
+      assertEquals(0, dataSource.getHikariPoolMXBean().getActiveConnections());
+    } finally {
+      stream.getRequest().getAsyncContext().complete();
+    }
+    assertEquals(0, notificationHub.getConnectionCount());
+  }
+}
@@ -0,0 +1,107 @@
+package com.rookie.asset_management.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.rookie.asset_management.repository.projection.NotificationFeedView;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+/** Runs the native keyset feed query against an H2 database in PostgreSQL mode. */
+@DataJpaTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:notifications;MODE=PostgreSQL",
+      "spring.jpa.hibernate.ddl-auto=none"
+    })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Sql("/sql/notification-fixture.sql")
+class NotificationRepositoryTest {
+  private static final LocalDateTime START = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+  @Autowired private NotificationRepository notificationRepository;
+
+  @Test
+  void findFeedPage_ShouldWalkTheFeedNewestFirst() {
+    List<NotificationFeedView> first =
+        notificationRepository.findFeedPage(2, null, null, START, Integer.MAX_VALUE, 2);
+    assertEquals(List.of(5, 4), ids(first));
+
+    NotificationFeedView last = first.get(1);
+    List<NotificationFeedView> second =
+        notificationRepository.findFeedPage(2, null, null, last.getCreatedAt(), last.getId(), 2);
+    assertEquals(List.of(3, 2), ids(second));
+
+    last = second.get(1);
+    List<NotificationFeedView> third =
+        notificationRepository.findFeedPage(2, null, null, last.getCreatedAt(), last.getId(), 2);
+    assertEquals(List.of(1), ids(third));
+  }
+
+  @Test
+  void findFeedPage_ShouldJoinSenderAndAssetNames() {
+    List<NotificationFeedView> rows =
+        notificationRepository.findFeedPage(2, null, null, START, Integer.MAX_VALUE, 10);
+
+    NotificationFeedView newest = rows.get(0);
+    assertEquals("ASSIGNMENT_CREATED", newest.getType());
+    assertEquals("admin", newest.getSenderName());
+    assertEquals("Laptop HP", newest.getAssetName());
+    assertEquals(LocalDateTime.of(2025, 1, 4, 9, 0), newest.getCreatedAt());
+    assertNull(rows.get(2).getAssetName());
+  }
+
+  @Test
+  void findFeedPage_ShouldExposeDigestCountAndRelatedIds() {
+    List<NotificationFeedView> rows =
+        notificationRepository.findFeedPage(2, null, null, START, Integer.MAX_VALUE, 2);
+
+    NotificationFeedView digest = rows.get(0);
+    assertEquals(3, digest.getEventCount());
+    assertEquals(
+        List.of("1", "7", "8"), List.of(digest.getRelatedIds().split("[^0-9]+")).subList(1, 4));
+    NotificationFeedView single = rows.get(1);
+    assertEquals(1, single.getEventCount());
+    assertNull(single.getRelatedIds());
+  }
+
+  @Test
+  void findFeedPage_ShouldApplyTypeAndReadFilters() {
+    assertEquals(
+        List.of(5, 2),
+        ids(
+            notificationRepository.findFeedPage(
+                2, "ASSIGNMENT_CREATED", false, START, Integer.MAX_VALUE, 10)));
+    assertEquals(
+        List.of(4, 1),
+        ids(notificationRepository.findFeedPage(2, null, true, START, Integer.MAX_VALUE, 10)));
+    assertEquals(
+        List.of(6),
+        ids(notificationRepository.findFeedPage(1, null, null, START, Integer.MAX_VALUE, 10)));
+  }
+
+  @Test
+  void markAsReadUpTo_ShouldOnlyUpdateUnreadNotificationsWithinBounds() {
+    int updated = notificationRepository.markAsReadUpTo(2, 3, LocalDateTime.of(9999, 12, 31, 0, 0));
+    assertEquals(2, updated);
+    assertEquals(
+        List.of(5),
+        ids(notificationRepository.findFeedPage(2, null, false, START, Integer.MAX_VALUE, 10)));
+
+    updated = notificationRepository.markAsReadUpTo(2, 10, LocalDateTime.of(2025, 1, 3, 9, 0));
+    assertEquals(0, updated);
+
+    updated = notificationRepository.markAsReadUpTo(2, 10, LocalDateTime.of(2025, 1, 4, 9, 0));
+    assertEquals(1, updated);
+  }
+
+  private static List<Integer> ids(List<NotificationFeedView> rows) {
+    return rows.stream().map(NotificationFeedView::getId).toList();
+  }
+}
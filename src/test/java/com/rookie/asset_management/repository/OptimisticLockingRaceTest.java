@@ -0,0 +1,172 @@
+package com.rookie.asset_management.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import com.rookie.asset_management.aspect.RetryOnConflict;
+import com.rookie.asset_management.aspect.RetryOnConflictAspect;
+import com.rookie.asset_management.entity.Asset;
+import com.rookie.asset_management.enums.AssetStatus;
+import com.rookie.asset_management.exception.AppException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Races two admins on the same asset, each in its own thread and transaction. A latch holds both
+ * transactions after their read so they pass the same checks before either writes, which is the
+ * interleaving the {@code @Version} column has to catch.
+ *
+ * <p>The PostgreSQL dialect is used so the named enum columns are bound as text, which H2 accepts
+ * in PostgreSQL mode.
+ */
+@DataJpaTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:asset-race;MODE=PostgreSQL;LOCK_TIMEOUT=10000",
+      "spring.jpa.hibernate.ddl-auto=none",
+      "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect"
+    })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Sql("/sql/asset-race-fixture.sql")
+@Import({RetryOnConflictAspect.class, OptimisticLockingRaceTest.Transitions.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OptimisticLockingRaceTest {
+
+  @Autowired private AssetRepository assetRepository;
+
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @Autowired private Transitions transitions;
+
+  @Test
+  void concurrentEdits_onlyOneCommits() throws Exception {
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    CountDownLatch bothRead = new CountDownLatch(2);
+
+    List<Object> outcomes =
+        race(
+            List.of("Laptop Dell", "Laptop Asus").stream()
+                .<Callable<Object>>map(
+                    name ->
+                        () ->
+                            transactionTemplate.execute(
+                                status -> {
+                                  Asset asset = assetRepository.findById(1).orElseThrow();
+                                  awaitOther(bothRead);
+                                  asset.setName(name);
+                                  return assetRepository.saveAndFlush(asset).getName();
+                                }))
+                .toList());
+
+    List<Object> winners =
+        outcomes.stream().filter(outcome -> !(outcome instanceof Throwable)).toList();
+    assertEquals(1, winners.size(), outcomes::toString);
+    assertInstanceOf(
+        OptimisticLockingFailureException.class,
+        outcomes.stream().filter(Throwable.class::isInstance).findFirst().orElseThrow());
+    Asset asset = assetRepository.findById(1).orElseThrow();
+    assertEquals(winners.get(0), asset.getName());
+    assertEquals(1L, asset.getVersion());
+  }
+
+  @Test
+  void concurrentTransitions_loserRetriedAndGetsDomainError() throws Exception {
+    CountDownLatch bothRead = new CountDownLatch(2);
+    AtomicInteger attempts = new AtomicInteger();
+
+    List<Object> outcomes =
+        race(
+            List.<Callable<Object>>of(
+                () -> transitions.assign(1, bothRead, attempts),
+                () -> transitions.assign(1, bothRead, attempts)));
+
+    assertEquals(
+        1, outcomes.stream().filter(AssetStatus.ASSIGNED::equals).count(), outcomes::toString);
+    AppException error =
+        (AppException)
+            outcomes.stream().filter(AppException.class::isInstance).findFirst().orElseThrow();
+    assertEquals(HttpStatus.CONFLICT, error.getHttpStatusCode());
+    // both first attempts, then the retry of the loser which sees the asset already assigned
+    assertEquals(3, attempts.get());
+    assertEquals(AssetStatus.ASSIGNED, assetRepository.findById(1).orElseThrow().getStatus());
+  }
+
+  /**
+   * Runs the tasks at the same time, one thread each.
+   *
+   * @return the result of each task, or the exception it failed with
+   */
+  private static List<Object> race(List<Callable<Object>> tasks) throws InterruptedException {
+    ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+    try {
+      List<Future<Object>> futures = new ArrayList<>();
+      tasks.forEach(task -> futures.add(executor.submit(task)));
+      List<Object> outcomes = new ArrayList<>();
+      for (Future<Object> future : futures) {
+        try {
+          outcomes.add(future.get(30, TimeUnit.SECONDS));
+        } catch (ExecutionException e) {
+          outcomes.add(e.getCause());
+        } catch (TimeoutException e) {
+          throw new AssertionError("Race did not finish", e);
+        }
+      }
+      return outcomes;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /** Waits until the other transaction has read the row too; no-op once both have. */
+  private static void awaitOther(CountDownLatch bothRead) {
+    bothRead.countDown();
+    try {
+      if (!bothRead.await(10, TimeUnit.SECONDS)) {
+        throw new IllegalStateException("The other transaction never read the row");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** A transition computed from the state it reads, like accepting an assignment. */
+  static class Transitions {
+    @Autowired private AssetRepository assetRepository;
+
+    @RetryOnConflict
+    @Transactional
+    public AssetStatus assign(int assetId, CountDownLatch bothRead, AtomicInteger attempts) {
+      attempts.incrementAndGet();
+      Asset asset = assetRepository.findById(assetId).orElseThrow();
+      if (asset.getStatus() != AssetStatus.AVAILABLE) {
+        throw new AppException(HttpStatus.CONFLICT, "Asset is not available");
+      }
+      awaitOther(bothRead);
+      asset.setStatus(AssetStatus.ASSIGNED);
+      return assetRepository.saveAndFlush(asset).getStatus();
+    }
+  }
+}
@@ -0,0 +1,138 @@
+package com.rookie.asset_management.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.rookie.asset_management.PostgresTestDatabase;
+import com.rookie.asset_management.repository.projection.CategoryReportView;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+/**
+ * Runs the native report query against PostgreSQL, in a transaction rolled back after. The counts
+ * of the fixture, in category id order:
+ *
+ * <pre>
+ *   id  total  assigned  available  notAvailable  waiting  recycled
+ *   1   9      3         5          1             0        0
+ *   2   5      2         0          0             1        2
+ *   3   5      0         2          3             0        0
+ *   4   5      2         0          0             1        2
+ *   5   0      0         0          0             0        0
+ * </pre>
+ */
+@DataJpaTest(
+    properties = {
+      "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+      "spring.jpa.hibernate.ddl-auto=none"
+    })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Sql({"/sql/postgres-fixture.sql", "/sql/report-fixture.sql"})
+class ReportRepositoryTest {
+
+  @Autowired private ReportRepository reportRepository;
+
+  @DynamicPropertySource
+  static void database(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", PostgresTestDatabase::jdbcUrl);
+    registry.add("spring.datasource.username", () -> "postgres");
+    registry.add("spring.datasource.password", () -> "postgres");
+  }
+
+  @Test
+  void findReportPage_ShouldReturnCountsOfEveryCategory() {
+    List<CategoryReportView> rows = reportRepository.findReportPage("id", "asc", 10, 0);
+
+    assertEquals(List.of(1, 2, 3, 4, 5), rows.stream().map(CategoryReportView::getId).toList());
+    assertCounts(rows.get(0), "Laptop", 9, 3, 5, 1, 0, 0);
+    assertCounts(rows.get(1), "Monitor", 5, 2, 0, 0, 1, 2);
+    assertCounts(rows.get(2), "Personal Computer", 5, 0, 2, 3, 0, 0);
+    assertCounts(rows.get(3), "Tablet", 5, 2, 0, 0, 1, 2);
+    assertCounts(rows.get(4), "Headset", 0, 0, 0, 0, 0, 0);
+    assertTrue(rows.stream().allMatch(row -> row.getTotalElements() == 5L));
+  }
+
+  @Test
+  void findReportPage_ShouldSortById() {
+    assertEquals(List.of(1, 2, 3, 4, 5), ids("id", "asc"));
+    assertEquals(List.of(5, 4, 3, 2, 1), ids("id", "desc"));
+  }
+
+  @Test
+  void findReportPage_ShouldSortByTotalBreakingTiesById() {
+    assertEquals(List.of(5, 2, 3, 4, 1), ids("total", "asc"));
+    assertEquals(List.of(1, 2, 3, 4, 5), ids("total", "desc"));
+  }
+
+  @Test
+  void findReportPage_ShouldSortByAssigned() {
+    assertEquals(List.of(3, 5, 2, 4, 1), ids("assigned", "asc"));
+    assertEquals(List.of(1, 2, 4, 3, 5), ids("assigned", "desc"));
+  }
+
+  @Test
+  void findReportPage_ShouldSortByAvailable() {
+    assertEquals(List.of(2, 4, 5, 3, 1), ids("available", "asc"));
+    assertEquals(List.of(1, 3, 2, 4, 5), ids("available", "desc"));
+  }
+
+  @Test
+  void findReportPage_ShouldSortByNotAvailable() {
+    assertEquals(List.of(2, 4, 5, 1, 3), ids("notavailable", "asc"));
+    assertEquals(List.of(3, 1, 2, 4, 5), ids("notavailable", "desc"));
+  }
+
+  @Test
+  void findReportPage_ShouldSortByWaitingAndRecycled() {
+    assertEquals(List.of(1, 3, 5, 2, 4), ids("waiting", "asc"));
+    assertEquals(List.of(2, 4, 1, 3, 5), ids("waiting", "desc"));
+    assertEquals(List.of(1, 3, 5, 2, 4), ids("recycled", "asc"));
+    assertEquals(List.of(2, 4, 1, 3, 5), ids("recycled", "desc"));
+  }
+
+  @Test
+  void findReportPage_ShouldPageAndKeepTheWindowTotal() {
+    List<CategoryReportView> page = reportRepository.findReportPage("total", "desc", 2, 2);
+
+    assertEquals(List.of(3, 4), page.stream().map(CategoryReportView::getId).toList());
+    assertTrue(page.stream().allMatch(row -> row.getTotalElements() == 5L));
+  }
+
+  @Test
+  void findReportPage_ShouldReturnNoRowsPastTheLastPage() {
+    assertTrue(reportRepository.findReportPage("id", "asc", 10, 10).isEmpty());
+    assertEquals(5L, reportRepository.countCategories());
+  }
+
+  private List<Integer> ids(String sortKey, String sortDir) {
+    return reportRepository.findReportPage(sortKey, sortDir, 10, 0).stream()
+        .map(CategoryReportView::getId)
+        .toList();
+  }
+
+  private static void assertCounts(
+      CategoryReportView row,
+      String category,
+      long total,
+      long assigned,
+      long available,
+      long notAvailable,
+      long waiting,
+      long recycled) {
+    assertEquals(category, row.getCategory());
+    assertEquals(total, row.getTotal());
+    assertEquals(assigned, row.getAssigned());
+    assertEquals(available, row.getAvailable());
+    assertEquals(notAvailable, row.getNotAvailable());
+    assertEquals(waiting, row.getWaiting());
+    assertEquals(recycled, row.getRecycled());
+  }
+}
@@ -0,0 +1,96 @@
+package com.rookie.asset_management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.rookie.asset_management.exception.AppException;
+import com.rookie.asset_management.service.impl.handler.AssetImportReader;
+import com.rookie.asset_management.service.impl.handler.AssetImportReader.Row;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+
+class AssetImportReaderTest {
+
+  private final AssetImportReader reader = new AssetImportReader();
+
+  @Test
+  void read_csv_mapsColumnsByHeaderAndHandlesQuotes() {
+    String csv =
+        "\uFEFFState,Name,Category,Specification,Installed date\r\n"
+            + "Available,Laptop HP,LA,\"Core i5, 8GB\",2025-01-15\r\n"
+            + "\r\n"
+            + "Not available,\"Monitor \"\"27\"\"\",Monitor,\"Line 1\nLine 2\",15-01-2025";
+
+    List<Row> rows = read("assets.csv", csv.getBytes(StandardCharsets.UTF_8));
+
+    assertEquals(
+        List.of(
+            new Row(2, "Laptop HP", "LA", "Core i5, 8GB", "2025-01-15", "Available"),
+            new Row(
+                4, "Monitor \"27\"", "Monitor", "Line 1\nLine 2", "15-01-2025", "Not available")),
+        rows);
+  }
+
+  @Test
+  void read_xlsx_formatsDateCellsAsIsoDates() throws Exception {
+    byte[] content;
+    try (XSSFWorkbook workbook = new XSSFWorkbook();
+        ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+      CellStyle dateStyle = workbook.createCellStyle();
+      dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("d/m/yy"));
+      Sheet sheet = workbook.createSheet();
+      String[] header = {"Name", "Category", "Specification", "Installed Date", "State"};
+      var headerRow = sheet.createRow(0);
+      for (int i = 0; i < header.length; i++) {
+        headerRow.createCell(i).setCellValue(header[i]);
+      }
+      var row = sheet.createRow(2);
+      row.createCell(0).setCellValue("Laptop HP");
+      row.createCell(1).setCellValue("Laptop");
+      row.createCell(2).setCellValue("Core i5");
+      row.createCell(3).setCellValue(LocalDate.of(2025, 1, 15));
+      row.getCell(3).setCellStyle(dateStyle);
+      row.createCell(4).setCellValue("AVAILABLE");
+      workbook.write(out);
+      content = out.toByteArray();
+    }
+
+    assertEquals(
+        List.of(new Row(3, "Laptop HP", "Laptop", "Core i5", "2025-01-15", "AVAILABLE")),
+        read("assets.xlsx", content));
+  }
+
+  @Test
+  void read_missingColumn_badRequest() {
+    AppException exception =
+        assertThrows(
+            AppException.class,
+            () -> read("assets.csv", "Name,Category\nLaptop,LA".getBytes(StandardCharsets.UTF_8)));
+
+    assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatusCode());
+    assertEquals("Missing column(s): Installed Date, Specification, State", exception.getMessage());
+  }
+
+  @Test
+  void read_otherFileType_badRequest() {
+    AppException exception =
+        assertThrows(AppException.class, () -> read("assets.xls", new byte[] {1, 2, 3}));
+
+    assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatusCode());
+  }
+
+  private List<Row> read(String filename, byte[] content) {
+    List<Row> rows = new ArrayList<>();
+    reader.read(new MockMultipartFile("file", filename, null, content), rows::add);
+    return rows;
+  }
+}
@@ -0,0 +1,200 @@
+package com.rookie.asset_management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.rookie.asset_management.dto.response.asset.AssetImportDtoResponse;
+import com.rookie.asset_management.entity.Asset;
+import com.rookie.asset_management.entity.Category;
+import com.rookie.asset_management.entity.Location;
+import com.rookie.asset_management.entity.User;
+import com.rookie.asset_management.enums.AssetStatus;
+import com.rookie.asset_management.enums.BulkMode;
+import com.rookie.asset_management.exception.AppException;
+import com.rookie.asset_management.repository.AssetRepository;
+import com.rookie.asset_management.repository.CategoryRepository;
+import com.rookie.asset_management.service.impl.AssetImportServiceImpl;
+import com.rookie.asset_management.service.impl.handler.AssetBatchWriter;
+import com.rookie.asset_management.service.impl.handler.AssetImportReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+@ExtendWith(MockitoExtension.class)
+class AssetImportServiceTest {
+  private static final String HEADER = "Name,Category,Specification,Installed Date,State\n";
+
+  @Mock private AssetRepository assetRepository;
+
+  @Mock private CategoryRepository categoryRepository;
+
+  @Mock private CurrentUserService currentUserService;
+
+  @Mock private AssetStatusCounterService assetStatusCounterService;
+
+  @Mock private AssetBatchWriter assetBatchWriter;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private AssetImportServiceImpl assetImportService;
+
+  private Location location;
+
+  /** The assets of each batch, copied since the service reuses its list. */
+  private final List<List<Asset>> batches = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    assetImportService =
+        new AssetImportServiceImpl(
+            assetRepository,
+            categoryRepository,
+            currentUserService,
+            assetStatusCounterService,
+            new AssetImportReader(),
+            assetBatchWriter,
+            transactionManager,
+            2,
+            6);
+
+    location = new Location();
+    location.setId(1);
+    User admin = new User();
+    admin.setId(7);
+    admin.setLocation(location);
+    Category laptop = new Category();
+    laptop.setId(3);
+    laptop.setName("Laptop");
+    laptop.setPrefix("LA");
+
+    when(currentUserService.getCurrentUser()).thenReturn(admin);
+    when(categoryRepository.findAll()).thenReturn(List.of(laptop));
+    when(assetRepository.findActiveNamesByLocation(location)).thenReturn(List.of("Laptop Dell"));
+    when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+  }
+
+  @Test
+  void importAssets_validRows_insertedInBatches() {
+    doAnswer(
+            invocation -> {
+              batches.add(List.copyOf(invocation.<List<Asset>>getArgument(0)));
+              return null;
+            })
+        .when(assetBatchWriter)
+        .insert(anyList());
+
+    AssetImportDtoResponse result =
+        importCsv(
+            BulkMode.ALL_OR_NOTHING,
+            "Laptop HP,LA,Core i5,2025-01-15,Available",
+            "Laptop Asus,laptop,Core i7,15-01-2025,NOT_AVAILABLE",
+            "Laptop Acer,Laptop,Core i3,15/01/2025,not available");
+
+    assertEquals(3, result.getImported());
+    assertEquals(0, result.getFailed());
+    assertEquals(List.of(2, 1), batches.stream().map(List::size).toList());
+    Asset asus = batches.get(0).get(1);
+    assertEquals("Laptop Asus", asus.getName());
+    assertEquals(3, asus.getCategory().getId());
+    assertEquals(location, asus.getLocation());
+    assertEquals(7, asus.getCreatedBy().getId());
+    assertEquals(LocalDate.of(2025, 1, 15), asus.getInstalledDate());
+    assertEquals(AssetStatus.NOT_AVAILABLE, asus.getStatus());
+    verify(transactionManager).commit(any());
+  }
+
+  @Test
+  void importAssets_bestEffort_importsValidRowsAndReportsOthers() {
+    AssetImportDtoResponse result =
+        importCsv(
+            BulkMode.BEST_EFFORT,
+            "Laptop HP,LA,Core i5,2025-01-15,Available",
+            "Laptop HP,LA,Core i5,2025-01-15,Available",
+            "Laptop Dell,LA,Core i5,2025-01-15,Available",
+            "Phone,PH,Android,2025-01-15,Available",
+            "Laptop Asus,LA,Core i7,January 15,Available",
+            ",LA,Core i7,2025-01-15,Recycled");
+
+    assertEquals(6, result.getTotalRows());
+    assertEquals(1, result.getImported());
+    assertEquals(5, result.getFailed());
+    assertEquals(
+        List.of(3, 4, 5, 6, 7),
+        result.getErrors().stream().map(AssetImportDtoResponse.RowError::getRow).toList());
+    assertEquals(
+        List.of(
+            "Asset name already exists in this location and is active",
+            "Asset name already exists in this location and is active",
+            "Category not found: PH",
+            "Installed date must be formatted as yyyy-MM-dd or dd-MM-yyyy",
+            "Asset name is required"),
+        result.getErrors().stream().map(AssetImportDtoResponse.RowError::getMessage).toList());
+    verify(assetStatusCounterService).recordAllCreated(anyList());
+    verify(transactionManager).commit(any());
+  }
+
+  @Test
+  void importAssets_allOrNothing_rejectedRow_rollsBack() {
+    AssetImportDtoResponse result =
+        importCsv(
+            BulkMode.ALL_OR_NOTHING,
+            "Laptop HP,LA,Core i5,2025-01-15,Available",
+            "Laptop Asus,LA,Core i7,2025-01-15,Available",
+            "Laptop Acer,LA,,2025-01-15,Available",
+            "Laptop Lenovo,LA,Core i7,2025-01-15,Available");
+
+    assertEquals(0, result.getImported());
+    assertEquals(1, result.getFailed());
+    assertEquals("Specification is required", result.getErrors().get(0).getMessage());
+    // the first batch was written before the rejected row, the rollback discards it
+    verify(assetBatchWriter).insert(anyList());
+    verify(transactionManager).commit(argThat(TransactionStatus::isRollbackOnly));
+  }
+
+  @Test
+  void importAssets_tooManyRows_badRequest() {
+    AppException exception =
+        assertThrows(
+            AppException.class,
+            () ->
+                importCsv(
+                    BulkMode.BEST_EFFORT,
+                    "A,LA,x,2025-01-15,Available",
+                    "B,LA,x,2025-01-15,Available",
+                    "C,LA,x,2025-01-15,Available",
+                    "D,LA,x,2025-01-15,Available",
+                    "E,LA,x,2025-01-15,Available",
+                    "F,LA,x,2025-01-15,Available",
+                    "G,LA,x,2025-01-15,Available"));
+
+    assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatusCode());
+    verify(transactionManager).rollback(any());
+    verify(transactionManager, never()).commit(any());
+  }
+
+  private AssetImportDtoResponse importCsv(BulkMode mode, String... rows) {
+    String csv = HEADER + String.join("\n", rows);
+    return assetImportService.importAssets(
+        new MockMultipartFile(
+            "file", "assets.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)),
+        mode);
+  }
+}
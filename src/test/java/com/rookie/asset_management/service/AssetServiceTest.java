@@ -59,6 +59,7 @@ class AssetServiceTest {
 
   @Mock private AssetRepository assetRepository;
   @Mock private AssetMapper assetMapper;
+  @Mock private AssetStatusCounterService assetStatusCounterService;
   @InjectMocks private AssetServiceImpl assetService;
 
   private Asset asset;
@@ -436,6 +437,7 @@ class AssetServiceTest {
         .save(
             any(Asset.class)); // Called twice: first for ID generation, second for assetCode update
     verify(assetMapper, times(1)).toCreationDto(any(Asset.class));
+    verify(assetStatusCounterService, times(1)).recordCreated(any(Asset.class));
   }
 
   @Test
@@ -636,6 +638,7 @@ class AssetServiceTest {
     verify(assetRepository, times(1))
         .findByNameAndLocationAndIdNot("Updated Laptop", location, assetId);
     verify(assetRepository, times(1)).save(asset);
+    verify(assetStatusCounterService, times(1)).recordStatusChange(asset, AssetStatus.AVAILABLE);
   }
 
   @Test
@@ -1071,6 +1074,7 @@ class AssetServiceTest {
 
     assertTrue(asset.getDisabled());
     verify(assetRepository, Mockito.times(1)).save(asset);
+    verify(assetStatusCounterService, times(1)).recordRemoved(asset);
   }
 
   @Test
@@ -0,0 +1,196 @@
+package com.rookie.asset_management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.rookie.asset_management.entity.Asset;
+import com.rookie.asset_management.entity.Category;
+import com.rookie.asset_management.entity.Location;
+import com.rookie.asset_management.enums.AssetStatus;
+import com.rookie.asset_management.repository.AssetRepository;
+import com.rookie.asset_management.repository.CategoryStatusCountRepository;
+import com.rookie.asset_management.repository.projection.AssetStatusCountView;
+import com.rookie.asset_management.service.impl.AssetStatusCounterServiceImpl;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AssetStatusCounterServiceTest {
+  @Mock private CategoryStatusCountRepository categoryStatusCountRepository;
+
+  @Mock private AssetRepository assetRepository;
+
+  @InjectMocks private AssetStatusCounterServiceImpl assetStatusCounterService;
+
+  private Asset asset;
+
+  @BeforeEach
+  void setUp() {
+    Location location = new Location();
+    location.setId(1);
+    Category category = new Category();
+    category.setId(2);
+
+    asset = new Asset();
+    asset.setId(10);
+    asset.setLocation(location);
+    asset.setCategory(category);
+  }
+
+  @Test
+  @DisplayName("recordCreated should increment the counter of the new asset status")
+  void recordCreated_ShouldIncrementCounter() {
+    asset.setStatus(AssetStatus.AVAILABLE);
+
+    assetStatusCounterService.recordCreated(asset);
+
+    verify(categoryStatusCountRepository).increment(1, 2, "AVAILABLE", 1);
+  }
+
+  @Test
+  @DisplayName("recordAllCreated should increment each counter once, in a stable order")
+  void recordAllCreated_ShouldIncrementEachCounterOnce() {
+    asset.setStatus(AssetStatus.NOT_AVAILABLE);
+    Asset second = new Asset();
+    second.setLocation(asset.getLocation());
+    second.setCategory(asset.getCategory());
+    second.setStatus(AssetStatus.AVAILABLE);
+    Asset third = new Asset();
+    third.setLocation(asset.getLocation());
+    third.setCategory(asset.getCategory());
+    third.setStatus(AssetStatus.AVAILABLE);
+
+    assetStatusCounterService.recordAllCreated(List.of(asset, second, third));
+
+    InOrder order = inOrder(categoryStatusCountRepository);
+    order.verify(categoryStatusCountRepository).increment(1, 2, "AVAILABLE", 2);
+    order.verify(categoryStatusCountRepository).increment(1, 2, "NOT_AVAILABLE", 1);
+    order.verifyNoMoreInteractions();
+  }
+
+  @Test
+  @DisplayName("recordRemoved should decrement the counter of the removed asset status")
+  void recordRemoved_ShouldDecrementCounter() {
+    asset.setStatus(AssetStatus.NOT_AVAILABLE);
+
+    assetStatusCounterService.recordRemoved(asset);
+
+    verify(categoryStatusCountRepository).increment(1, 2, "NOT_AVAILABLE", -1);
+  }
+
+  @Test
+  @DisplayName("recordStatusChange should move one asset between counters in a stable order")
+  void recordStatusChange_ShouldMoveAssetBetweenCounters() {
+    asset.setStatus(AssetStatus.AVAILABLE);
+
+    assetStatusCounterService.recordStatusChange(asset, AssetStatus.ASSIGNED);
+
+    // AVAILABLE is declared before ASSIGNED, so it is always written first
+    InOrder order = inOrder(categoryStatusCountRepository);
+    order.verify(categoryStatusCountRepository).increment(1, 2, "AVAILABLE", 1);
+    order.verify(categoryStatusCountRepository).increment(1, 2, "ASSIGNED", -1);
+  }
+
+  @Test
+  @DisplayName("recordStatusChange should not write anything when the status is unchanged")
+  void recordStatusChange_ShouldIgnoreUnchangedStatus() {
+    asset.setStatus(AssetStatus.WAITING);
+
+    assetStatusCounterService.recordStatusChange(asset, AssetStatus.WAITING);
+
+    verify(categoryStatusCountRepository, never())
+        .increment(anyInt(), anyInt(), anyString(), anyLong());
+  }
+
+  @Test
+  @DisplayName("getCountsByCategory should sum the counters of every location")
+  void getCountsByCategory_ShouldSumLocations() {
+    when(categoryStatusCountRepository.findAllCounts())
+        .thenReturn(
+            List.of(
+                view(1, 2, AssetStatus.AVAILABLE, 3),
+                view(2, 2, AssetStatus.AVAILABLE, 4),
+                view(1, 3, AssetStatus.RECYCLED, 1)));
+
+    Map<Integer, Map<AssetStatus, Long>> counts = assetStatusCounterService.getCountsByCategory();
+
+    assertEquals(7L, counts.get(2).get(AssetStatus.AVAILABLE));
+    assertEquals(1L, counts.get(3).get(AssetStatus.RECYCLED));
+  }
+
+  @Test
+  @DisplayName("reconcile should overwrite drifted counters and zero out stale ones")
+  void reconcile_ShouldRepairDrift() {
+    when(assetRepository.countActiveGroupedByLocationCategoryAndStatus())
+        .thenReturn(
+            List.of(
+                view(1, 2, AssetStatus.AVAILABLE, 5),
+                view(1, 2, AssetStatus.ASSIGNED, 2),
+                view(1, 3, AssetStatus.WAITING, 1)));
+    when(categoryStatusCountRepository.findAllCounts())
+        .thenReturn(
+            List.of(
+                view(1, 2, AssetStatus.AVAILABLE, 5),
+                view(1, 2, AssetStatus.ASSIGNED, 3),
+                view(1, 2, AssetStatus.RECYCLED, 1)));
+
+    int repaired = assetStatusCounterService.reconcile();
+
+    assertEquals(3, repaired);
+    verify(categoryStatusCountRepository).overwrite(1, 2, "ASSIGNED", 2);
+    verify(categoryStatusCountRepository).overwrite(1, 3, "WAITING", 1);
+    verify(categoryStatusCountRepository).overwrite(1, 2, "RECYCLED", 0);
+    verify(categoryStatusCountRepository, never()).overwrite(1, 2, "AVAILABLE", 5);
+  }
+
+  @Test
+  @DisplayName("reconcile should not write anything when counters are consistent")
+  void reconcile_ShouldDoNothingWhenConsistent() {
+    List<AssetStatusCountView> rows = List.of(view(1, 2, AssetStatus.AVAILABLE, 5));
+    when(assetRepository.countActiveGroupedByLocationCategoryAndStatus()).thenReturn(rows);
+    when(categoryStatusCountRepository.findAllCounts()).thenReturn(rows);
+
+    assertEquals(0, assetStatusCounterService.reconcile());
+    verify(categoryStatusCountRepository, never())
+        .overwrite(anyInt(), anyInt(), anyString(), anyLong());
+  }
+
+  private static AssetStatusCountView view(
+      Integer locationId, Integer categoryId, AssetStatus status, long count) {
+    return new AssetStatusCountView() {
+      @Override
+      public Integer getLocationId() {
+        return locationId;
+      }
+
+      @Override
+      public Integer getCategoryId() {
+        return categoryId;
+      }
+
+      @Override
+      public AssetStatus getStatus() {
+        return status;
+      }
+
+      @Override
+      public Long getCount() {
+        return count;
+      }
+    };
+  }
+}
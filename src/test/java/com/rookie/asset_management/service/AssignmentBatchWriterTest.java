@@ -0,0 +1,126 @@
+package com.rookie.asset_management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.rookie.asset_management.PostgresTestDatabase;
+import com.rookie.asset_management.entity.Asset;
+import com.rookie.asset_management.entity.Assignment;
+import com.rookie.asset_management.entity.User;
+import com.rookie.asset_management.enums.AssignmentStatus;
+import com.rookie.asset_management.repository.AssetRepository;
+import com.rookie.asset_management.repository.AssignmentRepository;
+import com.rookie.asset_management.service.impl.handler.AssignmentBatchWriter;
+import com.rookie.asset_management.util.ConstraintViolations;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+/** Runs the bulk assignment statements against PostgreSQL, in a transaction rolled back after. */
+@DataJpaTest(
+    properties = {
+      "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+      "spring.jpa.hibernate.ddl-auto=none"
+    })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Sql({"/sql/postgres-fixture.sql", "/sql/assignment-bulk-fixture.sql"})
+@Import(AssignmentBatchWriter.class)
+class AssignmentBatchWriterTest {
+
+  @Autowired private AssignmentBatchWriter assignmentBatchWriter;
+
+  @Autowired private AssetRepository assetRepository;
+
+  @Autowired private AssignmentRepository assignmentRepository;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @DynamicPropertySource
+  static void database(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", PostgresTestDatabase::jdbcUrl);
+    registry.add("spring.datasource.username", () -> "postgres");
+    registry.add("spring.datasource.password", () -> "postgres");
+  }
+
+  @Test
+  void insert_setsGeneratedIdsInInsertionOrder() {
+    List<Assignment> assignments = List.of(assignment(1, "first"), assignment(3, null));
+
+    assignmentBatchWriter.insert(assignments);
+
+    Integer firstId = assignments.get(0).getId();
+    Integer secondId = assignments.get(1).getId();
+    assertNotNull(firstId);
+    assertNotNull(secondId);
+    assertTrue(firstId < secondId);
+    assertEquals(
+        1,
+        jdbcTemplate.queryForObject(
+            "SELECT asset_id FROM assignments WHERE id = ? AND status = 'WAITING'",
+            Integer.class,
+            firstId));
+    assertEquals(
+        3,
+        jdbcTemplate.queryForObject(
+            "SELECT asset_id FROM assignments WHERE id = ?", Integer.class, secondId));
+  }
+
+  @Test
+  void insert_secondWaitingAssignment_violatesTheWaitingAssetIndex() {
+    DataIntegrityViolationException e =
+        assertThrows(
+            DataIntegrityViolationException.class,
+            () -> assignmentBatchWriter.insert(List.of(assignment(4, null))));
+
+    assertTrue(ConstraintViolations.isViolationOf(e, "ux_assignments_waiting_asset"));
+    assertFalse(ConstraintViolations.isViolationOf(e, "users_username_key"));
+  }
+
+  @Test
+  void findAssetIdsWithWaitingAssignment_ignoresDeletedAssignments() {
+    assertEquals(
+        List.of(4), assignmentRepository.findAssetIdsWithWaitingAssignment(List.of(1, 4, 5)));
+  }
+
+  @Test
+  void reserveAllForAssignment_onlyAssignableAssetsOfTheLocation() {
+    assertEquals(
+        Set.of(1, 5),
+        Set.copyOf(assetRepository.reserveAllForAssignment(List.of(1, 2, 3, 4, 5), 1)));
+    assertEquals(
+        List.of(1L, 0L, 0L, 0L, 1L),
+        jdbcTemplate.queryForList("SELECT version FROM assets ORDER BY id", Long.class));
+  }
+
+  private static Assignment assignment(int assetId, String note) {
+    Asset asset = new Asset();
+    asset.setId(assetId);
+    User assigner = new User();
+    assigner.setId(1);
+    User assignee = new User();
+    assignee.setId(2);
+    return Assignment.builder()
+        .asset(asset)
+        .assignedBy(assigner)
+        .assignedTo(assignee)
+        .assignedDate(LocalDate.now())
+        .note(note)
+        .status(AssignmentStatus.WAITING)
+        .build();
+  }
+}
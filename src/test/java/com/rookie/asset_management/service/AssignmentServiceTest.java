@@ -2,18 +2,24 @@ package com.rookie.asset_management.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.rookie.asset_management.dto.request.assignment.BulkCreateAssignmentRequest;
 import com.rookie.asset_management.dto.request.assignment.CreateUpdateAssignmentRequest;
 import com.rookie.asset_management.dto.response.ApiDtoResponse;
 import com.rookie.asset_management.dto.response.assignment.AssignmentDetailDtoResponse;
 import com.rookie.asset_management.dto.response.assignment.AssignmentListDtoResponse;
 import com.rookie.asset_management.dto.response.assignment.AssignmentStatusResponse;
+import com.rookie.asset_management.dto.response.assignment.BulkAssignmentDtoResponse;
+import com.rookie.asset_management.dto.response.assignment.BulkAssignmentDtoResponse.ItemStatus;
 import com.rookie.asset_management.dto.response.assignment.MyAssignmentDtoResponse;
 import com.rookie.asset_management.entity.Asset;
 import com.rookie.asset_management.entity.Assignment;
@@ -22,35 +28,36 @@ import com.rookie.asset_management.entity.Role;
 import com.rookie.asset_management.entity.User;
 import com.rookie.asset_management.enums.AssetStatus;
 import com.rookie.asset_management.enums.AssignmentStatus;
+import com.rookie.asset_management.enums.BulkMode;
 import com.rookie.asset_management.exception.AppException;
 import com.rookie.asset_management.mapper.AssignmentMapper;
 import com.rookie.asset_management.repository.AssetRepository;
 import com.rookie.asset_management.repository.AssignmentRepository;
 import com.rookie.asset_management.repository.UserRepository;
 import com.rookie.asset_management.service.impl.AssignmentServiceImpl;
+import com.rookie.asset_management.service.impl.handler.AssignmentBatchWriter;
 import com.rookie.asset_management.service.impl.handler.NotificationCreatorImpl;
-import jakarta.persistence.EntityManager;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
-import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -66,9 +73,11 @@ class AssignmentServiceTest {
 
   @Mock private AssetRepository assetRepository;
 
-  @Mock private JwtService jwtService;
+  @Mock private CurrentUserService currentUserService;
 
-  @Mock private EntityManager entityManager;
+  @Mock private AssetStatusCounterService assetStatusCounterService;
+
+  @Mock private AssignmentBatchWriter assignmentBatchWriter;
 
   @InjectMocks private AssignmentServiceImpl assignmentService;
 
@@ -114,28 +123,22 @@ class AssignmentServiceTest {
         .when(notificationCreator)
         .createAssignmentNotification(any(User.class), any(User.class), any(Assignment.class));
     when(userRepository.findById(1)).thenReturn(Optional.of(assignee));
-    when(assetRepository.findById(1)).thenReturn(Optional.of(asset));
-    when(jwtService.extractUsername()).thenReturn("assigner");
-    when(userRepository.findByUsername("assigner")).thenReturn(Optional.of(assigner));
-    when(assignmentRepository.save(any(Assignment.class))).thenReturn(assignment);
+    when(assetRepository.reserveForAssignment(1, 1)).thenReturn(1);
+    when(assetRepository.getReferenceById(1)).thenReturn(asset);
+    when(currentUserService.getCurrentUser()).thenReturn(assigner);
+    when(assignmentRepository.saveAndFlush(any(Assignment.class))).thenReturn(assignment);
     when(assignmentMapper.toDto(any(Assignment.class))).thenReturn(response);
 
-    AssignmentListDtoResponse result;
-
-    // Mock TransactionSynchronizationManager behavior
-    try (MockedStatic<TransactionSynchronizationManager> mockedStatic =
-        Mockito.mockStatic(TransactionSynchronizationManager.class)) {
-      mockedStatic
-          .when(() -> TransactionSynchronizationManager.registerSynchronization(any()))
-          .thenAnswer(invocation -> null);
-
-      // Act
-      result = assignmentService.createAssignment(request);
-    }
+    // Act
+    AssignmentListDtoResponse result = assignmentService.createAssignment(request);
 
     // Assert
     assertNotNull(result);
-    verify(assignmentRepository, times(1)).save(any(Assignment.class));
+    verify(assignmentRepository, times(1)).saveAndFlush(any(Assignment.class));
+    verify(assetRepository, never()).findById(any());
+    verify(assignmentRepository, never())
+        .existsByAssetAndStatusAndDeletedFalse(any(Asset.class), any(AssignmentStatus.class));
+    verify(notificationCreator).createAssignmentNotification(assigner, assignee, assignment);
   }
 
   @Test
@@ -160,10 +163,20 @@ class AssignmentServiceTest {
     request.setUserId(1);
     request.setAssetId(1);
 
+    Location location = new Location();
+    location.setId(1);
+
     User assignee = new User();
     assignee.setId(1);
+    assignee.setLocation(location);
+
+    User assigner = new User();
+    assigner.setId(2);
+    assigner.setLocation(location);
 
     when(userRepository.findById(1)).thenReturn(Optional.of(assignee));
+    when(currentUserService.getCurrentUser()).thenReturn(assigner);
+    when(assetRepository.reserveForAssignment(1, 1)).thenReturn(0);
     when(assetRepository.findById(1)).thenReturn(Optional.empty());
 
     // Act & Assert
@@ -192,7 +205,13 @@ class AssignmentServiceTest {
     asset.setStatus(AssetStatus.ASSIGNED);
     asset.setLocation(location);
 
+    User assigner = new User();
+    assigner.setId(2);
+    assigner.setLocation(location);
+
     when(userRepository.findById(1)).thenReturn(Optional.of(assignee));
+    when(currentUserService.getCurrentUser()).thenReturn(assigner);
+    when(assetRepository.reserveForAssignment(1, 1)).thenReturn(0);
     when(assetRepository.findById(1)).thenReturn(Optional.of(asset));
 
     // Act & Assert
@@ -230,8 +249,7 @@ class AssignmentServiceTest {
 
     when(userRepository.findById(1)).thenReturn(Optional.of(assignee));
     when(assetRepository.findById(1)).thenReturn(Optional.of(asset));
-    when(jwtService.extractUsername()).thenReturn("assigner");
-    when(userRepository.findByUsername("assigner")).thenReturn(Optional.of(assigner));
+    when(currentUserService.getCurrentUser()).thenReturn(assigner);
 
     // Act & Assert
     AppException exception =
@@ -240,6 +258,109 @@ class AssignmentServiceTest {
     assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatusCode());
   }
 
+  @Test
+  void createAssignment_AssetHasWaitingAssignment_ThrowsException() {
+    // Arrange
+    CreateUpdateAssignmentRequest request = new CreateUpdateAssignmentRequest();
+    request.setUserId(1);
+    request.setAssetId(1);
+
+    Location location = new Location();
+    location.setId(1);
+
+    User assignee = new User();
+    assignee.setId(1);
+    assignee.setLocation(location);
+
+    User assigner = new User();
+    assigner.setId(2);
+    assigner.setLocation(location);
+
+    Asset asset = new Asset();
+    asset.setId(1);
+    asset.setStatus(AssetStatus.AVAILABLE);
+    asset.setLocation(location);
+
+    when(userRepository.findById(1)).thenReturn(Optional.of(assignee));
+    when(currentUserService.getCurrentUser()).thenReturn(assigner);
+    when(assetRepository.reserveForAssignment(1, 1)).thenReturn(0);
+    when(assetRepository.findById(1)).thenReturn(Optional.of(asset));
+
+    // Act & Assert
+    AppException exception =
+        assertThrows(AppException.class, () -> assignmentService.createAssignment(request));
+    assertEquals("Asset already has a waiting assignment", exception.getMessage());
+    assertEquals(HttpStatus.CONFLICT, exception.getHttpStatusCode());
+    verify(assignmentRepository, never()).saveAndFlush(any(Assignment.class));
+  }
+
+  @Test
+  void createAssignment_ConcurrentWaitingAssignment_ThrowsException() {
+    // Arrange: the reservation passed but another admin inserted a waiting assignment meanwhile
+    CreateUpdateAssignmentRequest request = new CreateUpdateAssignmentRequest();
+    request.setUserId(1);
+    request.setAssetId(1);
+
+    Location location = new Location();
+    location.setId(1);
+
+    User assignee = new User();
+    assignee.setId(1);
+    assignee.setLocation(location);
+
+    User assigner = new User();
+    assigner.setId(2);
+    assigner.setLocation(location);
+
+    when(userRepository.findById(1)).thenReturn(Optional.of(assignee));
+    when(currentUserService.getCurrentUser()).thenReturn(assigner);
+    when(assetRepository.reserveForAssignment(1, 1)).thenReturn(1);
+    when(assetRepository.getReferenceById(1)).thenReturn(new Asset());
+    when(assignmentRepository.saveAndFlush(any(Assignment.class)))
+        .thenThrow(constraintViolation("ux_assignments_waiting_asset"));
+
+    // Act & Assert
+    AppException exception =
+        assertThrows(AppException.class, () -> assignmentService.createAssignment(request));
+    assertEquals("Asset already has a waiting assignment", exception.getMessage());
+    assertEquals(HttpStatus.CONFLICT, exception.getHttpStatusCode());
+    verify(notificationCreator, never())
+        .createAssignmentNotification(any(User.class), any(User.class), any(Assignment.class));
+  }
+
+  @Test
+  void createAssignment_OtherConstraintViolated_Rethrown() {
+    // Arrange: the insert failed on another constraint, which is not a concurrent assignment
+    CreateUpdateAssignmentRequest request = new CreateUpdateAssignmentRequest();
+    request.setUserId(1);
+    request.setAssetId(1);
+
+    Location location = new Location();
+    location.setId(1);
+
+    User assignee = new User();
+    assignee.setId(1);
+    assignee.setLocation(location);
+
+    User assigner = new User();
+    assigner.setId(2);
+    assigner.setLocation(location);
+
+    when(userRepository.findById(1)).thenReturn(Optional.of(assignee));
+    when(currentUserService.getCurrentUser()).thenReturn(assigner);
+    when(assetRepository.reserveForAssignment(1, 1)).thenReturn(1);
+    when(assetRepository.getReferenceById(1)).thenReturn(new Asset());
+    DataIntegrityViolationException violation = constraintViolation("fk_assignments_assigned_to");
+    when(assignmentRepository.saveAndFlush(any(Assignment.class))).thenThrow(violation);
+
+    // Act & Assert
+    DataIntegrityViolationException exception =
+        assertThrows(
+            DataIntegrityViolationException.class,
+            () -> assignmentService.createAssignment(request));
+    assertSame(violation, exception);
+  }
+
   @Test
   void editAssignment_Success() {
     // Arrange
@@ -285,7 +406,7 @@ class AssignmentServiceTest {
     when(assignmentRepository.existsByAssetAndStatusAndDeletedFalse(
             newAsset, AssignmentStatus.WAITING))
         .thenReturn(false);
-    when(assignmentRepository.save(any(Assignment.class))).thenReturn(existingAssignment);
+    when(assignmentRepository.saveAndFlush(any(Assignment.class))).thenReturn(existingAssignment);
     when(assignmentMapper.toDto(any(Assignment.class))).thenReturn(response);
 
     // Act
@@ -293,7 +414,7 @@ class AssignmentServiceTest {
 
     // Assert
     assertNotNull(result);
-    verify(assignmentRepository, times(1)).save(any(Assignment.class));
+    verify(assignmentRepository, times(1)).saveAndFlush(any(Assignment.class));
     assertEquals(newAssignee, existingAssignment.getAssignedTo());
     assertEquals(newAsset, existingAssignment.getAsset());
     assertEquals(request.getNote(), existingAssignment.getNote());
@@ -337,7 +458,7 @@ class AssignmentServiceTest {
     when(assignmentRepository.findById(assignmentId)).thenReturn(Optional.of(existingAssignment));
     when(userRepository.findById(2)).thenReturn(Optional.of(newAssignee));
     when(assetRepository.findById(1)).thenReturn(Optional.of(asset));
-    when(assignmentRepository.save(any(Assignment.class))).thenReturn(existingAssignment);
+    when(assignmentRepository.saveAndFlush(any(Assignment.class))).thenReturn(existingAssignment);
     when(assignmentMapper.toDto(any(Assignment.class))).thenReturn(response);
 
     // Act
@@ -345,7 +466,7 @@ class AssignmentServiceTest {
 
     // Assert
     assertNotNull(result);
-    verify(assignmentRepository, times(1)).save(any(Assignment.class));
+    verify(assignmentRepository, times(1)).saveAndFlush(any(Assignment.class));
     // Should not check for waiting assignment since it's the same asset
     verify(assignmentRepository, times(0))
         .existsByAssetAndStatusAndDeletedFalse(any(Asset.class), any(AssignmentStatus.class));
@@ -591,7 +712,7 @@ class AssignmentServiceTest {
         assertThrows(
             AppException.class, () -> assignmentService.editAssignment(assignmentId, request));
     assertEquals("Asset already has a waiting assignment", exception.getMessage());
-    assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatusCode());
+    assertEquals(HttpStatus.CONFLICT, exception.getHttpStatusCode());
   }
 
   @Test
@@ -656,8 +777,7 @@ class AssignmentServiceTest {
     user.setUsername(username);
     user.setRole(userRole);
 
-    when(jwtService.extractUsername()).thenReturn(username);
-    when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
 
     // Act & Assert
     AppException exception =
@@ -672,16 +792,17 @@ class AssignmentServiceTest {
   void getAllAssignments_UserNotFound_ThrowsException() {
     // Arrange
     String username = "unknown";
-    when(jwtService.extractUsername()).thenReturn(username);
-    when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
+    when(currentUserService.getCurrentUser())
+        .thenThrow(
+            new AppException(HttpStatus.UNAUTHORIZED, "Unauthorized access. Please log in."));
 
     // Act & Assert
     AppException exception =
         assertThrows(
             AppException.class,
             () -> assignmentService.getAllAssignments(null, null, null, 0, 10, "id", "asc"));
-    assertEquals("User Not Found", exception.getMessage());
-    assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatusCode());
+    assertEquals("Unauthorized access. Please log in.", exception.getMessage());
+    assertEquals(HttpStatus.UNAUTHORIZED, exception.getHttpStatusCode());
   }
 
   @Test
@@ -711,8 +832,7 @@ class AssignmentServiceTest {
 
     AssignmentDetailDtoResponse responseDto = new AssignmentDetailDtoResponse();
 
-    when(jwtService.extractUsername()).thenReturn(username);
-    when(userRepository.findByUsername(username)).thenReturn(Optional.of(admin));
+    when(currentUserService.getCurrentUser()).thenReturn(admin);
     when(assignmentRepository.findByIdAndDeletedFalse(1)).thenReturn(Optional.of(assignment));
     when(assignmentMapper.toDetailDto(assignment)).thenReturn(responseDto);
 
@@ -737,8 +857,7 @@ class AssignmentServiceTest {
     admin.setUsername(username);
     admin.setRole(adminRole);
 
-    when(jwtService.extractUsername()).thenReturn(username);
-    when(userRepository.findByUsername(username)).thenReturn(Optional.of(admin));
+    when(currentUserService.getCurrentUser()).thenReturn(admin);
     when(assignmentRepository.findByIdAndDeletedFalse(1)).thenReturn(Optional.empty());
 
     // Act & Assert
@@ -778,8 +897,7 @@ class AssignmentServiceTest {
     assignment.setAsset(asset);
     assignment.setDeleted(false);
 
-    when(jwtService.extractUsername()).thenReturn(username);
-    when(userRepository.findByUsername(username)).thenReturn(Optional.of(admin));
+    when(currentUserService.getCurrentUser()).thenReturn(admin);
     when(assignmentRepository.findByIdAndDeletedFalse(1)).thenReturn(Optional.of(assignment));
 
     // Act & Assert
@@ -815,8 +933,7 @@ class AssignmentServiceTest {
     assignment.setStatus(AssignmentStatus.WAITING);
     assignment.setDeleted(false);
 
-    when(jwtService.extractUsername()).thenReturn(username);
-    when(userRepository.findByUsername(username)).thenReturn(Optional.of(admin));
+    when(currentUserService.getCurrentUser()).thenReturn(admin);
     when(assignmentRepository.findByIdAndDeletedFalse(1)).thenReturn(Optional.of(assignment));
     when(assignmentRepository.save(any(Assignment.class))).thenReturn(assignment);
 
@@ -841,8 +958,7 @@ class AssignmentServiceTest {
     user.setUsername(username);
     user.setRole(userRole);
 
-    when(jwtService.extractUsername()).thenReturn(username);
-    when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
 
     // Act & Assert
     AppException exception =
@@ -862,8 +978,7 @@ class AssignmentServiceTest {
     admin.setUsername(username);
     admin.setRole(adminRole);
 
-    when(jwtService.extractUsername()).thenReturn(username);
-    when(userRepository.findByUsername(username)).thenReturn(Optional.of(admin));
+    when(currentUserService.getCurrentUser()).thenReturn(admin);
     when(assignmentRepository.findByIdAndDeletedFalse(1)).thenReturn(Optional.empty());
 
     // Act & Assert
@@ -899,8 +1014,7 @@ class AssignmentServiceTest {
     assignment.setStatus(AssignmentStatus.ACCEPTED); // Invalid status for deletion
     assignment.setDeleted(false);
 
-    when(jwtService.extractUsername()).thenReturn(username);
-    when(userRepository.findByUsername(username)).thenReturn(Optional.of(admin));
+    when(currentUserService.getCurrentUser()).thenReturn(admin);
     when(assignmentRepository.findByIdAndDeletedFalse(1)).thenReturn(Optional.of(assignment));
 
     // Act & Assert
@@ -932,8 +1046,7 @@ class AssignmentServiceTest {
     MyAssignmentDtoResponse responseDto = new MyAssignmentDtoResponse();
     List<Assignment> assignments = Collections.singletonList(assignment);
 
-    when(jwtService.extractUsername()).thenReturn(username);
-    when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
     when(assignmentRepository.findAll(any(Specification.class), any(Sort.class)))
         .thenReturn(assignments);
     when(assignmentMapper.toMyAssignmentDto(any(Assignment.class))).thenReturn(responseDto);
@@ -972,8 +1085,7 @@ class AssignmentServiceTest {
     MyAssignmentDtoResponse responseDto = new MyAssignmentDtoResponse();
     List<Assignment> assignments = Arrays.asList(assignment1, assignment2);
 
-    when(jwtService.extractUsername()).thenReturn(username);
-    when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
     when(assignmentRepository.findAll(any(Specification.class))).thenReturn(assignments);
     when(assignmentMapper.toMyAssignmentDto(any(Assignment.class))).thenReturn(responseDto);
 
@@ -992,15 +1104,16 @@ class AssignmentServiceTest {
   void getMyAssignments_UserNotFound_ThrowsException() {
     // Arrange
     String username = "unknown";
-    when(jwtService.extractUsername()).thenReturn(username);
-    when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
+    when(currentUserService.getCurrentUser())
+        .thenThrow(
+            new AppException(HttpStatus.UNAUTHORIZED, "Unauthorized access. Please log in."));
 
     // Act & Assert
     AppException exception =
         assertThrows(
             AppException.class, () -> assignmentService.getMyAssignments("assetCode", "asc"));
-    assertEquals("User Not Found", exception.getMessage());
-    assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatusCode());
+    assertEquals("Unauthorized access. Please log in.", exception.getMessage());
+    assertEquals(HttpStatus.UNAUTHORIZED, exception.getHttpStatusCode());
   }
 
   @Test
@@ -1032,7 +1145,7 @@ class AssignmentServiceTest {
         .when(notificationCreator)
         .createAssignmentNotification(any(User.class), any(User.class), any(Assignment.class));
     when(assignmentRepository.findById(assignmentId)).thenReturn(Optional.of(assignment));
-    when(jwtService.extractUsername()).thenReturn("assignee");
+    when(currentUserService.getCurrentUser()).thenReturn(userNamed("assignee"));
     when(assignmentRepository.save(any(Assignment.class))).thenReturn(assignment);
     when(assetRepository.save(any(Asset.class))).thenReturn(asset);
 
@@ -1078,7 +1191,7 @@ class AssignmentServiceTest {
         .when(notificationCreator)
         .createAssignmentNotification(any(User.class), any(User.class), any(Assignment.class));
     when(assignmentRepository.findById(assignmentId)).thenReturn(Optional.of(assignment));
-    when(jwtService.extractUsername()).thenReturn("assignee");
+    when(currentUserService.getCurrentUser()).thenReturn(userNamed("assignee"));
     when(assignmentRepository.save(any(Assignment.class))).thenReturn(assignment);
 
     // Act
@@ -1161,8 +1274,8 @@ class AssignmentServiceTest {
     assignment.setAssignedTo(assignedUser);
 
     when(assignmentRepository.findById(assignmentId)).thenReturn(Optional.of(assignment));
-    when(jwtService.extractUsername())
-        .thenReturn("different_user"); // Different user trying to respond
+    when(currentUserService.getCurrentUser())
+        .thenReturn(userNamed("different_user")); // Different user trying to respond
 
     // Act & Assert
     AppException exception =
@@ -1196,7 +1309,7 @@ class AssignmentServiceTest {
         .when(notificationCreator)
         .createAssignmentNotification(any(User.class), any(User.class), any(Assignment.class));
     when(assignmentRepository.findById(assignmentId)).thenReturn(Optional.of(assignment));
-    when(jwtService.extractUsername()).thenReturn("assignee");
+    when(currentUserService.getCurrentUser()).thenReturn(userNamed("assignee"));
     when(assignmentRepository.save(any(Assignment.class))).thenReturn(assignment);
     when(assetRepository.save(any(Asset.class))).thenReturn(asset);
 
@@ -1206,6 +1319,7 @@ class AssignmentServiceTest {
     // Assert
     assertEquals(AssetStatus.ASSIGNED, asset.getStatus());
     verify(assetRepository, times(1)).save(asset);
+    verify(assetStatusCounterService, times(1)).recordStatusChange(asset, AssetStatus.AVAILABLE);
   }
 
   @Test
@@ -1232,7 +1346,7 @@ class AssignmentServiceTest {
         .when(notificationCreator)
         .createAssignmentNotification(any(User.class), any(User.class), any(Assignment.class));
     when(assignmentRepository.findById(assignmentId)).thenReturn(Optional.of(assignment));
-    when(jwtService.extractUsername()).thenReturn("assignee");
+    when(currentUserService.getCurrentUser()).thenReturn(userNamed("assignee"));
     when(assignmentRepository.save(any(Assignment.class))).thenReturn(assignment);
 
     // Act
@@ -1270,8 +1384,7 @@ class AssignmentServiceTest {
     MyAssignmentDtoResponse responseDto = new MyAssignmentDtoResponse();
     List<Assignment> assignments = Arrays.asList(assignmentToday, assignmentPast);
 
-    when(jwtService.extractUsername()).thenReturn(username);
-    when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
     when(assignmentRepository.findAll(any(Specification.class), any(Sort.class)))
         .thenReturn(assignments);
     when(assignmentMapper.toMyAssignmentDto(any(Assignment.class))).thenReturn(responseDto);
@@ -1297,8 +1410,7 @@ class AssignmentServiceTest {
     user.setId(1);
     user.setUsername(username);
 
-    when(jwtService.extractUsername()).thenReturn(username);
-    when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
     when(assignmentRepository.findAll(any(Specification.class), any(Sort.class)))
         .thenReturn(Collections.emptyList());
 
@@ -1338,8 +1450,7 @@ class AssignmentServiceTest {
     MyAssignmentDtoResponse responseDto = new MyAssignmentDtoResponse();
     List<Assignment> assignments = Arrays.asList(assignment1, assignment2);
 
-    when(jwtService.extractUsername()).thenReturn(username);
-    when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
     when(assignmentRepository.findAll(any(Specification.class))).thenReturn(assignments);
     when(assignmentMapper.toMyAssignmentDto(any(Assignment.class))).thenReturn(responseDto);
 
@@ -1367,8 +1478,7 @@ class AssignmentServiceTest {
     user.setId(1);
     user.setUsername(username);
 
-    when(jwtService.extractUsername()).thenReturn(username);
-    when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
     when(assignmentRepository.findAll(any(Specification.class), any(Sort.class)))
         .thenReturn(Collections.emptyList());
 
@@ -1391,8 +1501,7 @@ class AssignmentServiceTest {
     user.setId(1);
     user.setUsername(username);
 
-    when(jwtService.extractUsername()).thenReturn(username);
-    when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
     when(assignmentRepository.findAll(any(Specification.class), any(Sort.class)))
         .thenReturn(Collections.emptyList());
 
@@ -1415,4 +1524,208 @@ class AssignmentServiceTest {
     assertEquals(
         Sort.Direction.DESC, Objects.requireNonNull(capturedSort.getOrderFor("id")).getDirection());
   }
+
+  private static User userNamed(String username) {
+    User user = new User();
+    user.setUsername(username);
+    return user;
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void bulkCreateAssignments_allValid_insertsAndNotifiesOnce() {
+    Location location = bulkLocation();
+    User assigner = bulkUser(1, location);
+    when(currentUserService.getCurrentUser()).thenReturn(assigner);
+    when(userRepository.findAllById(any())).thenReturn(List.of(bulkUser(2, location)));
+    when(assetRepository.findAllById(any()))
+        .thenReturn(List.of(bulkAsset(10, location), bulkAsset(11, location)));
+    when(assignmentRepository.findAssetIdsWithWaitingAssignment(any())).thenReturn(List.of());
+    when(assetRepository.reserveAllForAssignment(any(), any())).thenReturn(List.of(10, 11));
+    when(assignmentMapper.toDto(any(Assignment.class))).thenReturn(new AssignmentListDtoResponse());
+
+    BulkAssignmentDtoResponse result =
+        assignmentService.bulkCreateAssignments(
+            bulkRequest(BulkMode.ALL_OR_NOTHING, bulkItem(10, 2), bulkItem(11, 2)));
+
+    assertEquals(2, result.getCreated());
+    assertEquals(
+        List.of(ItemStatus.CREATED, ItemStatus.CREATED),
+        result.getItems().stream().map(BulkAssignmentDtoResponse.Item::getStatus).toList());
+    ArgumentCaptor<List<Assignment>> captor = ArgumentCaptor.forClass(List.class);
+    verify(assignmentBatchWriter, times(1)).insert(captor.capture());
+    assertEquals(2, captor.getValue().size());
+    verify(notificationCreator, times(1))
+        .createAssignmentNotifications(assigner, captor.getValue());
+    verify(assignmentRepository, never()).saveAndFlush(any(Assignment.class));
+  }
+
+  @Test
+  void bulkCreateAssignments_allOrNothing_oneInvalid_createsNothing() {
+    Location location = bulkLocation();
+    when(currentUserService.getCurrentUser()).thenReturn(bulkUser(1, location));
+    when(userRepository.findAllById(any())).thenReturn(List.of(bulkUser(2, location)));
+    when(assetRepository.findAllById(any()))
+        .thenReturn(List.of(bulkAsset(10, location), bulkAsset(11, location)));
+    when(assignmentRepository.findAssetIdsWithWaitingAssignment(any())).thenReturn(List.of(11));
+
+    BulkAssignmentDtoResponse result =
+        assignmentService.bulkCreateAssignments(
+            bulkRequest(BulkMode.ALL_OR_NOTHING, bulkItem(10, 2), bulkItem(11, 2)));
+
+    assertEquals(0, result.getCreated());
+    assertEquals(ItemStatus.SKIPPED, result.getItems().get(0).getStatus());
+    assertEquals(ItemStatus.FAILED, result.getItems().get(1).getStatus());
+    assertEquals("Asset already has a waiting assignment", result.getItems().get(1).getError());
+    verify(assetRepository, never()).reserveAllForAssignment(any(), any());
+    verify(assignmentBatchWriter, never()).insert(any());
+    verify(notificationCreator, never()).createAssignmentNotifications(any(), any());
+  }
+
+  @Test
+  void bulkCreateAssignments_bestEffort_createsValidAndReportsFailed() {
+    Location location = bulkLocation();
+    Asset assigned = bulkAsset(12, location);
+    assigned.setStatus(AssetStatus.ASSIGNED);
+    when(currentUserService.getCurrentUser()).thenReturn(bulkUser(1, location));
+    when(userRepository.findAllById(any())).thenReturn(List.of(bulkUser(2, location)));
+    when(assetRepository.findAllById(any())).thenReturn(List.of(bulkAsset(10, location), assigned));
+    when(assignmentRepository.findAssetIdsWithWaitingAssignment(any())).thenReturn(List.of());
+    when(assetRepository.reserveAllForAssignment(List.of(10), 1)).thenReturn(List.of(10));
+
+    BulkAssignmentDtoResponse result =
+        assignmentService.bulkCreateAssignments(
+            bulkRequest(
+                BulkMode.BEST_EFFORT,
+                bulkItem(10, 2),
+                bulkItem(10, 2),
+                bulkItem(12, 2),
+                bulkItem(13, 2),
+                bulkItem(10, 3)));
+
+    assertEquals(5, result.getRequested());
+    assertEquals(1, result.getCreated());
+    assertEquals(
+        Arrays.asList(
+            null,
+            "Asset is assigned more than once in the request",
+            "Asset is not available for assignment",
+            "Asset Not Found",
+            "User Not Found"),
+        result.getItems().stream().map(BulkAssignmentDtoResponse.Item::getError).toList());
+    assertEquals(ItemStatus.CREATED, result.getItems().get(0).getStatus());
+    verify(assignmentBatchWriter, times(1)).insert(any());
+  }
+
+  @Test
+  void bulkCreateAssignments_allOrNothing_assetAssignedMeanwhile_conflict() {
+    Location location = bulkLocation();
+    when(currentUserService.getCurrentUser()).thenReturn(bulkUser(1, location));
+    when(userRepository.findAllById(any())).thenReturn(List.of(bulkUser(2, location)));
+    when(assetRepository.findAllById(any()))
+        .thenReturn(List.of(bulkAsset(10, location), bulkAsset(11, location)));
+    when(assignmentRepository.findAssetIdsWithWaitingAssignment(any())).thenReturn(List.of());
+    when(assetRepository.reserveAllForAssignment(any(), any())).thenReturn(List.of(11));
+
+    AppException exception =
+        assertThrows(
+            AppException.class,
+            () ->
+                assignmentService.bulkCreateAssignments(
+                    bulkRequest(BulkMode.ALL_OR_NOTHING, bulkItem(10, 2), bulkItem(11, 2))));
+
+    assertEquals(HttpStatus.CONFLICT, exception.getHttpStatusCode());
+    verify(assignmentBatchWriter, never()).insert(any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void bulkCreateAssignments_bestEffort_assetAssignedMeanwhile_failsOnlyThatItem() {
+    Location location = bulkLocation();
+    when(currentUserService.getCurrentUser()).thenReturn(bulkUser(1, location));
+    when(userRepository.findAllById(any())).thenReturn(List.of(bulkUser(2, location)));
+    when(assetRepository.findAllById(any()))
+        .thenReturn(
+            List.of(bulkAsset(10, location), bulkAsset(11, location), bulkAsset(12, location)));
+    when(assignmentRepository.findAssetIdsWithWaitingAssignment(any())).thenReturn(List.of());
+    when(assetRepository.reserveAllForAssignment(any(), any())).thenReturn(List.of(12, 10));
+
+    BulkAssignmentDtoResponse result =
+        assignmentService.bulkCreateAssignments(
+            bulkRequest(BulkMode.BEST_EFFORT, bulkItem(10, 2), bulkItem(11, 2), bulkItem(12, 2)));
+
+    assertEquals(2, result.getCreated());
+    assertEquals(
+        List.of(ItemStatus.CREATED, ItemStatus.FAILED, ItemStatus.CREATED),
+        result.getItems().stream().map(BulkAssignmentDtoResponse.Item::getStatus).toList());
+    assertEquals(
+        "Asset was assigned by someone else meanwhile", result.getItems().get(1).getError());
+    ArgumentCaptor<List<Assignment>> captor = ArgumentCaptor.forClass(List.class);
+    verify(assignmentBatchWriter, times(1)).insert(captor.capture());
+    assertEquals(
+        List.of(10, 12),
+        captor.getValue().stream().map(assignment -> assignment.getAsset().getId()).toList());
+  }
+
+  @Test
+  void bulkCreateAssignments_otherConstraintViolated_rethrown() {
+    Location location = bulkLocation();
+    when(currentUserService.getCurrentUser()).thenReturn(bulkUser(1, location));
+    when(userRepository.findAllById(any())).thenReturn(List.of(bulkUser(2, location)));
+    when(assetRepository.findAllById(any())).thenReturn(List.of(bulkAsset(10, location)));
+    when(assignmentRepository.findAssetIdsWithWaitingAssignment(any())).thenReturn(List.of());
+    when(assetRepository.reserveAllForAssignment(any(), any())).thenReturn(List.of(10));
+    doThrow(constraintViolation("fk_assignments_assigned_to"))
+        .when(assignmentBatchWriter)
+        .insert(any());
+
+    assertThrows(
+        DataIntegrityViolationException.class,
+        () ->
+            assignmentService.bulkCreateAssignments(
+                bulkRequest(BulkMode.BEST_EFFORT, bulkItem(10, 2))));
+  }
+
+  private static DataIntegrityViolationException constraintViolation(String constraintName) {
+    return new DataIntegrityViolationException(
+        "could not execute statement",
+        new ConstraintViolationException(
+            "could not execute statement",
+            new SQLException("violates constraint", "23505"),
+            constraintName));
+  }
+
+  private static Location bulkLocation() {
+    Location location = new Location();
+    location.setId(1);
+    return location;
+  }
+
+  private static User bulkUser(int id, Location location) {
+    User user = new User();
+    user.setId(id);
+    user.setLocation(location);
+    return user;
+  }
+
+  private static Asset bulkAsset(int id, Location location) {
+    Asset asset = new Asset();
+    asset.setId(id);
+    asset.setStatus(AssetStatus.AVAILABLE);
+    asset.setLocation(location);
+    return asset;
+  }
+
+  private static CreateUpdateAssignmentRequest bulkItem(int assetId, int userId) {
+    return CreateUpdateAssignmentRequest.builder()
+        .assetId(assetId)
+        .userId(userId)
+        .assignedDate(LocalDate.now())
+        .build();
+  }
+
+  private static BulkCreateAssignmentRequest bulkRequest(
+      BulkMode mode, CreateUpdateAssignmentRequest... items) {
+    return BulkCreateAssignmentRequest.builder().mode(mode).assignments(List.of(items)).build();
+  }
 }
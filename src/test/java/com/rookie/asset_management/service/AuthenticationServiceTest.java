@@ -15,7 +15,6 @@ import com.rookie.asset_management.service.impl.AuthenticationServiceImpl;
 import com.rookie.asset_management.util.SecurityUtils;
 import jakarta.servlet.http.HttpServletResponse;
 import java.util.List;
-import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -38,6 +37,7 @@ class AuthenticationServiceTest {
   @Mock private PasswordEncoder passwordEncoder;
   @Mock private UserRepository userRepository;
   @Mock private JwtService jwtService;
+  @Mock private CurrentUserService currentUserService;
   @InjectMocks private AuthenticationServiceImpl authenticationService;
 
   private User user;
@@ -140,8 +140,7 @@ class AuthenticationServiceTest {
             .newPassword("NewPass123!")
             .build();
 
-    when(jwtService.extractUsername()).thenReturn("testuser");
-    when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
     when(passwordEncoder.matches("OldPass123!", "encodedPassword")).thenReturn(true);
     when(passwordEncoder.matches("NewPass123!", "encodedPassword")).thenReturn(false);
     when(passwordEncoder.encode("NewPass123!")).thenReturn("newEncodedPassword");
@@ -163,8 +162,7 @@ class AuthenticationServiceTest {
     ChangePasswordRequestDTO request =
         ChangePasswordRequestDTO.builder().oldPassword("").newPassword("NewPass123!").build();
 
-    when(jwtService.extractUsername()).thenReturn("testuser");
-    when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
 
     // WHEN & THEN
     AppException exception =
@@ -182,8 +180,7 @@ class AuthenticationServiceTest {
     ChangePasswordRequestDTO request =
         ChangePasswordRequestDTO.builder().oldPassword(null).newPassword("NewPass123!").build();
 
-    when(jwtService.extractUsername()).thenReturn("testuser");
-    when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
 
     // WHEN & THEN
     AppException exception =
@@ -201,8 +198,7 @@ class AuthenticationServiceTest {
     ChangePasswordRequestDTO request =
         ChangePasswordRequestDTO.builder().oldPassword("OldPass123!").newPassword("").build();
 
-    when(jwtService.extractUsername()).thenReturn("testuser");
-    when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
 
     // WHEN & THEN
     AppException exception =
@@ -220,8 +216,7 @@ class AuthenticationServiceTest {
     ChangePasswordRequestDTO request =
         ChangePasswordRequestDTO.builder().oldPassword("OldPass123!").newPassword("Ab1!").build();
 
-    when(jwtService.extractUsername()).thenReturn("testuser");
-    when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
 
     // WHEN & THEN
     AppException exception =
@@ -242,8 +237,7 @@ class AuthenticationServiceTest {
             .newPassword("Abcd1234")
             .build();
 
-    when(jwtService.extractUsername()).thenReturn("testuser");
-    when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
 
     // WHEN & THEN
     AppException exception =
@@ -266,8 +260,7 @@ class AuthenticationServiceTest {
             .newPassword("NewPass123!")
             .build();
 
-    when(jwtService.extractUsername()).thenReturn("testuser");
-    when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
     when(passwordEncoder.matches("wrongOldPassword", "encodedPassword")).thenReturn(false);
 
     // WHEN & THEN
@@ -289,8 +282,7 @@ class AuthenticationServiceTest {
             .newPassword("OldPass123!")
             .build();
 
-    when(jwtService.extractUsername()).thenReturn("testuser");
-    when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
     when(passwordEncoder.matches("OldPass123!", "encodedPassword")).thenReturn(true);
     when(passwordEncoder.matches("OldPass123!", "encodedPassword")).thenReturn(true);
 
@@ -313,15 +305,16 @@ class AuthenticationServiceTest {
             .newPassword("NewPass123!")
             .build();
 
-    when(jwtService.extractUsername()).thenReturn("testuser");
-    when(userRepository.findByUsername("testuser")).thenReturn(Optional.empty());
+    when(currentUserService.getCurrentUser())
+        .thenThrow(
+            new AppException(HttpStatus.UNAUTHORIZED, "Unauthorized access. Please log in."));
 
     // WHEN & THEN
     AppException exception =
         assertThrows(
             AppException.class, () -> authenticationService.changePassword(request, response));
-    assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatusCode());
-    assertEquals("User Not Found", exception.getMessage());
+    assertEquals(HttpStatus.UNAUTHORIZED, exception.getHttpStatusCode());
+    assertEquals("Unauthorized access. Please log in.", exception.getMessage());
     verify(userRepository, never()).save(any(User.class));
   }
 
@@ -342,8 +335,7 @@ class AuthenticationServiceTest {
     FirstLoginChangePasswordRequestDTO request =
         FirstLoginChangePasswordRequestDTO.builder().newPassword("NewPass123!").build();
 
-    when(jwtService.extractUsername()).thenReturn("testuser");
-    when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
     when(passwordEncoder.matches("NewPass123!", "encodedPassword")).thenReturn(false);
     when(passwordEncoder.encode("NewPass123!")).thenReturn("newEncodedPassword");
 
@@ -365,8 +357,7 @@ class AuthenticationServiceTest {
     FirstLoginChangePasswordRequestDTO request =
         FirstLoginChangePasswordRequestDTO.builder().newPassword("").build();
 
-    when(jwtService.extractUsername()).thenReturn("testuser");
-    when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
 
     // WHEN & THEN
     AppException exception =
@@ -386,8 +377,7 @@ class AuthenticationServiceTest {
     FirstLoginChangePasswordRequestDTO request =
         FirstLoginChangePasswordRequestDTO.builder().newPassword(null).build();
 
-    when(jwtService.extractUsername()).thenReturn("testuser");
-    when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
 
     // WHEN & THEN
     AppException exception =
@@ -407,8 +397,7 @@ class AuthenticationServiceTest {
     FirstLoginChangePasswordRequestDTO request =
         FirstLoginChangePasswordRequestDTO.builder().newPassword("Ab1!").build();
 
-    when(jwtService.extractUsername()).thenReturn("testuser");
-    when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
 
     // WHEN & THEN
     AppException exception =
@@ -428,8 +417,7 @@ class AuthenticationServiceTest {
     FirstLoginChangePasswordRequestDTO request =
         FirstLoginChangePasswordRequestDTO.builder().newPassword("Abcd1234").build();
 
-    when(jwtService.extractUsername()).thenReturn("testuser");
-    when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
 
     // WHEN & THEN
     AppException exception =
@@ -452,8 +440,7 @@ class AuthenticationServiceTest {
     FirstLoginChangePasswordRequestDTO request =
         FirstLoginChangePasswordRequestDTO.builder().newPassword("OldPass123!").build();
 
-    when(jwtService.extractUsername()).thenReturn("testuser");
-    when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
     when(passwordEncoder.matches("OldPass123!", "encodedPassword")).thenReturn(true);
 
     // WHEN & THEN
@@ -474,16 +461,17 @@ class AuthenticationServiceTest {
     FirstLoginChangePasswordRequestDTO request =
         FirstLoginChangePasswordRequestDTO.builder().newPassword("NewPass123!").build();
 
-    when(jwtService.extractUsername()).thenReturn("testuser");
-    when(userRepository.findByUsername("testuser")).thenReturn(Optional.empty());
+    when(currentUserService.getCurrentUser())
+        .thenThrow(
+            new AppException(HttpStatus.UNAUTHORIZED, "Unauthorized access. Please log in."));
 
     // WHEN & THEN
     AppException exception =
         assertThrows(
             AppException.class,
             () -> authenticationService.firstLoginChangePassword(request, response));
-    assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatusCode());
-    assertEquals("User Not Found", exception.getMessage());
+    assertEquals(HttpStatus.UNAUTHORIZED, exception.getHttpStatusCode());
+    assertEquals("Unauthorized access. Please log in.", exception.getMessage());
     verify(userRepository, never()).save(any(User.class));
     verify(jwtService, never()).generateToken(anyString(), any(HttpServletResponse.class));
   }
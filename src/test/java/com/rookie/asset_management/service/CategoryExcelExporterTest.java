@@ -13,8 +13,20 @@ import static org.mockito.Mockito.when;
 import com.rookie.asset_management.dto.response.report.CategoryReportDtoResponse;
 import com.rookie.asset_management.exception.AppException;
 import com.rookie.asset_management.service.impl.handler.CategoryExcelExporter;
+import com.rookie.asset_management.service.impl.handler.DefaultExcelStyleDecorator;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.IntStream;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,13 +39,11 @@ class CategoryExcelExporterTest {
 
   @Mock private CategoryReportDtoResponse mockReport;
 
-  @Mock private ExcelStyleDecorator mockStyleDecorator;
-
   private CategoryExcelExporter categoryExcelExporter;
 
   @BeforeEach
   void setUp() {
-    categoryExcelExporter = new CategoryExcelExporter(mockStyleDecorator);
+    categoryExcelExporter = new CategoryExcelExporter(new DefaultExcelStyleDecorator());
   }
 
   @Test
@@ -96,4 +106,85 @@ class CategoryExcelExporterTest {
 
     assertFalse(result);
   }
+
+  @Test
+  void usesFixedNumberOfStylesRegardlessOfRowCount() throws IOException {
+    try (Workbook small = read(categoryExcelExporter.exportData(reports(1)));
+        Workbook large = read(categoryExcelExporter.exportData(reports(2_000)))) {
+      assertEquals(small.getNumCellStyles(), large.getNumCellStyles());
+      assertEquals(small.getNumberOfFonts(), large.getNumberOfFonts());
+    }
+  }
+
+  @Test
+  void writesStyledHeaderOnceAndFormattedZebraDataRows() throws IOException {
+    try (Workbook workbook = read(categoryExcelExporter.exportData(reports(3)))) {
+      Sheet sheet = workbook.getSheetAt(0);
+
+      Row header = sheet.getRow(0);
+      assertEquals(8, header.getPhysicalNumberOfCells());
+      assertEquals("Category", header.getCell(1).getStringCellValue());
+      assertTrue(workbook.getFontAt(header.getCell(1).getCellStyle().getFontIndex()).getBold());
+
+      Cell total = sheet.getRow(1).getCell(2);
+      assertEquals(CellType.NUMERIC, total.getCellType());
+      assertEquals("0", total.getCellStyle().getDataFormatString());
+
+      // every other data row is striped, all rows share the same two styles
+      CellStyle plain = sheet.getRow(1).getCell(1).getCellStyle();
+      CellStyle striped = sheet.getRow(2).getCell(1).getCellStyle();
+      assertEquals(FillPatternType.NO_FILL, plain.getFillPattern());
+      assertEquals(FillPatternType.SOLID_FOREGROUND, striped.getFillPattern());
+      assertEquals(plain.getIndex(), sheet.getRow(3).getCell(1).getCellStyle().getIndex());
+    }
+  }
+
+  @Test
+  void splitsLargeExportsIntoSheetsSharingTheSameStyles() throws IOException {
+    CategoryExcelExporter exporter =
+        new CategoryExcelExporter(new DefaultExcelStyleDecorator()) {
+          @Override
+          protected int maxRowsPerSheet() {
+            return 2;
+          }
+        };
+
+    try (Workbook single = read(exporter.exportData(reports(2)));
+        Workbook multi = read(exporter.exportData(reports(5)))) {
+      assertEquals(1, single.getNumberOfSheets());
+      assertEquals(3, multi.getNumberOfSheets());
+      assertEquals("Category Report (2)", multi.getSheetName(1));
+      assertEquals(1, multi.getSheetAt(2).getLastRowNum());
+      assertEquals(single.getNumCellStyles(), multi.getNumCellStyles());
+    }
+  }
+
+  @Test
+  void exportsWithoutDecorator() throws IOException {
+    CategoryExcelExporter exporter = new CategoryExcelExporter(null);
+
+    try (Workbook workbook = read(exporter.exportData(reports(2)))) {
+      assertEquals("Category 2", workbook.getSheetAt(0).getRow(2).getCell(1).getStringCellValue());
+    }
+  }
+
+  private static List<CategoryReportDtoResponse> reports(int count) {
+    return IntStream.rangeClosed(1, count)
+        .mapToObj(
+            i ->
+                CategoryReportDtoResponse.builder()
+                    .category("Category " + i)
+                    .total(i * 5)
+                    .assigned(i)
+                    .available(i)
+                    .notAvailable(i)
+                    .waiting(i)
+                    .recycled(i)
+                    .build())
+        .toList();
+  }
+
+  private static Workbook read(byte[] content) throws IOException {
+    return new XSSFWorkbook(new ByteArrayInputStream(content));
+  }
 }
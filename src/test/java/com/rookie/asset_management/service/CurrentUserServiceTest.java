@@ -0,0 +1,135 @@
+package com.rookie.asset_management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.rookie.asset_management.entity.User;
+import com.rookie.asset_management.entity.UserDetailModel;
+import com.rookie.asset_management.exception.AppException;
+import com.rookie.asset_management.repository.UserRepository;
+import com.rookie.asset_management.service.impl.CurrentUserServiceImpl;
+import com.rookie.asset_management.service.impl.CustomUserDetailsServiceImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+/**
+ * Counts the SQL statements issued to resolve the current user. The transaction of each test plays
+ * the persistence context opened for a request before the authentication filter.
+ */
+@DataJpaTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:current-user;MODE=PostgreSQL",
+      "spring.jpa.hibernate.ddl-auto=none",
+      "spring.jpa.properties.hibernate.generate_statistics=true"
+    })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Sql("/sql/current-user-fixture.sql")
+@Import({CurrentUserServiceImpl.class, CustomUserDetailsServiceImpl.class})
+class CurrentUserServiceTest {
+
+  @Autowired private CurrentUserService currentUserService;
+
+  @Autowired private CustomUserDetailsService customUserDetailsService;
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private EntityManager entityManager;
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void getCurrentUser_userLoadedByFilter_noQuery() {
+    authenticate();
+    statistics.clear();
+
+    User first = currentUserService.getCurrentUser();
+    User second = currentUserService.getCurrentUser();
+
+    assertEquals(0, statistics.getPrepareStatementCount());
+    assertSame(first, second);
+    assertEquals("HCM", first.getLocation().getName());
+    assertEquals(0, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void getCurrentUser_replacesLookupByUsername() {
+    authenticate();
+    statistics.clear();
+    userRepository.findByUsername("admin");
+    long lookupByUsername = statistics.getPrepareStatementCount();
+
+    statistics.clear();
+    currentUserService.getCurrentUser();
+
+    assertTrue(lookupByUsername > 0);
+    assertEquals(0, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void getCurrentUser_detachedPrincipal_loadedOncePerRequest() {
+    authenticate();
+    entityManager.clear();
+    statistics.clear();
+
+    User first = currentUserService.getCurrentUser();
+    long firstCall = statistics.getPrepareStatementCount();
+    User second = currentUserService.getCurrentUser();
+
+    assertTrue(firstCall > 0);
+    assertEquals(firstCall, statistics.getPrepareStatementCount());
+    assertSame(first, second);
+    assertTrue(entityManager.contains(first));
+  }
+
+  @Test
+  void getCurrentUser_userDeleted_unauthorized() {
+    authenticate();
+    entityManager.clear();
+    entityManager.createNativeQuery("DELETE FROM users").executeUpdate();
+
+    AppException exception =
+        assertThrows(AppException.class, () -> currentUserService.getCurrentUser());
+
+    assertEquals(HttpStatus.UNAUTHORIZED, exception.getHttpStatusCode());
+  }
+
+  /** Does what the JWT authentication filter does for an authenticated request. */
+  private void authenticate() {
+    UserDetails userDetails = customUserDetailsService.loadUserByUsername("admin");
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities()));
+    assertTrue(entityManager.contains(((UserDetailModel) userDetails).getUser()));
+  }
+}
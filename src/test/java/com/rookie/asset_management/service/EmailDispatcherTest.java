@@ -0,0 +1,189 @@
+package com.rookie.asset_management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.rookie.asset_management.entity.EmailDelivery;
+import com.rookie.asset_management.enums.EmailDeliveryStatus;
+import com.rookie.asset_management.repository.EmailDeliveryRepository;
+import com.rookie.asset_management.service.impl.handler.EmailDispatcher;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Properties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class EmailDispatcherTest {
+
+  @Mock private EmailDeliveryRepository emailDeliveryRepository;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private FakeSmtpServer smtpServer;
+
+  private JavaMailSenderImpl mailSender;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    smtpServer = new FakeSmtpServer();
+    mailSender = new JavaMailSenderImpl();
+    mailSender.setHost("127.0.0.1");
+    mailSender.setPort(smtpServer.getPort());
+    Properties properties = new Properties();
+    properties.setProperty("mail.smtp.from", "admin@example.com");
+    properties.setProperty("mail.smtp.connectiontimeout", "2000");
+    properties.setProperty("mail.smtp.timeout", "2000");
+    mailSender.setJavaMailProperties(properties);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    smtpServer.close();
+  }
+
+  @Test
+  void dispatchBatch_sendsGroupOverOneConnection() {
+    List<EmailDelivery> deliveries =
+        List.of(delivery(1L, "a@example.com"), delivery(2L, "b@example.com"));
+    when(emailDeliveryRepository.lockNextBatch(any(LocalDateTime.class), anyInt()))
+        .thenReturn(deliveries);
+
+    int dispatched = dispatcher(10, new SyncTaskExecutor()).dispatchBatch();
+
+    assertEquals(2, dispatched);
+    assertEquals(2, smtpServer.getMessages().size());
+    assertEquals(1, smtpServer.getConnections());
+    deliveries.forEach(
+        delivery -> {
+          assertEquals(EmailDeliveryStatus.SENT, delivery.getStatus());
+          assertNotNull(delivery.getSentAt());
+          assertNull(delivery.getContent());
+        });
+    // one transaction to claim, one to record the outcomes
+    verify(transactionManager, times(2)).commit(any());
+    verify(emailDeliveryRepository).saveAll(deliveries);
+  }
+
+  @Test
+  void dispatchBatch_splitsBatchIntoConnections() {
+    when(emailDeliveryRepository.lockNextBatch(any(LocalDateTime.class), anyInt()))
+        .thenReturn(
+            List.of(
+                delivery(1L, "a@example.com"),
+                delivery(2L, "b@example.com"),
+                delivery(3L, "c@example.com")));
+
+    dispatcher(2, new SyncTaskExecutor()).dispatchBatch();
+
+    assertEquals(3, smtpServer.getMessages().size());
+    assertEquals(2, smtpServer.getConnections());
+  }
+
+  @Test
+  void dispatchBatch_rejectedRecipient_retriedWithBackoff() {
+    smtpServer.reject("b@example.com");
+    EmailDelivery accepted = delivery(1L, "a@example.com");
+    EmailDelivery rejected = delivery(2L, "b@example.com");
+    rejected.setAttempts(1);
+    when(emailDeliveryRepository.lockNextBatch(any(LocalDateTime.class), anyInt()))
+        .thenReturn(List.of(accepted, rejected));
+
+    LocalDateTime before = LocalDateTime.now();
+    dispatcher(10, new SyncTaskExecutor()).dispatchBatch();
+
+    assertEquals(EmailDeliveryStatus.SENT, accepted.getStatus());
+    assertEquals(EmailDeliveryStatus.PENDING, rejected.getStatus());
+    assertEquals(2, rejected.getAttempts());
+    assertNotNull(rejected.getLastError());
+    assertEquals("Password: secret", rejected.getContent());
+    // second attempt failed: base delay doubled
+    assertTrue(!rejected.getNextAttemptAt().isBefore(before.plusSeconds(20)));
+  }
+
+  @Test
+  void dispatchBatch_serverDown_markedFailedAtMaxAttempts() throws Exception {
+    smtpServer.close();
+    EmailDelivery first = delivery(1L, "a@example.com");
+    EmailDelivery last = delivery(2L, "b@example.com");
+    last.setAttempts(2);
+    when(emailDeliveryRepository.lockNextBatch(any(LocalDateTime.class), anyInt()))
+        .thenReturn(List.of(first, last));
+
+    dispatcher(10, new SyncTaskExecutor()).dispatchBatch();
+
+    assertEquals(EmailDeliveryStatus.PENDING, first.getStatus());
+    assertEquals(1, first.getAttempts());
+    assertEquals(EmailDeliveryStatus.FAILED, last.getStatus());
+    assertEquals(3, last.getAttempts());
+  }
+
+  @Test
+  void dispatchBatch_senderPoolFull_releasedWithoutAttempt() {
+    EmailDelivery delivery = delivery(1L, "a@example.com");
+    when(emailDeliveryRepository.lockNextBatch(any(LocalDateTime.class), anyInt()))
+        .thenReturn(List.of(delivery));
+    TaskExecutor fullPool =
+        task -> {
+          throw new TaskRejectedException("full");
+        };
+
+    dispatcher(10, fullPool).dispatchBatch();
+
+    assertEquals(EmailDeliveryStatus.PENDING, delivery.getStatus());
+    assertEquals(0, delivery.getAttempts());
+    assertEquals(0, smtpServer.getConnections());
+  }
+
+  @Test
+  void dispatchBatch_nothingDue() {
+    when(emailDeliveryRepository.lockNextBatch(any(LocalDateTime.class), anyInt()))
+        .thenReturn(List.of());
+
+    assertEquals(0, dispatcher(10, new SyncTaskExecutor()).dispatchBatch());
+    verify(transactionManager, times(1)).commit(any());
+  }
+
+  private EmailDispatcher dispatcher(int messagesPerConnection, TaskExecutor executor) {
+    return new EmailDispatcher(
+        emailDeliveryRepository,
+        mailSender,
+        executor,
+        transactionManager,
+        10,
+        messagesPerConnection,
+        3,
+        Duration.ofSeconds(10),
+        Duration.ofMinutes(1),
+        Duration.ofMinutes(5),
+        Duration.ofDays(30));
+  }
+
+  private static EmailDelivery delivery(Long id, String recipient) {
+    return EmailDelivery.builder()
+        .id(id)
+        .recipient(recipient)
+        .subject("Your account has been created")
+        .content("Password: secret")
+        .nextAttemptAt(LocalDateTime.now())
+        .createdAt(LocalDateTime.now())
+        .build();
+  }
+}
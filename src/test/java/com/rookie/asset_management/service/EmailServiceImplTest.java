@@ -1,31 +1,42 @@
 package com.rookie.asset_management.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mockStatic;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import com.rookie.asset_management.config.app.AppPropertiesConfig;
+import com.rookie.asset_management.dto.response.email.EmailDeliveryDtoResponse;
+import com.rookie.asset_management.entity.EmailDelivery;
+import com.rookie.asset_management.enums.EmailDeliveryStatus;
+import com.rookie.asset_management.exception.AppException;
+import com.rookie.asset_management.mapper.EmailDeliveryMapper;
+import com.rookie.asset_management.repository.EmailDeliveryRepository;
 import com.rookie.asset_management.service.impl.EmailServiceImpl;
+import java.util.Optional;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.http.HttpStatus;
 
 @ExtendWith(MockitoExtension.class)
 class EmailServiceImplTest {
 
-  @Mock private JavaMailSender emailSender;
+  @Mock private EmailDeliveryRepository emailDeliveryRepository;
+
+  @Spy
+  private EmailDeliveryMapper emailDeliveryMapper = Mappers.getMapper(EmailDeliveryMapper.class);
 
   @InjectMocks private EmailServiceImpl emailService;
 
@@ -47,46 +58,54 @@ class EmailServiceImplTest {
   }
 
   @Test
-  void sendSimpleMessage_successOnFirstAttempt() {
-    String to = "test@example.com";
-    String subject = "Test Subject";
-    String content = "Test Content";
-
-    boolean result = emailService.sendSimpleMessage(to, subject, content);
-
-    assertTrue(result);
-    verify(emailSender, times(1)).send(any(SimpleMailMessage.class));
+  void queueEmail_savesPendingDelivery() {
+    when(emailDeliveryRepository.save(any(EmailDelivery.class)))
+        .thenAnswer(
+            invocation -> {
+              EmailDelivery delivery = invocation.getArgument(0);
+              delivery.setId(5L);
+              return delivery;
+            });
+
+    EmailDeliveryDtoResponse result =
+        emailService.queueEmail("test@example.com", "Test Subject", "Test Content");
+
+    assertEquals(5L, result.getId());
+    assertEquals(EmailDeliveryStatus.PENDING, result.getStatus());
+    assertEquals(0, result.getAttempts());
+    ArgumentCaptor<EmailDelivery> captor = ArgumentCaptor.forClass(EmailDelivery.class);
+    verify(emailDeliveryRepository).save(captor.capture());
+    assertEquals("test@example.com", captor.getValue().getRecipient());
+    assertEquals("Test Content", captor.getValue().getContent());
+    assertNotNull(captor.getValue().getNextAttemptAt());
   }
 
   @Test
-  void sendSimpleMessage_successOnSecondAttempt() {
-    String to = "test@example.com";
-    String subject = "Test Subject";
-    String content = "Test Content";
-
-    doThrow(new RuntimeException("Failed"))
-        .doNothing()
-        .when(emailSender)
-        .send(any(SimpleMailMessage.class));
-
-    boolean result = emailService.sendSimpleMessage(to, subject, content);
-
-    assertTrue(result);
-    verify(emailSender, times(2)).send(any(SimpleMailMessage.class));
+  void getEmailDelivery_found() {
+    EmailDelivery delivery =
+        EmailDelivery.builder()
+            .id(5L)
+            .recipient("test@example.com")
+            .subject("Test Subject")
+            .status(EmailDeliveryStatus.SENT)
+            .attempts(1)
+            .build();
+    when(emailDeliveryRepository.findById(5L)).thenReturn(Optional.of(delivery));
+
+    EmailDeliveryDtoResponse result = emailService.getEmailDelivery(5L);
+
+    assertEquals(EmailDeliveryStatus.SENT, result.getStatus());
+    assertEquals(1, result.getAttempts());
   }
 
   @Test
-  void sendSimpleMessage_failsAfterThreeAttempts() {
-    String to = "test@example.com";
-    String subject = "Test Subject";
-    String content = "Test Content";
-
-    doThrow(new RuntimeException("Failed")).when(emailSender).send(any(SimpleMailMessage.class));
+  void getEmailDelivery_notFound() {
+    when(emailDeliveryRepository.findById(5L)).thenReturn(Optional.empty());
 
-    boolean result = emailService.sendSimpleMessage(to, subject, content);
+    AppException exception =
+        assertThrows(AppException.class, () -> emailService.getEmailDelivery(5L));
 
-    assertFalse(result);
-    verify(emailSender, times(3)).send(any(SimpleMailMessage.class));
+    assertEquals(HttpStatus.NOT_FOUND, exception.getHttpStatusCode());
   }
 
   @Test
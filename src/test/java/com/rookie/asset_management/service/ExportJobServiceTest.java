@@ -0,0 +1,233 @@
+package com.rookie.asset_management.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.rookie.asset_management.dto.request.export.ExportJobRequest;
+import com.rookie.asset_management.dto.response.export.ExportJobDtoResponse;
+import com.rookie.asset_management.dto.response.report.CategoryReportDtoResponse;
+import com.rookie.asset_management.entity.User;
+import com.rookie.asset_management.entity.UserDetailModel;
+import com.rookie.asset_management.enums.ExportJobStatus;
+import com.rookie.asset_management.exception.AppException;
+import com.rookie.asset_management.service.impl.ExportJobServiceImpl;
+import com.rookie.asset_management.service.impl.ExportServiceStrategy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class ExportJobServiceTest {
+
+  @Mock private ExportServiceStrategy exportServiceStrategy;
+
+  @Mock private ReportService reportService;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  @TempDir Path storageDir;
+
+  // collects the submitted tasks so the test decides when the jobs run
+  private final List<Runnable> submittedTasks = new ArrayList<>();
+
+  private ExportJobServiceImpl exportJobService;
+
+  @BeforeEach
+  void setUp() {
+    TaskExecutor executor = submittedTasks::add;
+    exportJobService =
+        new ExportJobServiceImpl(
+            exportServiceStrategy,
+            reportService,
+            executor,
+            transactionManager,
+            storageDir.toString(),
+            1,
+            Duration.ofHours(1));
+    authenticate("admin");
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  private void authenticate(String username) {
+    User user = new User();
+    user.setUsername(username);
+    user.setDisabled(false);
+    UserDetailModel userDetails = new UserDetailModel(user);
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities()));
+  }
+
+  private ExportJobRequest categoryRequest() {
+    return ExportJobRequest.builder()
+        .type("category")
+        .format("excel")
+        .timestamp("01-01-2025 10:00:00")
+        .build();
+  }
+
+  @Test
+  void submitJob_RunsExportAndStoresFile() throws Exception {
+    List<CategoryReportDtoResponse> reports =
+        List.of(CategoryReportDtoResponse.builder().category("Laptop").total(1).build());
+    byte[] content = new byte[] {1, 2, 3};
+    when(exportServiceStrategy.supports("category", "excel")).thenReturn(true);
+    when(reportService.getAllReports()).thenReturn(reports);
+    when(exportServiceStrategy.export("category", "excel", reports)).thenReturn(content);
+
+    ExportJobDtoResponse submitted = exportJobService.submitJob(categoryRequest());
+    assertEquals(ExportJobStatus.PENDING, submitted.getStatus());
+    assertEquals("data_report_01-01-2025_10-00-00.xlsx", submitted.getFilename());
+
+    submittedTasks.getFirst().run();
+
+    ExportJobDtoResponse completed = exportJobService.getJob(submitted.getId());
+    assertEquals(ExportJobStatus.COMPLETED, completed.getStatus());
+    assertEquals(100, completed.getProgress());
+
+    Path file = exportJobService.getJobFile(submitted.getId());
+    assertArrayEquals(content, Files.readAllBytes(file));
+  }
+
+  @Test
+  void submitJob_CoalescesIdenticalPendingRequests() {
+    when(exportServiceStrategy.supports("category", "excel")).thenReturn(true);
+
+    ExportJobDtoResponse first = exportJobService.submitJob(categoryRequest());
+    authenticate("another-admin");
+    ExportJobDtoResponse second = exportJobService.submitJob(categoryRequest());
+
+    assertEquals(first.getId(), second.getId());
+    assertEquals(1, submittedTasks.size());
+    // the coalesced user can follow the shared job
+    assertEquals(first.getId(), exportJobService.getJob(first.getId()).getId());
+  }
+
+  @Test
+  void submitJob_ThrowsWhenUserReachedActiveJobLimit() {
+    when(exportServiceStrategy.supports("category", "excel")).thenReturn(true);
+    exportJobService.submitJob(categoryRequest());
+
+    ExportJobRequest otherRequest = categoryRequest();
+    otherRequest.setPageNo(0);
+    otherRequest.setPageSize(10);
+
+    AppException exception =
+        assertThrows(AppException.class, () -> exportJobService.submitJob(otherRequest));
+    assertEquals(HttpStatus.TOO_MANY_REQUESTS, exception.getHttpStatusCode());
+  }
+
+  @Test
+  void submitJob_ThrowsWhenTypeIsNotSupported() {
+    when(exportServiceStrategy.supports("user", "excel")).thenReturn(false);
+    ExportJobRequest request = categoryRequest();
+    request.setType("user");
+
+    AppException exception =
+        assertThrows(AppException.class, () -> exportJobService.submitJob(request));
+    assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatusCode());
+    assertTrue(submittedTasks.isEmpty());
+  }
+
+  @Test
+  void submitJob_ThrowsWhenQueueIsFull() {
+    when(exportServiceStrategy.supports("category", "excel")).thenReturn(true);
+    TaskExecutor rejectingExecutor =
+        task -> {
+          throw new TaskRejectedException("queue full");
+        };
+    ExportJobServiceImpl service =
+        new ExportJobServiceImpl(
+            exportServiceStrategy,
+            reportService,
+            rejectingExecutor,
+            transactionManager,
+            storageDir.toString(),
+            1,
+            Duration.ofHours(1));
+
+    AppException exception =
+        assertThrows(AppException.class, () -> service.submitJob(categoryRequest()));
+    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getHttpStatusCode());
+  }
+
+  @Test
+  void getJob_ThrowsWhenJobBelongsToAnotherUser() {
+    when(exportServiceStrategy.supports("category", "excel")).thenReturn(true);
+    ExportJobDtoResponse submitted = exportJobService.submitJob(categoryRequest());
+
+    authenticate("another-admin");
+    AppException exception =
+        assertThrows(AppException.class, () -> exportJobService.getJob(submitted.getId()));
+    assertEquals(HttpStatus.NOT_FOUND, exception.getHttpStatusCode());
+  }
+
+  @Test
+  void getJobFile_ThrowsWhenJobFailed() {
+    when(exportServiceStrategy.supports("category", "excel")).thenReturn(true);
+    when(reportService.getAllReports()).thenReturn(List.of());
+    when(exportServiceStrategy.export("category", "excel", List.of()))
+        .thenThrow(new AppException(HttpStatus.INTERNAL_SERVER_ERROR, "boom"));
+
+    ExportJobDtoResponse submitted = exportJobService.submitJob(categoryRequest());
+    submittedTasks.getFirst().run();
+
+    assertEquals(ExportJobStatus.FAILED, exportJobService.getJob(submitted.getId()).getStatus());
+    AppException exception =
+        assertThrows(AppException.class, () -> exportJobService.getJobFile(submitted.getId()));
+    assertEquals(HttpStatus.CONFLICT, exception.getHttpStatusCode());
+  }
+
+  @Test
+  void cleanupExpiredJobs_RemovesFinishedJobsAndFiles() throws Exception {
+    ExportJobServiceImpl service =
+        new ExportJobServiceImpl(
+            exportServiceStrategy,
+            reportService,
+            submittedTasks::add,
+            transactionManager,
+            storageDir.toString(),
+            1,
+            Duration.ZERO);
+    when(exportServiceStrategy.supports("category", "excel")).thenReturn(true);
+    when(reportService.getAllReports()).thenReturn(List.of());
+    when(exportServiceStrategy.export("category", "excel", List.of())).thenReturn(new byte[] {1});
+
+    ExportJobDtoResponse submitted = service.submitJob(categoryRequest());
+    submittedTasks.getFirst().run();
+    Path file = service.getJobFile(submitted.getId());
+    Thread.sleep(5);
+
+    service.cleanupExpiredJobs();
+
+    assertFalse(Files.exists(file));
+    assertThrows(AppException.class, () -> service.getJob(submitted.getId()));
+    verify(exportServiceStrategy, times(1)).export("category", "excel", List.of());
+  }
+}
@@ -0,0 +1,110 @@
+package com.rookie.asset_management.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal in-process SMTP server for tests. Accepts every message except the ones addressed to a
+ * rejected recipient, and records the accepted messages and the number of connections opened.
+ */
+class FakeSmtpServer implements AutoCloseable {
+  private final ServerSocket serverSocket;
+  private final List<String> messages = new CopyOnWriteArrayList<>();
+  private final Set<String> rejectedRecipients = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger connections = new AtomicInteger();
+
+  FakeSmtpServer() throws IOException {
+    serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+    Thread acceptor = new Thread(this::accept, "fake-smtp");
+    acceptor.setDaemon(true);
+    acceptor.start();
+  }
+
+  int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  List<String> getMessages() {
+    return messages;
+  }
+
+  int getConnections() {
+    return connections.get();
+  }
+
+  void reject(String recipient) {
+    rejectedRecipients.add(recipient);
+  }
+
+  @Override
+  public void close() throws IOException {
+    serverSocket.close();
+  }
+
+  private void accept() {
+    while (!serverSocket.isClosed()) {
+      try {
+        Socket socket = serverSocket.accept();
+        connections.incrementAndGet();
+        Thread session = new Thread(() -> serve(socket), "fake-smtp-session");
+        session.setDaemon(true);
+        session.start();
+      } catch (IOException e) {
+        return;
+      }
+    }
+  }
+
+  private void serve(Socket socket) {
+    try (socket;
+        BufferedReader in =
+            new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        PrintWriter out =
+            new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII)) {
+      reply(out, "220 localhost ESMTP");
+      String line;
+      while ((line = in.readLine()) != null) {
+        String command = line.toUpperCase();
+        if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+          reply(out, "250 localhost");
+        } else if (command.startsWith("RCPT TO:")) {
+          String recipient = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+          reply(out, rejectedRecipients.contains(recipient) ? "550 mailbox unavailable" : "250 OK");
+        } else if (command.startsWith("DATA")) {
+          reply(out, "354 end data with <CR><LF>.<CR><LF>");
+          StringBuilder message = new StringBuilder();
+          while ((line = in.readLine()) != null && !line.equals(".")) {
+            message.append(line).append('\n');
+          }
+          messages.add(message.toString());
+          reply(out, "250 OK");
+        } else if (command.startsWith("QUIT")) {
+          reply(out, "221 bye");
+          return;
+        } else {
+          // MAIL FROM, RSET, NOOP
+          reply(out, "250 OK");
+        }
+      }
+    } catch (IOException e) {
+      // client went away
+    }
+  }
+
+  private static void reply(PrintWriter out, String line) {
+    out.print(line + "\r\n");
+    out.flush();
+  }
+}
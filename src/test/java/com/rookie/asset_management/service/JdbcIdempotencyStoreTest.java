@@ -0,0 +1,122 @@
+package com.rookie.asset_management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.rookie.asset_management.service.IdempotencyStore.Claim;
+import com.rookie.asset_management.service.IdempotencyStore.ClaimStatus;
+import com.rookie.asset_management.service.IdempotencyStore.StoredResponse;
+import com.rookie.asset_management.service.impl.JdbcIdempotencyStore;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Runs outside a test transaction, as the store does: every statement is auto-committed. */
+@DataJpaTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:idempotency;MODE=PostgreSQL",
+      "spring.jpa.hibernate.ddl-auto=none",
+      "app.idempotency.store=jdbc"
+    })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Sql("/sql/idempotency-fixture.sql")
+@Import(JdbcIdempotencyStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JdbcIdempotencyStoreTest {
+  private static final Duration LOCK_TIMEOUT = Duration.ofMinutes(1);
+  private static final Duration TTL = Duration.ofHours(1);
+
+  @Autowired private JdbcIdempotencyStore store;
+
+  @Test
+  void claim_firstClaims_thenInProgressUntilCompleted() {
+    assertEquals(Claim.CLAIMED, store.claim("key", "fp", LOCK_TIMEOUT, TTL));
+    assertEquals(Claim.IN_PROGRESS, store.claim("key", "fp", LOCK_TIMEOUT, TTL));
+
+    StoredResponse response = new StoredResponse(201, "{\"data\":{\"id\":10}}");
+    store.complete("key", response, TTL);
+
+    assertEquals(Claim.completed(response), store.claim("key", "fp", LOCK_TIMEOUT, TTL));
+  }
+
+  @Test
+  void claim_otherFingerprint_mismatch() {
+    store.claim("key", "fp", LOCK_TIMEOUT, TTL);
+
+    assertEquals(Claim.MISMATCH, store.claim("key", "other", LOCK_TIMEOUT, TTL));
+  }
+
+  @Test
+  void release_allowsNewClaim_butKeepsCompletedKeys() {
+    store.claim("failed", "fp", LOCK_TIMEOUT, TTL);
+    store.release("failed");
+    store.claim("done", "fp", LOCK_TIMEOUT, TTL);
+    store.complete("done", new StoredResponse(201, "{}"), TTL);
+    store.release("done");
+
+    assertEquals(Claim.CLAIMED, store.claim("failed", "fp", LOCK_TIMEOUT, TTL));
+    assertEquals(ClaimStatus.COMPLETED, store.claim("done", "fp", LOCK_TIMEOUT, TTL).status());
+  }
+
+  @Test
+  void claim_lockTimedOut_takenOver() {
+    store.claim("key", "fp", Duration.ofSeconds(-1), TTL);
+
+    assertEquals(Claim.CLAIMED, store.claim("key", "fp", LOCK_TIMEOUT, TTL));
+    assertEquals(Claim.IN_PROGRESS, store.claim("key", "fp", LOCK_TIMEOUT, TTL));
+  }
+
+  @Test
+  void purgeExpired_deletesOnlyExpiredKeys() {
+    store.claim("expired", "fp", LOCK_TIMEOUT, TTL);
+    store.complete("expired", new StoredResponse(201, "{}"), Duration.ofSeconds(-1));
+    store.claim("live", "fp", LOCK_TIMEOUT, TTL);
+
+    assertEquals(1, store.purgeExpired());
+    assertEquals(Claim.IN_PROGRESS, store.claim("live", "fp", LOCK_TIMEOUT, TTL));
+  }
+
+  @Test
+  void claim_concurrentDuplicates_exactlyOneClaims() throws Exception {
+    int duplicates = 8;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(duplicates);
+    try {
+      List<Future<Claim>> claims = new ArrayList<>();
+      for (int i = 0; i < duplicates; i++) {
+        Callable<Claim> claim =
+            () -> {
+              start.await(10, TimeUnit.SECONDS);
+              return store.claim("key", "fp", LOCK_TIMEOUT, TTL);
+            };
+        claims.add(executor.submit(claim));
+      }
+      start.countDown();
+
+      int claimed = 0;
+      for (Future<Claim> claim : claims) {
+        if (claim.get(10, TimeUnit.SECONDS) == Claim.CLAIMED) {
+          claimed++;
+        }
+      }
+      assertEquals(1, claimed);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package com.rookie.asset_management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.rookie.asset_management.dto.response.notification.NotificationBatchResult;
+import com.rookie.asset_management.enums.NotificationType;
+import com.rookie.asset_management.service.impl.handler.NotificationBatchWriter;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationBatchWriterTest {
+
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private NotificationBatchWriter notificationBatchWriter;
+
+  @BeforeEach
+  void setUp() {
+    notificationBatchWriter = new NotificationBatchWriter(jdbcTemplate, transactionManager, 2);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void insert_splitsRecipientsIntoBatches() {
+    when(jdbcTemplate.batchUpdate(
+            anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+        .thenReturn(new int[][] {{1, 1}}, new int[][] {{1, 1}}, new int[][] {{-2}});
+
+    NotificationBatchResult result =
+        notificationBatchWriter.insert(
+            NotificationType.ASSIGNMENT_CREATED, 1, List.of(2, 3, 4, 5, 6), 7, null);
+
+    assertTrue(result.isSuccess());
+    assertEquals(5, result.getRequested());
+    assertEquals(5, result.getInserted());
+    assertEquals(3, result.getBatches().size());
+    assertEquals(1, result.getBatches().get(2).getSize());
+    verify(transactionManager, times(3)).commit(any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void insert_failedBatch_rolledBackAndReported() {
+    when(jdbcTemplate.batchUpdate(
+            anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+        .thenReturn(new int[][] {{1, 1}})
+        .thenThrow(new DataIntegrityViolationException("fk violation"))
+        .thenReturn(new int[][] {{1}});
+
+    NotificationBatchResult result =
+        notificationBatchWriter.insert(
+            NotificationType.ASSIGNMENT_CREATED, 1, List.of(2, 3, 4, 5, 6), 7, null);
+
+    assertFalse(result.isSuccess());
+    assertEquals(3, result.getInserted());
+    NotificationBatchResult.Batch failed = result.getBatches().get(1);
+    assertFalse(failed.isSuccess());
+    assertEquals(0, failed.getInserted());
+    assertEquals("fk violation", failed.getError());
+    assertTrue(result.getBatches().get(2).isSuccess());
+    verify(transactionManager, times(1)).rollback(any());
+  }
+
+  @Test
+  void insert_noRecipients_noStatements() {
+    NotificationBatchResult result =
+        notificationBatchWriter.insert(NotificationType.ASSIGNMENT_CREATED, 1, List.of(), 7, null);
+
+    assertTrue(result.isSuccess());
+    assertEquals(0, result.getInserted());
+    assertTrue(result.getBatches().isEmpty());
+  }
+
+  @Test
+  void insertForLocationAdmins_usesSingleInsertSelect() {
+    when(jdbcTemplate.update(contains("SELECT"), any(PreparedStatementSetter.class))).thenReturn(3);
+
+    NotificationBatchResult result =
+        notificationBatchWriter.insertForLocationAdmins(
+            NotificationType.RETURN_REQUEST_CREATED, 1, 1, null, 9);
+
+    assertTrue(result.isSuccess());
+    assertEquals(3, result.getInserted());
+    assertEquals(1, result.getBatches().size());
+  }
+}
@@ -1,20 +1,27 @@
 package com.rookie.asset_management.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.rookie.asset_management.dto.response.notification.NotificationBatchResult;
 import com.rookie.asset_management.entity.Assignment;
 import com.rookie.asset_management.entity.Location;
-import com.rookie.asset_management.entity.Notification;
 import com.rookie.asset_management.entity.ReturningRequest;
 import com.rookie.asset_management.entity.Role;
 import com.rookie.asset_management.entity.User;
-import com.rookie.asset_management.repository.NotificationRepository;
+import com.rookie.asset_management.enums.NotificationType;
+import com.rookie.asset_management.service.impl.handler.NotificationBatchWriter;
 import com.rookie.asset_management.service.impl.handler.NotificationCreatorImpl;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -26,9 +33,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @ExtendWith(MockitoExtension.class)
 class NotificationCreatorImplTest {
 
-  @Mock private NotificationRepository notificationRepository;
+  @Mock private OutboxService outboxService;
 
-  @Mock private UserService userService;
+  @Mock private NotificationBatchWriter notificationBatchWriter;
 
   @InjectMocks private NotificationCreatorImpl notificationService;
 
@@ -70,25 +77,27 @@ class NotificationCreatorImplTest {
   void createAssignmentAcceptedNotification_success() {
     notificationService.createAssignmentAcceptedNotification(sender, recipient, assignment);
 
-    verify(notificationRepository, times(1)).save(any(Notification.class));
+    verify(outboxService, times(1))
+        .enqueueNotification(
+            NotificationType.ASSIGNMENT_ACCEPTED, sender, recipient, assignment, null);
   }
 
   @Test
   void createAssignmentNotification_nullSender_logsWarning() {
     notificationService.createAssignmentNotification(null, recipient, assignment);
 
-    verify(notificationRepository, times(0)).save(any());
+    verifyNoInteractions(outboxService);
   }
 
   @Test
-  void createAssignmentNotification_repositoryThrowsException_logsError() {
+  void createAssignmentNotification_outboxThrowsException_propagates() {
     doThrow(new RuntimeException("DB error"))
-        .when(notificationRepository)
-        .save(any(Notification.class));
+        .when(outboxService)
+        .enqueueNotification(any(), any(), any(), any(), any());
 
-    notificationService.createAssignmentNotification(sender, recipient, assignment);
-
-    verify(notificationRepository, times(1)).save(any(Notification.class));
+    assertThrows(
+        RuntimeException.class,
+        () -> notificationService.createAssignmentNotification(sender, recipient, assignment));
   }
 
   @Test
@@ -96,20 +105,39 @@ class NotificationCreatorImplTest {
     notificationService.createReturningRequestCompletedNotification(
         sender, recipient, returningRequest);
 
-    verify(notificationRepository, times(1)).save(any(Notification.class));
+    verify(outboxService, times(1))
+        .enqueueNotification(
+            NotificationType.RETURN_REQUEST_COMPLETED,
+            sender,
+            recipient,
+            assignment,
+            returningRequest);
   }
 
   @Test
-  void createReturningRequestNotification_adminSender_notifiesAssigneeAndOtherAdmins() {
-    User admin2 = new User();
-    admin2.setId(3);
-    admin2.setRole(adminRole);
-    when(userService.getAdminsByLocation(1)).thenReturn(List.of(admin2));
+  void createReturningRequestCompletedNotification_withoutAssignment_notSent() {
+    returningRequest.setAssignment(null);
+
+    notificationService.createReturningRequestCompletedNotification(
+        sender, recipient, returningRequest);
 
+    verifyNoInteractions(outboxService);
+  }
+
+  @Test
+  void createReturningRequestNotification_adminSender_notifiesAssigneeAndOtherAdmins() {
     notificationService.createReturningRequestNotification(sender, returningRequest);
 
-    verify(notificationRepository, times(2)).save(any(Notification.class));
-    verify(userService, times(1)).getAdminsByLocation(1);
+    verify(outboxService, times(1))
+        .enqueueNotification(
+            NotificationType.RETURN_REQUEST_CREATED,
+            sender,
+            recipient,
+            assignment,
+            returningRequest);
+    verify(outboxService, times(1))
+        .enqueueLocationAdminsNotification(
+            NotificationType.RETURN_REQUEST_CREATED, sender, assignment, returningRequest);
   }
 
   @Test
@@ -117,37 +145,87 @@ class NotificationCreatorImplTest {
     Role userRole = new Role();
     userRole.setName("USER");
     sender.setRole(userRole);
-    User admin = new User();
-    admin.setId(3);
-    when(userService.getAdminsByLocation(1)).thenReturn(List.of(admin));
 
     notificationService.createReturningRequestNotification(sender, returningRequest);
 
-    verify(notificationRepository, times(1)).save(any(Notification.class));
-    verify(userService, times(1)).getAdminsByLocation(1);
+    verify(outboxService, never()).enqueueNotification(any(), any(), any(), any(), any());
+    verify(outboxService, times(1))
+        .enqueueLocationAdminsNotification(
+            NotificationType.RETURN_REQUEST_CREATED, sender, assignment, returningRequest);
+  }
+
+  @Test
+  void createReturningRequestNotification_noLocation_noNotifications() {
+    sender.setLocation(null);
+
+    notificationService.createReturningRequestNotification(sender, returningRequest);
+
+    verifyNoInteractions(outboxService);
   }
 
   @Test
   void createReturningRequestRejectedNotification_success() {
     notificationService.createReturningRequestRejectedNotification(sender, recipient, assignment);
 
-    verify(notificationRepository, times(1)).save(any(Notification.class));
+    verify(outboxService, times(1))
+        .enqueueNotification(
+            NotificationType.RETURN_REQUEST_REJECTED, sender, recipient, assignment, null);
   }
 
   @Test
   void createAssignmentRejectedNotification_success() {
     notificationService.createAssignmentRejectedNotification(sender, recipient, assignment);
 
-    verify(notificationRepository, times(1)).save(any(Notification.class));
+    verify(outboxService, times(1))
+        .enqueueNotification(
+            NotificationType.ASSIGNMENT_REJECTED, sender, recipient, assignment, null);
+  }
+
+  @Test
+  void createNotifications_insertsAllRecipientsInBatch() {
+    User other = new User();
+    other.setId(3);
+    when(notificationBatchWriter.insert(
+            NotificationType.ASSIGNMENT_CREATED, 1, List.of(2, 3), 1, null))
+        .thenReturn(result(2, true));
+
+    NotificationBatchResult result =
+        notificationService.createNotifications(
+            NotificationType.ASSIGNMENT_CREATED,
+            sender,
+            Arrays.asList(recipient, null, other),
+            assignment,
+            null);
+
+    assertEquals(2, result.getInserted());
+    verifyNoInteractions(outboxService);
   }
 
   @Test
-  void createReturningRequestNotification_emptyAdminList_noNotifications() {
-    when(userService.getAdminsByLocation(1)).thenReturn(Collections.emptyList());
+  void createNotifications_failedBatch_reportedInResult() {
+    when(notificationBatchWriter.insert(any(NotificationType.class), any(), any(), any(), isNull()))
+        .thenReturn(result(0, false));
 
-    notificationService.createReturningRequestNotification(sender, returningRequest);
+    NotificationBatchResult result =
+        notificationService.createNotifications(
+            NotificationType.ASSIGNMENT_CREATED, sender, List.of(recipient), assignment, null);
+
+    assertFalse(result.isSuccess());
+    assertEquals(0, result.getInserted());
+  }
 
-    verify(notificationRepository, times(1)).save(any(Notification.class));
-    verify(userService, times(1)).getAdminsByLocation(1);
+  private static NotificationBatchResult result(int inserted, boolean success) {
+    return NotificationBatchResult.builder()
+        .requested(-1)
+        .inserted(inserted)
+        .batches(
+            List.of(
+                NotificationBatchResult.Batch.builder()
+                    .index(0)
+                    .size(-1)
+                    .inserted(inserted)
+                    .success(success)
+                    .build()))
+        .build();
   }
 }
@@ -0,0 +1,151 @@
+package com.rookie.asset_management.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import com.rookie.asset_management.config.datasource.ReadYourWritesTracker;
+import com.rookie.asset_management.config.datasource.ReplicaRoutingDataSource;
+import com.rookie.asset_management.controller.NotificationController;
+import com.rookie.asset_management.dto.response.notification.NotificationDtoResponse;
+import com.rookie.asset_management.entity.Notification;
+import com.rookie.asset_management.entity.User;
+import com.rookie.asset_management.enums.NotificationType;
+import com.rookie.asset_management.mapper.NotificationMapper;
+import com.rookie.asset_management.repository.NotificationRepository;
+import com.rookie.asset_management.service.impl.handler.NotificationHub;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/**
+ * Pushes from a primary and a lagging replica, two local in-memory databases: the repository reads
+ * the notifications of whichever database the hub's transaction is routed to.
+ */
+class NotificationHubRoutingTest {
+  private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+
+  private final NotificationMapper notificationMapper = mock(NotificationMapper.class);
+
+  private final NotificationService notificationService = mock(NotificationService.class);
+
+  private JdbcTemplate primary;
+
+  private NotificationHub notificationHub;
+
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    primary = new JdbcTemplate(database("hub_primary"));
+    ReplicaRoutingDataSource routing =
+        new ReplicaRoutingDataSource(
+            primary.getDataSource(),
+            database("hub_replica"),
+            new ReadYourWritesTracker(Duration.ofMinutes(1)));
+    routing.afterPropertiesSet();
+    DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+    JdbcTemplate routed = new JdbcTemplate(dataSource);
+
+    when(notificationRepository.findLastIdByRecipientId(1))
+        .thenAnswer(
+            invocation ->
+                routed.queryForObject(
+                    "SELECT COALESCE(MAX(id), 0) FROM notification", Integer.class));
+    when(notificationRepository.findByRecipientIdAndIdGreaterThanOrderByIdAsc(
+            anyInt(), anyInt(), any(Limit.class)))
+        .thenAnswer(
+            invocation ->
+                routed
+                    .queryForList(
+                        "SELECT id FROM notification WHERE id > ? ORDER BY id",
+                        Integer.class,
+                        invocation.<Integer>getArgument(1))
+                    .stream()
+                    .map(id -> Notification.builder().id(id).build())
+                    .toList());
+    when(notificationMapper.toDto(any(Notification.class)))
+        .thenAnswer(invocation -> dto(invocation.<Notification>getArgument(0).getId()));
+
+    notificationHub =
+        new NotificationHub(
+            notificationRepository,
+            notificationMapper,
+            new SyncTaskExecutor(),
+            new DataSourceTransactionManager(dataSource),
+            new SimpleMeterRegistry(),
+            Duration.ofMinutes(30),
+            Duration.ofSeconds(10),
+            100);
+    mockMvc =
+        MockMvcBuilders.standaloneSetup(new NotificationController(notificationService)).build();
+  }
+
+  @Test
+  void signalledPush_readsTheNotificationOnlyOnThePrimary() throws Exception {
+    MockHttpServletResponse response = open();
+
+    // committed on the primary, not yet replicated
+    primary.update("INSERT INTO notification VALUES (8)");
+    notificationHub.notifyRecipients(List.of(1));
+
+    assertTrue(response.getContentAsString().contains("id:8\nevent:notification\n"));
+  }
+
+  @Test
+  void replicaOnlyRow_isNotPushed() throws Exception {
+    MockHttpServletResponse response = open();
+
+    // a row the primary does not have, which a replica read would push
+    new JdbcTemplate(database("hub_replica")).update("INSERT INTO notification VALUES (9)");
+    notificationHub.notifyRecipients(List.of(1));
+
+    assertFalse(response.getContentAsString().contains("event:notification"));
+  }
+
+  private MockHttpServletResponse open() throws Exception {
+    User user = new User();
+    user.setId(1);
+    when(notificationService.streamNotifications(null))
+        .thenAnswer(invocation -> notificationHub.subscribe(user, null));
+    return mockMvc
+        .perform(get("/api/v1/notifications/stream"))
+        .andExpect(request().asyncStarted())
+        .andReturn()
+        .getResponse();
+  }
+
+  private static NotificationDtoResponse dto(int id) {
+    return NotificationDtoResponse.builder()
+        .id(id)
+        .type(NotificationType.ASSIGNMENT_CREATED)
+        .senderName("sender")
+        .build();
+  }
+
+  private static DataSource database(String name) {
+    DriverManagerDataSource dataSource =
+        new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS notification (id INT)");
+    jdbcTemplate.execute("DELETE FROM notification");
+    return dataSource;
+  }
+}
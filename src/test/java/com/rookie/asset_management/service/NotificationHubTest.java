@@ -0,0 +1,200 @@
+package com.rookie.asset_management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import com.rookie.asset_management.controller.NotificationController;
+import com.rookie.asset_management.dto.response.notification.NotificationDtoResponse;
+import com.rookie.asset_management.entity.Location;
+import com.rookie.asset_management.entity.Notification;
+import com.rookie.asset_management.entity.Role;
+import com.rookie.asset_management.entity.User;
+import com.rookie.asset_management.enums.NotificationType;
+import com.rookie.asset_management.mapper.NotificationMapper;
+import com.rookie.asset_management.repository.NotificationRepository;
+import com.rookie.asset_management.service.impl.handler.NotificationHub;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Limit;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationHubTest {
+
+  @Mock private NotificationRepository notificationRepository;
+
+  @Mock private NotificationMapper notificationMapper;
+
+  @Mock private NotificationService notificationService;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private NotificationHub notificationHub;
+
+  private MockMvc mockMvc;
+
+  private User admin;
+
+  @BeforeEach
+  void setUp() {
+    notificationHub = hub(new SyncTaskExecutor());
+    mockMvc =
+        MockMvcBuilders.standaloneSetup(new NotificationController(notificationService)).build();
+
+    Location location = new Location();
+    location.setId(4);
+    Role adminRole = new Role();
+    adminRole.setName("ADMIN");
+    admin = new User();
+    admin.setId(1);
+    admin.setLocation(location);
+    admin.setRole(adminRole);
+  }
+
+  @Test
+  void stream_newClient_receivesUnreadCountOnly() throws Exception {
+    when(notificationRepository.findLastIdByRecipientId(1)).thenReturn(7);
+    when(notificationRepository.countByRecipientIdAndIsReadFalse(1)).thenReturn(3L);
+
+    MockHttpServletResponse response = open(null);
+
+    String body = response.getContentAsString();
+    assertTrue(body.contains("event:unread-count\ndata:3"));
+    assertFalse(body.contains("event:notification"));
+    verify(notificationRepository)
+        .findByRecipientIdAndIdGreaterThanOrderByIdAsc(1, 7, Limit.of(100));
+    assertEquals(1, notificationHub.getConnectionCount());
+  }
+
+  @Test
+  void stream_resumingClient_replaysMissedNotifications() throws Exception {
+    Notification missed = new Notification();
+    when(notificationRepository.findByRecipientIdAndIdGreaterThanOrderByIdAsc(1, 5, Limit.of(100)))
+        .thenReturn(List.of(missed));
+    when(notificationMapper.toDto(missed)).thenReturn(dto(6));
+    when(notificationRepository.countByRecipientIdAndIsReadFalse(1)).thenReturn(1L);
+
+    MockHttpServletResponse response = open(5);
+
+    String body = response.getContentAsString();
+    assertTrue(body.contains("id:6\nevent:notification\n"));
+    assertTrue(body.contains("event:unread-count\ndata:1"));
+    verify(notificationRepository, never()).findLastIdByRecipientId(any());
+  }
+
+  @Test
+  void notifyLocationAdmins_pushesNewNotificationsToConnectedAdmins() throws Exception {
+    when(notificationRepository.findLastIdByRecipientId(1)).thenReturn(7);
+    MockHttpServletResponse response = open(null);
+
+    Notification created = new Notification();
+    when(notificationRepository.findByRecipientIdAndIdGreaterThanOrderByIdAsc(1, 7, Limit.of(100)))
+        .thenReturn(List.of(created));
+    when(notificationMapper.toDto(created)).thenReturn(dto(8));
+
+    notificationHub.notifyLocationAdmins(4, 2);
+
+    assertTrue(response.getContentAsString().contains("id:8\nevent:notification\n"));
+  }
+
+  @Test
+  void notifyLocationAdmins_senderAndOtherLocationsIgnored() throws Exception {
+    when(notificationRepository.findLastIdByRecipientId(1)).thenReturn(7);
+    open(null);
+
+    notificationHub.notifyLocationAdmins(4, 1);
+    notificationHub.notifyLocationAdmins(5, 2);
+    notificationHub.notifyRecipients(List.of(2, 3));
+
+    // only the initial push of the subscription
+    verify(notificationRepository)
+        .findByRecipientIdAndIdGreaterThanOrderByIdAsc(eq(1), eq(7), any(Limit.class));
+  }
+
+  @Test
+  void heartbeat_writesOnTheStreamExecutor() throws Exception {
+    List<Runnable> tasks = new ArrayList<>();
+    notificationHub = hub(tasks::add);
+    when(notificationRepository.findLastIdByRecipientId(1)).thenReturn(7);
+    MockHttpServletResponse response = open(null);
+
+    notificationHub.heartbeat();
+
+    // handed over, one task per user, and written by the executor only
+    assertEquals(1, tasks.size());
+    assertFalse(response.getContentAsString().contains(":heartbeat"));
+    tasks.get(0).run();
+    assertTrue(response.getContentAsString().contains(":heartbeat"));
+  }
+
+  @Test
+  void heartbeat_rejectedByTheSaturatedExecutor_skipped() throws Exception {
+    notificationHub =
+        hub(
+            task -> {
+              throw new TaskRejectedException("full");
+            });
+    when(notificationRepository.findLastIdByRecipientId(1)).thenReturn(7);
+    MockHttpServletResponse response = open(null);
+
+    notificationHub.heartbeat();
+
+    assertFalse(response.getContentAsString().contains(":heartbeat"));
+    assertEquals(1, notificationHub.getConnectionCount());
+  }
+
+  private NotificationHub hub(TaskExecutor notificationStreamExecutor) {
+    return new NotificationHub(
+        notificationRepository,
+        notificationMapper,
+        notificationStreamExecutor,
+        transactionManager,
+        new SimpleMeterRegistry(),
+        Duration.ofMinutes(30),
+        Duration.ofSeconds(10),
+        100);
+  }
+
+  private MockHttpServletResponse open(Integer lastEventId) throws Exception {
+    when(notificationService.streamNotifications(lastEventId))
+        .thenAnswer(invocation -> notificationHub.subscribe(admin, lastEventId));
+    var streamRequest = get("/api/v1/notifications/stream");
+    if (lastEventId != null) {
+      streamRequest.header("Last-Event-ID", lastEventId);
+    }
+    return mockMvc
+        .perform(streamRequest)
+        .andExpect(request().asyncStarted())
+        .andReturn()
+        .getResponse();
+  }
+
+  private static NotificationDtoResponse dto(int id) {
+    return NotificationDtoResponse.builder()
+        .id(id)
+        .type(NotificationType.RETURN_REQUEST_CREATED)
+        .senderName("sender")
+        .build();
+  }
+}
@@ -0,0 +1,101 @@
+package com.rookie.asset_management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.rookie.asset_management.PostgresTestDatabase;
+import com.rookie.asset_management.service.impl.NotificationMaintenanceServiceImpl;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+/** Runs the partition and retention statements against PostgreSQL. */
+class NotificationMaintenancePostgresTest {
+  private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+  private JdbcTemplate jdbcTemplate;
+
+  private NotificationMaintenanceServiceImpl service;
+
+  @BeforeEach
+  void setUp() {
+    DataSource dataSource = PostgresTestDatabase.reset();
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    service =
+        new NotificationMaintenanceServiceImpl(
+            jdbcTemplate, new DataSourceTransactionManager(dataSource), 90, true, 2, 10, 6);
+  }
+
+  @Test
+  void createUpcomingPartitions_movesRowsOutOfTheDefaultPartition() {
+    YearMonth month = YearMonth.now().plusMonths(6);
+    String partition = "notifications_" + month.format(SUFFIX);
+    jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+    insertNotification(month.atDay(10).atStartOfDay(), false);
+    assertEquals(1, count("notifications_default"));
+
+    assertTrue(service.createUpcomingPartitions() >= 1);
+
+    assertEquals(0, count("notifications_default"));
+    assertEquals(1, count(partition));
+    assertEquals(1, count("notifications"));
+  }
+
+  @Test
+  void archiveExpiredNotifications_movesOnlyOldReadRows() {
+    LocalDateTime old = LocalDate.now().minusDays(200).atStartOfDay();
+    for (int i = 0; i < 3; i++) {
+      insertNotification(old, true);
+    }
+    insertNotification(old, false);
+    insertNotification(LocalDateTime.now(), true);
+
+    assertEquals(3, service.archiveExpiredNotifications());
+
+    assertEquals(3, count("notifications_archive"));
+    assertEquals(2, count("notifications"));
+  }
+
+  @Test
+  void dropEmptyPartitions_keepsPartitionsWithRows() {
+    jdbcTemplate.execute("DROP TABLE IF EXISTS notifications_2001_01");
+    jdbcTemplate.execute("DROP TABLE IF EXISTS notifications_2001_02");
+    jdbcTemplate.execute(
+        "CREATE TABLE notifications_2001_01 PARTITION OF notifications "
+            + "FOR VALUES FROM ('2001-01-01') TO ('2001-02-01')");
+    jdbcTemplate.execute(
+        "CREATE TABLE notifications_2001_02 PARTITION OF notifications "
+            + "FOR VALUES FROM ('2001-02-01') TO ('2001-03-01')");
+    insertNotification(LocalDateTime.of(2001, 2, 3, 0, 0), false);
+
+    assertTrue(service.dropEmptyPartitions() >= 1);
+
+    assertFalse(exists("notifications_2001_01"));
+    assertTrue(exists("notifications_2001_02"));
+  }
+
+  private void insertNotification(LocalDateTime createdAt, boolean read) {
+    jdbcTemplate.update(
+        "INSERT INTO notifications (type, sender_id, recipient_id, is_read, created_at) "
+            + "VALUES ('ASSIGNMENT_CREATED', 1, 2, ?, ?)",
+        read,
+        Timestamp.valueOf(createdAt));
+  }
+
+  private int count(String table) {
+    return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+  }
+
+  private boolean exists(String table) {
+    return Boolean.TRUE.equals(
+        jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+  }
+}
@@ -0,0 +1,118 @@
+package com.rookie.asset_management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.rookie.asset_management.service.impl.NotificationMaintenanceServiceImpl;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationMaintenanceServiceTest {
+  private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private NotificationMaintenanceServiceImpl service(boolean archive, int maxBatches) {
+    return new NotificationMaintenanceServiceImpl(
+        jdbcTemplate, transactionManager, 90, archive, 2, maxBatches, 2);
+  }
+
+  @Test
+  void archiveExpiredNotifications_stopsAfterShortBatch() {
+    when(jdbcTemplate.update(contains("INSERT INTO notifications_archive"), any(), eq(2)))
+        .thenReturn(2, 2, 1);
+
+    assertEquals(5, service(true, 10).archiveExpiredNotifications());
+    verify(jdbcTemplate, times(3)).update(anyString(), any(), eq(2));
+    verify(transactionManager, times(3)).commit(any());
+  }
+
+  @Test
+  void archiveExpiredNotifications_isCappedByMaxBatches() {
+    when(jdbcTemplate.update(anyString(), any(), eq(2))).thenReturn(2);
+
+    assertEquals(6, service(true, 3).archiveExpiredNotifications());
+    verify(jdbcTemplate, times(3)).update(anyString(), any(), eq(2));
+  }
+
+  @Test
+  void archiveExpiredNotifications_onlyDeletesWhenArchivingIsDisabled() {
+    when(jdbcTemplate.queryForObject(
+            contains("SELECT COUNT(*) FROM moved"), eq(Integer.class), any(), eq(2)))
+        .thenReturn(1);
+
+    assertEquals(1, service(false, 10).archiveExpiredNotifications());
+    verify(jdbcTemplate, never()).update(anyString(), any(), any());
+  }
+
+  @Test
+  void createUpcomingPartitions_createsMissingMonths() {
+    YearMonth now = YearMonth.now();
+    when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class)))
+        .thenReturn(List.of("notifications_" + now.format(SUFFIX)));
+
+    assertEquals(2, service(true, 10).createUpcomingPartitions());
+    verify(jdbcTemplate)
+        .execute(
+            contains(
+                "notifications_"
+                    + now.plusMonths(1).format(SUFFIX)
+                    + " PARTITION OF notifications FOR VALUES FROM ('"
+                    + now.plusMonths(1).atDay(1)
+                    + "') TO ('"
+                    + now.plusMonths(2).atDay(1)
+                    + "')"));
+    verify(jdbcTemplate).execute(contains("notifications_" + now.plusMonths(2).format(SUFFIX)));
+  }
+
+  @Test
+  void createUpcomingPartitions_skipsPartitionThatCannotBeCreated() {
+    when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class)))
+        .thenReturn(List.of());
+    doThrow(new DataIntegrityViolationException("default partition"))
+        .doNothing()
+        .when(jdbcTemplate)
+        .execute(startsWith("CREATE TABLE"));
+
+    assertEquals(2, service(true, 10).createUpcomingPartitions());
+  }
+
+  @Test
+  void dropEmptyPartitions_dropsOnlyEmptyPartitionsPastRetention() {
+    String old = "notifications_" + YearMonth.from(LocalDate.now().minusDays(200)).format(SUFFIX);
+    String oldWithRows =
+        "notifications_" + YearMonth.from(LocalDate.now().minusDays(300)).format(SUFFIX);
+    String current = "notifications_" + YearMonth.now().format(SUFFIX);
+    when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class)))
+        .thenReturn(List.of(old, oldWithRows, current));
+    when(jdbcTemplate.queryForObject(contains("FROM " + old + ")"), eq(Boolean.class)))
+        .thenReturn(false);
+    when(jdbcTemplate.queryForObject(contains("FROM " + oldWithRows + ")"), eq(Boolean.class)))
+        .thenReturn(true);
+
+    assertEquals(1, service(true, 10).dropEmptyPartitions());
+    verify(jdbcTemplate).execute("DROP TABLE " + old);
+    verify(jdbcTemplate, never()).queryForObject(contains(current), eq(Boolean.class));
+  }
+}
@@ -1,23 +1,36 @@
 package com.rookie.asset_management.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.rookie.asset_management.dto.response.notification.NotificationDtoResponse;
+import com.rookie.asset_management.dto.response.notification.NotificationFeedDtoResponse;
 import com.rookie.asset_management.entity.Notification;
 import com.rookie.asset_management.entity.User;
 import com.rookie.asset_management.entity.UserDetailModel;
+import com.rookie.asset_management.enums.NotificationType;
 import com.rookie.asset_management.exception.AppException;
 import com.rookie.asset_management.mapper.NotificationMapper;
 import com.rookie.asset_management.repository.NotificationRepository;
+import com.rookie.asset_management.repository.projection.NotificationFeedView;
 import com.rookie.asset_management.service.impl.NotificationServiceImpl;
+import com.rookie.asset_management.service.impl.handler.NotificationHub;
 import com.rookie.asset_management.util.SecurityUtils;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -40,6 +53,8 @@ class NotificationServiceImplTest {
 
   @Mock private NotificationMapper notificationMapper;
 
+  @Mock private NotificationHub notificationHub;
+
   @InjectMocks private NotificationServiceImpl notificationServiceImpl;
 
   @BeforeEach
@@ -220,26 +235,110 @@ class NotificationServiceImplTest {
   }
 
   @Test
-  @DisplayName("Should mark all notifications as read successfully")
+  @DisplayName("Should mark all notifications as read with one bulk update")
   void markAllNotificationsAsRead_marksAllNotificationsAsReadSuccessfully() {
     User user = new User();
+    user.setId(2);
     user.setUsername("username");
     user.setDisabled(false);
-    Notification notification1 = new Notification();
-    notification1.setRecipient(user);
-    notification1.setRead(false);
-    Notification notification2 = new Notification();
-    notification2.setRecipient(user);
-    notification2.setRead(false);
 
     mockAuthenticatedUser(user);
-    when(notificationRepository.findAllByRecipientAndIsRead(user, false))
-        .thenReturn(List.of(notification1, notification2));
+    when(notificationRepository.markAsReadUpTo(eq(2), eq(Integer.MAX_VALUE), any())).thenReturn(2);
+
+    int updated = notificationServiceImpl.markAllNotificationsAsRead(null, null);
+
+    assertEquals(2, updated);
+    verify(notificationRepository, never()).saveAll(any());
+    verify(notificationHub, times(1)).publishUnreadCount(2);
+  }
 
-    notificationServiceImpl.markAllNotificationsAsRead();
+  @Test
+  @DisplayName("Should only mark notifications up to the given bounds")
+  void markAllNotificationsAsRead_upTo_passesBounds() {
+    User user = new User();
+    user.setId(2);
+    user.setUsername("username");
+    user.setDisabled(false);
+    LocalDateTime upTo = LocalDateTime.of(2025, 1, 3, 9, 0);
+
+    mockAuthenticatedUser(user);
+    when(notificationRepository.markAsReadUpTo(2, 40, upTo)).thenReturn(0);
+
+    int updated = notificationServiceImpl.markAllNotificationsAsRead(40, upTo);
+
+    assertEquals(0, updated);
+    verify(notificationHub, never()).publishUnreadCount(any());
+  }
+
+  @Test
+  @DisplayName("Should return a feed page with a cursor to the next one")
+  void getNotificationFeed_returnsPageAndNextCursor() {
+    User user = new User();
+    user.setId(2);
+    user.setUsername("username");
+    user.setDisabled(false);
+    mockAuthenticatedUser(user);
+
+    NotificationFeedView newest = feedRow(5, LocalDateTime.of(2025, 1, 4, 9, 0));
+    NotificationFeedView older = feedRow(4, LocalDateTime.of(2025, 1, 3, 9, 0));
+    NotificationFeedView extra = feedRow(3, LocalDateTime.of(2025, 1, 3, 9, 0));
+    when(notificationRepository.findFeedPage(
+            eq(2), eq("ASSIGNMENT_CREATED"), isNull(), any(), eq(Integer.MAX_VALUE), eq(3)))
+        .thenReturn(List.of(newest, older, extra));
+    when(notificationMapper.toFeedDto(any(NotificationFeedView.class)))
+        .thenReturn(NotificationDtoResponse.builder().build());
+
+    NotificationFeedDtoResponse feed =
+        notificationServiceImpl.getNotificationFeed(
+            null, 2, NotificationType.ASSIGNMENT_CREATED, null);
+
+    assertEquals(2, feed.getItems().size());
+    assertTrue(feed.isHasMore());
+
+    when(notificationRepository.findFeedPage(
+            2, null, null, LocalDateTime.of(2025, 1, 3, 9, 0), 4, 3))
+        .thenReturn(List.of(extra));
+
+    NotificationFeedDtoResponse next =
+        notificationServiceImpl.getNotificationFeed(feed.getNextCursor(), 2, null, null);
+
+    assertEquals(1, next.getItems().size());
+    assertFalse(next.isHasMore());
+    assertNull(next.getNextCursor());
+  }
+
+  @Test
+  @DisplayName("Should reject a page size out of bounds")
+  void getNotificationFeed_invalidSize_throwsBadRequest() {
+    AppException exception =
+        assertThrows(
+            AppException.class,
+            () -> notificationServiceImpl.getNotificationFeed(null, 101, null, null));
+
+    assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatusCode());
+  }
+
+  @Test
+  @DisplayName("Should reject a malformed cursor")
+  void getNotificationFeed_invalidCursor_throwsBadRequest() {
+    User user = new User();
+    user.setId(2);
+    user.setUsername("username");
+    user.setDisabled(false);
+    mockAuthenticatedUser(user);
+
+    AppException exception =
+        assertThrows(
+            AppException.class,
+            () -> notificationServiceImpl.getNotificationFeed("not-a-cursor", 20, null, null));
+
+    assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatusCode());
+  }
 
-    assertTrue(notification1.isRead());
-    assertTrue(notification2.isRead());
-    verify(notificationRepository, times(1)).saveAll(List.of(notification1, notification2));
+  private static NotificationFeedView feedRow(int id, LocalDateTime createdAt) {
+    NotificationFeedView row = mock(NotificationFeedView.class);
+    lenient().when(row.getId()).thenReturn(id);
+    lenient().when(row.getCreatedAt()).thenReturn(createdAt);
+    return row;
   }
 }
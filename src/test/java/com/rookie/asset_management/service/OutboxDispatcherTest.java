@@ -0,0 +1,315 @@
+package com.rookie.asset_management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rookie.asset_management.config.app.NotificationCoalescingProperties;
+import com.rookie.asset_management.dto.outbox.NotificationOutboxPayload;
+import com.rookie.asset_management.dto.response.notification.NotificationBatchResult;
+import com.rookie.asset_management.entity.OutboxEvent;
+import com.rookie.asset_management.enums.NotificationType;
+import com.rookie.asset_management.enums.OutboxEventStatus;
+import com.rookie.asset_management.enums.OutboxEventType;
+import com.rookie.asset_management.repository.OutboxEventRepository;
+import com.rookie.asset_management.service.impl.handler.NotificationBatchWriter;
+import com.rookie.asset_management.service.impl.handler.NotificationHub;
+import com.rookie.asset_management.service.impl.handler.OutboxDispatcher;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+
+  @Mock private OutboxEventRepository outboxEventRepository;
+
+  @Mock private NotificationBatchWriter notificationBatchWriter;
+
+  @Mock private NotificationHub notificationHub;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private final NotificationCoalescingProperties coalescingProperties =
+      new NotificationCoalescingProperties();
+
+  private OutboxDispatcher outboxDispatcher;
+
+  @BeforeEach
+  void setUp() {
+    outboxDispatcher =
+        new OutboxDispatcher(
+            outboxEventRepository,
+            notificationBatchWriter,
+            notificationHub,
+            objectMapper,
+            coalescingProperties,
+            transactionManager,
+            10,
+            3,
+            Duration.ofSeconds(10),
+            Duration.ofMinutes(1),
+            Duration.ofDays(7));
+  }
+
+  @Test
+  void dispatchBatch_notification_insertedAndMarkedSent() throws Exception {
+    OutboxEvent event =
+        event(
+            OutboxEventType.NOTIFICATION,
+            objectMapper.writeValueAsString(
+                NotificationOutboxPayload.builder()
+                    .type(NotificationType.ASSIGNMENT_CREATED)
+                    .senderId(1)
+                    .recipientId(2)
+                    .assignmentId(3)
+                    .build()));
+    when(outboxEventRepository.lockNextBatch(any(LocalDateTime.class), anyInt()))
+        .thenReturn(List.of(event));
+    when(notificationBatchWriter.insert(
+            NotificationType.ASSIGNMENT_CREATED, 1, List.of(2), 3, null))
+        .thenReturn(result(true));
+
+    int processed = outboxDispatcher.dispatchBatch();
+
+    assertEquals(1, processed);
+    assertEquals(OutboxEventStatus.SENT, event.getStatus());
+    assertNotNull(event.getProcessedAt());
+    verify(transactionManager, times(1)).commit(any());
+    verify(notificationHub).notifyRecipients(List.of(2));
+  }
+
+  @Test
+  void dispatchBatch_locationAdminsNotification_usesInsertSelect() throws Exception {
+    OutboxEvent event =
+        event(
+            OutboxEventType.LOCATION_ADMINS_NOTIFICATION,
+            objectMapper.writeValueAsString(
+                NotificationOutboxPayload.builder()
+                    .type(NotificationType.RETURN_REQUEST_CREATED)
+                    .senderId(1)
+                    .locationId(4)
+                    .returningRequestId(5)
+                    .build()));
+    when(outboxEventRepository.lockNextBatch(any(LocalDateTime.class), anyInt()))
+        .thenReturn(List.of(event));
+    when(notificationBatchWriter.insertForLocationAdmins(
+            NotificationType.RETURN_REQUEST_CREATED, 1, 4, null, 5))
+        .thenReturn(result(true));
+
+    outboxDispatcher.dispatchBatch();
+
+    assertEquals(OutboxEventStatus.SENT, event.getStatus());
+    verify(notificationHub).notifyLocationAdmins(4, 1);
+  }
+
+  @Test
+  void dispatchBatch_notificationFailed_retriedWithBackoff() throws Exception {
+    OutboxEvent event =
+        event(
+            OutboxEventType.NOTIFICATION,
+            objectMapper.writeValueAsString(
+                NotificationOutboxPayload.builder()
+                    .type(NotificationType.ASSIGNMENT_CREATED)
+                    .senderId(1)
+                    .recipientId(2)
+                    .build()));
+    event.setAttempts(1);
+    when(outboxEventRepository.lockNextBatch(any(LocalDateTime.class), anyInt()))
+        .thenReturn(List.of(event));
+    when(notificationBatchWriter.insert(
+            NotificationType.ASSIGNMENT_CREATED, 1, List.of(2), null, null))
+        .thenReturn(result(false));
+
+    LocalDateTime before = LocalDateTime.now();
+    outboxDispatcher.dispatchBatch();
+
+    assertEquals(OutboxEventStatus.PENDING, event.getStatus());
+    assertEquals(2, event.getAttempts());
+    assertNotNull(event.getLastError());
+    // second attempt failed: base delay doubled
+    assertTrue(!event.getNextAttemptAt().isBefore(before.plusSeconds(20)));
+  }
+
+  @Test
+  void dispatchBatch_maxAttemptsReached_markedFailed() throws Exception {
+    OutboxEvent event =
+        event(
+            OutboxEventType.NOTIFICATION,
+            objectMapper.writeValueAsString(
+                NotificationOutboxPayload.builder()
+                    .type(NotificationType.ASSIGNMENT_CREATED)
+                    .senderId(1)
+                    .recipientId(2)
+                    .build()));
+    event.setAttempts(2);
+    OutboxEvent other =
+        event(
+            OutboxEventType.NOTIFICATION,
+            objectMapper.writeValueAsString(
+                NotificationOutboxPayload.builder()
+                    .type(NotificationType.ASSIGNMENT_CREATED)
+                    .senderId(1)
+                    .recipientId(3)
+                    .build()));
+    when(outboxEventRepository.lockNextBatch(any(LocalDateTime.class), anyInt()))
+        .thenReturn(List.of(event, other));
+    when(notificationBatchWriter.insert(
+            NotificationType.ASSIGNMENT_CREATED, 1, List.of(2), null, null))
+        .thenReturn(result(false));
+    when(notificationBatchWriter.insert(
+            NotificationType.ASSIGNMENT_CREATED, 1, List.of(3), null, null))
+        .thenReturn(result(true));
+
+    int processed = outboxDispatcher.dispatchBatch();
+
+    assertEquals(2, processed);
+    assertEquals(OutboxEventStatus.FAILED, event.getStatus());
+    assertEquals(3, event.getAttempts());
+    assertEquals("fk violation", event.getLastError());
+    assertEquals(OutboxEventStatus.SENT, other.getStatus());
+    verify(notificationHub).notifyRecipients(List.of(3));
+    verify(notificationHub, never()).notifyRecipients(List.of(2));
+  }
+
+  @Test
+  void dispatchBatch_burstReachingThreshold_coalescedIntoDigest() throws Exception {
+    coalesce(NotificationType.ASSIGNMENT_CREATED, 3);
+    List<OutboxEvent> burst =
+        List.of(assignmentCreated(2, 10), assignmentCreated(2, 11), assignmentCreated(2, 12));
+    OutboxEvent otherRecipient = assignmentCreated(3, 13);
+    List<OutboxEvent> events = new ArrayList<>(burst);
+    events.add(otherRecipient);
+    when(outboxEventRepository.lockNextBatch(any(LocalDateTime.class), anyInt()))
+        .thenReturn(events);
+    when(notificationBatchWriter.insertDigest(
+            NotificationType.ASSIGNMENT_CREATED, 1, 2, 3, List.of(10, 11, 12)))
+        .thenReturn(result(true));
+    when(notificationBatchWriter.insert(
+            NotificationType.ASSIGNMENT_CREATED, 1, List.of(3), 13, null))
+        .thenReturn(result(true));
+
+    int processed = outboxDispatcher.dispatchBatch();
+
+    assertEquals(4, processed);
+    burst.forEach(event -> assertEquals(OutboxEventStatus.SENT, event.getStatus()));
+    assertEquals(OutboxEventStatus.SENT, otherRecipient.getStatus());
+    verify(notificationBatchWriter, never()).insert(any(), any(), eq(List.of(2)), any(), any());
+    verify(notificationHub).notifyRecipients(List.of(2));
+    verify(notificationHub).notifyRecipients(List.of(3));
+  }
+
+  @Test
+  void dispatchBatch_burstBelowThreshold_deliveredOneByOne() throws Exception {
+    coalesce(NotificationType.ASSIGNMENT_CREATED, 3);
+    when(outboxEventRepository.lockNextBatch(any(LocalDateTime.class), anyInt()))
+        .thenReturn(List.of(assignmentCreated(2, 10), assignmentCreated(2, 11)));
+    when(notificationBatchWriter.insert(
+            eq(NotificationType.ASSIGNMENT_CREATED), eq(1), eq(List.of(2)), any(), any()))
+        .thenReturn(result(true));
+
+    outboxDispatcher.dispatchBatch();
+
+    verify(notificationBatchWriter, times(2))
+        .insert(eq(NotificationType.ASSIGNMENT_CREATED), eq(1), eq(List.of(2)), any(), any());
+    verify(notificationBatchWriter, never()).insertDigest(any(), any(), any(), anyInt(), any());
+  }
+
+  @Test
+  void dispatchBatch_digestFailed_wholeBurstRetried() throws Exception {
+    coalesce(NotificationType.RETURN_REQUEST_CREATED, 2);
+    List<OutboxEvent> burst =
+        List.of(
+            locationAdmins(NotificationType.RETURN_REQUEST_CREATED, 20),
+            locationAdmins(NotificationType.RETURN_REQUEST_CREATED, 21));
+    when(outboxEventRepository.lockNextBatch(any(LocalDateTime.class), anyInt())).thenReturn(burst);
+    when(notificationBatchWriter.insertDigestForLocationAdmins(
+            NotificationType.RETURN_REQUEST_CREATED, 1, 4, 2, List.of(20, 21)))
+        .thenReturn(result(false));
+
+    outboxDispatcher.dispatchBatch();
+
+    burst.forEach(
+        event -> {
+          assertEquals(OutboxEventStatus.PENDING, event.getStatus());
+          assertEquals(1, event.getAttempts());
+          assertEquals("fk violation", event.getLastError());
+        });
+    verify(notificationHub, never()).notifyLocationAdmins(any(), any());
+  }
+
+  private void coalesce(NotificationType type, int threshold) {
+    NotificationCoalescingProperties.Rule rule = new NotificationCoalescingProperties.Rule();
+    rule.setThreshold(threshold);
+    coalescingProperties.getRules().put(type, rule);
+  }
+
+  private OutboxEvent assignmentCreated(int recipientId, int assignmentId) throws Exception {
+    return event(
+        OutboxEventType.NOTIFICATION,
+        objectMapper.writeValueAsString(
+            NotificationOutboxPayload.builder()
+                .type(NotificationType.ASSIGNMENT_CREATED)
+                .senderId(1)
+                .recipientId(recipientId)
+                .assignmentId(assignmentId)
+                .build()));
+  }
+
+  private OutboxEvent locationAdmins(NotificationType type, int returningRequestId)
+      throws Exception {
+    return event(
+        OutboxEventType.LOCATION_ADMINS_NOTIFICATION,
+        objectMapper.writeValueAsString(
+            NotificationOutboxPayload.builder()
+                .type(type)
+                .senderId(1)
+                .locationId(4)
+                .assignmentId(99)
+                .returningRequestId(returningRequestId)
+                .build()));
+  }
+
+  private static OutboxEvent event(OutboxEventType type, String payload) {
+    return OutboxEvent.builder()
+        .id(1L)
+        .type(type)
+        .payload(payload)
+        .nextAttemptAt(LocalDateTime.now())
+        .createdAt(LocalDateTime.now())
+        .build();
+  }
+
+  private static NotificationBatchResult result(boolean success) {
+    return NotificationBatchResult.builder()
+        .requested(1)
+        .inserted(success ? 1 : 0)
+        .batches(
+            List.of(
+                NotificationBatchResult.Batch.builder()
+                    .index(0)
+                    .size(1)
+                    .inserted(success ? 1 : 0)
+                    .success(success)
+                    .error(success ? null : "fk violation")
+                    .build()))
+        .build();
+  }
+}
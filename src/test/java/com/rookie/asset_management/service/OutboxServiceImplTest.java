@@ -0,0 +1,155 @@
+package com.rookie.asset_management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rookie.asset_management.config.app.NotificationCoalescingProperties;
+import com.rookie.asset_management.dto.outbox.NotificationOutboxPayload;
+import com.rookie.asset_management.entity.Assignment;
+import com.rookie.asset_management.entity.Location;
+import com.rookie.asset_management.entity.OutboxEvent;
+import com.rookie.asset_management.entity.ReturningRequest;
+import com.rookie.asset_management.entity.User;
+import com.rookie.asset_management.enums.NotificationType;
+import com.rookie.asset_management.enums.OutboxEventStatus;
+import com.rookie.asset_management.enums.OutboxEventType;
+import com.rookie.asset_management.repository.OutboxEventRepository;
+import com.rookie.asset_management.service.impl.OutboxServiceImpl;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceImplTest {
+
+  @Mock private OutboxEventRepository outboxEventRepository;
+
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private final NotificationCoalescingProperties coalescingProperties =
+      new NotificationCoalescingProperties();
+
+  private OutboxServiceImpl outboxService;
+
+  private User sender;
+
+  @BeforeEach
+  void setUp() {
+    outboxService =
+        new OutboxServiceImpl(
+            outboxEventRepository, objectMapper, coalescingProperties, jdbcTemplate);
+
+    Location location = new Location();
+    location.setId(4);
+    sender = new User();
+    sender.setId(1);
+    sender.setLocation(location);
+  }
+
+  @Test
+  void enqueueNotification_savesPendingEventWithIds() throws Exception {
+    User recipient = new User();
+    recipient.setId(2);
+    Assignment assignment = new Assignment();
+    assignment.setId(3);
+
+    outboxService.enqueueNotification(
+        NotificationType.ASSIGNMENT_CREATED, sender, recipient, assignment, null);
+
+    OutboxEvent event = captureSaved();
+    assertEquals(OutboxEventType.NOTIFICATION, event.getType());
+    assertEquals(OutboxEventStatus.PENDING, event.getStatus());
+    NotificationOutboxPayload payload =
+        objectMapper.readValue(event.getPayload(), NotificationOutboxPayload.class);
+    assertEquals(1, payload.getSenderId());
+    assertEquals(2, payload.getRecipientId());
+    assertEquals(3, payload.getAssignmentId());
+  }
+
+  @Test
+  void enqueueLocationAdminsNotification_recordsSenderLocation() throws Exception {
+    ReturningRequest returningRequest = new ReturningRequest();
+    returningRequest.setId(5);
+
+    outboxService.enqueueLocationAdminsNotification(
+        NotificationType.RETURN_REQUEST_CREATED, sender, null, returningRequest);
+
+    OutboxEvent event = captureSaved();
+    assertEquals(OutboxEventType.LOCATION_ADMINS_NOTIFICATION, event.getType());
+    NotificationOutboxPayload payload =
+        objectMapper.readValue(event.getPayload(), NotificationOutboxPayload.class);
+    assertEquals(4, payload.getLocationId());
+    assertEquals(5, payload.getReturningRequestId());
+  }
+
+  @Test
+  void enqueueNotification_coalescedType_dueAtEndOfWindow() {
+    NotificationCoalescingProperties.Rule rule = new NotificationCoalescingProperties.Rule();
+    rule.setWindow(Duration.ofMinutes(1));
+    coalescingProperties.getRules().put(NotificationType.ASSIGNMENT_CREATED, rule);
+    User recipient = new User();
+    recipient.setId(2);
+
+    LocalDateTime before = LocalDateTime.now();
+    outboxService.enqueueNotification(
+        NotificationType.ASSIGNMENT_CREATED, sender, recipient, null, null);
+
+    LocalDateTime due = captureSaved().getNextAttemptAt();
+    assertTrue(due.isAfter(before));
+    assertTrue(!due.isAfter(before.plusMinutes(1)));
+    assertEquals(0, due.getSecond());
+    assertEquals(0, due.getNano());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void enqueueAssigneeNotifications_insertsOneEventPerAssignmentInOneBatch() throws Exception {
+    List<Assignment> assignments = new ArrayList<>();
+    for (int id = 10; id < 13; id++) {
+      User assignee = new User();
+      assignee.setId(id + 10);
+      Assignment assignment = new Assignment();
+      assignment.setId(id);
+      assignment.setAssignedTo(assignee);
+      assignments.add(assignment);
+    }
+
+    outboxService.enqueueAssigneeNotifications(
+        NotificationType.ASSIGNMENT_CREATED, sender, assignments);
+
+    ArgumentCaptor<List<String>> captor = ArgumentCaptor.forClass(List.class);
+    verify(jdbcTemplate)
+        .batchUpdate(
+            anyString(), captor.capture(), eq(3), any(ParameterizedPreparedStatementSetter.class));
+    verify(outboxEventRepository, never()).save(any());
+    NotificationOutboxPayload payload =
+        objectMapper.readValue(captor.getValue().get(2), NotificationOutboxPayload.class);
+    assertEquals(NotificationType.ASSIGNMENT_CREATED, payload.getType());
+    assertEquals(1, payload.getSenderId());
+    assertEquals(22, payload.getRecipientId());
+    assertEquals(12, payload.getAssignmentId());
+  }
+
+  private OutboxEvent captureSaved() {
+    ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+    verify(outboxEventRepository).save(captor.capture());
+    return captor.getValue();
+  }
+}
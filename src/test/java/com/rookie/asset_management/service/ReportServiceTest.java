@@ -2,94 +2,70 @@ package com.rookie.asset_management.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.rookie.asset_management.dto.response.PagingDtoResponse;
+import com.rookie.asset_management.dto.response.report.AssetStatusTrendDtoResponse;
 import com.rookie.asset_management.dto.response.report.CategoryReportDtoResponse;
-import com.rookie.asset_management.entity.Asset;
+import com.rookie.asset_management.dto.response.report.CategoryTrendDtoResponse;
 import com.rookie.asset_management.entity.Category;
 import com.rookie.asset_management.enums.AssetStatus;
+import com.rookie.asset_management.exception.AppException;
+import com.rookie.asset_management.repository.AssetStatusSnapshotRepository;
 import com.rookie.asset_management.repository.CategoryRepository;
+import com.rookie.asset_management.repository.ReportRepository;
+import com.rookie.asset_management.repository.projection.AssetStatusSnapshotView;
+import com.rookie.asset_management.repository.projection.CategoryReportView;
 import com.rookie.asset_management.service.impl.ReportServiceImpl;
-import jakarta.persistence.EntityManager;
-import java.util.ArrayList;
+import java.time.LocalDate;
+import java.util.EnumMap;
 import java.util.List;
-import org.hibernate.Filter;
-import org.hibernate.Session;
-import org.junit.jupiter.api.BeforeEach;
+import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 
 @ExtendWith(MockitoExtension.class)
 class ReportServiceTest {
   @Mock CategoryRepository categoryRepository;
 
-  @Mock EntityManager entityManager;
+  @Mock ReportRepository reportRepository;
 
-  @InjectMocks ReportServiceImpl reportService;
+  @Mock AssetStatusCounterService assetStatusCounterService;
 
-  @BeforeEach
-  void setUp() {
-    // Mock the behavior of EntityManager.unwrap to return the mock Session
-    Session session = mock(Session.class);
-    when(entityManager.unwrap(Session.class)).thenReturn(session);
+  @Mock AssetStatusSnapshotRepository assetStatusSnapshotRepository;
 
-    // Mock the behavior of enableFilter and setParameter
-    Filter mockFilter = mock(Filter.class);
-    when(session.enableFilter("activeAssets")).thenReturn(mockFilter);
-    when(mockFilter.setParameter("isDisabled", false)).thenReturn(mockFilter);
-  }
+  @InjectMocks ReportServiceImpl reportService;
 
-  // Add test methods here to test the ReportServiceImpl methods
   @Test
   @DisplayName("getAllReports should return a valid list of reports")
   void getAllReports_ShouldReturnValidList() {
-    Category category = new Category();
-    category.setName("Test Category");
-    category.setId(1);
-    category.setPrefix("TC");
-
-    Asset asset1 = new Asset();
-    asset1.setId(1);
-    asset1.setStatus(AssetStatus.AVAILABLE);
-
-    Asset asset2 = new Asset();
-    asset2.setId(2);
-    asset2.setStatus(AssetStatus.NOT_AVAILABLE);
-
-    Asset asset3 = new Asset();
-    asset3.setId(3);
-    asset3.setStatus(AssetStatus.ASSIGNED);
-
-    Asset asset4 = new Asset();
-    asset4.setId(4);
-    asset4.setStatus(AssetStatus.WAITING);
+    Category category = createCategory(1, "Test Category");
 
-    Asset asset5 = new Asset();
-    asset5.setId(5);
-    asset5.setStatus(AssetStatus.RECYCLED);
-
-    category.setAssets(List.of(asset1, asset2, asset3, asset4, asset5));
-
-    // Mock the repository to return a list containing the test category
     when(categoryRepository.findAll()).thenReturn(List.of(category));
+    when(assetStatusCounterService.getCountsByCategory())
+        .thenReturn(
+            Map.of(
+                1,
+                counts(
+                    AssetStatus.AVAILABLE, 1,
+                    AssetStatus.NOT_AVAILABLE, 1,
+                    AssetStatus.ASSIGNED, 1,
+                    AssetStatus.WAITING, 1,
+                    AssetStatus.RECYCLED, 1)));
 
     // Call the method under test
     List<CategoryReportDtoResponse> reports = reportService.getAllReports();
+
     // Verify the results
     assertEquals(1, reports.size());
     assertEquals("Test Category", reports.getFirst().getCategory());
@@ -104,8 +80,8 @@ class ReportServiceTest {
   @Test
   @DisplayName("getAllReports should handle empty categories gracefully")
   void getAllReports_ShouldHandleEmptyCategories() {
-    // Mock the repository to return an empty list
     when(categoryRepository.findAll()).thenReturn(List.of());
+    when(assetStatusCounterService.getCountsByCategory()).thenReturn(Map.of());
 
     // Call the method under test
     List<CategoryReportDtoResponse> reports = reportService.getAllReports();
@@ -117,16 +93,12 @@ class ReportServiceTest {
   }
 
   @Test
-  @DisplayName("getAllReports should return reports with correct totals")
+  @DisplayName("getAllReports should report zero counts for a category without counters")
   void getAllReports_ShouldReturnReportsWithCorrectTotals() {
-    Category category = new Category();
-    category.setName("Test Category");
-    category.setId(1);
-    category.setPrefix("TC");
-    category.setAssets(List.of()); // No assets in this category
+    Category category = createCategory(1, "Test Category");
 
-    // Mock the repository to return a list containing the test category
     when(categoryRepository.findAll()).thenReturn(List.of(category));
+    when(assetStatusCounterService.getCountsByCategory()).thenReturn(Map.of());
 
     // Call the method under test
     List<CategoryReportDtoResponse> reports = reportService.getAllReports();
@@ -144,17 +116,10 @@ class ReportServiceTest {
   }
 
   @Test
-  @DisplayName("getAllReports with paging should return paginated reports")
-  @SuppressWarnings("unchecked")
+  @DisplayName("getAllReports with paging should map the page and its window total")
   void getAllReports_WithPaging_ShouldReturnPaginatedReports() {
-    // Create test categories with assets
-    Category category1 = createCategoryWithAssets("Category 1", 5, 3, 2);
-    Category category2 = createCategoryWithAssets("Category 2", 3, 2, 1);
-
-    Page<Category> page = new PageImpl<>(List.of(category1, category2), PageRequest.of(0, 10), 2);
-
-    when(categoryRepository.findAll(any(Specification.class), any(Pageable.class)))
-        .thenReturn(page);
+    when(reportRepository.findReportPage("total", "asc", 10, 0L))
+        .thenReturn(List.of(row(2, "Category 2", 3, 2), row(1, "Category 1", 5, 2)));
 
     // Call method under test
     PagingDtoResponse<CategoryReportDtoResponse> response =
@@ -168,20 +133,19 @@ class ReportServiceTest {
     assertEquals(2, response.getTotalElements());
     assertFalse(response.getEmpty());
 
-    assertEquals("Category 1", response.getContent().stream().toList().get(0).getCategory());
-    assertEquals(5, response.getContent().stream().toList().get(0).getTotal());
-    assertEquals("Category 2", response.getContent().stream().toList().get(1).getCategory());
-    assertEquals(3, response.getContent().stream().toList().get(1).getTotal());
+    List<CategoryReportDtoResponse> content = response.getContent().stream().toList();
+    assertEquals("Category 2", content.get(0).getCategory());
+    assertEquals(3, content.get(0).getTotal());
+    assertEquals("Category 1", content.get(1).getCategory());
+    assertEquals(5, content.get(1).getTotal());
+    verify(reportRepository, never()).countCategories();
   }
 
   @Test
   @DisplayName("getAllReports with paging should handle empty results")
-  @SuppressWarnings("unchecked")
   void getAllReports_WithPaging_ShouldHandleEmptyResults() {
-    Page<Category> emptyPage = new PageImpl<>(List.of(), PageRequest.of(0, 10), 0);
-
-    when(categoryRepository.findAll(any(Specification.class), any(Pageable.class)))
-        .thenReturn(emptyPage);
+    when(reportRepository.findReportPage("total", "asc", 10, 0L)).thenReturn(List.of());
+    when(reportRepository.countCategories()).thenReturn(0L);
 
     PagingDtoResponse<CategoryReportDtoResponse> response =
         reportService.getAllReports(0, 10, "total", "asc");
@@ -194,75 +158,246 @@ class ReportServiceTest {
     assertTrue(response.getEmpty());
   }
 
+  @Test
+  @DisplayName("getAllReports with paging should count categories for a page past the end")
+  void getAllReports_WithPaging_ShouldCountWhenPageIsPastTheEnd() {
+    when(reportRepository.findReportPage("total", "desc", 10, 50L)).thenReturn(List.of());
+    when(reportRepository.countCategories()).thenReturn(12L);
+
+    PagingDtoResponse<CategoryReportDtoResponse> response =
+        reportService.getAllReports(5, 10, "total", "desc");
+
+    assertTrue(response.getEmpty());
+    assertEquals(12, response.getTotalElements());
+    assertEquals(2, response.getTotalPages());
+  }
+
   @Test
   @DisplayName("getAllReports with paging should sort by specified field descending")
-  @SuppressWarnings("unchecked")
   void getAllReports_WithPaging_ShouldSortBySpecifiedFieldDescending() {
-    Category category1 = createCategoryWithAssets("Category 1", 5, 2, 3);
-    Category category2 = createCategoryWithAssets("Category 2", 3, 1, 2);
+    when(reportRepository.findReportPage("assigned", "desc", 10, 0L))
+        .thenReturn(List.of(row(1, "Category 1", 5, 3), row(2, "Category 2", 3, 1)));
+
+    PagingDtoResponse<CategoryReportDtoResponse> response =
+        reportService.getAllReports(0, 10, "assigned", "DESC");
+
+    List<CategoryReportDtoResponse> content = response.getContent().stream().toList();
+    assertEquals(2, content.size());
+    assertEquals("Category 1", content.get(0).getCategory());
+    assertEquals(3, content.get(0).getAssigned());
+    assertEquals(2, content.get(0).getAvailable());
+    assertEquals("Category 2", content.get(1).getCategory());
+    assertEquals(1, content.get(1).getAssigned());
+    assertEquals(2, response.getTotalElements());
+  }
+
+  @Test
+  @DisplayName("getAllReports with paging should sort by not available count")
+  void getAllReports_WithPaging_ShouldSortByNotAvailable() {
+    when(reportRepository.findReportPage("notavailable", "desc", 10, 0L))
+        .thenReturn(List.of(row(2, "Category 2", 3, 1, 2, 2), row(1, "Category 1", 5, 3, 0, 2)));
+
+    PagingDtoResponse<CategoryReportDtoResponse> response =
+        reportService.getAllReports(0, 10, "notAvailable", "desc");
 
-    Page<Category> page = new PageImpl<>(List.of(category1, category2), PageRequest.of(0, 10), 2);
+    List<CategoryReportDtoResponse> content = response.getContent().stream().toList();
+    assertEquals("Category 2", content.get(0).getCategory());
+    assertEquals(2, content.get(0).getNotAvailable());
+    assertEquals("Category 1", content.get(1).getCategory());
+    assertEquals(0, content.get(1).getNotAvailable());
+  }
 
-    when(categoryRepository.findAll(any(Specification.class), any(Pageable.class)))
-        .thenReturn(page);
+  @Test
+  @DisplayName("getAllReports with paging should sort by id for an unknown sort field")
+  void getAllReports_WithPaging_ShouldFallBackToIdForUnknownField() {
+    when(reportRepository.findReportPage("id", "desc", 10, 0L))
+        .thenReturn(List.of(row(2, "Category 2", 3, 1), row(1, "Category 1", 5, 3)));
 
-    reportService.getAllReports(0, 10, "assigned", "desc");
+    PagingDtoResponse<CategoryReportDtoResponse> response =
+        reportService.getAllReports(0, 10, "name", "desc");
 
-    verify(categoryRepository).findAll(any(Specification.class), eq(PageRequest.of(0, 10)));
+    assertEquals(
+        List.of("Category 2", "Category 1"),
+        response.getContent().stream().map(CategoryReportDtoResponse::getCategory).toList());
+    assertEquals(1, response.getTotalPages());
   }
 
   @Test
   @DisplayName("getAllReports with paging should handle null sort parameters")
-  @SuppressWarnings("unchecked")
   void getAllReports_WithPaging_ShouldHandleNullSortParameters() {
-    Category category = createCategoryWithAssets("Test Category", 3, 1, 2);
+    when(reportRepository.findReportPage("id", "asc", 10, 0L))
+        .thenReturn(List.of(row(1, "Category 1", 5, 3), row(2, "Category 2", 3, 1)));
 
-    Page<Category> page = new PageImpl<>(List.of(category), PageRequest.of(0, 10), 1);
+    PagingDtoResponse<CategoryReportDtoResponse> response =
+        reportService.getAllReports(0, 10, null, "desc");
 
-    when(categoryRepository.findAll(any(Specification.class), any(Pageable.class)))
-        .thenReturn(page);
+    assertEquals(2, response.getContent().size());
+    assertEquals("Category 1", response.getContent().stream().toList().getFirst().getCategory());
+  }
+
+  @Test
+  @DisplayName("getAllReports with paging should return the requested page only")
+  void getAllReports_WithPaging_ShouldSliceRequestedPage() {
+    when(reportRepository.findReportPage("total", "desc", 1, 1L))
+        .thenReturn(List.of(row(2, "Category 2", 3, 1)));
 
     PagingDtoResponse<CategoryReportDtoResponse> response =
-        reportService.getAllReports(0, 10, null, "asc");
+        reportService.getAllReports(1, 1, "total", "desc");
 
     assertEquals(1, response.getContent().size());
-    assertEquals("Test Category", response.getContent().stream().toList().getFirst().getCategory());
+    assertEquals(2, response.getPage());
+    assertEquals(2, response.getTotalPages());
+    assertEquals(2, response.getTotalElements());
+    assertEquals("Category 2", response.getContent().stream().toList().getFirst().getCategory());
+    verify(reportRepository, never()).countCategories();
+  }
+
+  @Test
+  @DisplayName("getTrends should group snapshot rows into one series per category")
+  void getTrends_ShouldGroupRowsPerCategoryAndDay() {
+    LocalDate from = LocalDate.of(2025, 1, 1);
+    LocalDate to = LocalDate.of(2025, 3, 31);
+    LocalDate day1 = LocalDate.of(2025, 1, 1);
+    LocalDate day2 = LocalDate.of(2025, 1, 2);
+    when(assetStatusSnapshotRepository.findSeries(from, to, null, null))
+        .thenReturn(
+            List.of(
+                snapshot(day1, 1, AssetStatus.ASSIGNED, 2),
+                snapshot(day1, 1, AssetStatus.AVAILABLE, 3),
+                snapshot(day1, 2, AssetStatus.AVAILABLE, 1),
+                snapshot(day2, 1, AssetStatus.ASSIGNED, 4)));
+    when(categoryRepository.findAllById(Set.of(1, 2)))
+        .thenReturn(List.of(createCategory(1, "Laptop"), createCategory(2, "Monitor")));
+
+    AssetStatusTrendDtoResponse trends = reportService.getTrends(from, to, null, null);
+
+    assertEquals(2, trends.getCategories().size());
+    CategoryTrendDtoResponse laptop = trends.getCategories().getFirst();
+    assertEquals("Laptop", laptop.getCategory());
+    assertEquals(2, laptop.getPoints().size());
+    assertEquals(day1, laptop.getPoints().get(0).getDate());
+    assertEquals(5, laptop.getPoints().get(0).getTotal());
+    assertEquals(2, laptop.getPoints().get(0).getAssigned());
+    assertEquals(3, laptop.getPoints().get(0).getAvailable());
+    assertEquals(day2, laptop.getPoints().get(1).getDate());
+    assertEquals(4, laptop.getPoints().get(1).getAssigned());
+    assertEquals("Monitor", trends.getCategories().get(1).getCategory());
+  }
+
+  @Test
+  @DisplayName("getTrends should reject a range whose start is after its end")
+  void getTrends_ShouldRejectInvertedRange() {
+    LocalDate from = LocalDate.of(2025, 2, 1);
+    LocalDate to = LocalDate.of(2025, 1, 1);
+
+    AppException exception =
+        assertThrows(AppException.class, () -> reportService.getTrends(from, to, null, null));
+
+    assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatusCode());
   }
 
-  // Helper method to create test data
-  private Category createCategoryWithAssets(String name, int total, int available, int assigned) {
+  @Test
+  @DisplayName("getTrends should reject a range longer than two years")
+  void getTrends_ShouldRejectTooLongRange() {
+    LocalDate from = LocalDate.of(2020, 1, 1);
+    LocalDate to = LocalDate.of(2025, 1, 1);
+
+    assertThrows(AppException.class, () -> reportService.getTrends(from, to, null, null));
+  }
+
+  private static CategoryReportView row(Integer id, String name, long total, long assigned) {
+    return row(id, name, total, assigned, 0, 2);
+  }
+
+  private static CategoryReportView row(
+      Integer id, String name, long total, long assigned, long notAvailable, long totalElements) {
+    return new CategoryReportView() {
+      @Override
+      public Integer getId() {
+        return id;
+      }
+
+      @Override
+      public String getCategory() {
+        return name;
+      }
+
+      @Override
+      public Long getTotal() {
+        return total;
+      }
+
+      @Override
+      public Long getAssigned() {
+        return assigned;
+      }
+
+      @Override
+      public Long getAvailable() {
+        return total - assigned - notAvailable;
+      }
+
+      @Override
+      public Long getNotAvailable() {
+        return notAvailable;
+      }
+
+      @Override
+      public Long getWaiting() {
+        return 0L;
+      }
+
+      @Override
+      public Long getRecycled() {
+        return 0L;
+      }
+
+      @Override
+      public Long getTotalElements() {
+        return totalElements;
+      }
+    };
+  }
+
+  // Helper methods to create test data
+  private Category createCategory(int id, String name) {
     Category category = new Category();
     category.setName(name);
-    category.setId(1);
+    category.setId(id);
     category.setPrefix("TC");
+    return category;
+  }
 
-    List<Asset> assets = new ArrayList<>();
-    // Add available assets
-    for (int i = 0; i < available; i++) {
-      Asset asset = new Asset();
-      asset.setId(i);
-      asset.setStatus(AssetStatus.AVAILABLE);
-      assets.add(asset);
-    }
-
-    // Add assigned assets
-    for (int i = 0; i < assigned; i++) {
-      Asset asset = new Asset();
-      asset.setId(available + i);
-      asset.setStatus(AssetStatus.ASSIGNED);
-      assets.add(asset);
-    }
+  private static AssetStatusSnapshotView snapshot(
+      LocalDate date, Integer categoryId, AssetStatus status, long count) {
+    return new AssetStatusSnapshotView() {
+      @Override
+      public LocalDate getSnapshotDate() {
+        return date;
+      }
+
+      @Override
+      public Integer getCategoryId() {
+        return categoryId;
+      }
+
+      @Override
+      public AssetStatus getStatus() {
+        return status;
+      }
+
+      @Override
+      public Long getCount() {
+        return count;
+      }
+    };
+  }
 
-    // Add other assets to reach the total count
-    int remaining = total - available - assigned;
-    for (int i = 0; i < remaining; i++) {
-      Asset asset = new Asset();
-      asset.setId(available + assigned + i);
-      asset.setStatus(AssetStatus.WAITING);
-      assets.add(asset);
+  private Map<AssetStatus, Long> counts(Object... statusAndCount) {
+    Map<AssetStatus, Long> counts = new EnumMap<>(AssetStatus.class);
+    for (int i = 0; i < statusAndCount.length; i += 2) {
+      counts.put((AssetStatus) statusAndCount[i], ((Integer) statusAndCount[i + 1]).longValue());
     }
-
-    category.setAssets(assets);
-    return category;
+    return counts;
   }
 }
@@ -14,6 +14,7 @@ import com.rookie.asset_management.entity.Location;
 import com.rookie.asset_management.entity.ReturningRequest;
 import com.rookie.asset_management.entity.Role;
 import com.rookie.asset_management.entity.User;
+import com.rookie.asset_management.enums.AssetStatus;
 import com.rookie.asset_management.enums.AssignmentStatus;
 import com.rookie.asset_management.enums.ReturningRequestStatus;
 import com.rookie.asset_management.exception.AppException;
@@ -22,7 +23,6 @@ import com.rookie.asset_management.mapper.ReturningRequestMapper;
 import com.rookie.asset_management.repository.AssignmentRepository;
 import com.rookie.asset_management.repository.ReturningRequestRepository;
 import com.rookie.asset_management.repository.SpecificationRepository;
-import com.rookie.asset_management.repository.UserRepository;
 import com.rookie.asset_management.service.impl.ReturningRequestServiceImpl;
 import java.time.LocalDate;
 import java.util.Optional;
@@ -45,9 +45,7 @@ public class ReturningRequestServiceTest {
 
   @Mock private ReturningRequestRepository returningRequestRepository;
 
-  @Mock private UserRepository userRepository;
-
-  @Mock private JwtService jwtService;
+  @Mock private CurrentUserService currentUserService;
 
   @Mock private ReturningRequestMapper returningRequestMapper;
 
@@ -55,7 +53,7 @@ public class ReturningRequestServiceTest {
 
   @Mock private NotificationCreator notificationCreator;
 
-  @Mock private NotificationService notificationService;
+  @Mock private AssetStatusCounterService assetStatusCounterService;
 
   @InjectMocks private ReturningRequestServiceImpl returningRequestService;
 
@@ -76,11 +74,10 @@ public class ReturningRequestServiceTest {
         new ReturningRequestServiceImpl(
             returningRequestRepository,
             assignmentRepository,
-            userRepository,
             returningRequestMapper,
-            jwtService,
+            currentUserService,
             notificationCreator,
-            notificationService);
+            assetStatusCounterService);
 
     // Setup roles
     adminRole = new Role();
@@ -147,8 +144,7 @@ public class ReturningRequestServiceTest {
   @Test
   void createReturningRequest_byAdmin_success() {
     // Arrange
-    when(jwtService.extractUsername()).thenReturn("admin");
-    when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+    when(currentUserService.getCurrentUser()).thenReturn(admin);
     when(assignmentRepository.findById(1)).thenReturn(Optional.of(assignment));
     when(returningRequestRepository.save(any(ReturningRequest.class))).thenReturn(returningRequest);
     when(returningRequestMapper.toDetailDto(returningRequest)).thenReturn(responseDto);
@@ -169,8 +165,7 @@ public class ReturningRequestServiceTest {
     // Arrange
     user.setRole(new Role());
     user.getRole().setName("STAFF");
-    when(jwtService.extractUsername()).thenReturn("user");
-    when(userRepository.findByUsername("user")).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
 
     // Act & Assert
     AppException exception =
@@ -182,8 +177,7 @@ public class ReturningRequestServiceTest {
   @Test
   void createReturningRequest_byAdmin_assignmentNotFound_throwsException() {
     // Arrange
-    when(jwtService.extractUsername()).thenReturn("admin");
-    when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+    when(currentUserService.getCurrentUser()).thenReturn(admin);
     when(assignmentRepository.findById(1)).thenReturn(Optional.empty());
 
     // Act & Assert
@@ -197,8 +191,7 @@ public class ReturningRequestServiceTest {
   void createReturningRequest_byAdmin_assignmentNotAccepted_throwsException() {
     // Arrange
     assignment.setStatus(AssignmentStatus.DECLINED);
-    when(jwtService.extractUsername()).thenReturn("admin");
-    when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+    when(currentUserService.getCurrentUser()).thenReturn(admin);
     when(assignmentRepository.findById(1)).thenReturn(Optional.of(assignment));
 
     // Act & Assert
@@ -214,8 +207,7 @@ public class ReturningRequestServiceTest {
     Location differentLocation = new Location();
     differentLocation.setId(2);
     admin.setLocation(differentLocation);
-    when(jwtService.extractUsername()).thenReturn("admin");
-    when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+    when(currentUserService.getCurrentUser()).thenReturn(admin);
     when(assignmentRepository.findById(1)).thenReturn(Optional.of(assignment));
 
     // Act & Assert
@@ -229,8 +221,7 @@ public class ReturningRequestServiceTest {
   @Test
   void createUserReturningRequest_success() {
     // Arrange
-    when(jwtService.extractUsername()).thenReturn("user");
-    when(userRepository.findByUsername("user")).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
     when(assignmentRepository.findById(1)).thenReturn(Optional.of(assignment));
     when(returningRequestRepository.save(any(ReturningRequest.class))).thenReturn(returningRequest);
     when(returningRequestMapper.toDetailDto(returningRequest)).thenReturn(responseDto);
@@ -252,8 +243,7 @@ public class ReturningRequestServiceTest {
     // Arrange
     assignment.setAssignedTo(new User());
     assignment.getAssignedTo().setId(3);
-    when(jwtService.extractUsername()).thenReturn("user");
-    when(userRepository.findByUsername("user")).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
     when(assignmentRepository.findById(1)).thenReturn(Optional.of(assignment));
 
     // Act & Assert
@@ -269,8 +259,7 @@ public class ReturningRequestServiceTest {
   void createUserReturningRequest_assignmentNotAccepted_throwsException() {
     // Arrange
     assignment.setStatus(AssignmentStatus.DECLINED);
-    when(jwtService.extractUsername()).thenReturn("user");
-    when(userRepository.findByUsername("user")).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
     when(assignmentRepository.findById(1)).thenReturn(Optional.of(assignment));
 
     // Act & Assert
@@ -285,8 +274,7 @@ public class ReturningRequestServiceTest {
   @Test
   void cancelReturningRequest_success() {
     // Arrange
-    when(jwtService.extractUsername()).thenReturn("admin");
-    when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+    when(currentUserService.getCurrentUser()).thenReturn(admin);
     when(returningRequestRepository.findById(1)).thenReturn(Optional.of(returningRequest));
     when(returningRequestMapper.toDetailDto(returningRequest)).thenReturn(responseDto);
 
@@ -306,8 +294,7 @@ public class ReturningRequestServiceTest {
     // Arrange
     user.setRole(new Role());
     user.getRole().setName("STAFF");
-    when(jwtService.extractUsername()).thenReturn("user");
-    when(userRepository.findByUsername("user")).thenReturn(Optional.of(user));
+    when(currentUserService.getCurrentUser()).thenReturn(user);
 
     // Act & Assert
     AppException exception =
@@ -319,8 +306,7 @@ public class ReturningRequestServiceTest {
   @Test
   void cancelReturningRequest_requestNotFound_throwsException() {
     // Arrange
-    when(jwtService.extractUsername()).thenReturn("admin");
-    when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+    when(currentUserService.getCurrentUser()).thenReturn(admin);
     when(returningRequestRepository.findById(1)).thenReturn(Optional.empty());
 
     // Act & Assert
@@ -334,8 +320,7 @@ public class ReturningRequestServiceTest {
   void cancelReturningRequest_notWaiting_throwsException() {
     // Arrange
     returningRequest.setStatus(ReturningRequestStatus.COMPLETED);
-    when(jwtService.extractUsername()).thenReturn("admin");
-    when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+    when(currentUserService.getCurrentUser()).thenReturn(admin);
     when(returningRequestRepository.findById(1)).thenReturn(Optional.of(returningRequest));
 
     // Act & Assert
@@ -351,8 +336,7 @@ public class ReturningRequestServiceTest {
     Location differentLocation = new Location();
     differentLocation.setId(2);
     admin.setLocation(differentLocation);
-    when(jwtService.extractUsername()).thenReturn("admin");
-    when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+    when(currentUserService.getCurrentUser()).thenReturn(admin);
     when(returningRequestRepository.findById(1)).thenReturn(Optional.of(returningRequest));
 
     // Act & Assert
@@ -366,8 +350,9 @@ public class ReturningRequestServiceTest {
   void getAllReturningRequests_WhenUserNotFound_ShouldThrowAppException() {
     // Given
     String username = "nonexistent";
-    when(jwtService.extractUsername()).thenReturn(username);
-    when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
+    when(currentUserService.getCurrentUser())
+        .thenThrow(
+            new AppException(HttpStatus.UNAUTHORIZED, "Unauthorized access. Please log in."));
 
     // When & Then
     AppException exception =
@@ -377,15 +362,14 @@ public class ReturningRequestServiceTest {
                 returningRequestService.getAllReturningRequests(
                     ReturningRequestStatus.WAITING, null, null, 0, 10, "id", "asc"));
 
-    assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatusCode());
-    assertEquals("User Not Found", exception.getMessage());
+    assertEquals(HttpStatus.UNAUTHORIZED, exception.getHttpStatusCode());
+    assertEquals("Unauthorized access. Please log in.", exception.getMessage());
   }
 
   @Test
   void getAllReturningRequests_WhenUserIsNotAdmin_ShouldThrowAppException() {
     // Given
-    when(jwtService.extractUsername()).thenReturn("user");
-    when(userRepository.findByUsername("user")).thenReturn(Optional.of(nonAdminUser));
+    when(currentUserService.getCurrentUser()).thenReturn(nonAdminUser);
 
     // When & Then
     AppException exception =
@@ -402,8 +386,7 @@ public class ReturningRequestServiceTest {
   @Test
   void getAllReturningRequests_WhenAdminUser_WithBasicSorting_ShouldReturnResults() {
     // Given
-    when(jwtService.extractUsername()).thenReturn("admin");
-    when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+    when(currentUserService.getCurrentUser()).thenReturn(adminUser);
 
     PagingDtoResponse<ReturningRequestDtoResponse> expectedResponse = new PagingDtoResponse<>();
 
@@ -426,8 +409,7 @@ public class ReturningRequestServiceTest {
   @Test
   void getAllReturningRequests_WhenSortByAssetName_ShouldMapToCorrectProperty() {
     // Given
-    when(jwtService.extractUsername()).thenReturn("admin");
-    when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+    when(currentUserService.getCurrentUser()).thenReturn(adminUser);
 
     PagingDtoResponse<ReturningRequestDtoResponse> expectedResponse = new PagingDtoResponse<>();
 
@@ -448,8 +430,7 @@ public class ReturningRequestServiceTest {
   @Test
   void getAllReturningRequests_WhenSortByAssetCode_ShouldMapToCorrectProperty() {
     // Given
-    when(jwtService.extractUsername()).thenReturn("admin");
-    when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+    when(currentUserService.getCurrentUser()).thenReturn(adminUser);
 
     PagingDtoResponse<ReturningRequestDtoResponse> expectedResponse = new PagingDtoResponse<>();
 
@@ -470,8 +451,7 @@ public class ReturningRequestServiceTest {
   @Test
   void getAllReturningRequests_WhenSortByRequestedBy_ShouldMapToCorrectProperty() {
     // Given
-    when(jwtService.extractUsername()).thenReturn("admin");
-    when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+    when(currentUserService.getCurrentUser()).thenReturn(adminUser);
 
     PagingDtoResponse<ReturningRequestDtoResponse> expectedResponse = new PagingDtoResponse<>();
 
@@ -492,8 +472,7 @@ public class ReturningRequestServiceTest {
   @Test
   void getAllReturningRequests_WhenSortByAcceptedBy_ShouldMapToCorrectProperty() {
     // Given
-    when(jwtService.extractUsername()).thenReturn("admin");
-    when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+    when(currentUserService.getCurrentUser()).thenReturn(adminUser);
 
     PagingDtoResponse<ReturningRequestDtoResponse> expectedResponse = new PagingDtoResponse<>();
 
@@ -514,8 +493,7 @@ public class ReturningRequestServiceTest {
   @Test
   void getAllReturningRequests_WhenSortByAssignedDate_ShouldMapToCorrectProperty() {
     // Given
-    when(jwtService.extractUsername()).thenReturn("admin");
-    when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+    when(currentUserService.getCurrentUser()).thenReturn(adminUser);
 
     PagingDtoResponse<ReturningRequestDtoResponse> expectedResponse = new PagingDtoResponse<>();
 
@@ -536,8 +514,7 @@ public class ReturningRequestServiceTest {
   @Test
   void getAllReturningRequests_WhenSortByStatus_ShouldUseUnpagedPageable() {
     // Given
-    when(jwtService.extractUsername()).thenReturn("admin");
-    when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+    when(currentUserService.getCurrentUser()).thenReturn(adminUser);
 
     PagingDtoResponse<ReturningRequestDtoResponse> expectedResponse = new PagingDtoResponse<>();
 
@@ -558,8 +535,7 @@ public class ReturningRequestServiceTest {
   @Test
   void getAllReturningRequests_WithAllFilters_ShouldApplyAllSpecifications() {
     // Given
-    when(jwtService.extractUsername()).thenReturn("admin");
-    when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+    when(currentUserService.getCurrentUser()).thenReturn(adminUser);
 
     PagingDtoResponse<ReturningRequestDtoResponse> expectedResponse = new PagingDtoResponse<>();
 
@@ -581,8 +557,7 @@ public class ReturningRequestServiceTest {
   @Test
   void getAllReturningRequests_WhenSortByStatusDesc_ShouldReverseCustomSortDirection() {
     // Given
-    when(jwtService.extractUsername()).thenReturn("admin");
-    when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+    when(currentUserService.getCurrentUser()).thenReturn(adminUser);
 
     PagingDtoResponse<ReturningRequestDtoResponse> expectedResponse = new PagingDtoResponse<>();
 
@@ -603,8 +578,7 @@ public class ReturningRequestServiceTest {
   @Test
   void getAllReturningRequests_WhenSortByStatusAsc_ShouldReverseCustomSortDirection() {
     // Given
-    when(jwtService.extractUsername()).thenReturn("admin");
-    when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+    when(currentUserService.getCurrentUser()).thenReturn(adminUser);
 
     PagingDtoResponse<ReturningRequestDtoResponse> expectedResponse = new PagingDtoResponse<>();
 
@@ -625,8 +599,7 @@ public class ReturningRequestServiceTest {
   @Test
   void getAllReturningRequests_WithNullParameters_ShouldHandleGracefully() {
     // Given
-    when(jwtService.extractUsername()).thenReturn("admin");
-    when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+    when(currentUserService.getCurrentUser()).thenReturn(adminUser);
 
     PagingDtoResponse<ReturningRequestDtoResponse> expectedResponse = new PagingDtoResponse<>();
 
@@ -668,16 +641,17 @@ public class ReturningRequestServiceTest {
     String username = "nonexistent";
 
     when(returningRequestRepository.findById(requestId)).thenReturn(Optional.of(returningRequest));
-    when(jwtService.extractUsername()).thenReturn(username);
-    when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
+    when(currentUserService.getCurrentUser())
+        .thenThrow(
+            new AppException(HttpStatus.UNAUTHORIZED, "Unauthorized access. Please log in."));
 
     // When & Then
     AppException exception =
         assertThrows(
             AppException.class, () -> returningRequestService.completeReturningRequest(requestId));
 
-    assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatusCode());
-    assertEquals("User Not Found", exception.getMessage());
+    assertEquals(HttpStatus.UNAUTHORIZED, exception.getHttpStatusCode());
+    assertEquals("Unauthorized access. Please log in.", exception.getMessage());
   }
 
   @Test
@@ -687,8 +661,7 @@ public class ReturningRequestServiceTest {
     ReturningRequest returningRequest = createMockReturningRequest();
 
     when(returningRequestRepository.findById(requestId)).thenReturn(Optional.of(returningRequest));
-    when(jwtService.extractUsername()).thenReturn("user");
-    when(userRepository.findByUsername("user")).thenReturn(Optional.of(nonAdminUser));
+    when(currentUserService.getCurrentUser()).thenReturn(nonAdminUser);
 
     // When & Then
     AppException exception =
@@ -715,8 +688,7 @@ public class ReturningRequestServiceTest {
     returningRequest.getAssignment().getAsset().setLocation(assetLocation);
 
     when(returningRequestRepository.findById(requestId)).thenReturn(Optional.of(returningRequest));
-    when(jwtService.extractUsername()).thenReturn("admin");
-    when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+    when(currentUserService.getCurrentUser()).thenReturn(adminUser);
 
     // When & Then
     AppException exception =
@@ -741,8 +713,7 @@ public class ReturningRequestServiceTest {
     returningRequest.getAssignment().getAsset().setLocation(location);
 
     when(returningRequestRepository.findById(requestId)).thenReturn(Optional.of(returningRequest));
-    when(jwtService.extractUsername()).thenReturn("admin");
-    when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+    when(currentUserService.getCurrentUser()).thenReturn(adminUser);
 
     // When & Then
     AppException exception =
@@ -768,8 +739,7 @@ public class ReturningRequestServiceTest {
     returningRequest.getAssignment().getAsset().setLocation(location);
 
     when(returningRequestRepository.findById(requestId)).thenReturn(Optional.of(returningRequest));
-    when(jwtService.extractUsername()).thenReturn("admin");
-    when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+    when(currentUserService.getCurrentUser()).thenReturn(adminUser);
     when(returningRequestRepository.save(any(ReturningRequest.class))).thenReturn(returningRequest);
 
     // When
@@ -804,8 +774,7 @@ public class ReturningRequestServiceTest {
     returningRequest.getAssignment().getAsset().setLocation(location);
 
     when(returningRequestRepository.findById(requestId)).thenReturn(Optional.of(returningRequest));
-    when(jwtService.extractUsername()).thenReturn("admin");
-    when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+    when(currentUserService.getCurrentUser()).thenReturn(adminUser);
     when(returningRequestRepository.save(any(ReturningRequest.class))).thenReturn(returningRequest);
 
     // When
@@ -813,8 +782,7 @@ public class ReturningRequestServiceTest {
 
     // Then
     verify(returningRequestRepository).findById(requestId);
-    verify(jwtService).extractUsername();
-    verify(userRepository).findByUsername("admin");
+    verify(currentUserService).getCurrentUser();
     verify(returningRequestRepository).save(returningRequest);
 
     // Verify all entities were updated
@@ -823,6 +791,9 @@ public class ReturningRequestServiceTest {
     assertEquals(LocalDate.now(), returningRequest.getReturnedDate());
     assertEquals(AssignmentStatus.RETURNED, returningRequest.getAssignment().getStatus());
     assertEquals(adminUser, returningRequest.getAcceptedBy());
+    assertEquals(AssetStatus.AVAILABLE, returningRequest.getAssignment().getAsset().getStatus());
+    verify(assetStatusCounterService)
+        .recordStatusChange(eq(returningRequest.getAssignment().getAsset()), any());
   }
 
   // Helper method to create mock ReturningRequest
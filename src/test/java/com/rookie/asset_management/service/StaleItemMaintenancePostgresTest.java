@@ -0,0 +1,201 @@
+package com.rookie.asset_management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.rookie.asset_management.PostgresTestDatabase;
+import com.rookie.asset_management.config.app.StaleItemProperties;
+import com.rookie.asset_management.entity.Assignment;
+import com.rookie.asset_management.entity.User;
+import com.rookie.asset_management.enums.NotificationType;
+import com.rookie.asset_management.enums.StaleAction;
+import com.rookie.asset_management.service.impl.StaleItemMaintenanceServiceImpl;
+import com.rookie.asset_management.service.impl.handler.JobLock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+/** Runs the stale item statements and the job lock against PostgreSQL. */
+class StaleItemMaintenancePostgresTest {
+  private static final LocalDate STALE = LocalDate.now().minusDays(30);
+
+  private final StaleItemProperties properties = new StaleItemProperties();
+
+  private final OutboxService outboxService = mock(OutboxService.class);
+
+  private JdbcTemplate jdbcTemplate;
+
+  private JobLock jobLock;
+
+  private StaleItemMaintenanceServiceImpl service;
+
+  @BeforeEach
+  void setUp() {
+    DataSource dataSource = PostgresTestDatabase.reset();
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    jobLock = new JobLock(jdbcTemplate);
+    properties.setBatchSize(2);
+    properties.setMaxBatches(2);
+    service =
+        new StaleItemMaintenanceServiceImpl(
+            jdbcTemplate,
+            new DataSourceTransactionManager(dataSource),
+            outboxService,
+            jobLock,
+            properties,
+            new SimpleMeterRegistry());
+  }
+
+  @Test
+  void expireAssignments_walksTheStaleOnesInBatchesAcrossRuns() {
+    properties.getAssignment().setAction(StaleAction.EXPIRE);
+    for (int asset = 1; asset <= 5; asset++) {
+      insertAssignment(asset, STALE, false);
+    }
+    int fresh = insertAssignment(6, LocalDate.now(), false);
+    int deleted = insertAssignment(7, STALE, true);
+
+    // two batches of two per run: the fifth one is left to the next run
+    assertEquals(4, service.processStaleAssignments());
+    assertEquals(1, countAssignments("WAITING", STALE));
+    assertEquals(1, service.processStaleAssignments());
+    assertEquals(0, service.processStaleAssignments());
+
+    assertEquals(5, countAssignments("DECLINED", STALE));
+    assertEquals("WAITING", assignmentStatus(fresh));
+    assertEquals("WAITING", assignmentStatus(deleted));
+    ArgumentCaptor<User> recipient = ArgumentCaptor.forClass(User.class);
+    verify(outboxService, times(5))
+        .enqueueNotification(
+            eq(NotificationType.ASSIGNMENT_REJECTED),
+            any(User.class),
+            recipient.capture(),
+            any(Assignment.class),
+            eq(null));
+    assertTrue(recipient.getAllValues().stream().allMatch(user -> user.getId() == 1));
+  }
+
+  @Test
+  void escalateAssignments_notifiesEachOnlyOnce() {
+    properties.getAssignment().setAction(StaleAction.ESCALATE);
+    for (int asset = 1; asset <= 3; asset++) {
+      insertAssignment(asset, STALE, false);
+    }
+
+    assertEquals(3, service.processStaleAssignments());
+    assertEquals(0, service.processStaleAssignments());
+
+    assertEquals(3, countAssignments("WAITING", STALE));
+    ArgumentCaptor<User> sender = ArgumentCaptor.forClass(User.class);
+    verify(outboxService, times(3))
+        .enqueueLocationAdminsNotification(
+            eq(NotificationType.ASSIGNMENT_STALE), sender.capture(), any(), eq(null));
+    assertEquals(2, sender.getValue().getId());
+    assertEquals(1, sender.getValue().getLocation().getId());
+  }
+
+  @Test
+  void expireReturningRequests_reopensTheAssignmentAndNotifiesLikeACancellation() {
+    properties.getReturningRequest().setAction(StaleAction.EXPIRE);
+    int assignment =
+        jdbcTemplate.queryForObject(
+            "INSERT INTO assignments "
+                + "(asset_id, assigned_by, assigned_to, assigned_date, status, deleted) "
+                + "VALUES (1, 1, 2, ?, 'WAITING_FOR_RETURNING', FALSE) RETURNING id",
+            Integer.class,
+            Date.valueOf(STALE));
+    // requested by the admin, so the assignee is notified too
+    jdbcTemplate.update(
+        "INSERT INTO returning_requests "
+            + "(assignment_id, requested_by, returned_date, status, requested_at, deleted) "
+            + "VALUES (?, 1, ?, 'WAITING', ?, FALSE)",
+        assignment,
+        Date.valueOf(STALE),
+        Date.valueOf(STALE));
+
+    assertEquals(1, service.processStaleReturningRequests());
+
+    assertEquals("ACCEPTED", assignmentStatus(assignment));
+    assertEquals(
+        0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM returning_requests", Integer.class));
+    ArgumentCaptor<User> recipient = ArgumentCaptor.forClass(User.class);
+    verify(outboxService, times(2))
+        .enqueueNotification(
+            eq(NotificationType.RETURN_REQUEST_REJECTED),
+            any(User.class),
+            recipient.capture(),
+            any(Assignment.class),
+            eq(null));
+    assertEquals(List.of(1, 2), recipient.getAllValues().stream().map(User::getId).toList());
+  }
+
+  @Test
+  void jobLock_secondRunIsSkippedWhileTheFirstHoldsTheLock() {
+    Boolean[] second = new Boolean[1];
+
+    boolean first =
+        jobLock.runExclusively(
+            "stale-item-maintenance",
+            () ->
+                // another node, on its own connection
+                second[0] =
+                    CompletableFuture.supplyAsync(
+                            () -> jobLock.runExclusively("stale-item-maintenance", () -> {}))
+                        .orTimeout(10, TimeUnit.SECONDS)
+                        .join());
+
+    assertTrue(first);
+    assertNotNull(second[0]);
+    assertFalse(second[0]);
+    assertTrue(jobLock.runExclusively("stale-item-maintenance", () -> {}));
+  }
+
+  private int insertAssignment(int assetId, LocalDate assignedDate, boolean deleted) {
+    jdbcTemplate.update(
+        "INSERT INTO assets "
+            + "(id, name, specification, installed_date, asset_code, status, location_id, "
+            + "category_id, created_at, updated_at) "
+            + "VALUES (?, 'Laptop', 'i5', DATE '2020-01-06', ?, 'AVAILABLE', 1, 1, now(), now()) "
+            + "ON CONFLICT (id) DO NOTHING",
+        assetId,
+        String.format("LA%06d", assetId));
+    return jdbcTemplate.queryForObject(
+        "INSERT INTO assignments "
+            + "(asset_id, assigned_by, assigned_to, assigned_date, status, deleted) "
+            + "VALUES (?, 1, 2, ?, 'WAITING', ?) RETURNING id",
+        Integer.class,
+        assetId,
+        Date.valueOf(assignedDate),
+        deleted);
+  }
+
+  private int countAssignments(String status, LocalDate assignedDate) {
+    return jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM assignments "
+            + "WHERE CAST(status AS VARCHAR) = ? AND assigned_date = ? AND deleted = FALSE",
+        Integer.class,
+        status,
+        Date.valueOf(assignedDate));
+  }
+
+  private String assignmentStatus(int id) {
+    return jdbcTemplate.queryForObject(
+        "SELECT CAST(status AS VARCHAR) FROM assignments WHERE id = ?", String.class, id);
+  }
+}
@@ -0,0 +1,268 @@
+package com.rookie.asset_management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.rookie.asset_management.config.app.StaleItemProperties;
+import com.rookie.asset_management.entity.Assignment;
+import com.rookie.asset_management.entity.ReturningRequest;
+import com.rookie.asset_management.entity.User;
+import com.rookie.asset_management.enums.NotificationType;
+import com.rookie.asset_management.enums.StaleAction;
+import com.rookie.asset_management.service.impl.StaleItemMaintenanceServiceImpl;
+import com.rookie.asset_management.service.impl.handler.JobLock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class StaleItemMaintenanceServiceTest {
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  @Mock private OutboxService outboxService;
+
+  @Mock private JobLock jobLock;
+
+  private final StaleItemProperties properties = new StaleItemProperties();
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private StaleItemMaintenanceServiceImpl service;
+
+  @BeforeEach
+  void setUp() {
+    properties.setBatchSize(2);
+    properties.setMaxBatches(10);
+    service =
+        new StaleItemMaintenanceServiceImpl(
+            jdbcTemplate, transactionManager, outboxService, jobLock, properties, meterRegistry);
+  }
+
+  @Test
+  void processStaleAssignments_expiresByKeysetBatches() {
+    properties.getAssignment().setAction(StaleAction.EXPIRE);
+    doAnswer(invocation -> expiredAssignments(invocation.getArgument(1), 3, 1))
+        .when(jdbcTemplate)
+        .query(contains("SET status = 'DECLINED'"), any(RowMapper.class), any(), eq(0), eq(2));
+    doAnswer(invocation -> expiredAssignments(invocation.getArgument(1), 8))
+        .when(jdbcTemplate)
+        .query(contains("SET status = 'DECLINED'"), any(RowMapper.class), any(), eq(3), eq(2));
+
+    assertEquals(3, service.processStaleAssignments());
+    verify(transactionManager, times(2)).commit(any());
+    assertEquals(
+        3,
+        meterRegistry.counter("app.stale.items", "item", "assignment", "action", "expire").count());
+  }
+
+  @Test
+  void processStaleAssignments_expiryNotifiesTheAssignerLikeADecline() {
+    properties.getAssignment().setAction(StaleAction.EXPIRE);
+    doAnswer(invocation -> expiredAssignments(invocation.getArgument(1), 3))
+        .when(jdbcTemplate)
+        .query(contains("SET status = 'DECLINED'"), any(RowMapper.class), any(), eq(0), eq(2));
+
+    assertEquals(1, service.processStaleAssignments());
+
+    ArgumentCaptor<User> sender = ArgumentCaptor.forClass(User.class);
+    ArgumentCaptor<User> recipient = ArgumentCaptor.forClass(User.class);
+    ArgumentCaptor<Assignment> assignment = ArgumentCaptor.forClass(Assignment.class);
+    verify(outboxService)
+        .enqueueNotification(
+            eq(NotificationType.ASSIGNMENT_REJECTED),
+            sender.capture(),
+            recipient.capture(),
+            assignment.capture(),
+            eq(null));
+    assertEquals(7, sender.getValue().getId());
+    assertEquals(1, recipient.getValue().getId());
+    assertEquals(3, assignment.getValue().getId());
+  }
+
+  @Test
+  void processStaleAssignments_isCappedByMaxBatches() {
+    properties.getAssignment().setAction(StaleAction.EXPIRE);
+    properties.setMaxBatches(2);
+    doAnswer(invocation -> expiredAssignments(invocation.getArgument(1), 1, 2))
+        .doAnswer(invocation -> expiredAssignments(invocation.getArgument(1), 3, 4))
+        .when(jdbcTemplate)
+        .query(anyString(), any(RowMapper.class), any(), any(), eq(2));
+
+    assertEquals(4, service.processStaleAssignments());
+    verify(jdbcTemplate, times(2)).query(anyString(), any(RowMapper.class), any(), any(), any());
+  }
+
+  @Test
+  void processStaleReturningRequests_expiryNotifiesLikeACancellation() {
+    properties.getReturningRequest().setAction(StaleAction.EXPIRE);
+    doAnswer(
+            invocation -> {
+              RowMapper<?> mapper = invocation.getArgument(1);
+              return List.of(
+                  mapper.mapRow(expiredRequest(4, false), 0),
+                  mapper.mapRow(expiredRequest(5, true), 1));
+            })
+        .when(jdbcTemplate)
+        .query(
+            contains("DELETE FROM returning_requests"), any(RowMapper.class), any(), eq(0), eq(2));
+
+    assertEquals(2, service.processStaleReturningRequests());
+
+    // the requester of each request, and the assignee of the one an admin requested
+    ArgumentCaptor<User> sender = ArgumentCaptor.forClass(User.class);
+    ArgumentCaptor<User> recipient = ArgumentCaptor.forClass(User.class);
+    verify(outboxService, times(3))
+        .enqueueNotification(
+            eq(NotificationType.RETURN_REQUEST_REJECTED),
+            sender.capture(),
+            recipient.capture(),
+            any(Assignment.class),
+            eq(null));
+    assertEquals(List.of(1, 1, 1), sender.getAllValues().stream().map(User::getId).toList());
+    assertEquals(List.of(7, 9, 7), recipient.getAllValues().stream().map(User::getId).toList());
+  }
+
+  @Test
+  void processStaleAssignments_noneLeavesThemAlone() {
+    properties.getAssignment().setAction(StaleAction.NONE);
+
+    assertEquals(0, service.processStaleAssignments());
+    verifyNoInteractions(jdbcTemplate, transactionManager);
+  }
+
+  @Test
+  void processStaleReturningRequests_escalatesToLocationAdmins() {
+    properties.getReturningRequest().setAction(StaleAction.ESCALATE);
+    doAnswer(
+            invocation -> {
+              RowMapper<?> mapper = invocation.getArgument(1);
+              ResultSet rs = mock(ResultSet.class);
+              when(rs.getInt("id")).thenReturn(4);
+              when(rs.getInt("assignment_id")).thenReturn(40);
+              when(rs.getInt("assigned_to")).thenReturn(7);
+              when(rs.getInt("location_id")).thenReturn(2);
+              return List.of(mapper.mapRow(rs, 0));
+            })
+        .when(jdbcTemplate)
+        .query(contains("SET escalated_at"), any(RowMapper.class), any(), eq(0), eq(2), any());
+
+    assertEquals(1, service.processStaleReturningRequests());
+
+    ArgumentCaptor<User> sender = ArgumentCaptor.forClass(User.class);
+    ArgumentCaptor<Assignment> assignment = ArgumentCaptor.forClass(Assignment.class);
+    ArgumentCaptor<ReturningRequest> request = ArgumentCaptor.forClass(ReturningRequest.class);
+    verify(outboxService)
+        .enqueueLocationAdminsNotification(
+            eq(NotificationType.RETURN_REQUEST_STALE),
+            sender.capture(),
+            assignment.capture(),
+            request.capture());
+    assertEquals(7, sender.getValue().getId());
+    assertEquals(2, sender.getValue().getLocation().getId());
+    assertEquals(40, assignment.getValue().getId());
+    assertEquals(4, request.getValue().getId());
+  }
+
+  @Test
+  void processStaleAssignments_escalationHasNoReturningRequest() {
+    properties.getAssignment().setAction(StaleAction.ESCALATE);
+    doAnswer(
+            invocation -> {
+              RowMapper<?> mapper = invocation.getArgument(1);
+              ResultSet rs = mock(ResultSet.class);
+              when(rs.getInt("id")).thenReturn(5);
+              when(rs.getInt("assignment_id")).thenReturn(5);
+              return List.of(mapper.mapRow(rs, 0));
+            })
+        .when(jdbcTemplate)
+        .query(contains("escalated_at IS NULL"), any(RowMapper.class), any(), eq(0), eq(2), any());
+
+    assertEquals(1, service.processStaleAssignments());
+
+    ArgumentCaptor<ReturningRequest> request = ArgumentCaptor.forClass(ReturningRequest.class);
+    verify(outboxService)
+        .enqueueLocationAdminsNotification(
+            eq(NotificationType.ASSIGNMENT_STALE), any(), any(), request.capture());
+    assertNull(request.getValue());
+  }
+
+  @Test
+  void maintain_skipsWhenAnotherNodeRunsIt() {
+    when(jobLock.runExclusively(anyString(), any())).thenReturn(false);
+
+    service.maintain();
+
+    verifyNoInteractions(jdbcTemplate, outboxService);
+    assertEquals(1, meterRegistry.counter("app.stale.run.skipped").count());
+    assertEquals(0, meterRegistry.timer("app.stale.run").count());
+  }
+
+  @Test
+  void maintain_runsBothPoliciesUnderTheLock() {
+    properties.getAssignment().setAction(StaleAction.EXPIRE);
+    properties.getReturningRequest().setAction(StaleAction.EXPIRE);
+    when(jobLock.runExclusively(eq("stale-item-maintenance"), any()))
+        .thenAnswer(
+            invocation -> {
+              invocation.<Runnable>getArgument(1).run();
+              return true;
+            });
+    when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(), any(), any()))
+        .thenReturn(List.of());
+
+    service.maintain();
+
+    verify(jdbcTemplate)
+        .query(
+            contains("DELETE FROM returning_requests"), any(RowMapper.class), any(), any(), any());
+    assertEquals(1, meterRegistry.timer("app.stale.run").count());
+  }
+
+  /** Maps the rows of expired assignments, assigned by user 1 to user 7. */
+  private static List<?> expiredAssignments(RowMapper<?> mapper, int... ids) throws Exception {
+    List<Object> rows = new ArrayList<>();
+    for (int id : ids) {
+      ResultSet rs = mock(ResultSet.class);
+      when(rs.getInt("id")).thenReturn(id);
+      when(rs.getInt("assigned_to")).thenReturn(7);
+      when(rs.getInt("assigned_by")).thenReturn(1);
+      rows.add(mapper.mapRow(rs, rows.size()));
+    }
+    return rows;
+  }
+
+  /** A returning request requested by user 7, or by the admin 9 when made by an admin. */
+  private static ResultSet expiredRequest(int id, boolean adminRequest) throws Exception {
+    ResultSet rs = mock(ResultSet.class);
+    when(rs.getInt("id")).thenReturn(id);
+    when(rs.getInt("assignment_id")).thenReturn(id * 10);
+    when(rs.getInt("requested_by")).thenReturn(adminRequest ? 9 : 7);
+    when(rs.getBoolean("admin_request")).thenReturn(adminRequest);
+    when(rs.getInt("assigned_to")).thenReturn(7);
+    when(rs.getInt("assigned_by")).thenReturn(1);
+    return rs;
+  }
+}
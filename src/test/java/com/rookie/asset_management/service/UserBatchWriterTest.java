@@ -0,0 +1,121 @@
+package com.rookie.asset_management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.rookie.asset_management.PostgresTestDatabase;
+import com.rookie.asset_management.entity.Location;
+import com.rookie.asset_management.entity.Role;
+import com.rookie.asset_management.entity.User;
+import com.rookie.asset_management.entity.UserProfile;
+import com.rookie.asset_management.enums.Gender;
+import com.rookie.asset_management.service.impl.handler.UserBatchWriter;
+import com.rookie.asset_management.util.ConstraintViolations;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+/** Runs the bulk user statements against PostgreSQL, in a transaction rolled back after. */
+@DataJpaTest(
+    properties = {
+      "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+      "spring.jpa.hibernate.ddl-auto=none"
+    })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Sql("/sql/postgres-fixture.sql")
+@Import(UserBatchWriter.class)
+class UserBatchWriterTest {
+
+  @Autowired private UserBatchWriter userBatchWriter;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @DynamicPropertySource
+  static void database(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", PostgresTestDatabase::jdbcUrl);
+    registry.add("spring.datasource.username", () -> "postgres");
+    registry.add("spring.datasource.password", () -> "postgres");
+  }
+
+  @Test
+  void insert_takesIdsFromTheIdentitySequenceAndInsertsProfiles() {
+    List<User> users = List.of(user("annv", Gender.FEMALE), user("binhtt", null));
+
+    userBatchWriter.insert(users);
+
+    // the fixture users are 1 and 2
+    assertEquals(3, users.get(0).getId());
+    assertEquals("SD0003", users.get(0).getStaffCode());
+    assertEquals(4, users.get(1).getId());
+    assertEquals("SD0004", users.get(1).getStaffCode());
+    Map<String, Object> first =
+        jdbcTemplate.queryForMap(
+            "SELECT u.username, u.staff_code, u.first_login, CAST(p.gender AS VARCHAR) AS gender "
+                + "FROM users u JOIN user_profiles p ON p.id = u.id WHERE u.id = 3");
+    assertEquals("annv", first.get("username"));
+    assertEquals("SD0003", first.get("staff_code"));
+    assertEquals(true, first.get("first_login"));
+    assertEquals("FEMALE", first.get("gender"));
+    assertNull(
+        jdbcTemplate.queryForObject(
+            "SELECT CAST(gender AS VARCHAR) FROM user_profiles WHERE id = 4", String.class));
+    // a user saved afterwards does not collide with the allocated ids
+    assertEquals(
+        5,
+        jdbcTemplate.queryForObject(
+            "SELECT nextval(pg_get_serial_sequence('users', 'id'))", Integer.class));
+  }
+
+  @Test
+  void insert_takenUsername_violatesTheUsernameConstraint() {
+    List<User> users = List.of(user("annv", Gender.MALE), user("staff", Gender.MALE));
+
+    DataIntegrityViolationException exception =
+        assertThrows(DataIntegrityViolationException.class, () -> userBatchWriter.insert(users));
+
+    assertTrue(ConstraintViolations.isViolationOf(exception, "users_username_key"));
+    assertFalse(ConstraintViolations.isViolationOf(exception, "users_staff_code_key"));
+  }
+
+  private static User user(String username, Gender gender) {
+    Location location = new Location();
+    location.setId(1);
+    Role role = new Role();
+    role.setId(2);
+    User admin = new User();
+    admin.setId(1);
+
+    UserProfile profile = new UserProfile();
+    profile.setFirstName(username);
+    profile.setLastName("Nguyen");
+    profile.setDob(LocalDate.of(2000, 1, 2));
+    profile.setGender(gender);
+
+    User user = new User();
+    user.setUsername(username);
+    user.setPassword("hash");
+    user.setEmail(username + "@nashtech.com");
+    user.setRole(role);
+    user.setLocation(location);
+    user.setJoinedDate(LocalDate.of(2024, 6, 3));
+    user.setCreatedBy(admin);
+    user.setUserProfile(profile);
+    profile.setUser(user);
+    return user;
+  }
+}
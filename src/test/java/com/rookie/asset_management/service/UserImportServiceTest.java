@@ -0,0 +1,331 @@
+package com.rookie.asset_management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.rookie.asset_management.dto.request.UserRequestDTO;
+import com.rookie.asset_management.dto.request.user.BulkCreateUserRequest;
+import com.rookie.asset_management.dto.response.email.EmailDeliveryDtoResponse;
+import com.rookie.asset_management.dto.response.user.BulkUserDtoResponse;
+import com.rookie.asset_management.dto.response.user.BulkUserDtoResponse.ItemStatus;
+import com.rookie.asset_management.dto.response.user.CreateUserDtoResponse;
+import com.rookie.asset_management.entity.Location;
+import com.rookie.asset_management.entity.Role;
+import com.rookie.asset_management.entity.User;
+import com.rookie.asset_management.entity.UserProfile;
+import com.rookie.asset_management.enums.BulkMode;
+import com.rookie.asset_management.enums.EmailDeliveryStatus;
+import com.rookie.asset_management.enums.Gender;
+import com.rookie.asset_management.exception.AppException;
+import com.rookie.asset_management.mapper.UserMapper;
+import com.rookie.asset_management.repository.UserRepository;
+import com.rookie.asset_management.service.impl.UserImportServiceImpl;
+import com.rookie.asset_management.service.impl.handler.UserBatchWriter;
+import com.rookie.asset_management.service.impl.handler.UsernameAllocator;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+  private static final LocalDate DOB = LocalDate.of(2000, 1, 2);
+
+  @Mock private UserRepository userRepository;
+
+  @Mock private UserMapper userMapper;
+
+  @Mock private CurrentUserService currentUserService;
+
+  @Mock private UserBatchWriter userBatchWriter;
+
+  @Mock private EmailService emailService;
+
+  @Mock private PasswordEncoder passwordEncoder;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private final ExecutorService hashingPool = Executors.newFixedThreadPool(2);
+
+  private User admin;
+
+  /** The users passed to the batch writer. */
+  private final List<User> inserted = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    Role adminRole = new Role();
+    adminRole.setName("ADMIN");
+    Location location = new Location();
+    location.setId(1);
+    admin = new User();
+    admin.setId(7);
+    admin.setRole(adminRole);
+    admin.setLocation(location);
+    when(currentUserService.getCurrentUser()).thenReturn(admin);
+
+    lenient()
+        .when(userMapper.toEntity(any(UserRequestDTO.class)))
+        .thenAnswer(
+            invocation -> {
+              UserRequestDTO dto = invocation.getArgument(0);
+              User user = new User();
+              user.setEmail(dto.getEmail());
+              user.setJoinedDate(dto.getJoinedDate());
+              UserProfile profile = new UserProfile();
+              profile.setFirstName(dto.getFirstName());
+              profile.setLastName(dto.getLastName());
+              profile.setDob(dto.getDob());
+              profile.setGender(dto.getGender());
+              user.setUserProfile(profile);
+              return user;
+            });
+    lenient()
+        .when(userMapper.toCreateUserDtoResponse(any()))
+        .thenAnswer(invocation -> new CreateUserDtoResponse());
+    lenient().when(passwordEncoder.encode(anyString())).thenAnswer(i -> "hash:" + i.getArgument(0));
+    lenient()
+        .when(transactionManager.getTransaction(any()))
+        .thenReturn(new SimpleTransactionStatus());
+    lenient()
+        .doAnswer(
+            invocation -> {
+              inserted.addAll(invocation.<List<User>>getArgument(0));
+              return null;
+            })
+        .when(userBatchWriter)
+        .insert(anyList());
+    lenient()
+        .when(emailService.queueEmails(anyList()))
+        .thenAnswer(
+            invocation ->
+                invocation.<List<EmailService.Email>>getArgument(0).stream()
+                    .map(
+                        email ->
+                            EmailDeliveryDtoResponse.builder()
+                                .recipient(email.to())
+                                .status(EmailDeliveryStatus.PENDING)
+                                .build())
+                    .toList());
+  }
+
+  @AfterEach
+  void tearDown() {
+    hashingPool.shutdownNow();
+  }
+
+  @Test
+  void bestEffort_createsValidUsersWithBatchUsernames() {
+    when(userRepository.findActiveEmailsIn(anyCollection()))
+        .thenReturn(List.of("taken@nashtech.com"));
+    when(userRepository.findUsernamesStartingWith("annq"))
+        .thenReturn(List.of("annq", "annqa", "annqa1"));
+
+    BulkUserDtoResponse result =
+        service(new ConcurrentTaskExecutor(hashingPool))
+            .bulkCreateUsers(
+                request(
+                    BulkMode.BEST_EFFORT,
+                    row("An", "Nguyen Quoc", "an.nq@nashtech.com"),
+                    row("Binh", "Tran", "TAKEN@nashtech.com"),
+                    row("An", "Nguyen Quang", "an.nqu@nashtech.com")));
+
+    assertEquals(2, result.getCreated());
+    assertEquals(ItemStatus.CREATED, result.getItems().get(0).getStatus());
+    assertEquals(ItemStatus.FAILED, result.getItems().get(1).getStatus());
+    assertEquals("Email already exists", result.getItems().get(1).getError());
+    assertEquals(ItemStatus.CREATED, result.getItems().get(2).getStatus());
+    assertEquals(
+        "an.nqu@nashtech.com",
+        result.getItems().get(2).getUser().getEmailDelivery().getRecipient());
+
+    assertEquals(2, inserted.size());
+    assertEquals("annq1", inserted.get(0).getUsername());
+    assertEquals("hash:annq1@02012000", inserted.get(0).getPassword());
+    assertEquals("annq2", inserted.get(1).getUsername());
+    assertEquals("hash:annq2@02012000", inserted.get(1).getPassword());
+    assertEquals(admin.getLocation(), inserted.get(0).getLocation());
+    assertEquals(2, inserted.get(0).getRole().getId());
+    verify(userRepository, times(1)).findUsernamesStartingWith(anyString());
+  }
+
+  @Test
+  void namesWithoutLetters_failOnlyThatRow() {
+    when(userRepository.findActiveEmailsIn(anyCollection())).thenReturn(List.of());
+    when(userRepository.findUsernamesStartingWith("ann")).thenReturn(List.of());
+
+    BulkUserDtoResponse result =
+        service(new ConcurrentTaskExecutor(hashingPool))
+            .bulkCreateUsers(
+                request(
+                    BulkMode.BEST_EFFORT,
+                    row("!!", "??", "blank@nashtech.com"),
+                    row("An", "Nguyen", "an@nashtech.com")));
+
+    assertEquals(1, result.getCreated());
+    assertEquals(ItemStatus.FAILED, result.getItems().get(0).getStatus());
+    assertEquals(
+        "First name and last name must contain a letter or a digit",
+        result.getItems().get(0).getError());
+    assertEquals("ann", inserted.get(0).getUsername());
+    verify(userRepository, times(1)).findUsernamesStartingWith(anyString());
+  }
+
+  @Test
+  void allOrNothing_failure_createsNothing() {
+    when(userRepository.findActiveEmailsIn(anyCollection())).thenReturn(List.of());
+
+    BulkUserDtoResponse result =
+        service(new ConcurrentTaskExecutor(hashingPool))
+            .bulkCreateUsers(
+                request(
+                    BulkMode.ALL_OR_NOTHING,
+                    row("An", "Nguyen", "an@nashtech.com"),
+                    row("Binh", "Tran", "AN@nashtech.com")));
+
+    assertEquals(0, result.getCreated());
+    assertEquals(ItemStatus.SKIPPED, result.getItems().get(0).getStatus());
+    assertNull(result.getItems().get(0).getUser());
+    assertEquals(ItemStatus.FAILED, result.getItems().get(1).getStatus());
+    assertEquals(
+        "Email is used more than once in the request", result.getItems().get(1).getError());
+    verify(passwordEncoder, never()).encode(anyString());
+    verify(userBatchWriter, never()).insert(anyList());
+  }
+
+  @Test
+  void saturatedHashingPool_callerHashes() {
+    when(userRepository.findActiveEmailsIn(anyCollection())).thenReturn(List.of());
+    when(userRepository.findUsernamesStartingWith("ann")).thenReturn(List.of());
+    TaskExecutor saturated =
+        task -> {
+          throw new TaskRejectedException("Executor password-hashing is saturated");
+        };
+
+    List<UserRequestDTO> rows = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      rows.add(row("An", "Nguyen", "an" + i + "@nashtech.com"));
+    }
+    BulkUserDtoResponse result =
+        service(saturated)
+            .bulkCreateUsers(
+                BulkCreateUserRequest.builder().mode(BulkMode.BEST_EFFORT).users(rows).build());
+
+    assertEquals(20, result.getCreated());
+    assertEquals("ann", inserted.get(0).getUsername());
+    assertEquals("hash:ann19@02012000", inserted.get(19).getPassword());
+  }
+
+  @Test
+  void usernameTakenMeanwhile_conflict() {
+    when(userRepository.findActiveEmailsIn(anyCollection())).thenReturn(List.of());
+    when(userRepository.findUsernamesStartingWith("ann")).thenReturn(List.of());
+    doThrow(constraintViolation("users_username_key")).when(userBatchWriter).insert(anyList());
+    UserImportServiceImpl service = service(new ConcurrentTaskExecutor(hashingPool));
+    BulkCreateUserRequest request =
+        request(BulkMode.BEST_EFFORT, row("An", "Nguyen", "an@nashtech.com"));
+
+    AppException exception =
+        assertThrows(AppException.class, () -> service.bulkCreateUsers(request));
+
+    assertEquals(HttpStatus.CONFLICT, exception.getHttpStatusCode());
+    verify(emailService, never()).queueEmails(anyList());
+  }
+
+  @Test
+  void otherConstraintViolated_rethrown() {
+    when(userRepository.findActiveEmailsIn(anyCollection())).thenReturn(List.of());
+    when(userRepository.findUsernamesStartingWith("ann")).thenReturn(List.of());
+    DataIntegrityViolationException violation = constraintViolation("users_staff_code_key");
+    doThrow(violation).when(userBatchWriter).insert(anyList());
+    UserImportServiceImpl service = service(new ConcurrentTaskExecutor(hashingPool));
+    BulkCreateUserRequest request =
+        request(BulkMode.BEST_EFFORT, row("An", "Nguyen", "an@nashtech.com"));
+
+    DataIntegrityViolationException exception =
+        assertThrows(DataIntegrityViolationException.class, () -> service.bulkCreateUsers(request));
+
+    assertEquals(violation, exception);
+    verify(emailService, never()).queueEmails(anyList());
+  }
+
+  @Test
+  void staffAdmin_forbidden() {
+    admin.getRole().setName("STAFF");
+    UserImportServiceImpl service = service(new ConcurrentTaskExecutor(hashingPool));
+    BulkCreateUserRequest request =
+        request(BulkMode.BEST_EFFORT, row("An", "Nguyen", "an@nashtech.com"));
+
+    AppException exception =
+        assertThrows(AppException.class, () -> service.bulkCreateUsers(request));
+
+    assertEquals(HttpStatus.FORBIDDEN, exception.getHttpStatusCode());
+  }
+
+  private UserImportServiceImpl service(TaskExecutor hashingExecutor) {
+    return new UserImportServiceImpl(
+        userRepository,
+        userMapper,
+        currentUserService,
+        new UsernameAllocator(userRepository),
+        userBatchWriter,
+        emailService,
+        passwordEncoder,
+        hashingExecutor,
+        transactionManager,
+        500);
+  }
+
+  private static BulkCreateUserRequest request(BulkMode mode, UserRequestDTO... rows) {
+    return BulkCreateUserRequest.builder().mode(mode).users(List.of(rows)).build();
+  }
+
+  private static UserRequestDTO row(String firstName, String lastName, String email) {
+    UserRequestDTO row = new UserRequestDTO();
+    row.setFirstName(firstName);
+    row.setLastName(lastName);
+    row.setEmail(email);
+    row.setGender(Gender.FEMALE);
+    row.setDob(DOB);
+    row.setJoinedDate(LocalDate.of(2024, 6, 3));
+    row.setType("Staff");
+    return row;
+  }
+
+  private static DataIntegrityViolationException constraintViolation(String constraintName) {
+    return new DataIntegrityViolationException(
+        "could not execute batch",
+        new ConstraintViolationException(
+            "duplicate key value violates unique constraint",
+            new SQLException("duplicate key value violates unique constraint", "23505"),
+            constraintName));
+  }
+}
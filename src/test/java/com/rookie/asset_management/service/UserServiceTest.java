@@ -9,6 +9,7 @@ import com.rookie.asset_management.dto.request.UserRequestDTO;
 import com.rookie.asset_management.dto.request.user.UpdateUserRequest;
 import com.rookie.asset_management.dto.request.user.UserFilterRequest;
 import com.rookie.asset_management.dto.response.PagingDtoResponse;
+import com.rookie.asset_management.dto.response.email.EmailDeliveryDtoResponse;
 import com.rookie.asset_management.dto.response.user.CreateUserDtoResponse;
 import com.rookie.asset_management.dto.response.user.UserDetailDtoResponse;
 import com.rookie.asset_management.dto.response.user.UserDtoResponse;
@@ -20,6 +21,7 @@ import com.rookie.asset_management.entity.User;
 import com.rookie.asset_management.entity.UserDetailModel;
 import com.rookie.asset_management.entity.UserProfile;
 import com.rookie.asset_management.enums.AssignmentStatus;
+import com.rookie.asset_management.enums.EmailDeliveryStatus;
 import com.rookie.asset_management.enums.Gender;
 import com.rookie.asset_management.enums.ReturningRequestStatus;
 import com.rookie.asset_management.exception.AppException;
@@ -27,21 +29,25 @@ import com.rookie.asset_management.mapper.UserMapper;
 import com.rookie.asset_management.repository.RoleRepository;
 import com.rookie.asset_management.repository.UserRepository;
 import com.rookie.asset_management.service.impl.UserServiceImpl;
+import com.rookie.asset_management.service.impl.handler.UsernameAllocator;
 import com.rookie.asset_management.util.SecurityUtils;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -49,6 +55,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceTest {
@@ -64,12 +72,27 @@ class UserServiceTest {
 
   @Mock private EmailService emailService;
 
-  @InjectMocks private UserServiceImpl userService;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private UserServiceImpl userService;
 
   private User adminUser;
 
   @BeforeEach
   void setUp() {
+    userService =
+        new UserServiceImpl(
+            userRepository,
+            userMapper,
+            roleRepository,
+            passwordEncoder,
+            emailService,
+            new UsernameAllocator(userRepository),
+            transactionManager);
+    lenient()
+        .when(transactionManager.getTransaction(any()))
+        .thenReturn(new SimpleTransactionStatus());
+
     // Mock admin user (ID = 1, role = ADMIN, location = HCM)
     adminUser = new User();
     adminUser.setId(1);
@@ -390,6 +413,7 @@ class UserServiceTest {
     user.setJoinedDate(LocalDate.of(2025, 5, 21));
     user.setId(1);
     user.setUsername("anhnv");
+    user.setEmail("nhatnl@gmail.com");
     user.setLocation(adminUser.getLocation()); // Location from admin for Staff
     Role staffRole = new Role();
     staffRole.setName("STAFF");
@@ -415,14 +439,10 @@ class UserServiceTest {
     when(passwordEncoder.encode(anyString())).thenReturn("hashedPassword");
 
     when(userMapper.toEntity(request)).thenReturn(user);
-    when(userRepository.existsByUsername("anhnv")).thenReturn(false);
+    when(userRepository.findUsernamesStartingWith("anhnv")).thenReturn(List.of());
     when(userRepository.save(any(User.class))).thenReturn(user);
     when(userMapper.toUserDetailsDto(any(User.class))).thenReturn(responseDto);
 
-    when(emailService.sendSimpleMessage(
-            nullable(String.class), nullable(String.class), nullable(String.class)))
-        .thenReturn(true);
-
     CreateUserDtoResponse createUserResponse = new CreateUserDtoResponse();
     createUserResponse.setStaffCode("SD0001");
     createUserResponse.setUsername("anhnv");
@@ -431,6 +451,15 @@ class UserServiceTest {
 
     when(userMapper.toCreateUserDtoResponse(any(UserDetailDtoResponse.class)))
         .thenReturn(createUserResponse);
+    EmailDeliveryDtoResponse emailDelivery =
+        EmailDeliveryDtoResponse.builder()
+            .id(7L)
+            .recipient("nhatnl@gmail.com")
+            .status(EmailDeliveryStatus.PENDING)
+            .build();
+    when(emailService.queueEmail(
+            eq("nhatnl@gmail.com"), eq("Your account has been created"), anyString()))
+        .thenReturn(emailDelivery);
 
     // WHEN
     CreateUserDtoResponse result = userService.createUser(request);
@@ -442,6 +471,8 @@ class UserServiceTest {
     assertEquals("Staff", result.getRole());
     verify(userRepository).save(any(User.class));
     verify(passwordEncoder).encode(anyString());
+    assertEquals(7L, result.getEmailDelivery().getId());
+    assertEquals(EmailDeliveryStatus.PENDING, result.getEmailDelivery().getStatus());
   }
 
   @Test
@@ -491,14 +522,10 @@ class UserServiceTest {
     when(passwordEncoder.encode(anyString())).thenReturn("hashedPassword");
 
     when(userMapper.toEntity(request)).thenReturn(user);
-    when(userRepository.existsByUsername("letbn")).thenReturn(false);
+    when(userRepository.findUsernamesStartingWith("letbn")).thenReturn(List.of());
     when(userRepository.save(any(User.class))).thenReturn(user);
     when(userMapper.toUserDetailsDto(any(User.class))).thenReturn(responseDto);
 
-    when(emailService.sendSimpleMessage(
-            nullable(String.class), nullable(String.class), nullable(String.class)))
-        .thenReturn(true);
-
     CreateUserDtoResponse createUserResponse = new CreateUserDtoResponse();
     createUserResponse.setStaffCode("SD0002");
     createUserResponse.setUsername("letbn");
@@ -567,14 +594,10 @@ class UserServiceTest {
     when(passwordEncoder.encode(anyString())).thenReturn("hashedPassword");
 
     when(userMapper.toEntity(request)).thenReturn(user);
-    when(userRepository.existsByUsername("tranm")).thenReturn(false);
+    when(userRepository.findUsernamesStartingWith("tranm")).thenReturn(List.of());
     when(userRepository.save(any(User.class))).thenReturn(user);
     when(userMapper.toUserDetailsDto(any(User.class))).thenReturn(responseDto);
 
-    when(emailService.sendSimpleMessage(
-            nullable(String.class), nullable(String.class), nullable(String.class)))
-        .thenReturn(true);
-
     CreateUserDtoResponse createUserResponse = new CreateUserDtoResponse();
     createUserResponse.setStaffCode("SD0003");
     createUserResponse.setUsername("tranm");
@@ -643,14 +666,10 @@ class UserServiceTest {
     when(passwordEncoder.encode(anyString())).thenReturn("hashedPassword");
 
     when(userMapper.toEntity(request1)).thenReturn(user1);
-    when(userRepository.existsByUsername("anhnv")).thenReturn(false);
+    when(userRepository.findUsernamesStartingWith("anhnv")).thenReturn(List.of());
     when(userRepository.save(user1)).thenReturn(user1);
     when(userMapper.toUserDetailsDto(user1)).thenReturn(responseDto1);
 
-    when(emailService.sendSimpleMessage(
-            nullable(String.class), nullable(String.class), nullable(String.class)))
-        .thenReturn(true);
-
     CreateUserDtoResponse createUserResponse = new CreateUserDtoResponse();
     createUserResponse.setUsername("anhnv");
 
@@ -707,15 +726,10 @@ class UserServiceTest {
     when(passwordEncoder.encode(anyString())).thenReturn("hashedPassword");
 
     when(userMapper.toEntity(request2)).thenReturn(user2);
-    when(userRepository.existsByUsername("anhnv")).thenReturn(true);
-    when(userRepository.existsByUsername("anhnv1")).thenReturn(false);
+    when(userRepository.findUsernamesStartingWith("anhnv")).thenReturn(List.of("anhnv"));
     when(userRepository.save(user2)).thenReturn(user2);
     when(userMapper.toUserDetailsDto(user2)).thenReturn(responseDto2);
 
-    when(emailService.sendSimpleMessage(
-            nullable(String.class), nullable(String.class), nullable(String.class)))
-        .thenReturn(true);
-
     CreateUserDtoResponse createUserResponse2 = new CreateUserDtoResponse();
     createUserResponse2.setUsername("anhnv1");
 
@@ -773,16 +787,10 @@ class UserServiceTest {
     when(passwordEncoder.encode(anyString())).thenReturn("hashedPassword");
 
     when(userMapper.toEntity(request3)).thenReturn(user3);
-    when(userRepository.existsByUsername("anhnv")).thenReturn(true);
-    when(userRepository.existsByUsername("anhnv1")).thenReturn(true);
-    when(userRepository.existsByUsername("anhnv2")).thenReturn(false);
+    when(userRepository.findUsernamesStartingWith("anhnv")).thenReturn(List.of("anhnv", "anhnv1"));
     when(userRepository.save(user3)).thenReturn(user3);
     when(userMapper.toUserDetailsDto(user3)).thenReturn(responseDto3);
 
-    when(emailService.sendSimpleMessage(
-            nullable(String.class), nullable(String.class), nullable(String.class)))
-        .thenReturn(true);
-
     CreateUserDtoResponse createUserResponse3 = new CreateUserDtoResponse();
     createUserResponse3.setUsername("anhnv2");
 
@@ -851,14 +859,10 @@ class UserServiceTest {
     when(passwordEncoder.encode(anyString())).thenReturn("hashedPassword");
 
     when(userMapper.toEntity(request)).thenReturn(user);
-    when(userRepository.existsByUsername("anhnv")).thenReturn(false);
+    when(userRepository.findUsernamesStartingWith("anhnv")).thenReturn(List.of());
     when(userRepository.save(any(User.class))).thenReturn(user);
     when(userMapper.toUserDetailsDto(any(User.class))).thenReturn(responseDto);
 
-    when(emailService.sendSimpleMessage(
-            nullable(String.class), nullable(String.class), nullable(String.class)))
-        .thenReturn(true);
-
     CreateUserDtoResponse createUserResponse = new CreateUserDtoResponse();
     createUserResponse.setRole("Admin");
     createUserResponse.setLocation("HN");
@@ -924,14 +928,10 @@ class UserServiceTest {
     when(passwordEncoder.encode(anyString())).thenReturn("hashedPassword");
 
     when(userMapper.toEntity(request)).thenReturn(user);
-    when(userRepository.existsByUsername("anhnv")).thenReturn(false);
+    when(userRepository.findUsernamesStartingWith("anhnv")).thenReturn(List.of());
     when(userRepository.save(any(User.class))).thenReturn(user);
     when(userMapper.toUserDetailsDto(any(User.class))).thenReturn(responseDto);
 
-    when(emailService.sendSimpleMessage(
-            nullable(String.class), nullable(String.class), nullable(String.class)))
-        .thenReturn(true);
-
     CreateUserDtoResponse createUserResponse = new CreateUserDtoResponse();
     createUserResponse.setLocation("HCM");
     createUserResponse.setRole("Staff");
@@ -998,7 +998,7 @@ class UserServiceTest {
     when(passwordEncoder.encode(anyString())).thenReturn("hashedPassword");
 
     when(userMapper.toEntity(any(UserRequestDTO.class))).thenReturn(user);
-    when(userRepository.existsByUsername("anhnv")).thenReturn(false);
+    when(userRepository.findUsernamesStartingWith("anhnv")).thenReturn(List.of());
     when(userRepository.save(any(User.class)))
         .thenAnswer(
             invocation -> {
@@ -1010,10 +1010,6 @@ class UserServiceTest {
             });
     when(userMapper.toUserDetailsDto(any(User.class))).thenReturn(responseDto);
 
-    when(emailService.sendSimpleMessage(
-            nullable(String.class), nullable(String.class), nullable(String.class)))
-        .thenReturn(true);
-
     CreateUserDtoResponse createUserResponse = new CreateUserDtoResponse();
     createUserResponse.setRole("Staff");
     createUserResponse.setLocation("HCM");
@@ -1064,6 +1060,134 @@ class UserServiceTest {
     }
   }
 
+  @Test
+  @DisplayName("Create user retries with the next username when it is taken concurrently")
+  void createUser_UsernameTakenConcurrently_ShouldRetryWithNextUsername() {
+    UserRequestDTO request = new UserRequestDTO();
+    request.setFirstName("anh");
+    request.setLastName("nguyen van");
+    request.setDob(LocalDate.of(1995, 1, 1));
+    request.setType("Staff");
+
+    mockAuthenticatedUser(adminUser);
+    when(userMapper.toEntity(request))
+        .thenAnswer(
+            invocation -> {
+              User user = new User();
+              UserProfile profile = new UserProfile();
+              profile.setDob(LocalDate.of(1995, 1, 1));
+              user.setUserProfile(profile);
+              return user;
+            });
+    when(passwordEncoder.encode(anyString())).thenReturn("hashedPassword");
+    // the first read misses the user created meanwhile by another admin
+    when(userRepository.findUsernamesStartingWith("anhnv"))
+        .thenReturn(List.of())
+        .thenReturn(List.of("anhnv"));
+    when(userRepository.save(any(User.class)))
+        .thenThrow(constraintViolation("users_username_key"))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+    when(userMapper.toCreateUserDtoResponse(any())).thenReturn(new CreateUserDtoResponse());
+
+    userService.createUser(request);
+
+    ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+    verify(userRepository, times(2)).save(saved.capture());
+    assertEquals("anhnv", saved.getAllValues().get(0).getUsername());
+    assertEquals("anhnv1", saved.getAllValues().get(1).getUsername());
+    verify(transactionManager).commit(any());
+  }
+
+  @Test
+  @DisplayName("Create user gives up after the username is taken concurrently several times")
+  void createUser_UsernameAlwaysTaken_ShouldThrowConflictException() {
+    UserRequestDTO request = new UserRequestDTO();
+    request.setFirstName("anh");
+    request.setLastName("nguyen van");
+    request.setDob(LocalDate.of(1995, 1, 1));
+    request.setType("Staff");
+
+    mockAuthenticatedUser(adminUser);
+    when(userMapper.toEntity(request))
+        .thenAnswer(
+            invocation -> {
+              User user = new User();
+              UserProfile profile = new UserProfile();
+              profile.setDob(LocalDate.of(1995, 1, 1));
+              user.setUserProfile(profile);
+              return user;
+            });
+    when(passwordEncoder.encode(anyString())).thenReturn("hashedPassword");
+    when(userRepository.findUsernamesStartingWith("anhnv")).thenReturn(List.of());
+    when(userRepository.save(any(User.class))).thenThrow(constraintViolation("users_username_key"));
+
+    AppException exception =
+        assertThrows(AppException.class, () -> userService.createUser(request));
+
+    assertEquals(HttpStatus.CONFLICT, exception.getHttpStatusCode());
+    assertEquals("Username already exists", exception.getMessage());
+    verify(userRepository, times(3)).save(any(User.class));
+    verify(transactionManager, times(3)).rollback(any());
+  }
+
+  @Test
+  @DisplayName("Create user does not retry the violation of another constraint")
+  void createUser_OtherConstraintViolated_ShouldNotRetry() {
+    UserRequestDTO request = new UserRequestDTO();
+    request.setFirstName("anh");
+    request.setLastName("nguyen van");
+    request.setDob(LocalDate.of(1995, 1, 1));
+    request.setType("Staff");
+
+    mockAuthenticatedUser(adminUser);
+    when(userMapper.toEntity(request))
+        .thenAnswer(
+            invocation -> {
+              User user = new User();
+              UserProfile profile = new UserProfile();
+              profile.setDob(LocalDate.of(1995, 1, 1));
+              user.setUserProfile(profile);
+              return user;
+            });
+    when(passwordEncoder.encode(anyString())).thenReturn("hashedPassword");
+    when(userRepository.findUsernamesStartingWith("anhnv")).thenReturn(List.of());
+    // the message mentions the username, the violated constraint is another one
+    when(userRepository.save(any(User.class)))
+        .thenThrow(constraintViolation("users_staff_code_key"));
+
+    assertThrows(DataIntegrityViolationException.class, () -> userService.createUser(request));
+
+    verify(userRepository, times(1)).save(any(User.class));
+  }
+
+  @Test
+  @DisplayName("Create user rejects names giving an empty username")
+  void createUser_NamesWithoutLetters_ShouldThrowBadRequest() {
+    UserRequestDTO request = new UserRequestDTO();
+    request.setFirstName("!!");
+    request.setLastName("??");
+    request.setDob(LocalDate.of(1995, 1, 1));
+    request.setType("Staff");
+
+    mockAuthenticatedUser(adminUser);
+    when(userMapper.toEntity(request))
+        .thenAnswer(
+            invocation -> {
+              User user = new User();
+              UserProfile profile = new UserProfile();
+              profile.setDob(LocalDate.of(1995, 1, 1));
+              user.setUserProfile(profile);
+              return user;
+            });
+
+    AppException exception =
+        assertThrows(AppException.class, () -> userService.createUser(request));
+
+    assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatusCode());
+    verify(userRepository, never()).findUsernamesStartingWith(anyString());
+    verify(userRepository, never()).save(any(User.class));
+  }
+
   @Test
   @DisplayName("deleteUser should delete user successfully")
   void deleteUser_shouldDeleteUserSuccessfully() {
@@ -1183,4 +1307,13 @@ class UserServiceTest {
 
     verify(userRepository).save(user);
   }
+
+  private static DataIntegrityViolationException constraintViolation(String constraintName) {
+    return new DataIntegrityViolationException(
+        "could not execute statement",
+        new ConstraintViolationException(
+            "duplicate key value violates unique constraint, username anhnv",
+            new SQLException("duplicate key value violates unique constraint", "23505"),
+            constraintName));
+  }
 }
@@ -0,0 +1,37 @@
+-- Minimal schema and data to race updates of one asset.
+DROP TABLE IF EXISTS assets;
+DROP TABLE IF EXISTS categories;
+DROP TABLE IF EXISTS locations;
+
+CREATE TABLE locations (
+  id INTEGER PRIMARY KEY,
+  name VARCHAR(64) NOT NULL
+);
+
+CREATE TABLE categories (
+  id INTEGER PRIMARY KEY,
+  name VARCHAR(64),
+  prefix CHAR(2)
+);
+
+CREATE TABLE assets (
+  id INTEGER PRIMARY KEY,
+  name VARCHAR(255),
+  specification VARCHAR(255),
+  asset_code CHAR(8) NOT NULL,
+  installed_date DATE,
+  status VARCHAR(32),
+  location_id INTEGER,
+  disabled BOOLEAN NOT NULL,
+  category_id INTEGER,
+  created_at TIMESTAMP,
+  updated_at TIMESTAMP,
+  created_by INTEGER,
+  updated_by INTEGER,
+  version BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO locations (id, name) VALUES (1, 'HCM');
+INSERT INTO categories (id, name, prefix) VALUES (1, 'Laptop', 'LA');
+INSERT INTO assets (id, name, asset_code, status, location_id, disabled, category_id)
+VALUES (1, 'Laptop HP', 'LA000001', 'AVAILABLE', 1, FALSE, 1);
@@ -0,0 +1,16 @@
+-- Rows of the bulk assignment statements, over sql/postgres-fixture.sql: asset 2 is in another
+-- location, asset 3 is assigned, asset 4 has a waiting assignment and asset 5 a deleted one.
+INSERT INTO locations (id, name) VALUES (2, 'HN');
+UPDATE assets SET location_id = 2 WHERE id = 2;
+
+INSERT INTO assets
+  (id, name, specification, installed_date, asset_code, status, location_id, category_id,
+   created_at, updated_at)
+VALUES
+  (3, 'Laptop Asus', 'i5', DATE '2020-01-06', 'LA000003', 'ASSIGNED', 1, 1, now(), now()),
+  (4, 'Laptop Acer', 'i5', DATE '2020-01-06', 'LA000004', 'AVAILABLE', 1, 1, now(), now()),
+  (5, 'Laptop Lenovo', 'i5', DATE '2020-01-06', 'LA000005', 'AVAILABLE', 1, 1, now(), now());
+
+INSERT INTO assignments (id, asset_id, assigned_by, assigned_to, assigned_date, status, deleted)
+VALUES (100, 4, 1, 2, DATE '2025-01-01', 'WAITING', FALSE),
+       (101, 5, 1, 2, DATE '2025-01-01', 'WAITING', TRUE);
@@ -0,0 +1,47 @@
+-- Minimal schema and data to load a user with its eager associations; gender is a plain VARCHAR
+-- here while PostgreSQL uses the GENDER enum.
+DROP TABLE IF EXISTS user_profiles;
+DROP TABLE IF EXISTS users;
+DROP TABLE IF EXISTS locations;
+DROP TABLE IF EXISTS roles;
+
+CREATE TABLE roles (
+  id INTEGER PRIMARY KEY,
+  name VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE locations (
+  id INTEGER PRIMARY KEY,
+  name VARCHAR(64) NOT NULL
+);
+
+CREATE TABLE users (
+  id INTEGER PRIMARY KEY,
+  username VARCHAR(255) NOT NULL,
+  password VARCHAR(255),
+  email VARCHAR(255),
+  role_id INTEGER,
+  staff_code CHAR(6) NOT NULL,
+  disabled BOOLEAN,
+  location_id INTEGER,
+  first_login BOOLEAN,
+  joined_date DATE,
+  created_at TIMESTAMP,
+  updated_at TIMESTAMP,
+  created_by INTEGER,
+  updated_by INTEGER
+);
+
+CREATE TABLE user_profiles (
+  id INTEGER PRIMARY KEY,
+  first_name VARCHAR(128),
+  last_name VARCHAR(128),
+  dob DATE,
+  gender VARCHAR(16)
+);
+
+INSERT INTO roles (id, name) VALUES (1, 'ADMIN');
+INSERT INTO locations (id, name) VALUES (1, 'HCM');
+INSERT INTO users (id, username, password, role_id, staff_code, disabled, location_id, first_login)
+VALUES (1, 'admin', 'secret', 1, 'SD0001', FALSE, 1, FALSE);
+INSERT INTO user_profiles (id, first_name, last_name) VALUES (1, 'Admin', 'User');
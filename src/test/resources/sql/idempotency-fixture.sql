@@ -0,0 +1,11 @@
+-- The idempotency keys table, as created by V18.
+DROP TABLE IF EXISTS idempotency_keys;
+
+CREATE TABLE idempotency_keys (
+  idempotency_key VARCHAR(64) PRIMARY KEY,
+  fingerprint VARCHAR(64) NOT NULL,
+  status_code INTEGER,
+  response_body TEXT,
+  locked_until TIMESTAMP NOT NULL,
+  expires_at TIMESTAMP NOT NULL
+);
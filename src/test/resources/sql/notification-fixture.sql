@@ -0,0 +1,51 @@
+-- Minimal schema and data for the notification feed query tests; type is a plain VARCHAR here
+-- while PostgreSQL uses the NOTIFICATION_TYPE enum, the query only compares its text value.
+DROP TABLE IF EXISTS notifications;
+DROP TABLE IF EXISTS assignments;
+DROP TABLE IF EXISTS assets;
+DROP TABLE IF EXISTS users;
+
+CREATE TABLE users (
+  id INTEGER PRIMARY KEY,
+  username VARCHAR(64) NOT NULL
+);
+
+CREATE TABLE assets (
+  id INTEGER PRIMARY KEY,
+  name VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE assignments (
+  id INTEGER PRIMARY KEY,
+  asset_id INTEGER NOT NULL
+);
+
+CREATE TABLE notifications (
+  id INTEGER PRIMARY KEY,
+  type VARCHAR(32) NOT NULL,
+  sender_id INTEGER NOT NULL,
+  recipient_id INTEGER NOT NULL,
+  assignment_id INTEGER,
+  returning_request_id INTEGER,
+  is_read BOOLEAN NOT NULL DEFAULT FALSE,
+  event_count INTEGER NOT NULL DEFAULT 1,
+  related_ids INTEGER ARRAY,
+  created_at TIMESTAMP NOT NULL
+);
+
+INSERT INTO users (id, username) VALUES (1, 'admin'), (2, 'staff');
+INSERT INTO assets (id, name) VALUES (1, 'Laptop HP');
+INSERT INTO assignments (id, asset_id) VALUES (1, 1);
+
+-- notifications 3 and 4 share their creation time, the id breaks the tie
+INSERT INTO notifications (id, type, sender_id, recipient_id, assignment_id, is_read, created_at)
+VALUES
+  (1, 'ASSIGNMENT_CREATED', 1, 2, 1, TRUE, TIMESTAMP '2025-01-01 09:00:00'),
+  (2, 'ASSIGNMENT_CREATED', 1, 2, 1, FALSE, TIMESTAMP '2025-01-02 09:00:00'),
+  (3, 'RETURN_REQUEST_CREATED', 1, 2, NULL, FALSE, TIMESTAMP '2025-01-03 09:00:00'),
+  (4, 'ASSIGNMENT_CREATED', 1, 2, 1, TRUE, TIMESTAMP '2025-01-03 09:00:00'),
+  (5, 'ASSIGNMENT_CREATED', 1, 2, 1, FALSE, TIMESTAMP '2025-01-04 09:00:00'),
+  (6, 'ASSIGNMENT_ACCEPTED', 2, 1, 1, FALSE, TIMESTAMP '2025-01-05 09:00:00');
+
+-- notification 5 is a digest of three assignments
+UPDATE notifications SET event_count = 3, related_ids = ARRAY[1, 7, 8] WHERE id = 5;
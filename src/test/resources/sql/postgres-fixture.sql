@@ -0,0 +1,26 @@
+-- Base rows of the tests running against PostgreSQL (see PostgresTestDatabase): one location, an
+-- admin and a staff member, one category and two available assets.
+TRUNCATE locations, roles, users, user_profiles, categories, assets, assignments,
+  returning_requests, notifications, notifications_archive, outbox_events,
+  category_status_counts RESTART IDENTITY CASCADE;
+
+INSERT INTO locations (id, name) VALUES (1, 'HCM');
+INSERT INTO roles (id, name) VALUES (1, 'ADMIN'), (2, 'STAFF');
+
+INSERT INTO users
+  (id, username, password, staff_code, role_id, location_id, joined_date, created_at, updated_at,
+   email)
+VALUES
+  (1, 'admin', 'x', 'SD0001', 1, 1, DATE '2020-01-06', now(), now(), 'admin@nashtech.com'),
+  (2, 'staff', 'x', 'SD0002', 2, 1, DATE '2020-01-06', now(), now(), 'staff@nashtech.com');
+SELECT setval(pg_get_serial_sequence('users', 'id'), 2);
+
+INSERT INTO categories (id, name, prefix) VALUES (1, 'Laptop', 'LA');
+
+INSERT INTO assets
+  (id, name, specification, installed_date, asset_code, status, location_id, category_id,
+   created_at, updated_at)
+VALUES
+  (1, 'Laptop HP', 'i5', DATE '2020-01-06', 'LA000001', 'AVAILABLE', 1, 1, now(), now()),
+  (2, 'Laptop Dell', 'i7', DATE '2020-01-06', 'LA000002', 'AVAILABLE', 1, 1, now(), now());
+SELECT setval(pg_get_serial_sequence('assets', 'id'), 2);
@@ -0,0 +1,24 @@
+-- Counters of the report query tests, over sql/postgres-fixture.sql: five categories in two
+-- locations. Category 5 has no counters at all, categories 2 and 4 tie on several columns.
+INSERT INTO locations (id, name) VALUES (2, 'HN');
+
+INSERT INTO categories (id, name, prefix) VALUES
+  (2, 'Monitor', 'MO'),
+  (3, 'Personal Computer', 'PC'),
+  (4, 'Tablet', 'TA'),
+  (5, 'Headset', 'HS');
+
+INSERT INTO category_status_counts (location_id, category_id, status, count) VALUES
+  (1, 1, 'AVAILABLE', 4),
+  (2, 1, 'AVAILABLE', 1),
+  (1, 1, 'ASSIGNED', 3),
+  (1, 1, 'NOT_AVAILABLE', 1),
+  (1, 2, 'ASSIGNED', 2),
+  (1, 2, 'WAITING', 1),
+  (2, 2, 'RECYCLED', 2),
+  (1, 3, 'AVAILABLE', 2),
+  (1, 3, 'NOT_AVAILABLE', 3),
+  (1, 3, 'RECYCLED', 0),
+  (1, 4, 'ASSIGNED', 2),
+  (2, 4, 'WAITING', 1),
+  (1, 4, 'RECYCLED', 2);